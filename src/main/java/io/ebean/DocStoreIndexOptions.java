@@ -0,0 +1,135 @@
+package io.ebean;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Options for a partitioned (parallel) re-index of a document store index.
+ * <pre>{@code
+ *
+ *  DocStoreIndexOptions options = new DocStoreIndexOptions()
+ *    .partitionSize(50000)
+ *    .concurrency(8)
+ *    .checkpoint(new File("/tmp/order-reindex.checkpoint"))
+ *    .progressListener(progress -> log.info("reindex {}", progress));
+ *
+ *  DocStoreIndexProgress result = documentStore.indexPartitioned(server.find(Order.class), options);
+ *
+ * }</pre>
+ */
+public class DocStoreIndexOptions {
+
+  private long partitionSize = 100000;
+
+  private int concurrency = 4;
+
+  private int bulkBatchSize;
+
+  private File checkpoint;
+
+  private final List<String> partitions = new ArrayList<>();
+
+  private Consumer<DocStoreIndexProgress> progressListener;
+
+  /**
+   * Set the width of the id range each partition covers (default 100,000).
+   */
+  public DocStoreIndexOptions partitionSize(long partitionSize) {
+    this.partitionSize = partitionSize;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of partitions queried and indexed concurrently (default 4).
+   */
+  public DocStoreIndexOptions concurrency(int concurrency) {
+    this.concurrency = concurrency;
+    return this;
+  }
+
+  /**
+   * Set the bulk batch size used when sending to the document store (0 for the default).
+   */
+  public DocStoreIndexOptions bulkBatchSize(int bulkBatchSize) {
+    this.bulkBatchSize = bulkBatchSize;
+    return this;
+  }
+
+  /**
+   * Set the file used to checkpoint completed partitions such that a failed run can be resumed.
+   * <p>
+   * The checkpoint file is removed when all the partitions complete successfully.
+   * </p>
+   */
+  public DocStoreIndexOptions checkpoint(File checkpoint) {
+    this.checkpoint = checkpoint;
+    return this;
+  }
+
+  /**
+   * Add an explicit partition as a raw expression (rather than partitioning by id range).
+   * <pre>{@code
+   *
+   *   options
+   *     .partition("status = 'NEW'")
+   *     .partition("status <> 'NEW'");
+   *
+   * }</pre>
+   */
+  public DocStoreIndexOptions partition(String rawExpression) {
+    this.partitions.add(rawExpression);
+    return this;
+  }
+
+  /**
+   * Set a listener notified of progress as each partition completes.
+   */
+  public DocStoreIndexOptions progressListener(Consumer<DocStoreIndexProgress> progressListener) {
+    this.progressListener = progressListener;
+    return this;
+  }
+
+  /**
+   * Return the width of the id range each partition covers.
+   */
+  public long getPartitionSize() {
+    return partitionSize;
+  }
+
+  /**
+   * Return the maximum number of partitions processed concurrently.
+   */
+  public int getConcurrency() {
+    return concurrency;
+  }
+
+  /**
+   * Return the bulk batch size (0 for the default).
+   */
+  public int getBulkBatchSize() {
+    return bulkBatchSize;
+  }
+
+  /**
+   * Return the checkpoint file (can be null).
+   */
+  public File getCheckpoint() {
+    return checkpoint;
+  }
+
+  /**
+   * Return the explicit partitions as raw expressions.
+   */
+  public List<String> getPartitions() {
+    return partitions;
+  }
+
+  /**
+   * Return the progress listener (can be null).
+   */
+  public Consumer<DocStoreIndexProgress> getProgressListener() {
+    return progressListener;
+  }
+}
@@ -0,0 +1,151 @@
+package io.ebean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress and throughput of a partitioned re-index.
+ * <p>
+ * This is updated as partitions complete and so can be read while the re-index is running.
+ * </p>
+ */
+public class DocStoreIndexProgress {
+
+  private final String beanType;
+
+  private final int partitionCount;
+
+  private final long startNanos = System.nanoTime();
+
+  private final AtomicInteger completedPartitions = new AtomicInteger();
+
+  private final AtomicInteger skippedPartitions = new AtomicInteger();
+
+  private final AtomicInteger failedPartitions = new AtomicInteger();
+
+  private final AtomicLong indexedCount = new AtomicLong();
+
+  private final AtomicLong batchCount = new AtomicLong();
+
+  private volatile long endNanos;
+
+  public DocStoreIndexProgress(String beanType, int partitionCount) {
+    this.beanType = beanType;
+    this.partitionCount = partitionCount;
+  }
+
+  /**
+   * Add to the number of beans indexed.
+   */
+  public void addIndexed(long count) {
+    indexedCount.addAndGet(count);
+    batchCount.incrementAndGet();
+  }
+
+  /**
+   * Mark a partition as completed.
+   */
+  public void partitionCompleted() {
+    completedPartitions.incrementAndGet();
+  }
+
+  /**
+   * Mark a partition as skipped (completed by a prior run per the checkpoint).
+   */
+  public void partitionSkipped() {
+    skippedPartitions.incrementAndGet();
+  }
+
+  /**
+   * Mark a partition as failed.
+   */
+  public void partitionFailed() {
+    failedPartitions.incrementAndGet();
+  }
+
+  /**
+   * Mark the re-index as finished.
+   */
+  public void finished() {
+    endNanos = System.nanoTime();
+  }
+
+  /**
+   * Return the bean type being indexed.
+   */
+  public String getBeanType() {
+    return beanType;
+  }
+
+  /**
+   * Return the total number of partitions.
+   */
+  public int getPartitionCount() {
+    return partitionCount;
+  }
+
+  /**
+   * Return the number of partitions completed (by this run).
+   */
+  public int getCompletedPartitions() {
+    return completedPartitions.get();
+  }
+
+  /**
+   * Return the number of partitions skipped as they were completed by a prior run.
+   */
+  public int getSkippedPartitions() {
+    return skippedPartitions.get();
+  }
+
+  /**
+   * Return the number of partitions that failed.
+   */
+  public int getFailedPartitions() {
+    return failedPartitions.get();
+  }
+
+  /**
+   * Return the number of beans indexed (by this run).
+   */
+  public long getIndexedCount() {
+    return indexedCount.get();
+  }
+
+  /**
+   * Return the number of bulk batches sent.
+   */
+  public long getBatchCount() {
+    return batchCount.get();
+  }
+
+  /**
+   * Return true when all the partitions have completed (or were skipped).
+   */
+  public boolean isComplete() {
+    return completedPartitions.get() + skippedPartitions.get() == partitionCount;
+  }
+
+  /**
+   * Return the elapsed time in millis.
+   */
+  public long getElapsedMillis() {
+    long end = (endNanos == 0) ? System.nanoTime() : endNanos;
+    return (end - startNanos) / 1000000;
+  }
+
+  /**
+   * Return the throughput in beans indexed per second.
+   */
+  public long getBeansPerSecond() {
+    long millis = getElapsedMillis();
+    return (millis == 0) ? 0 : indexedCount.get() * 1000 / millis;
+  }
+
+  @Override
+  public String toString() {
+    return "beanType:" + beanType + " partitions:" + (completedPartitions.get() + skippedPartitions.get()) + "/" + partitionCount
+      + " failed:" + failedPartitions.get() + " indexed:" + indexedCount.get() + " millis:" + getElapsedMillis()
+      + " perSecond:" + getBeansPerSecond();
+  }
+}
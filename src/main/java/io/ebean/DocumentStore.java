@@ -51,6 +51,58 @@ public interface DocumentStore {
    */
   void indexAll(Class<?> beanType);
 
+  /**
+   * Update the document store using the result of the query split into partitions that are
+   * queried and indexed in parallel.
+   * <p>
+   * By default the query is partitioned by ranges of the (numeric) id with explicit partitions
+   * able to be provided as raw expressions. Each partition is queried using findEach with the
+   * sending of bulk batches pipelined with the reading of the next batch. When a checkpoint file
+   * is specified the completed partitions are recorded such that a failed run can be resumed
+   * by running it again with the same options.
+   * </p>
+   * <p>
+   * Document stores that do not support partitioning index the query as a single partition
+   * using {@link #indexByQuery(Query, int)}.
+   * </p>
+   * <pre>{@code
+   *
+   *  DocStoreIndexProgress progress =
+   *    documentStore.indexPartitioned(server.find(Order.class),
+   *      new DocStoreIndexOptions().concurrency(8).checkpoint(file));
+   *
+   *  if (!progress.isComplete()) {
+   *    // some partitions failed, run again to resume
+   *  }
+   *
+   * }</pre>
+   *
+   * @param query   The query that selects object to send to the document store.
+   * @param options The partitioning, concurrency and checkpoint options.
+   * @return The progress and throughput of the re-index.
+   */
+  default <T> DocStoreIndexProgress indexPartitioned(Query<T> query, DocStoreIndexOptions options) {
+
+    DocStoreIndexProgress progress = new DocStoreIndexProgress(query.getBeanType().getName(), 1);
+    try {
+      if (options.getBulkBatchSize() > 0) {
+        indexByQuery(query, options.getBulkBatchSize());
+      } else {
+        indexByQuery(query);
+      }
+      progress.partitionCompleted();
+    } catch (RuntimeException e) {
+      progress.partitionFailed();
+      throw e;
+    } finally {
+      progress.finished();
+      if (options.getProgressListener() != null) {
+        options.getProgressListener().accept(progress);
+      }
+    }
+    return progress;
+  }
+
   /**
    * Return the bean by fetching it's content from the document store.
    * If the document is not found null is returned.
@@ -973,6 +973,20 @@ public interface EbeanServer {
    */
   <T> PagedList<T> findPagedList(Query<T> query, Transaction transaction);
 
+  /**
+   * Return a page of beans using keyset (seek) pagination rather than an offset.
+   * <p>
+   * Generally you are expected to use {@link Query#findKeysetPage(String)} instead of this method.
+   * </p>
+   *
+   * @param query       the query to execute (with maxRows defining the page size)
+   * @param afterKey    the next key from the prior page or null for the first page
+   * @param transaction the transaction to use (can be null)
+   * @return The page of beans with the key for the next page
+   * @see Query#findKeysetPage(String)
+   */
+  <T> KeysetPage<T> findKeysetPage(Query<T> query, String afterKey, Transaction transaction);
+
   /**
    * Execute the query returning a set of entity beans.
    * <p>
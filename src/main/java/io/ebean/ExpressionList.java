@@ -314,6 +314,15 @@ public interface ExpressionList<T> {
    */
   PagedList<T> findPagedList();
 
+  /**
+   * Return a page of beans using keyset (seek) pagination rather than an offset.
+   *
+   * @param afterKey The next key from the prior page or null for the first page
+   * @return The page of beans with the key for the next page
+   * @see Query#findKeysetPage(String)
+   */
+  KeysetPage<T> findKeysetPage(String afterKey);
+
   /**
    * Return versions of a @History entity bean.
    * <p>
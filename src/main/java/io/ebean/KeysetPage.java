@@ -0,0 +1,52 @@
+package io.ebean;
+
+import java.util.List;
+
+/**
+ * A page of results found using keyset (seek) pagination.
+ * <p>
+ * Rather than using an offset, the next page is found using a predicate on the order by
+ * properties (and id property) of the last bean of this page. The cost of fetching a page
+ * does not increase with the depth of the page.
+ * </p>
+ * <pre>{@code
+ *
+ *   Query<Order> query = ebeanServer.find(Order.class)
+ *     .where().eq("status", Order.Status.NEW)
+ *     .order().desc("orderDate")
+ *     .setMaxRows(50);
+ *
+ *   KeysetPage<Order> page = query.findKeysetPage(null);
+ *   List<Order> orders = page.getList();
+ *
+ *   if (page.hasNext()) {
+ *     // the next key is typically returned to the client and passed back
+ *     // to fetch the next page
+ *     String nextKey = page.getNextKey();
+ *     KeysetPage<Order> nextPage = query.findKeysetPage(nextKey);
+ *     ...
+ *   }
+ *
+ * }</pre>
+ *
+ * @param <T> the entity bean type
+ * @see Query#findKeysetPage(String)
+ */
+public interface KeysetPage<T> {
+
+  /**
+   * Return the beans for this page.
+   */
+  List<T> getList();
+
+  /**
+   * Return true if there are more rows after this page.
+   */
+  boolean hasNext();
+
+  /**
+   * Return the opaque key used to find the next page (null when there is no next page).
+   */
+  String getNextKey();
+
+}
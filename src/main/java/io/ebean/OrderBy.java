@@ -326,6 +326,20 @@ public final class OrderBy<T> implements Serializable {
       return property;
     }
 
+    /**
+     * Return the nulls keyword (null unless nulls ordering is specified).
+     */
+    public String getNulls() {
+      return nulls;
+    }
+
+    /**
+     * Return the nulls ordering (first or last) or null if not specified.
+     */
+    public String getHighLow() {
+      return highLow;
+    }
+
     /**
      * Set the property name.
      */
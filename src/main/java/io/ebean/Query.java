@@ -948,6 +948,35 @@ public interface Query<T> {
    */
   PagedList<T> findPagedList();
 
+  /**
+   * Return a page of beans using keyset (seek) pagination rather than an offset.
+   * <p>
+   * The page size is the maxRows of the query. The order by properties with the id property
+   * appended (if not already included) define the order of the rows. The next page is found
+   * using a predicate on those properties based on the last bean of the prior page, so
+   * fetching deep pages costs the same as fetching the first page given a suitable index.
+   * </p>
+   * <p>
+   * If maxRows is not set on the query then a PersistenceException is thrown. FirstRow is
+   * not used with keyset pagination.
+   * </p>
+   * <pre>{@code
+   *
+   *  KeysetPage<Order> page = Ebean.find(Order.class)
+   *       .order().desc("orderDate")
+   *       .setMaxRows(20)
+   *       .findKeysetPage(afterKey);
+   *
+   *  List<Order> orders = page.getList();
+   *  String nextKey = page.getNextKey();
+   *
+   * }</pre>
+   *
+   * @param afterKey The next key from the prior page or null for the first page
+   * @return The page of beans with the key for the next page
+   */
+  KeysetPage<T> findKeysetPage(String afterKey);
+
   /**
    * Set a named bind parameter. Named parameters have a colon to prefix the name.
    * <pre>{@code
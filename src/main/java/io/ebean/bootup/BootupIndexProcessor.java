@@ -0,0 +1,191 @@
+package io.ebean.bootup;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor that generates the META-INF/ebean-bootup.idx resource at build time.
+ * <p>
+ * The index lists the entities, embeddables, converters, listeners, controllers and other classes
+ * that would otherwise be found by searching the class path at startup. When the index is present
+ * EbeanServer startup loads the listed classes directly.
+ * </p>
+ * <p>
+ * This processor is not registered as a service and must be explicitly configured on the compiler
+ * for the module containing the entity beans. For example with maven:
+ * </p>
+ * <pre>{@code
+ *
+ *   <plugin>
+ *     <artifactId>maven-compiler-plugin</artifactId>
+ *     <configuration>
+ *       <annotationProcessors>
+ *         <annotationProcessor>io.ebean.bootup.BootupIndexProcessor</annotationProcessor>
+ *       </annotationProcessors>
+ *     </configuration>
+ *   </plugin>
+ *
+ * }</pre>
+ * <p>
+ * The index is generated from the classes compiled together so it should be generated by a full
+ * (non incremental) build. The index is only used when ServerConfig useBootupIndex is set.
+ * </p>
+ */
+@SupportedAnnotationTypes("*")
+public class BootupIndexProcessor extends AbstractProcessor {
+
+  /**
+   * The index resource (matching BootupClassPathSearch).
+   */
+  static final String INDEX_RESOURCE = "META-INF/ebean-bootup.idx";
+
+  /**
+   * Annotations that mark an interesting class.
+   */
+  private static final String[] ANNOTATIONS = {
+    "javax.persistence.Entity",
+    "javax.persistence.Table",
+    "javax.persistence.Embeddable",
+    "io.ebean.annotation.DocStore"
+  };
+
+  /**
+   * Interfaces that mark an interesting class.
+   */
+  private static final String[] INTERFACES = {
+    "io.ebeaninternal.server.type.ScalarType",
+    "io.ebean.config.ScalarTypeConverter",
+    "javax.persistence.AttributeConverter",
+    "io.ebean.config.IdGenerator",
+    "io.ebean.event.BeanPersistController",
+    "io.ebean.event.BeanPostLoad",
+    "io.ebean.event.BeanPostConstructListener",
+    "io.ebean.event.BeanFindController",
+    "io.ebean.event.BeanPersistListener",
+    "io.ebean.event.BeanQueryAdapter",
+    "io.ebean.event.ServerConfigStartup",
+    "io.ebean.event.changelog.ChangeLogListener",
+    "io.ebean.event.changelog.ChangeLogRegister",
+    "io.ebean.event.changelog.ChangeLogPrepare",
+    "io.ebean.event.readaudit.ReadAuditPrepare",
+    "io.ebean.event.readaudit.ReadAuditLogger"
+  };
+
+  private final Set<String> classNames = new TreeSet<>();
+
+  private List<TypeMirror> interfaces;
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+    if (interfaces == null) {
+      interfaces = interfaces();
+    }
+    for (Element element : roundEnv.getRootElements()) {
+      addInteresting(element);
+    }
+    if (roundEnv.processingOver()) {
+      writeIndex();
+    }
+    // do not claim any annotations
+    return false;
+  }
+
+  private List<TypeMirror> interfaces() {
+    Elements elements = processingEnv.getElementUtils();
+    Types types = processingEnv.getTypeUtils();
+    List<TypeMirror> list = new ArrayList<>();
+    for (String name : INTERFACES) {
+      TypeElement typeElement = elements.getTypeElement(name);
+      if (typeElement != null) {
+        list.add(types.erasure(typeElement.asType()));
+      }
+    }
+    return list;
+  }
+
+  /**
+   * Add the class if interesting and check nested classes.
+   */
+  private void addInteresting(Element element) {
+    if (element.getKind() == ElementKind.CLASS) {
+      TypeElement typeElement = (TypeElement) element;
+      if (isInteresting(typeElement)) {
+        classNames.add(processingEnv.getElementUtils().getBinaryName(typeElement).toString());
+      }
+    }
+    for (Element enclosed : element.getEnclosedElements()) {
+      if (enclosed.getKind() == ElementKind.CLASS) {
+        addInteresting(enclosed);
+      }
+    }
+  }
+
+  /**
+   * Return true if the class has one of the annotations or implements one of the interfaces.
+   * <p>
+   * The classes are checked again at startup so this only needs to include the candidates.
+   * </p>
+   */
+  private boolean isInteresting(TypeElement typeElement) {
+    for (AnnotationMirror mirror : typeElement.getAnnotationMirrors()) {
+      String annotation = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+      for (String name : ANNOTATIONS) {
+        if (name.equals(annotation)) {
+          return true;
+        }
+      }
+    }
+    Types types = processingEnv.getTypeUtils();
+    TypeMirror type = types.erasure(typeElement.asType());
+    for (TypeMirror anInterface : interfaces) {
+      if (types.isAssignable(type, anInterface)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void writeIndex() {
+    if (classNames.isEmpty()) {
+      return;
+    }
+    try {
+      FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+      try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+        writer.write("# generated by " + BootupIndexProcessor.class.getName() + "\n");
+        for (String className : classNames) {
+          writer.write(className);
+          writer.write("\n");
+        }
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error writing " + INDEX_RESOURCE + " " + e);
+    }
+  }
+}
@@ -1,5 +1,9 @@
 package io.ebean.cache;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Represents part of the "L2" server side cache.
  * <p>
@@ -18,11 +22,34 @@ public interface ServerCache {
    */
   Object get(Object id);
 
+  /**
+   * Return the values for the given keys (only keys that are in the cache are included).
+   */
+  default Map<Object, Object> getAll(Set<Object> ids) {
+    Map<Object, Object> map = new LinkedHashMap<>();
+    for (Object id : ids) {
+      Object value = get(id);
+      if (value != null) {
+        map.put(id, value);
+      }
+    }
+    return map;
+  }
+
   /**
    * Put the value in the cache with a given id.
    */
   Object put(Object id, Object value);
 
+  /**
+   * Put all the values into the cache.
+   */
+  default void putAll(Map<Object, Object> keyValues) {
+    for (Map.Entry<Object, Object> entry : keyValues.entrySet()) {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
   /**
    * Remove a entry from the cache given its id.
    */
@@ -12,6 +12,8 @@ public class ServerCacheOptions {
   private int maxIdleSecs;
   private int maxSecsToLive;
   private int trimFrequency;
+  private boolean tenantShared;
+  private int tenantMaxPercent;
 
   /**
    * Construct with no set options.
@@ -57,6 +59,12 @@ public class ServerCacheOptions {
     if (trimFrequency == 0) {
       trimFrequency = defaults.getTrimFrequency();
     }
+    if (!tenantShared) {
+      tenantShared = defaults.isTenantShared();
+    }
+    if (tenantMaxPercent == 0) {
+      tenantMaxPercent = defaults.getTenantMaxPercent();
+    }
     return this;
   }
 
@@ -70,6 +78,8 @@ public class ServerCacheOptions {
     copy.maxIdleSecs = maxIdleSecs;
     copy.maxSecsToLive = maxSecsToLive;
     copy.trimFrequency = trimFrequency;
+    copy.tenantShared = tenantShared;
+    copy.tenantMaxPercent = tenantMaxPercent;
     return copy;
   }
 
@@ -128,4 +138,32 @@ public class ServerCacheOptions {
   public void setTrimFrequency(int trimFrequency) {
     this.trimFrequency = trimFrequency;
   }
+
+  /**
+   * Return true if the cache is shared by all tenants with keys that include the tenant id.
+   */
+  public boolean isTenantShared() {
+    return tenantShared;
+  }
+
+  /**
+   * Set to true if the cache is shared by all tenants with keys that include the tenant id.
+   */
+  public void setTenantShared(boolean tenantShared) {
+    this.tenantShared = tenantShared;
+  }
+
+  /**
+   * Return the maximum percentage of a shared cache a single tenant can use (0 for no maximum).
+   */
+  public int getTenantMaxPercent() {
+    return tenantMaxPercent;
+  }
+
+  /**
+   * Set the maximum percentage of a shared cache a single tenant can use (0 for no maximum).
+   */
+  public void setTenantMaxPercent(int tenantMaxPercent) {
+    this.tenantMaxPercent = tenantMaxPercent;
+  }
 }
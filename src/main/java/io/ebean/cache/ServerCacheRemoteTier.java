@@ -0,0 +1,76 @@
+package io.ebean.cache;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The remote tier of a two tier (near cache plus remote) L2 cache.
+ * <p>
+ * Each node holds a small local near cache in front of the shared remote tier. Changes
+ * made via the remote tier are published as events to the listeners registered by the
+ * other nodes which invalidate the matching near cache entries.
+ * </p>
+ * <p>
+ * The source id passed with each change identifies the near cache making the change such
+ * that it does not invalidate its own entries.
+ * </p>
+ */
+public interface ServerCacheRemoteTier {
+
+  /**
+   * Return the value for the given key (or null).
+   */
+  Object get(String cacheName, Object key);
+
+  /**
+   * Return the values for the given keys (only keys that are in the remote tier are included).
+   */
+  Map<Object, Object> getAll(String cacheName, Set<Object> keys);
+
+  /**
+   * Put the value into the remote tier.
+   * <p>
+   * When version is greater than 0 the put is rejected if the remote tier holds the entry
+   * with a higher version (a stale put from a slower node).
+   * </p>
+   *
+   * @return null if the put was accepted or otherwise the (winning) value the remote tier holds
+   */
+  Object put(String cacheName, Object key, Object value, long version, String sourceId);
+
+  /**
+   * Put all the values into the remote tier (without version checking).
+   */
+  void putAll(String cacheName, Map<Object, Object> keyValues, String sourceId);
+
+  /**
+   * Remove the entry from the remote tier.
+   */
+  void remove(String cacheName, Object key, String sourceId);
+
+  /**
+   * Clear all the entries of the cache from the remote tier.
+   */
+  void clear(String cacheName, String sourceId);
+
+  /**
+   * Register a listener for changes to the given cache.
+   */
+  void register(String cacheName, Listener listener);
+
+  /**
+   * Listener for changes made via the remote tier.
+   */
+  interface Listener {
+
+    /**
+     * The entry for the key was put or removed.
+     */
+    void changed(Object key, String sourceId);
+
+    /**
+     * All the entries of the cache were cleared.
+     */
+    void cleared(String sourceId);
+  }
+}
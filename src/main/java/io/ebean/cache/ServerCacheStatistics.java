@@ -39,6 +39,10 @@ public class ServerCacheStatistics {
 
   protected long evictByLRU;
 
+  protected long remoteHitCount;
+
+  protected long remoteMissCount;
+
   public String toString() {
     //noinspection StringBufferReplaceableByString
     StringBuilder sb = new StringBuilder(80);
@@ -57,6 +61,10 @@ public class ServerCacheStatistics {
     sb.append(" evictByLRU:").append(evictByLRU);
     sb.append(" evictionRunCount:").append(evictionRunCount);
     sb.append(" evictionRunMicros:").append(evictionRunMicros);
+    if (remoteHitCount > 0 || remoteMissCount > 0) {
+      sb.append(" remoteHit:").append(remoteHitCount);
+      sb.append(" remoteMiss:").append(remoteMissCount);
+    }
     return sb.toString();
   }
 
@@ -274,4 +282,36 @@ public class ServerCacheStatistics {
   public long getEvictByLRU() {
     return evictByLRU;
   }
+
+  /**
+   * Set the count of hits served by the remote tier of a two tier cache.
+   */
+  public void setRemoteHitCount(long remoteHitCount) {
+    this.remoteHitCount = remoteHitCount;
+  }
+
+  /**
+   * Return the count of hits served by the remote tier of a two tier cache.
+   * <p>
+   * These are included in the hit count such that the near cache hits are the
+   * hit count less the remote hit count.
+   * </p>
+   */
+  public long getRemoteHitCount() {
+    return remoteHitCount;
+  }
+
+  /**
+   * Set the count of misses on the remote tier of a two tier cache.
+   */
+  public void setRemoteMissCount(long remoteMissCount) {
+    this.remoteMissCount = remoteMissCount;
+  }
+
+  /**
+   * Return the count of misses on the remote tier of a two tier cache.
+   */
+  public long getRemoteMissCount() {
+    return remoteMissCount;
+  }
 }
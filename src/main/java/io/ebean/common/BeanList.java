@@ -9,9 +9,11 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Set;
 
 /**
  * List capable of lazy loading.
@@ -20,11 +22,25 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
 
   private static final long serialVersionUID = 1L;
 
+  /**
+   * List size above which internalAddWithCheck() uses an identity set rather than scanning the list.
+   */
+  private static final int IDENTITY_CHECK_SIZE = 16;
+
   /**
    * The underlying List implementation.
    */
   private List<E> list;
 
+  /**
+   * Identity set of the list elements used by internalAddWithCheck() while loading.
+   * <p>
+   * Cleared by any other modification of the list (or use of an iterator or sub list that
+   * could modify it) and rebuilt on the next internalAddWithCheck().
+   * </p>
+   */
+  private transient Set<Object> identitySet;
+
   /**
    * Specify the underlying List implementation.
    */
@@ -52,6 +68,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
     this.ownerBean = ownerBean;
     this.propertyName = propertyName;
     this.list = null;
+    this.identitySet = null;
   }
 
   @Override
@@ -61,6 +78,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
 
   @SuppressWarnings("unchecked")
   public void addEntityBean(EntityBean bean) {
+    identitySet = null;
     list.add((E) bean);
   }
 
@@ -70,6 +88,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
     if (list == null) {
       list = new ArrayList<>();
     }
+    identitySet = null;
     list.addAll((Collection<? extends E>) other.getActualDetails());
   }
 
@@ -79,14 +98,29 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
       list = new ArrayList<>();
     }
     if (bean != null) {
+      identitySet = null;
       list.add((E) bean);
     }
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public void internalAddWithCheck(Object bean) {
-    if (list == null || !containsInstance(bean)) {
+    if (list == null || bean == null) {
       internalAdd(bean);
+    } else if (list.size() < IDENTITY_CHECK_SIZE) {
+      if (!containsInstance(bean)) {
+        internalAdd(bean);
+      }
+    } else {
+      if (identitySet == null) {
+        // build once (or rebuild after the list was otherwise modified) rather than scan per add
+        identitySet = Collections.newSetFromMap(new IdentityHashMap<>(list.size() * 2));
+        identitySet.addAll(list);
+      }
+      if (identitySet.add(bean)) {
+        list.add((E) bean);
+      }
     }
   }
 
@@ -103,6 +137,8 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
   }
 
   public boolean checkEmptyLazyLoad() {
+    // loading has completed so release the identity set
+    identitySet = null;
     if (list == null) {
       list = new ArrayList<>();
       return true;
@@ -144,21 +180,26 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
   @SuppressWarnings("unchecked")
   public void setActualList(List<?> list) {
     this.list = (List<E>) list;
+    this.identitySet = null;
   }
 
   /**
    * Return the actual underlying list.
    */
   public List<E> getActualList() {
+    // the underlying list can be modified directly
+    identitySet = null;
     return list;
   }
 
   public Collection<E> getActualDetails() {
+    identitySet = null;
     return list;
   }
 
   @Override
   public Collection<?> getActualEntries() {
+    identitySet = null;
     return list;
   }
 
@@ -222,6 +263,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
   public void add(int index, E element) {
     checkReadOnly();
     init();
+    identitySet = null;
     if (modifyAddListening) {
       modifyAddition(element);
     }
@@ -236,6 +278,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
   public boolean add(E o) {
     checkReadOnly();
     init();
+    identitySet = null;
     if (modifyAddListening) {
       if (list.add(o)) {
         modifyAddition(o);
@@ -250,6 +293,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
   public boolean addAll(Collection<? extends E> c) {
     checkReadOnly();
     init();
+    identitySet = null;
     if (modifyAddListening) {
       // all elements in c are added (no contains checking)
       getModifyHolder().modifyAdditionAll(c);
@@ -260,6 +304,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
   public boolean addAll(int index, Collection<? extends E> c) {
     checkReadOnly();
     init();
+    identitySet = null;
     if (modifyAddListening) {
       // all elements in c are added (no contains checking)
       getModifyHolder().modifyAdditionAll(c);
@@ -272,6 +317,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
     // TODO: when clear() and not initialised could be more clever
     // and fetch just the Id's
     initClear();
+    identitySet = null;
     if (modifyRemoveListening) {
       for (E aList : list) {
         getModifyHolder().modifyRemoval(aList);
@@ -307,6 +353,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
 
   public Iterator<E> iterator() {
     init();
+    identitySet = null;
     if (isReadOnly()) {
       return new ReadOnlyListIterator<>(list.listIterator());
     }
@@ -324,6 +371,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
 
   public ListIterator<E> listIterator() {
     init();
+    identitySet = null;
     if (isReadOnly()) {
       return new ReadOnlyListIterator<>(list.listIterator());
     }
@@ -336,6 +384,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
 
   public ListIterator<E> listIterator(int index) {
     init();
+    identitySet = null;
     if (isReadOnly()) {
       return new ReadOnlyListIterator<>(list.listIterator(index));
     }
@@ -348,6 +397,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
 
   @Override
   public void removeBean(E bean) {
+    identitySet = null;
     if (list.remove(bean)) {
       getModifyHolder().modifyRemoval(bean);
     }
@@ -356,6 +406,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
   public E remove(int index) {
     checkReadOnly();
     init();
+    identitySet = null;
     if (modifyRemoveListening) {
       E o = list.remove(index);
       modifyRemoval(o);
@@ -367,6 +418,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
   public boolean remove(Object o) {
     checkReadOnly();
     init();
+    identitySet = null;
     if (modifyRemoveListening) {
       boolean isRemove = list.remove(o);
       if (isRemove) {
@@ -380,6 +432,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
   public boolean removeAll(Collection<?> beans) {
     checkReadOnly();
     init();
+    identitySet = null;
     if (modifyRemoveListening) {
       boolean changed = false;
       for (Object bean : beans) {
@@ -397,6 +450,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
   public boolean retainAll(Collection<?> retainBeans) {
     checkReadOnly();
     init();
+    identitySet = null;
     if (modifyRemoveListening) {
       boolean changed = false;
       Iterator<E> it = list.iterator();
@@ -417,6 +471,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
   public E set(int index, E element) {
     checkReadOnly();
     init();
+    identitySet = null;
     if (modifyListening) {
       E o = list.set(index, element);
       modifyAddition(element);
@@ -433,6 +488,7 @@ public final class BeanList<E> extends AbstractBeanCollection<E> implements List
 
   public List<E> subList(int fromIndex, int toIndex) {
     init();
+    identitySet = null;
     if (isReadOnly()) {
       return Collections.unmodifiableList(list.subList(fromIndex, toIndex));
     }
@@ -20,6 +20,7 @@ import io.ebean.event.BeanPostConstructListener;
 import io.ebean.event.BeanPostLoad;
 import io.ebean.event.BeanQueryAdapter;
 import io.ebean.event.BulkTableEventListener;
+import io.ebean.event.LazyLoadListener;
 import io.ebean.event.ServerConfigStartup;
 import io.ebean.event.changelog.ChangeLogListener;
 import io.ebean.event.changelog.ChangeLogPrepare;
@@ -275,6 +276,16 @@ public class ServerConfig {
    */
   private DataSource dataSource;
 
+  /**
+   * The read only data source (typically a read replica) used for queries (if programmatically provided).
+   */
+  private DataSource readOnlyDataSource;
+
+  /**
+   * Milliseconds after a local commit during which queries on the modified tables use the main DataSource.
+   */
+  private int readOnlyStaleMillis = 1000;
+
   /**
    * The data source config.
    */
@@ -347,6 +358,16 @@ public class ServerConfig {
    */
   private DbTypeConfig dbTypeConfig = new DbTypeConfig();
 
+  /**
+   * Set to true to use time ordered UUID values for UUID id properties by default.
+   */
+  private boolean uuidTimeOrdered;
+
+  /**
+   * Set to true to update JSONB Map properties on Postgres using partial updates.
+   */
+  private boolean jsonPartialUpdate;
+
   private List<IdGenerator> idGenerators = new ArrayList<>();
   private List<BeanFindController> findControllers = new ArrayList<>();
   private List<BeanPersistController> persistControllers = new ArrayList<>();
@@ -386,6 +407,18 @@ public class ServerConfig {
 
   private boolean collectQueryOrigins = true;
 
+  /**
+   * The number of lazy loading queries on a path for a single origin query at which it is reported (0 to disable).
+   */
+  private int lazyLoadDetectThreshold;
+
+  /**
+   * Set to true to throw an exception when the lazy loading threshold is reached (typically for tests).
+   */
+  private boolean lazyLoadDetectStrict;
+
+  private LazyLoadListener lazyLoadListener;
+
   /**
    * The default PersistenceContextScope used if one is not explicitly set on a query.
    */
@@ -417,6 +450,17 @@ public class ServerConfig {
   private int queryCacheMaxSize = 1000;
   private int queryCacheMaxIdleTime = 600;
   private int queryCacheMaxTimeToLive = 60 * 60 * 6;
+
+  // L2 caching with multi-tenancy
+
+  private boolean cacheTenantShared;
+  private int cacheTenantMaxPercent;
+
+  // L2 cache miss loading
+
+  private boolean cacheSingleFlight;
+  private int cacheSingleFlightTimeout = 1000;
+  private int cacheRefreshAheadPercent;
   private Object objectMapper;
 
   /**
@@ -436,6 +480,21 @@ public class ServerConfig {
    */
   private boolean disableL2Cache;
 
+  /**
+   * Set to true to use META-INF/ebean-bootup.idx resources rather than searching the class path.
+   */
+  private boolean useBootupIndex;
+
+  /**
+   * The parallelism used to read entity deployment (0 or 1 for sequential).
+   */
+  private int deployParallelism;
+
+  /**
+   * Set to true to create the bean persisters (and their DML) on first use.
+   */
+  private boolean deployLazyInit;
+
   /**
    * Construct a Server Configuration for programmatically creating an EbeanServer.
    */
@@ -1263,6 +1322,98 @@ public class ServerConfig {
     this.queryCacheMaxTimeToLive = queryCacheMaxTimeToLive;
   }
 
+  /**
+   * Return true if with multi-tenancy the L2 caches are shared by all tenants.
+   */
+  public boolean isCacheTenantShared() {
+    return cacheTenantShared;
+  }
+
+  /**
+   * Set to true such that with multi-tenancy the L2 caches are shared by all tenants.
+   * <p>
+   * When true each bean type has a single cache (sized by the cache max size) with entries
+   * keyed by tenant id and id rather than a separate cache per tenant. The eviction is fair
+   * across tenants with the largest tenants trimmed first.
+   * </p>
+   */
+  public void setCacheTenantShared(boolean cacheTenantShared) {
+    this.cacheTenantShared = cacheTenantShared;
+  }
+
+  /**
+   * Return the maximum percentage of a shared L2 cache a single tenant can use (0 for no maximum).
+   */
+  public int getCacheTenantMaxPercent() {
+    return cacheTenantMaxPercent;
+  }
+
+  /**
+   * Set the maximum percentage of a shared L2 cache a single tenant can use (0 for no maximum).
+   * <p>
+   * Only used when cacheTenantShared is true.
+   * </p>
+   */
+  public void setCacheTenantMaxPercent(int cacheTenantMaxPercent) {
+    this.cacheTenantMaxPercent = cacheTenantMaxPercent;
+  }
+
+  /**
+   * Return true if L2 cache misses use single flight loading.
+   */
+  public boolean isCacheSingleFlight() {
+    return cacheSingleFlight;
+  }
+
+  /**
+   * Set to true for L2 cache misses to use single flight loading.
+   * <p>
+   * With single flight the first bean cache, natural key cache or query cache miss for a
+   * given key loads from the database and concurrent requests for the same key wait for
+   * that load and are then served from the cache. This prevents a cache stampede when a
+   * hot entry expires or is invalidated. When the first load finds nothing (which is not
+   * cached) the waiting requests return the empty result without loading.
+   * </p>
+   */
+  public void setCacheSingleFlight(boolean cacheSingleFlight) {
+    this.cacheSingleFlight = cacheSingleFlight;
+  }
+
+  /**
+   * Return the max time in millis a cache miss waits on an in-flight load.
+   */
+  public int getCacheSingleFlightTimeout() {
+    return cacheSingleFlightTimeout;
+  }
+
+  /**
+   * Set the max time in millis a cache miss waits on an in-flight load before loading itself.
+   * Defaults to 1000.
+   */
+  public void setCacheSingleFlightTimeout(int cacheSingleFlightTimeout) {
+    this.cacheSingleFlightTimeout = cacheSingleFlightTimeout;
+  }
+
+  /**
+   * Return the percentage of the bean cache time to live after which entries are refreshed ahead.
+   */
+  public int getCacheRefreshAheadPercent() {
+    return cacheRefreshAheadPercent;
+  }
+
+  /**
+   * Set the percentage of the bean cache time to live after which entries are refreshed ahead
+   * (0 to disable).
+   * <p>
+   * For example with 80 a bean cache hit on an entry older than 80% of the cache max time to
+   * live reloads the entry asynchronously using the BackgroundExecutor such that hot entries
+   * are refreshed before they expire.
+   * </p>
+   */
+  public void setCacheRefreshAheadPercent(int cacheRefreshAheadPercent) {
+    this.cacheRefreshAheadPercent = cacheRefreshAheadPercent;
+  }
+
   /**
    * Return the NamingConvention.
    * <p>
@@ -1353,6 +1504,48 @@ public class ServerConfig {
     this.dataSource = dataSource;
   }
 
+  /**
+   * Return the read only DataSource (typically a read replica).
+   */
+  public DataSource getReadOnlyDataSource() {
+    return readOnlyDataSource;
+  }
+
+  /**
+   * Set a read only DataSource (typically a read replica) used for queries.
+   * <p>
+   * Queries that run in their own implicit transaction (including lazy loading and
+   * secondary queries) and transactions begun with TxScope readOnly use this DataSource.
+   * Queries on tables modified by a local commit within readOnlyStaleMillis use the main
+   * DataSource instead.
+   * </p>
+   * <p>
+   * This is not used with multi-tenancy (CurrentTenantProvider).
+   * </p>
+   */
+  public void setReadOnlyDataSource(DataSource readOnlyDataSource) {
+    this.readOnlyDataSource = readOnlyDataSource;
+  }
+
+  /**
+   * Return the milliseconds after a local commit that queries on the modified tables use the main DataSource.
+   */
+  public int getReadOnlyStaleMillis() {
+    return readOnlyStaleMillis;
+  }
+
+  /**
+   * Set the milliseconds after a local commit that queries on the modified tables use the
+   * main DataSource rather than the read only DataSource. Defaults to 1000.
+   * <p>
+   * This should be set to cover the expected replication lag of the read only DataSource.
+   * Set to 0 to always use the read only DataSource for queries.
+   * </p>
+   */
+  public void setReadOnlyStaleMillis(int readOnlyStaleMillis) {
+    this.readOnlyStaleMillis = readOnlyStaleMillis;
+  }
+
   /**
    * Return the configuration to build a DataSource using Ebean's own DataSource
    * implementation.
@@ -1659,6 +1852,44 @@ public class ServerConfig {
     this.dbTypeConfig.setDbUuid(dbUuid);
   }
 
+  /**
+   * Return true if UUID id properties use time ordered UUID values by default.
+   */
+  public boolean isUuidTimeOrdered() {
+    return uuidTimeOrdered;
+  }
+
+  /**
+   * Set to true to use time ordered UUID values for UUID id properties by default.
+   * <p>
+   * Time ordered UUID values have a millisecond timestamp prefix such that inserts
+   * append to the primary key index rather than being spread randomly across it.
+   * Individual entities can instead use <code>@GeneratedValue(generator = "uuidTimeOrdered")</code>.
+   * </p>
+   */
+  public void setUuidTimeOrdered(boolean uuidTimeOrdered) {
+    this.uuidTimeOrdered = uuidTimeOrdered;
+  }
+
+  /**
+   * Return true if JSONB Map properties are updated using partial updates.
+   */
+  public boolean isJsonPartialUpdate() {
+    return jsonPartialUpdate;
+  }
+
+  /**
+   * Set to true to update JSONB Map properties on Postgres using partial updates.
+   * <p>
+   * When only some top level keys of the document have been modified the update
+   * removes and sets those keys using the JSONB operators rather than sending the
+   * whole document. Other platforms and JSON types always write the whole document.
+   * </p>
+   */
+  public void setJsonPartialUpdate(boolean jsonPartialUpdate) {
+    this.jsonPartialUpdate = jsonPartialUpdate;
+  }
+
   /**
    * Return true if LocalTime should be persisted with nanos precision.
    */
@@ -2052,6 +2283,64 @@ public class ServerConfig {
     this.collectQueryOrigins = collectQueryOrigins;
   }
 
+  /**
+   * Return the number of lazy loading queries on a path for a single origin query at which
+   * the origin query is reported as N+1 (0 means detection is disabled).
+   */
+  public int getLazyLoadDetectThreshold() {
+    return lazyLoadDetectThreshold;
+  }
+
+  /**
+   * Set the number of lazy loading queries on a path for a single origin query at which
+   * the origin query is reported as N+1.
+   * <p>
+   * The report includes the origin call stack, the lazy loaded path and a suggested
+   * <code>fetch()</code> or <code>fetchQuery()</code> for the origin query. Reports are sent
+   * to the {@link LazyLoadListener} (or logged) and can be retrieved via {@link MetaInfoManager}.
+   * </p>
+   * <p>
+   * Defaults to 0 which means detection is disabled.
+   * </p>
+   */
+  public void setLazyLoadDetectThreshold(int lazyLoadDetectThreshold) {
+    this.lazyLoadDetectThreshold = lazyLoadDetectThreshold;
+  }
+
+  /**
+   * Return true if an exception is thrown when the lazy loading threshold is reached.
+   */
+  public boolean isLazyLoadDetectStrict() {
+    return lazyLoadDetectStrict;
+  }
+
+  /**
+   * Set to true to throw a PersistenceException when the lazy loading threshold is reached.
+   * <p>
+   * This is typically used in tests to fail on N+1 lazy loading.
+   * </p>
+   */
+  public void setLazyLoadDetectStrict(boolean lazyLoadDetectStrict) {
+    this.lazyLoadDetectStrict = lazyLoadDetectStrict;
+  }
+
+  /**
+   * Return the listener notified when the lazy loading threshold is reached.
+   */
+  public LazyLoadListener getLazyLoadListener() {
+    return lazyLoadListener;
+  }
+
+  /**
+   * Set the listener notified when the lazy loading threshold is reached.
+   * <p>
+   * When not set the excessive lazy loading is logged as a warning.
+   * </p>
+   */
+  public void setLazyLoadListener(LazyLoadListener lazyLoadListener) {
+    this.lazyLoadListener = lazyLoadListener;
+  }
+
   /**
    * Returns the resource directory.
    */
@@ -2494,6 +2783,14 @@ public class ServerConfig {
 
     docStoreOnly = p.getBoolean("docStoreOnly", docStoreOnly);
     disableL2Cache = p.getBoolean("disableL2Cache", disableL2Cache);
+    useBootupIndex = p.getBoolean("useBootupIndex", useBootupIndex);
+    deployParallelism = p.getInt("deployParallelism", deployParallelism);
+    deployLazyInit = p.getBoolean("deployLazyInit", deployLazyInit);
+    cacheTenantShared = p.getBoolean("cacheTenantShared", cacheTenantShared);
+    cacheTenantMaxPercent = p.getInt("cacheTenantMaxPercent", cacheTenantMaxPercent);
+    cacheSingleFlight = p.getBoolean("cacheSingleFlight", cacheSingleFlight);
+    cacheSingleFlightTimeout = p.getInt("cacheSingleFlightTimeout", cacheSingleFlightTimeout);
+    cacheRefreshAheadPercent = p.getInt("cacheRefreshAheadPercent", cacheRefreshAheadPercent);
     explicitTransactionBeginMode = p.getBoolean("explicitTransactionBeginMode", explicitTransactionBeginMode);
     autoCommitMode = p.getBoolean("autoCommitMode", autoCommitMode);
     useJtaTransactionManager = p.getBoolean("useJtaTransactionManager", useJtaTransactionManager);
@@ -2516,6 +2813,9 @@ public class ServerConfig {
 
     collectQueryStatsByNode = p.getBoolean("collectQueryStatsByNode", collectQueryStatsByNode);
     collectQueryOrigins = p.getBoolean("collectQueryOrigins", collectQueryOrigins);
+    lazyLoadDetectThreshold = p.getInt("lazyLoadDetectThreshold", lazyLoadDetectThreshold);
+    lazyLoadDetectStrict = p.getBoolean("lazyLoadDetectStrict", lazyLoadDetectStrict);
+    lazyLoadListener = createInstance(p, LazyLoadListener.class, "lazyLoadListener", lazyLoadListener);
 
     skipCacheAfterWrite = p.getBoolean("skipCacheAfterWrite", skipCacheAfterWrite);
     updateAllPropertiesInBatch = p.getBoolean("updateAllPropertiesInBatch", updateAllPropertiesInBatch);
@@ -2545,6 +2845,7 @@ public class ServerConfig {
     asOfSysPeriod = p.get("asOfSysPeriod", asOfSysPeriod);
     historyTableSuffix = p.get("historyTableSuffix", historyTableSuffix);
     dataSourceJndiName = p.get("dataSourceJndiName", dataSourceJndiName);
+    readOnlyStaleMillis = p.getInt("readOnlyStaleMillis", readOnlyStaleMillis);
     jdbcFetchSizeFindEach = p.getInt("jdbcFetchSizeFindEach", jdbcFetchSizeFindEach);
     jdbcFetchSizeFindList = p.getInt("jdbcFetchSizeFindList", jdbcFetchSizeFindList);
     databaseSequenceBatchSize = p.getInt("databaseSequenceBatchSize", databaseSequenceBatchSize);
@@ -2559,6 +2860,8 @@ public class ServerConfig {
     if (p.getBoolean("uuidStoreAsBinary", false)) {
       dbTypeConfig.setDbUuid(DbUuid.BINARY);
     }
+    uuidTimeOrdered = p.getBoolean("uuidTimeOrdered", uuidTimeOrdered);
+    jsonPartialUpdate = p.getBoolean("jsonPartialUpdate", jsonPartialUpdate);
     localTimeWithNanos = p.getBoolean("localTimeWithNanos", localTimeWithNanos);
     jodaLocalTimeMode = p.get("jodaLocalTimeMode", jodaLocalTimeMode);
 
@@ -2713,6 +3016,61 @@ public class ServerConfig {
     this.disableL2Cache = disableL2Cache;
   }
 
+  /**
+   * Return true if the build time bootup index is used rather than searching the class path.
+   */
+  public boolean isUseBootupIndex() {
+    return useBootupIndex;
+  }
+
+  /**
+   * Set to true to use the build time bootup index rather than searching the class path.
+   * <p>
+   * When true and META-INF/ebean-bootup.idx resources (generated by the BootupIndexProcessor
+   * annotation processor) are found the classes listed in them are used rather than searching
+   * the class path for entities, embeddables, converters, listeners etc. Only turn this on when
+   * all the entities are compiled with the processor in a full (non incremental) build. If a
+   * configured package has no classes in the index the class path is searched instead.
+   * </p>
+   */
+  public void setUseBootupIndex(boolean useBootupIndex) {
+    this.useBootupIndex = useBootupIndex;
+  }
+
+  /**
+   * Return the parallelism used to read the entity deployment (0 or 1 for sequential).
+   */
+  public int getDeployParallelism() {
+    return deployParallelism;
+  }
+
+  /**
+   * Set the parallelism used to read the entity deployment.
+   * <p>
+   * When greater than 1 the per entity annotation reading and property creation phases
+   * run in parallel on a fork join pool of this size. This reduces startup time with a
+   * large number of entities.
+   * </p>
+   */
+  public void setDeployParallelism(int deployParallelism) {
+    this.deployParallelism = deployParallelism;
+  }
+
+  /**
+   * Return true if the bean persisters (and their DML) are created on first use.
+   */
+  public boolean isDeployLazyInit() {
+    return deployLazyInit;
+  }
+
+  /**
+   * Set to true to create the bean persisters (and their insert, update and delete DML)
+   * on first use rather than at startup.
+   */
+  public void setDeployLazyInit(boolean deployLazyInit) {
+    this.deployLazyInit = deployLazyInit;
+  }
+
   /**
    * Run the DB migration against the DataSource.
    */
@@ -172,6 +172,11 @@ public class DatabasePlatform {
 
   protected boolean supportsNativeIlike;
 
+  /**
+   * Set to true when nulls sort after non-null values by default (nulls last for ascending order).
+   */
+  protected boolean nullsSortHigh;
+
   /**
    * Instantiates a new database platform.
    */
@@ -446,6 +451,17 @@ public class DatabasePlatform {
     return treatEmptyStringsAsNull;
   }
 
+  /**
+   * Return true if nulls sort after non-null values by default.
+   * <p>
+   * That is, nulls last for ascending order and nulls first for descending order.
+   * This is used to build the predicates for keyset pagination.
+   * </p>
+   */
+  public boolean isNullsSortHigh() {
+    return nullsSortHigh;
+  }
+
   /**
    * Return true if a compound ID in (...) type expression needs to be in
    * expanded form of (a=? and b=?) or (a=? and b=?) or ... rather than (a,b) in
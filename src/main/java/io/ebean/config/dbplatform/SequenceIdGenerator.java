@@ -2,6 +2,8 @@ package io.ebean.config.dbplatform;
 
 import io.ebean.BackgroundExecutor;
 import io.ebean.Transaction;
+import io.ebean.meta.MetaMetric;
+import io.ebeaninternal.server.metric.ValueMetric;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,23 +14,39 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Database sequence based IdGenerator.
+ * <p>
+ * Ids are taken from a lock free queue. When the queue is running low the next
+ * allocation is loaded in the background. The allocation size adapts to the rate
+ * the ids are used, growing (up to 10 times the batch size) when allocations are
+ * used quickly or threads have had to wait for ids to be loaded.
+ * </p>
  */
 public abstract class SequenceIdGenerator implements PlatformIdGenerator {
 
   private static final Logger logger = LoggerFactory.getLogger(SequenceIdGenerator.class);
 
   /**
-   * Used to synchronise the idList access.
+   * Background loads closer together than this grow the allocation size.
    */
-  protected final Object monitor = new Object();
+  private static final long GROW_NANOS = TimeUnit.SECONDS.toNanos(1);
 
   /**
-   * Used to synchronise background loading (loadBatchInBackground).
+   * Background loads further apart than this shrink the allocation size.
    */
-  protected final Object backgroundLoadMonitor = new Object();
+  private static final long SHRINK_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+  /**
+   * The max allocation size (unless the batch size is larger).
+   */
+  private static final int MAX_ALLOCATION = 200;
 
   /**
    * The actual sequence name.
@@ -39,11 +57,46 @@ public abstract class SequenceIdGenerator implements PlatformIdGenerator {
 
   protected final BackgroundExecutor backgroundExecutor;
 
-  protected final ArrayList<Long> idList = new ArrayList<>(50);
+  /**
+   * The loaded ids available to use.
+   */
+  protected final ConcurrentLinkedQueue<Long> idQueue = new ConcurrentLinkedQueue<>();
+
+  /**
+   * The number of ids in the queue (as ConcurrentLinkedQueue size() is not constant time).
+   */
+  protected final AtomicInteger available = new AtomicInteger();
+
+  /**
+   * Set while a background load is in progress.
+   */
+  protected final AtomicBoolean backgroundLoading = new AtomicBoolean();
 
   protected final int batchSize;
 
-  protected int currentlyBackgroundLoading;
+  private final int maxAllocationSize;
+
+  /**
+   * The current (adaptive) number of ids to load.
+   */
+  private volatile int allocationSize;
+
+  private long lastBackgroundLoadNanos;
+
+  /**
+   * Set after the first allocation has been loaded.
+   */
+  private volatile boolean loaded;
+
+  /**
+   * Micros threads waited on loading ids.
+   */
+  private final ValueMetric waitMetric;
+
+  /**
+   * Number of ids loaded per allocation.
+   */
+  private final ValueMetric loadMetric;
 
   /**
    * Construct given a dataSource and sql to return the next sequence value.
@@ -53,6 +106,11 @@ public abstract class SequenceIdGenerator implements PlatformIdGenerator {
     this.dataSource = ds;
     this.seqName = seqName;
     this.batchSize = batchSize;
+    this.allocationSize = batchSize;
+    this.lastBackgroundLoadNanos = System.nanoTime();
+    this.maxAllocationSize = batchSize > 1 ? Math.max(batchSize, Math.min(batchSize * 10, MAX_ALLOCATION)) : batchSize;
+    this.waitMetric = new ValueMetric("seq." + seqName + ".wait");
+    this.loadMetric = new ValueMetric("seq." + seqName + ".load");
   }
 
   public abstract String getSql(int batchSize);
@@ -71,6 +129,13 @@ public abstract class SequenceIdGenerator implements PlatformIdGenerator {
     return true;
   }
 
+  /**
+   * Return the current number of ids loaded per allocation.
+   */
+  public int getAllocationSize() {
+    return allocationSize;
+  }
+
   /**
    * If allocateSize is large load some sequences in a background thread.
    * <p>
@@ -107,21 +172,38 @@ public abstract class SequenceIdGenerator implements PlatformIdGenerator {
    * </p>
    */
   public Object nextId(Transaction t) {
-    synchronized (monitor) {
 
-      if (idList.isEmpty()) {
-        loadMoreIds(batchSize, t);
-      }
-      Long nextId = idList.remove(0);
+    Long nextId = idQueue.poll();
+    if (nextId == null) {
+      nextId = loadOnExhausted(t);
+    } else {
+      available.decrementAndGet();
+    }
+    if (batchSize > 1 && available.get() <= allocationSize / 2) {
+      loadBatchInBackground();
+    }
+    return nextId;
+  }
 
-      if (batchSize > 1) {
-        if (idList.size() <= batchSize / 2) {
-          loadBatchInBackground();
-        }
-      }
+  /**
+   * No ids are available so load them using this thread taking the first one.
+   */
+  protected Long loadOnExhausted(Transaction t) {
 
-      return nextId;
+    long startNanos = System.nanoTime();
+    if (batchSize > 1 && loaded) {
+      // ids were used before the background load caught up
+      grow();
+    }
+    List<Long> newIds = getMoreIds(allocationSize, t);
+    if (newIds.isEmpty()) {
+      throw new PersistenceException("No sequence values loaded for " + seqName);
     }
+    recordLoad(newIds.size());
+    addIds(newIds.subList(1, newIds.size()));
+
+    waitMetric.addSinceNanos(startNanos);
+    return newIds.get(0);
   }
 
   /**
@@ -129,23 +211,43 @@ public abstract class SequenceIdGenerator implements PlatformIdGenerator {
    */
   protected void loadBatchInBackground() {
 
-    // single threaded processing...
-    synchronized (backgroundLoadMonitor) {
-
-      if (currentlyBackgroundLoading > 0) {
-        // skip as already background loading
-        logger.debug("... skip background sequence load (another load in progress)");
-        return;
-      }
-
-      currentlyBackgroundLoading = batchSize;
-
+    if (!backgroundLoading.compareAndSet(false, true)) {
+      // skip as already background loading
+      return;
+    }
+    adapt();
+    int loadSize = allocationSize;
+    try {
       backgroundExecutor.execute(() -> {
-        loadMoreIds(batchSize, null);
-        synchronized (backgroundLoadMonitor) {
-          currentlyBackgroundLoading = 0;
+        try {
+          loadMoreIds(loadSize, null);
+        } finally {
+          backgroundLoading.set(false);
         }
       });
+    } catch (RuntimeException e) {
+      backgroundLoading.set(false);
+      throw e;
+    }
+  }
+
+  /**
+   * Adjust the allocation size based on the time since the last background load.
+   */
+  private void adapt() {
+    long now = System.nanoTime();
+    long sinceLast = now - lastBackgroundLoadNanos;
+    lastBackgroundLoadNanos = now;
+    if (sinceLast < GROW_NANOS) {
+      grow();
+    } else if (sinceLast > SHRINK_NANOS && allocationSize > batchSize) {
+      allocationSize = Math.max(batchSize, allocationSize / 2);
+    }
+  }
+
+  private void grow() {
+    if (allocationSize < maxAllocationSize) {
+      allocationSize = Math.min(maxAllocationSize, allocationSize * 2);
     }
   }
 
@@ -156,12 +258,27 @@ public abstract class SequenceIdGenerator implements PlatformIdGenerator {
     if (logger.isDebugEnabled()) {
       logger.debug("... seq:" + seqName + " loaded:" + numberToLoad + " ids:" + newIds);
     }
+    recordLoad(newIds.size());
+    addIds(newIds);
+  }
 
-    synchronized (monitor) {
-      for (Long newId : newIds) {
-        idList.add(newId);
-      }
-    }
+  private void addIds(List<Long> newIds) {
+    idQueue.addAll(newIds);
+    available.addAndGet(newIds.size());
+  }
+
+  private void recordLoad(int size) {
+    loaded = true;
+    loadMetric.add(size);
+  }
+
+  /**
+   * Collect the metrics for the time threads waited on loading ids (micros)
+   * and the number of ids loaded per allocation.
+   */
+  public void collectMetrics(boolean reset, List<MetaMetric> list) {
+    waitMetric.collect(reset, list);
+    loadMetric.collect(reset, list);
   }
 
   /**
@@ -236,5 +353,4 @@ public abstract class SequenceIdGenerator implements PlatformIdGenerator {
       logger.error("Error closing Connection", e);
     }
   }
-
 }
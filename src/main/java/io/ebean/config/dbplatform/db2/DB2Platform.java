@@ -21,6 +21,7 @@ public class DB2Platform extends DatabasePlatform {
     this.platform = Platform.DB2;
     this.maxTableNameLength = 18;
     this.maxConstraintNameLength = 18;
+    this.nullsSortHigh = true;
     this.sqlLimiter = new Db2SqlLimiter();
     this.platformDdl = new DB2Ddl(this);
 
@@ -37,6 +37,7 @@ public class OraclePlatform extends DatabasePlatform {
     dbIdentity.setSupportsSequence(true);
 
     this.treatEmptyStringsAsNull = true;
+    this.nullsSortHigh = true;
 
     this.openQuote = "\"";
     this.closeQuote = "\"";
@@ -28,6 +28,7 @@ public class PostgresPlatform extends DatabasePlatform {
     this.supportsNativeIlike = true;
     this.likeClause = "like ? escape''";
     this.selectCountWithAlias = true;
+    this.nullsSortHigh = true;
     this.blobDbType = Types.LONGVARBINARY;
     this.clobDbType = Types.VARCHAR;
     this.nativeUuidType = true;
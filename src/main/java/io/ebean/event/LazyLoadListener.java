@@ -0,0 +1,19 @@
+package io.ebean.event;
+
+import io.ebean.meta.MetaLazyLoadReport;
+
+/**
+ * Listen for origin queries where lazy loading exceeds the detection threshold (N+1).
+ * <p>
+ * Registered via {@link io.ebean.config.ServerConfig#setLazyLoadListener(LazyLoadListener)}
+ * and notified once per origin query execution that crosses the threshold.
+ * </p>
+ */
+public interface LazyLoadListener {
+
+  /**
+   * Notify that the lazy loading on the path of an origin query exceeded the threshold.
+   */
+  void excessiveLazyLoading(MetaLazyLoadReport report);
+
+}
@@ -38,4 +38,28 @@ public interface MetaInfoManager {
    */
   List<MetaObjectGraphNodeStats> collectNodeStatistics(boolean reset);
 
+  /**
+   * Collect and return the reports of origin queries with excessive (N+1) lazy loading.
+   * <p>
+   * This requires the lazy load detect threshold to be set on ServerConfig and otherwise
+   * returns an empty list.
+   * </p>
+   *
+   * @param reset Set to true to reset the underlying counts after collection.
+   */
+  List<MetaLazyLoadReport> collectLazyLoadReports(boolean reset);
+
+  /**
+   * Collect and return the runtime metrics.
+   * <p>
+   * This includes transaction commit, rollback and query only times, connection acquire
+   * times, JDBC batch sizes, lazy loading batch sizes, the L2 cache hit, miss, put and
+   * eviction counts and the sequence id allocation sizes and wait times. Metrics with no
+   * events (since the last collection with reset) are excluded.
+   * </p>
+   *
+   * @param reset Set to true to reset the underlying metrics after collection.
+   */
+  List<MetaMetric> collectMetrics(boolean reset);
+
 }
@@ -0,0 +1,42 @@
+package io.ebean.meta;
+
+import io.ebean.bean.ObjectGraphNode;
+
+/**
+ * Report of an origin query and path where lazy loading exceeded the detection threshold (N+1).
+ * <p>
+ * The node holds the origin point (call stack) of the query and the path that was lazy loaded.
+ * Adding the suggested fetch to the origin query typically removes the lazy loading.
+ * </p>
+ *
+ * @see MetaInfoManager#collectLazyLoadReports(boolean)
+ * @see io.ebean.config.ServerConfig#setLazyLoadDetectThreshold(int)
+ */
+public interface MetaLazyLoadReport {
+
+  /**
+   * Return the ObjectGraphNode which has the origin point and the lazy loaded path.
+   */
+  ObjectGraphNode getNode();
+
+  /**
+   * Return true if the lazy loaded path is a OneToMany or ManyToMany.
+   */
+  boolean isMany();
+
+  /**
+   * Return the number of origin query executions that exceeded the threshold.
+   */
+  long getCount();
+
+  /**
+   * Return the max number of lazy loading queries executed for a single origin query execution.
+   */
+  long getMaxLazyLoads();
+
+  /**
+   * Return the suggested change to the origin query such as <code>fetch("customer")</code>.
+   */
+  String getSuggestion();
+
+}
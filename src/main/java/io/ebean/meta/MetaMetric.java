@@ -0,0 +1,44 @@
+package io.ebean.meta;
+
+/**
+ * A runtime metric such as transaction commit times, batch sizes or lazy loading.
+ * <p>
+ * Each metric is the count of events plus the total and max of the value recorded with
+ * each event (for example the time in microseconds or the number of statements). For
+ * L2 cache counters only the count is used.
+ * </p>
+ * <p>
+ * Metrics are collected periodically via {@link MetaInfoManager#collectMetrics(boolean)}
+ * and can be bridged to an external metrics registry.
+ * </p>
+ *
+ * @see MetaInfoManager#collectMetrics(boolean)
+ */
+public interface MetaMetric {
+
+  /**
+   * Return the metric name.
+   */
+  String getName();
+
+  /**
+   * Return the number of events.
+   */
+  long getCount();
+
+  /**
+   * Return the total of the values (for example total microseconds).
+   */
+  long getTotal();
+
+  /**
+   * Return the max value.
+   */
+  long getMax();
+
+  /**
+   * Return the mean value (total / count).
+   */
+  long getMean();
+
+}
@@ -1,6 +1,7 @@
 package io.ebean.text.json;
 
 import io.ebeaninternal.server.type.ModifyAwareFlag;
+import io.ebeaninternal.server.type.ModifyAwareKeyOwner;
 import io.ebeaninternal.server.type.ModifyAwareList;
 import io.ebeaninternal.server.type.ModifyAwareMap;
 import io.ebeaninternal.server.type.ModifyAwareOwner;
@@ -126,13 +127,31 @@ class EJsonReader {
   private void startArray() {
     depth++;
     stack.push(currentContext);
-    currentContext = modifyAware ? new ArrayContext(modifyAwareOwner) : new ArrayContext();
+    currentContext = modifyAware ? new ArrayContext(childOwner()) : new ArrayContext();
   }
 
   private void startObject() {
     depth++;
     stack.push(currentContext);
-    currentContext = modifyAware ? new ObjectContext(modifyAwareOwner) : new ObjectContext();
+    currentContext = modifyAware ? new ObjectContext(childOwner()) : new ObjectContext();
+  }
+
+  /**
+   * Return the owner for a new object or array (with depth already incremented).
+   * <p>
+   * Content nested under a top level key of the root object is owned by that key
+   * such that modifications are tracked by top level key.
+   * </p>
+   */
+  private ModifyAwareOwner childOwner() {
+    Context parent = stack.head;
+    if (parent == null) {
+      return modifyAwareOwner;
+    }
+    if (depth == 2 && parent instanceof ObjectContext) {
+      return new ModifyAwareKeyOwner(modifyAwareOwner, ((ObjectContext) parent).key);
+    }
+    return parent.owner;
   }
 
   private void endArray() {
@@ -279,6 +298,8 @@ class EJsonReader {
   private static abstract class Context {
     Context next;
 
+    ModifyAwareOwner owner;
+
     abstract void popContext(Context temp);
 
     abstract Object getValue();
@@ -301,6 +322,7 @@ class EJsonReader {
     }
 
     ObjectContext(ModifyAwareOwner owner) {
+      this.owner = owner;
       map = new ModifyAwareMap<>(owner, new LinkedHashMap<>());
     }
 
@@ -334,6 +356,7 @@ class EJsonReader {
     }
 
     ArrayContext(ModifyAwareOwner owner) {
+      this.owner = owner;
       values = new ModifyAwareList<>(owner, new ArrayList<>());
     }
 
@@ -1,11 +1,15 @@
 package io.ebean.text.json;
 
 import io.ebean.FetchPath;
+import io.ebean.Query;
 import io.ebean.plugin.BeanType;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Type;
@@ -16,6 +20,24 @@ import java.util.List;
  */
 public interface JsonContext {
 
+  /**
+   * Return a JsonContext that uses the given Jackson JsonFactory.
+   * <p>
+   * This is typically used with a binary format such as Smile or CBOR (when on the classpath)
+   * along with the InputStream and OutputStream methods for more compact and faster transport.
+   * </p>
+   * <pre>{@code
+   *
+   *   JsonContext smile = Ebean.json().withFactory(new SmileFactory());
+   *
+   *   smile.toJson(customers, outputStream);
+   *   ...
+   *   List<Customer> customers = smile.toList(Customer.class, inputStream);
+   *
+   * }</pre>
+   */
+  JsonContext withFactory(JsonFactory jsonFactory);
+
   /**
    * Convert json string input into a Bean of a specific type.
    *
@@ -23,6 +45,20 @@ public interface JsonContext {
    */
   <T> T toBean(Class<T> rootType, String json) throws JsonIOException;
 
+  /**
+   * Convert the input stream into a Bean of a specific type.
+   *
+   * @throws JsonIOException When IOException occurs
+   */
+  <T> T toBean(Class<T> rootType, InputStream json) throws JsonIOException;
+
+  /**
+   * Convert the input stream into a Bean of a specific type additionally using JsonReadOptions.
+   *
+   * @throws JsonIOException When IOException occurs
+   */
+  <T> T toBean(Class<T> rootType, InputStream json, JsonReadOptions options) throws JsonIOException;
+
   /**
    * Convert json string input into a Bean of a specific type additionally using JsonReadOptions.
    *
@@ -104,6 +140,20 @@ public interface JsonContext {
    */
   <T> List<T> toList(Class<T> rootType, Reader json, JsonReadOptions options) throws JsonIOException;
 
+  /**
+   * Convert the input stream into a list of beans of a specific type.
+   *
+   * @throws JsonIOException When IOException occurs
+   */
+  <T> List<T> toList(Class<T> rootType, InputStream json) throws JsonIOException;
+
+  /**
+   * Convert the input stream into a list of beans of a specific type additionally using JsonReadOptions.
+   *
+   * @throws JsonIOException When IOException occurs
+   */
+  <T> List<T> toList(Class<T> rootType, InputStream json, JsonReadOptions options) throws JsonIOException;
+
   /**
    * Convert json parser input into a list of beans of a specific type.
    *
@@ -156,6 +206,27 @@ public interface JsonContext {
    */
   void toJson(Object value, Writer writer) throws JsonIOException;
 
+  /**
+   * Write the bean or collection to the output stream (closing the generator but not the stream).
+   *
+   * @throws JsonIOException When IOException occurs
+   */
+  void toJson(Object value, OutputStream outputStream) throws JsonIOException;
+
+  /**
+   * Write the bean or collection to the output stream using the FetchPath.
+   *
+   * @throws JsonIOException When IOException occurs
+   */
+  void toJson(Object value, OutputStream outputStream, FetchPath fetchPath) throws JsonIOException;
+
+  /**
+   * Write the bean or collection to the output stream with additional options.
+   *
+   * @throws JsonIOException When IOException occurs
+   */
+  void toJson(Object value, OutputStream outputStream, JsonWriteOptions options) throws JsonIOException;
+
   /**
    * Write the bean or collection to the JsonGenerator.
    *
@@ -202,6 +273,48 @@ public interface JsonContext {
    */
   String toJson(Object value, JsonWriteOptions options) throws JsonIOException;
 
+  /**
+   * Execute the query writing each bean as JSON to the output stream as it is read.
+   * <p>
+   * The beans are written as a JSON array using findEach such that the query result is not
+   * held in memory. The select and fetch paths of the query define the JSON properties
+   * written (as they would using FetchPath).
+   * </p>
+   * <pre>{@code
+   *
+   *   Query<Customer> query = Ebean.find(Customer.class)
+   *     .select("id,name")
+   *     .fetch("billingAddress", "city")
+   *     .where().gt("id", 0).query();
+   *
+   *   Ebean.json().streamJson(query, response.getOutputStream());
+   *
+   * }</pre>
+   *
+   * @throws JsonIOException When IOException occurs
+   */
+  <T> void streamJson(Query<T> query, OutputStream outputStream) throws JsonIOException;
+
+  /**
+   * Execute the query writing each bean as JSON to the generator as it is read.
+   * <p>
+   * The generator is flushed periodically but not closed.
+   * </p>
+   *
+   * @throws JsonIOException When IOException occurs
+   */
+  <T> void streamJson(Query<T> query, JsonGenerator generator) throws JsonIOException;
+
+  /**
+   * Execute the query writing each bean as JSON to the generator with additional options.
+   * <p>
+   * When the options do not specify path properties the query select and fetch paths are used.
+   * </p>
+   *
+   * @throws JsonIOException When IOException occurs
+   */
+  <T> void streamJson(Query<T> query, JsonGenerator generator, JsonWriteOptions options) throws JsonIOException;
+
   /**
    * Return true if the type is known as an Entity bean or a List Set or
    * Map of entity beans.
@@ -222,6 +335,20 @@ public interface JsonContext {
    */
   JsonParser createParser(Reader reader) throws JsonIOException;
 
+  /**
+   * Create and return a new JsonGenerator for the given output stream.
+   *
+   * @throws JsonIOException When IOException occurs
+   */
+  JsonGenerator createGenerator(OutputStream outputStream) throws JsonIOException;
+
+  /**
+   * Create and return a new JsonParser for the given input stream.
+   *
+   * @throws JsonIOException When IOException occurs
+   */
+  JsonParser createParser(InputStream inputStream) throws JsonIOException;
+
   /**
    * Write a scalar types known to Ebean to Jackson.
    * <p>
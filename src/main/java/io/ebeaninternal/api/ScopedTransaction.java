@@ -120,6 +120,11 @@ public class ScopedTransaction implements SpiTransaction {
     return transaction.getLogPrefix();
   }
 
+  @Override
+  public long getStartNanoTime() {
+    return transaction.getStartNanoTime();
+  }
+
   @Override
   public boolean isLogSql() {
     return transaction.isLogSql();
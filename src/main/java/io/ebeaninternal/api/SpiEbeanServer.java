@@ -15,9 +15,11 @@ import io.ebean.event.readaudit.ReadAuditLogger;
 import io.ebean.event.readaudit.ReadAuditPrepare;
 import io.ebeaninternal.server.core.timezone.DataTimeZone;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.metric.ServerMetrics;
 import io.ebeaninternal.server.query.CQuery;
 import io.ebeaninternal.server.transaction.RemoteTransactionEvent;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -55,6 +57,11 @@ public interface SpiEbeanServer extends EbeanServer, BeanLoader, BeanCollectionL
    */
   DatabasePlatform getDatabasePlatform();
 
+  /**
+   * Return the runtime metrics for this server.
+   */
+  ServerMetrics getServerMetrics();
+
   /**
    * Create an object to represent the current CallStack.
    * <p>
@@ -134,6 +141,17 @@ public interface SpiEbeanServer extends EbeanServer, BeanLoader, BeanCollectionL
    */
   SpiTransaction createQueryTransaction(Object tenantId);
 
+  /**
+   * Create a ServerTransaction for a query reading the given tables.
+   * <p>
+   * This can use the read only DataSource (read replica) when one is configured.
+   * </p>
+   *
+   * @param tenantId For multi-tenant lazy loading provide the tenantId to use.
+   * @param tables   The tables the query reads (null if not known).
+   */
+  SpiTransaction createQueryTransaction(Object tenantId, Collection<String> tables);
+
   /**
    * An event from another server in the cluster used to notify local
    * BeanListeners of remote inserts updates and deletes.
@@ -185,6 +203,15 @@ public interface SpiEbeanServer extends EbeanServer, BeanLoader, BeanCollectionL
    */
   void collectQueryStats(ObjectGraphNode objectGraphNode, long loadedBeanCount, long timeMicros);
 
+  /**
+   * A lazy loading query is about to execute for the node. Used for N+1 lazy loading detection.
+   *
+   * @param objectGraphNode the origin and lazy loaded path
+   * @param many            true if the lazy loaded path is a ToMany
+   * @param lazyLoadCount   the number of lazy loading queries on the path for the origin query execution
+   */
+  void collectLazyLoad(ObjectGraphNode objectGraphNode, boolean many, int lazyLoadCount);
+
   /**
    * Return the ReadAuditLogger to use for logging all read audit events.
    */
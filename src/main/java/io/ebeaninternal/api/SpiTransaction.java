@@ -26,6 +26,11 @@ public interface SpiTransaction extends Transaction {
    */
   String getLogPrefix();
 
+  /**
+   * Return the System.nanoTime() when the transaction was created (used for metrics).
+   */
+  long getStartNanoTime();
+
   /**
    * Return true if generated SQL and Bind values should be logged to the
    * transaction log.
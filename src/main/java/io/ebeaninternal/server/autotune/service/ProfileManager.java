@@ -10,7 +10,6 @@ import io.ebeaninternal.server.autotune.AutoTuneCollection;
 import io.ebeaninternal.server.autotune.ProfilingListener;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
 
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -31,9 +30,7 @@ public class ProfileManager implements ProfilingListener {
   /**
    * Map of the usage and query statistics gathered.
    */
-  private final Map<String, ProfileOrigin> profileMap = new ConcurrentHashMap<>();
-
-  private final Object monitor = new Object();
+  private final ConcurrentHashMap<String, ProfileOrigin> profileMap = new ConcurrentHashMap<>();
 
   private final SpiEbeanServer server;
 
@@ -47,13 +44,16 @@ public class ProfileManager implements ProfilingListener {
   @Override
   public boolean isProfileRequest(ObjectGraphNode origin, SpiQuery<?> query) {
 
-    ProfileOrigin profileOrigin = profileMap.get(origin.getOriginQueryPoint().getKey());
+    String key = origin.getOriginQueryPoint().getKey();
+    ProfileOrigin profileOrigin = profileMap.get(key);
     if (profileOrigin == null) {
-      profileMap.put(origin.getOriginQueryPoint().getKey(), createProfileOrigin(origin, query));
-      return true;
-    } else {
-      return profileOrigin.isProfile();
+      profileOrigin = profileMap.putIfAbsent(key, createProfileOrigin(origin, query));
+      if (profileOrigin == null) {
+        // only the request that created the entry is profiled here
+        return true;
+      }
     }
+    return profileOrigin.isProfile();
   }
 
   /**
@@ -100,14 +100,12 @@ public class ProfileManager implements ProfilingListener {
   }
 
   private ProfileOrigin getProfileOrigin(ObjectGraphOrigin originQueryPoint) {
-    synchronized (monitor) {
-      ProfileOrigin stats = profileMap.get(originQueryPoint.getKey());
-      if (stats == null) {
-        stats = new ProfileOrigin(originQueryPoint, queryTuningAddVersion, profilingBase, profilingRate);
-        profileMap.put(originQueryPoint.getKey(), stats);
-      }
-      return stats;
+    // get first as computeIfAbsent locks even when the entry exists
+    ProfileOrigin stats = profileMap.get(originQueryPoint.getKey());
+    if (stats == null) {
+      stats = profileMap.computeIfAbsent(originQueryPoint.getKey(), key -> new ProfileOrigin(originQueryPoint, queryTuningAddVersion, profilingBase, profilingRate));
     }
+    return stats;
   }
 
   /**
@@ -12,12 +12,11 @@ import io.ebeaninternal.server.querydefn.OrmQueryDetail;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class ProfileOrigin {
 
-  private static final long RESET_COUNT = -1000000000L;
-
   private final ObjectGraphOrigin origin;
 
   private final boolean queryTuningAddVersion;
@@ -32,11 +31,12 @@ public class ProfileOrigin {
 
   private final Object monitor = new Object();
 
+  /**
+   * Count of requests only incremented until the profiling base is reached.
+   */
   private final AtomicLong requestCount = new AtomicLong();
 
-  private final AtomicLong profileCount = new AtomicLong();
-
-  private String originalQuery;
+  private volatile String originalQuery;
 
   public ProfileOrigin(ObjectGraphOrigin origin, boolean queryTuningAddVersion, int profilingBase, double profilingRate) {
     this.origin = origin;
@@ -55,20 +55,25 @@ public class ProfileOrigin {
 
   /**
    * Return true if this query should be profiled based on a percentage rate.
+   * <p>
+   * The first requests up to the profiling base are profiled and after that requests
+   * are sampled at the profiling rate. Once the base is reached the decision does not
+   * write to any shared state so there is no contention between threads.
+   * </p>
    */
   public boolean isProfile() {
 
-    long count = requestCount.incrementAndGet();
-    if (count < profilingBase) {
-      return true;
-    }
-    long hits = profileCount.get();
-    if (profilingRate > (double) hits / count) {
-      profileCount.incrementAndGet();
+    if (requestCount.get() < profilingBase && requestCount.incrementAndGet() < profilingBase) {
       return true;
-    } else {
-      return false;
     }
+    return ThreadLocalRandom.current().nextDouble() < profilingRate;
+  }
+
+  /**
+   * Return the count of requests which stops increasing at the profiling base.
+   */
+  long getRequestCount() {
+    return requestCount.get();
   }
 
   /**
@@ -90,10 +95,6 @@ public class ProfileOrigin {
       }
       if (reset) {
         nodeUsageMap.clear();
-        if (requestCount.get() > RESET_COUNT) {
-          requestCount.set(profilingBase);
-          profileCount.set(0);
-        }
       }
     }
   }
@@ -140,9 +141,7 @@ public class ProfileOrigin {
 
     ProfileOriginQuery stats = queryStatsMap.get(key);
     if (stats == null) {
-      // a race condition but we don't care
-      stats = new ProfileOriginQuery(key);
-      queryStatsMap.put(key, stats);
+      stats = queryStatsMap.computeIfAbsent(key, ProfileOriginQuery::new);
     }
     stats.add(beansLoaded, micros);
   }
@@ -162,16 +161,14 @@ public class ProfileOrigin {
 
   private ProfileOriginNodeUsage getNodeStats(String path) {
 
-    synchronized (monitor) {
-      // handle null paths as using ConcurrentHashMap
-      path = (path == null) ? "" : path;
-      ProfileOriginNodeUsage nodeStats = nodeUsageMap.get(path);
-      if (nodeStats == null) {
-        nodeStats = new ProfileOriginNodeUsage(path);
-        nodeUsageMap.put(path, nodeStats);
-      }
-      return nodeStats;
+    // handle null paths as using ConcurrentHashMap
+    path = (path == null) ? "" : path;
+    // get first as computeIfAbsent locks even when the entry exists
+    ProfileOriginNodeUsage nodeStats = nodeUsageMap.get(path);
+    if (nodeStats == null) {
+      nodeStats = nodeUsageMap.computeIfAbsent(path, ProfileOriginNodeUsage::new);
     }
+    return nodeStats;
   }
 
 }
@@ -10,27 +10,30 @@ import io.ebeaninternal.server.query.SplitName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Collects usages statistics for a given node in the object graph.
+ * <p>
+ * Usage is collected without locking as this happens for many beans concurrently.
+ * </p>
  */
 public class ProfileOriginNodeUsage {
 
   private static final Logger logger = LoggerFactory.getLogger(ProfileOriginNodeUsage.class);
 
-  private final Object monitor = new Object();
-
   private final String path;
 
-  private int profileCount;
+  private final LongAdder profileCount = new LongAdder();
 
-  private int profileUsedCount;
+  private final LongAdder profileUsedCount = new LongAdder();
 
-  private boolean modified;
+  private volatile boolean modified;
 
-  private final Set<String> aggregateUsed = new LinkedHashSet<>();
+  private final Set<String> aggregateUsed = ConcurrentHashMap.newKeySet();
 
   public ProfileOriginNodeUsage(String path) {
     // handle null paths as using ConcurrentHashMap
@@ -39,50 +42,48 @@ public class ProfileOriginNodeUsage {
 
   protected void buildTunedFetch(PathProperties pathProps, BeanDescriptor<?> rootDesc, boolean addVersionProperty) {
 
-    synchronized (monitor) {
-
-      BeanDescriptor<?> desc = rootDesc;
-      if (path != null) {
-        ElPropertyValue elGetValue = rootDesc.getElGetValue(path);
-        if (elGetValue == null) {
-          logger.warn("AutoTune: Can't find join for path[" + path + "] for " + rootDesc.getName());
-          return;
-        } else {
-          BeanProperty beanProperty = elGetValue.getBeanProperty();
-          if (beanProperty instanceof BeanPropertyAssoc<?>) {
-            desc = ((BeanPropertyAssoc<?>) beanProperty).getTargetDescriptor();
-          }
+    BeanDescriptor<?> desc = rootDesc;
+    if (path != null) {
+      ElPropertyValue elGetValue = rootDesc.getElGetValue(path);
+      if (elGetValue == null) {
+        logger.warn("AutoTune: Can't find join for path[" + path + "] for " + rootDesc.getName());
+        return;
+      } else {
+        BeanProperty beanProperty = elGetValue.getBeanProperty();
+        if (beanProperty instanceof BeanPropertyAssoc<?>) {
+          desc = ((BeanPropertyAssoc<?>) beanProperty).getTargetDescriptor();
         }
       }
+    }
 
-      for (String propName : aggregateUsed) {
-        BeanProperty beanProp = desc.getBeanPropertyFromPath(propName);
-        if (beanProp == null) {
-          logger.warn("AutoTune: Can't find property[" + propName + "] for " + desc.getName());
-
+    // sorted for a consistent tuned query
+    for (String propName : new TreeSet<>(aggregateUsed)) {
+      BeanProperty beanProp = desc.getBeanPropertyFromPath(propName);
+      if (beanProp == null) {
+        logger.warn("AutoTune: Can't find property[" + propName + "] for " + desc.getName());
+
+      } else {
+        if (beanProp instanceof BeanPropertyAssoc<?>) {
+          BeanPropertyAssoc<?> assocProp = (BeanPropertyAssoc<?>) beanProp;
+          String targetIdProp = assocProp.getTargetIdProperty();
+          String manyPath = SplitName.add(path, assocProp.getName());
+          pathProps.addToPath(manyPath, targetIdProp);
         } else {
-          if (beanProp instanceof BeanPropertyAssoc<?>) {
-            BeanPropertyAssoc<?> assocProp = (BeanPropertyAssoc<?>) beanProp;
-            String targetIdProp = assocProp.getTargetIdProperty();
-            String manyPath = SplitName.add(path, assocProp.getName());
-            pathProps.addToPath(manyPath, targetIdProp);
+          //noinspection StatementWithEmptyBody
+          if (beanProp.isLob() && !beanProp.isFetchEager()) {
+            // AutoTune will not include Lob's marked FetchLazy
+            // (which is the default for Lob's so typical).
           } else {
-            //noinspection StatementWithEmptyBody
-            if (beanProp.isLob() && !beanProp.isFetchEager()) {
-              // AutoTune will not include Lob's marked FetchLazy
-              // (which is the default for Lob's so typical).
-            } else {
-              pathProps.addToPath(path, beanProp.getName());
-            }
+            pathProps.addToPath(path, beanProp.getName());
           }
         }
       }
+    }
 
-      if ((modified || addVersionProperty) && desc != null) {
-        BeanProperty versionProp = desc.getVersionProperty();
-        if (versionProp != null) {
-          pathProps.addToPath(path, versionProp.getName());
-        }
+    if ((modified || addVersionProperty) && desc != null) {
+      BeanProperty versionProp = desc.getVersionProperty();
+      if (versionProp != null) {
+        pathProps.addToPath(path, versionProp.getName());
       }
     }
   }
@@ -92,19 +93,21 @@ public class ProfileOriginNodeUsage {
    */
   protected void collectUsageInfo(NodeUsageCollector profile) {
 
-    synchronized (monitor) {
-
-      Set<String> used = profile.getUsed();
+    Set<String> used = profile.getUsed();
 
-      profileCount++;
-      if (!used.isEmpty()) {
-        profileUsedCount++;
-        aggregateUsed.addAll(used);
-      }
-      if (profile.isModified()) {
-        modified = true;
+    profileCount.increment();
+    if (!used.isEmpty()) {
+      profileUsedCount.increment();
+      for (String property : used) {
+        // typically already contained so avoid the write
+        if (!aggregateUsed.contains(property)) {
+          aggregateUsed.add(property);
+        }
       }
     }
+    if (profile.isModified() && !modified) {
+      modified = true;
+    }
   }
 
   public String toString() {
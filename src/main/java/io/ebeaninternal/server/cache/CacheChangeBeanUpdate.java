@@ -2,8 +2,6 @@ package io.ebeaninternal.server.cache;
 
 import io.ebeaninternal.server.deploy.BeanDescriptor;
 
-import java.util.Map;
-
 /**
  * Put a new bean entry into the cache.
  */
@@ -11,11 +9,11 @@ class CacheChangeBeanUpdate implements CacheChange {
 
   private final BeanDescriptor<?> desc;
   private final Object id;
-  private final Map<String, Object> changes;
+  private final CachedBeanData changes;
   private final boolean updateNaturalKey;
   private final long version;
 
-  CacheChangeBeanUpdate(BeanDescriptor<?> desc, Object id, Map<String, Object> changes, boolean updateNaturalKey, long version) {
+  CacheChangeBeanUpdate(BeanDescriptor<?> desc, Object id, CachedBeanData changes, boolean updateNaturalKey, long version) {
     this.desc = desc;
     this.id = id;
     this.changes = changes;
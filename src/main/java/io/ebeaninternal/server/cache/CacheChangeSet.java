@@ -103,7 +103,7 @@ public class CacheChangeSet {
   /**
    * Update a bean entry.
    */
-  public <T> void addBeanUpdate(BeanDescriptor<T> desc, Object id, Map<String, Object> changes, boolean updateNaturalKey, long version) {
+  public <T> void addBeanUpdate(BeanDescriptor<T> desc, Object id, CachedBeanData changes, boolean updateNaturalKey, long version) {
     entries.add(new CacheChangeBeanUpdate(desc, id, changes, updateNaturalKey, version));
     if (viewEntityInvalidation) {
       viewInvalidation.add(desc.getBaseTable());
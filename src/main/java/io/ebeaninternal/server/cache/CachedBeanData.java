@@ -4,19 +4,24 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
 
 /**
  * Data held in the bean cache for cached beans.
+ * <p>
+ * The property values are held in an array by property index with a bitmask of
+ * the loaded properties. The schema id identifies the property layout of the bean
+ * descriptor the data was extracted from such that data with a different layout
+ * (e.g. from another version of the application via a remote cache) is not used.
+ * </p>
  */
 public class CachedBeanData implements Externalizable {
 
   private long whenCreated;
   private long version;
   private String discValue;
-  private Map<String, Object> data;
+  private int schemaId;
+  private long[] loaded;
+  private Object[] data;
 
   /**
    * The sharable bean is effectively transient (near cache only).
@@ -26,11 +31,13 @@ public class CachedBeanData implements Externalizable {
   /**
    * Construct from a loaded bean.
    */
-  public CachedBeanData(Object sharableBean, String discValue, Map<String, Object> data, long version) {
+  public CachedBeanData(Object sharableBean, String discValue, int schemaId, Object[] data, long[] loaded, long version) {
     this.whenCreated = System.currentTimeMillis();
     this.sharableBean = sharableBean;
     this.discValue = discValue;
+    this.schemaId = schemaId;
     this.data = data;
+    this.loaded = loaded;
     this.version = version;
   }
 
@@ -40,6 +47,20 @@ public class CachedBeanData implements Externalizable {
   public CachedBeanData() {
   }
 
+  /**
+   * Create the loaded bitmask for the given number of properties.
+   */
+  public static long[] newLoaded(int propertyLength) {
+    return new long[(propertyLength + 63) >>> 6];
+  }
+
+  /**
+   * Set the property index as loaded in the bitmask.
+   */
+  public static void setLoaded(long[] loaded, int propertyIndex) {
+    loaded[propertyIndex >>> 6] |= (1L << propertyIndex);
+  }
+
   @Override
   public void writeExternal(ObjectOutput out) throws IOException {
     out.writeLong(version);
@@ -49,10 +70,16 @@ public class CachedBeanData implements Externalizable {
     if (hasDisc) {
       out.writeUTF(discValue);
     }
-    out.writeInt(data.size());
-    for (Map.Entry<String, Object> entry : data.entrySet()) {
-      out.writeUTF(entry.getKey());
-      out.writeObject(entry.getValue());
+    out.writeInt(schemaId);
+    out.writeShort(data.length);
+    for (long word : loaded) {
+      out.writeLong(word);
+    }
+    // only the loaded values
+    for (int i = 0; i < data.length; i++) {
+      if (isLoaded(i)) {
+        out.writeObject(data[i]);
+      }
     }
   }
 
@@ -63,29 +90,52 @@ public class CachedBeanData implements Externalizable {
     if (in.readBoolean()) {
       discValue = in.readUTF();
     }
-    data = new LinkedHashMap<>();
-    int count = in.readInt();
-    for (int i = 0; i < count; i++) {
-      String key = in.readUTF();
-      Object val = in.readObject();
-      data.put(key, val);
+    schemaId = in.readInt();
+    int length = in.readShort();
+    loaded = newLoaded(length);
+    for (int i = 0; i < loaded.length; i++) {
+      loaded[i] = in.readLong();
+    }
+    data = new Object[length];
+    for (int i = 0; i < length; i++) {
+      if (isLoaded(i)) {
+        data[i] = in.readObject();
+      }
     }
   }
 
   public String toString() {
-    return data.toString();
+    StringBuilder sb = new StringBuilder(50).append('{');
+    for (int i = 0; i < data.length; i++) {
+      if (isLoaded(i)) {
+        if (sb.length() > 1) {
+          sb.append(", ");
+        }
+        sb.append(i).append('=').append(data[i]);
+      }
+    }
+    return sb.append('}').toString();
   }
 
   /**
    * Create and return a new version of CachedBeanData based on this
-   * entry applying the given changes.
+   * entry applying the loaded properties of the given changes.
    */
-  public CachedBeanData update(Map<String, Object> changes, long version) {
-
-    Map<String, Object> copy = new HashMap<>();
-    copy.putAll(data);
-    copy.putAll(changes);
-    return new CachedBeanData(null, discValue, copy, version);
+  public CachedBeanData update(CachedBeanData changes, long version) {
+
+    int length = Math.max(data.length, changes.data.length);
+    Object[] copyData = new Object[length];
+    System.arraycopy(data, 0, copyData, 0, data.length);
+    long[] copyLoaded = newLoaded(length);
+    System.arraycopy(loaded, 0, copyLoaded, 0, loaded.length);
+
+    for (int i = 0; i < changes.data.length; i++) {
+      if (changes.isLoaded(i)) {
+        copyData[i] = changes.data[i];
+        setLoaded(copyLoaded, i);
+      }
+    }
+    return new CachedBeanData(null, discValue, schemaId, copyData, copyLoaded, version);
   }
 
   /**
@@ -109,6 +159,13 @@ public class CachedBeanData implements Externalizable {
     return discValue;
   }
 
+  /**
+   * Return the id of the property layout this data was extracted with.
+   */
+  public int getSchemaId() {
+    return schemaId;
+  }
+
   /**
    * Return a sharable (immutable read only) bean. Near cache only use.
    */
@@ -119,21 +176,21 @@ public class CachedBeanData implements Externalizable {
   /**
    * Return true if the property is held.
    */
-  public boolean isLoaded(String propertyName) {
-    return data.containsKey(propertyName);
+  public boolean isLoaded(int propertyIndex) {
+    return propertyIndex < data.length && (loaded[propertyIndex >>> 6] & (1L << propertyIndex)) != 0;
   }
 
   /**
-   * Return the value for a given property name.
+   * Return the value for a given property index.
    */
-  public Object getData(String propertyName) {
-    return data.get(propertyName);
+  public Object getData(int propertyIndex) {
+    return propertyIndex < data.length ? data[propertyIndex] : null;
   }
 
   /**
-   * Return all the property data.
+   * Return all the property data by property index (null for properties not held).
    */
-  public Map<String, Object> getData() {
+  public Object[] getData() {
     return data;
   }
 }
@@ -5,9 +5,6 @@ import io.ebean.bean.EntityBeanIntercept;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
 import io.ebeaninternal.server.deploy.BeanProperty;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 public class CachedBeanDataFromBean {
 
 
@@ -15,27 +12,33 @@ public class CachedBeanDataFromBean {
 
     EntityBeanIntercept ebi = bean._ebean_getIntercept();
 
-    Map<String, Object> data = new LinkedHashMap<>();
+    int propertyLength = ebi.getPropertyLength();
+    Object[] data = new Object[propertyLength];
+    long[] loaded = CachedBeanData.newLoaded(propertyLength);
 
     BeanProperty idProperty = desc.getIdProperty();
     if (idProperty != null) {
-      int propertyIndex = idProperty.getPropertyIndex();
-      if (ebi.isLoadedProperty(propertyIndex)) {
-        data.put(idProperty.getName(), idProperty.getCacheDataValue(bean));
-      }
+      extractProperty(bean, ebi, idProperty, data, loaded);
     }
     BeanProperty[] props = desc.propertiesNonMany();
 
     // extract all the non-many properties
     for (BeanProperty prop : props) {
-      if (ebi.isLoadedProperty(prop.getPropertyIndex())) {
-        data.put(prop.getName(), prop.getCacheDataValue(bean));
-      }
+      extractProperty(bean, ebi, prop, data, loaded);
     }
 
     long version = desc.getVersion(bean);
     EntityBean sharableBean = createSharableBean(desc, bean, ebi);
-    return new CachedBeanData(sharableBean, desc.getDiscValue(), data, version);
+    return new CachedBeanData(sharableBean, desc.getDiscValue(), desc.getCacheSchemaId(), data, loaded, version);
+  }
+
+  private static void extractProperty(EntityBean bean, EntityBeanIntercept ebi, BeanProperty prop, Object[] data, long[] loaded) {
+
+    int propertyIndex = prop.getPropertyIndex();
+    if (ebi.isLoadedProperty(propertyIndex)) {
+      data[propertyIndex] = prop.getCacheDataValue(bean);
+      CachedBeanData.setLoaded(loaded, propertyIndex);
+    }
   }
 
   private static EntityBean createSharableBean(BeanDescriptor<?> desc, EntityBean bean, EntityBeanIntercept beanEbi) {
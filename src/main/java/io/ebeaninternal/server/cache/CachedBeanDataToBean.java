@@ -36,11 +36,9 @@ public class CachedBeanDataToBean {
 
   private static void loadProperty(EntityBean bean, CachedBeanData cacheBeanData, EntityBeanIntercept ebi, BeanProperty prop, PersistenceContext context) {
 
-    if (cacheBeanData.isLoaded(prop.getName())) {
-      if (!ebi.isLoadedProperty(prop.getPropertyIndex())) {
-        Object value = cacheBeanData.getData(prop.getName());
-        prop.setCacheDataValue(bean, value, context);
-      }
+    int propertyIndex = prop.getPropertyIndex();
+    if (cacheBeanData.isLoaded(propertyIndex) && !ebi.isLoadedProperty(propertyIndex)) {
+      prop.setCacheDataValue(bean, cacheBeanData.getData(propertyIndex), context);
     }
   }
 
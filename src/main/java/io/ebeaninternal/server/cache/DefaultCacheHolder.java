@@ -6,8 +6,12 @@ import io.ebean.cache.ServerCache;
 import io.ebean.cache.ServerCacheFactory;
 import io.ebean.cache.ServerCacheOptions;
 import io.ebean.cache.ServerCacheType;
+import io.ebean.cache.ServerCacheStatistics;
 import io.ebean.config.CurrentTenantProvider;
+import io.ebean.meta.MetaMetric;
+import io.ebeaninternal.server.metric.DMetaMetric;
 
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
@@ -44,6 +48,10 @@ class DefaultCacheHolder {
     if (tenantProvider == null) {
       return new SimpleSupplier(getCacheInternal(beanType, cacheKey, type));
     }
+    if (getCacheOptions(beanType, type).isTenantShared()) {
+      // single cache shared by all tenants keyed by tenant id and id
+      return new SimpleSupplier(new TenantAwareCache(getCacheInternal(beanType, cacheKey, type), tenantProvider));
+    }
     return new TenantSupplier(beanType, cacheKey, type);
   }
 
@@ -71,6 +79,33 @@ class DefaultCacheHolder {
     }
   }
 
+  /**
+   * Collect the hit, miss, put and eviction counts of all the caches as metrics.
+   */
+  void collectMetrics(boolean reset, List<MetaMetric> list) {
+    for (ServerCache serverCache : allCaches.values()) {
+      ServerCacheStatistics stats = ServerCacheMetrics.metricStatistics(serverCache, reset);
+      if (stats != null) {
+        String prefix = "l2." + stats.getCacheName();
+        addCount(list, prefix + ".hit", stats.getHitCount());
+        addCount(list, prefix + ".miss", stats.getMissCount());
+        addCount(list, prefix + ".insert", stats.getInsertCount());
+        addCount(list, prefix + ".update", stats.getUpdateCount());
+        addCount(list, prefix + ".remove", stats.getRemoveCount());
+        addCount(list, prefix + ".clear", stats.getClearCount());
+        addCount(list, prefix + ".evict", stats.getEvictByIdle() + stats.getEvictByTTL() + stats.getEvictByLRU());
+        addCount(list, prefix + ".remoteHit", stats.getRemoteHitCount());
+        addCount(list, prefix + ".remoteMiss", stats.getRemoteMissCount());
+      }
+    }
+  }
+
+  private void addCount(List<MetaMetric> list, String name, long count) {
+    if (count > 0) {
+      list.add(new DMetaMetric(name, count, 0, 0));
+    }
+  }
+
   /**
    * Return the cache options for a given bean type.
    */
@@ -24,7 +24,7 @@ import java.util.concurrent.atomic.LongAdder;
  * The periodic trimming means that an LRU list does not have to be maintained.
  * </p>
  */
-public class DefaultServerCache implements ServerCache {
+public class DefaultServerCache implements ServerCache, ServerCacheMetrics {
 
   protected static final Logger logger = LoggerFactory.getLogger(DefaultServerCache.class);
 
@@ -33,6 +33,19 @@ public class DefaultServerCache implements ServerCache {
    */
   public static final CompareByLastAccess BY_LAST_ACCESS = new CompareByLastAccess();
 
+  private static final int CLEAR = 0;
+  private static final int REMOVE = 1;
+  private static final int UPDATE = 2;
+  private static final int INSERT = 3;
+  private static final int MISS = 4;
+  private static final int HIT = 5;
+  private static final int EVICT = 6;
+  private static final int EVICT_MICROS = 7;
+  private static final int EVICT_IDLE = 8;
+  private static final int EVICT_TTL = 9;
+  private static final int EVICT_LRU = 10;
+  private static final int COUNTERS = 11;
+
   /**
    * The underlying map (ConcurrentHashMap or similar)
    */
@@ -51,6 +64,16 @@ public class DefaultServerCache implements ServerCache {
   protected final LongAdder evictCount = new LongAdder();
   protected final LongAdder evictMicros = new LongAdder();
 
+  /**
+   * Counter values at the last reset of the statistics.
+   */
+  private volatile long[] statisticsBase = new long[COUNTERS];
+
+  /**
+   * Counter values at the last reset of the metrics (kept separately from the statistics).
+   */
+  private volatile long[] metricsBase = new long[COUNTERS];
+
   protected final Object monitor = new Object();
 
   protected final String name;
@@ -117,42 +140,71 @@ public class DefaultServerCache implements ServerCache {
   @Override
   public ServerCacheStatistics getStatistics(boolean reset) {
 
-    ServerCacheStatistics cacheStats = new ServerCacheStatistics();
-    cacheStats.setCacheName(name);
-    cacheStats.setMaxSize(maxSize);
+    long[] counts = counts();
+    long[] base = statisticsBase;
+    if (reset) {
+      statisticsBase = counts;
+    }
+    return statistics(counts, base);
+  }
+
+  @Override
+  public ServerCacheStatistics getMetricStatistics(boolean reset) {
+
+    long[] counts = counts();
+    long[] base = metricsBase;
+    if (reset) {
+      metricsBase = counts;
+    }
+    return statistics(counts, base);
+  }
+
+  /**
+   * Return the current values of the counters (which are never reset).
+   */
+  private long[] counts() {
 
     // these counters won't necessarily be consistent with
     // respect to each other as activity can occur while
     // they are being calculated here but they should be good enough
     // and we don't want to reduce concurrent use to make them consistent
-    long clear = reset ? clearCount.sumThenReset() : clearCount.sum();
-    long remove = reset ? removeCount.sumThenReset() : removeCount.sum();
-    long update = reset ? updateCount.sumThenReset() : updateCount.sum();
-    long insert = reset ? insertCount.sumThenReset() : insertCount.sum();
-    long miss = reset ? missCount.sumThenReset() : missCount.sum();
-    long hit = reset ? hitCount.sumThenReset() : hitCount.sum();
-
-    long evict = reset ? evictCount.sumThenReset() : evictCount.sum();
-    long evictTime = reset ? evictMicros.sumThenReset() : evictMicros.sum();
-    long evictIdle = reset ? evictByIdle.sumThenReset() : evictByIdle.sum();
-    long evictTTL = reset ? evictByTTL.sumThenReset() : evictByTTL.sum();
-    long evictLRU = reset ? evictByLRU.sumThenReset() : evictByLRU.sum();
-
-    int size = size();
-
-    cacheStats.setSize(size);
-    cacheStats.setHitCount(hit);
-    cacheStats.setMissCount(miss);
-    cacheStats.setInsertCount(insert);
-    cacheStats.setUpdateCount(update);
-    cacheStats.setRemoveCount(remove);
-    cacheStats.setClearCount(clear);
-
-    cacheStats.setEvictionRunCount(evict);
-    cacheStats.setEvictionRunMicros(evictTime);
-    cacheStats.setEvictByIdle(evictIdle);
-    cacheStats.setEvictByTTL(evictTTL);
-    cacheStats.setEvictByLRU(evictLRU);
+    long[] counts = new long[COUNTERS];
+    counts[CLEAR] = clearCount.sum();
+    counts[REMOVE] = removeCount.sum();
+    counts[UPDATE] = updateCount.sum();
+    counts[INSERT] = insertCount.sum();
+    counts[MISS] = missCount.sum();
+    counts[HIT] = hitCount.sum();
+    counts[EVICT] = evictCount.sum();
+    counts[EVICT_MICROS] = evictMicros.sum();
+    counts[EVICT_IDLE] = evictByIdle.sum();
+    counts[EVICT_TTL] = evictByTTL.sum();
+    counts[EVICT_LRU] = evictByLRU.sum();
+    return counts;
+  }
+
+  /**
+   * Return the statistics for the counts since the given base counts.
+   */
+  private ServerCacheStatistics statistics(long[] counts, long[] base) {
+
+    ServerCacheStatistics cacheStats = new ServerCacheStatistics();
+    cacheStats.setCacheName(name);
+    cacheStats.setMaxSize(maxSize);
+    cacheStats.setSize(size());
+
+    cacheStats.setHitCount(counts[HIT] - base[HIT]);
+    cacheStats.setMissCount(counts[MISS] - base[MISS]);
+    cacheStats.setInsertCount(counts[INSERT] - base[INSERT]);
+    cacheStats.setUpdateCount(counts[UPDATE] - base[UPDATE]);
+    cacheStats.setRemoveCount(counts[REMOVE] - base[REMOVE]);
+    cacheStats.setClearCount(counts[CLEAR] - base[CLEAR]);
+
+    cacheStats.setEvictionRunCount(counts[EVICT] - base[EVICT]);
+    cacheStats.setEvictionRunMicros(counts[EVICT_MICROS] - base[EVICT_MICROS]);
+    cacheStats.setEvictByIdle(counts[EVICT_IDLE] - base[EVICT_IDLE]);
+    cacheStats.setEvictByTTL(counts[EVICT_TTL] - base[EVICT_TTL]);
+    cacheStats.setEvictByLRU(counts[EVICT_LRU] - base[EVICT_LRU]);
 
     return cacheStats;
   }
@@ -160,8 +212,9 @@ public class DefaultServerCache implements ServerCache {
   @Override
   public int getHitRatio() {
 
-    long mc = missCount.sum();
-    long hc = hitCount.sum();
+    long[] base = statisticsBase;
+    long mc = missCount.sum() - base[MISS];
+    long hc = hitCount.sum() - base[HIT];
 
     long totalCount = hc + mc;
     if (totalCount == 0) {
@@ -30,7 +30,9 @@ class DefaultServerCacheFactory implements ServerCacheFactory {
 
   public ServerCache createCache(ServerCacheType type, String cacheKey, ServerCacheOptions cacheOptions) {
 
-    DefaultServerCache cache = new DefaultServerCache(cacheKey, cacheOptions);
+    DefaultServerCache cache = cacheOptions.isTenantShared()
+      ? new DefaultTenantServerCache(cacheKey, cacheOptions)
+      : new DefaultServerCache(cacheKey, cacheOptions);
     if (executor != null) {
       cache.periodicTrim(executor);
     }
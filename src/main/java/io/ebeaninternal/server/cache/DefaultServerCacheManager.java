@@ -5,7 +5,9 @@ import io.ebean.cache.ServerCacheFactory;
 import io.ebean.cache.ServerCacheOptions;
 import io.ebean.cache.ServerCacheType;
 import io.ebean.config.CurrentTenantProvider;
+import io.ebean.meta.MetaMetric;
 
+import java.util.List;
 import java.util.function.Supplier;
 
 
@@ -45,6 +47,11 @@ public class DefaultServerCacheManager implements SpiCacheManager {
     cacheHolder.clearAll();
   }
 
+  @Override
+  public void collectMetrics(boolean reset, List<MetaMetric> list) {
+    cacheHolder.collectMetrics(reset, list);
+  }
+
   public Supplier<ServerCache> getCollectionIdsCache(Class<?> beanType, String propertyName) {
     return cacheHolder.getCache(beanType, name(beanType) + "." + propertyName, ServerCacheType.COLLECTION_IDS);
   }
@@ -67,6 +74,11 @@ public class DefaultServerCacheManager implements SpiCacheManager {
     return cacheHolder.getCache(beanType, name(beanType), ServerCacheType.BEAN);
   }
 
+  @Override
+  public ServerCacheOptions getBeanCacheOptions(Class<?> beanType) {
+    return cacheHolder.getCacheOptions(beanType, ServerCacheType.BEAN);
+  }
+
   private String name(Class<?> beanType) {
     return beanType.getName();
   }
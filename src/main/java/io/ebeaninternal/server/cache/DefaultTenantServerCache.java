@@ -0,0 +1,272 @@
+package io.ebeaninternal.server.cache;
+
+import io.ebean.cache.ServerCacheOptions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache shared by all tenants with entries keyed by {@link TenantAwareKey}.
+ * <p>
+ * Eviction applies the per tenant maximum (as a percentage of the max size) and then trims
+ * fairly across tenants such that the tenants using the most entries are trimmed first
+ * (max-min fairness) and each tenant loses its least recently accessed entries.
+ * </p>
+ * <p>
+ * The entries are held in a map per tenant such that clearing a tenant and the size of a tenant
+ * do not scan the entries of all the other tenants.
+ * </p>
+ */
+public class DefaultTenantServerCache extends DefaultServerCache {
+
+  /**
+   * Tenant id used for keys that are not TenantAwareKey or have a null tenant id.
+   */
+  private static final Object NO_TENANT = new Object();
+
+  /**
+   * The entries by tenant id.
+   */
+  private final ConcurrentHashMap<Object, Map<Object, CacheEntry>> tenants = new ConcurrentHashMap<>();
+
+  private final int tenantMaxPercent;
+
+  public DefaultTenantServerCache(String name, ServerCacheOptions options) {
+    // entries are held in the per tenant maps rather than the map of the super type
+    super(name, Collections.emptyMap(), options);
+    this.tenantMaxPercent = options.getTenantMaxPercent();
+  }
+
+  private static Object tenantId(Object key) {
+    if (key instanceof TenantAwareKey) {
+      Object tenantId = ((TenantAwareKey) key).getTenantId();
+      return tenantId == null ? NO_TENANT : tenantId;
+    }
+    return NO_TENANT;
+  }
+
+  /**
+   * Return the map of entries for the tenant of the given key (null if there are none).
+   */
+  private Map<Object, CacheEntry> tenantMap(Object key) {
+    return tenants.get(tenantId(key));
+  }
+
+  /**
+   * Return the maximum number of entries a single tenant can hold (0 for no maximum).
+   */
+  int getTenantMaxSize() {
+    return (tenantMaxPercent <= 0 || maxSize == 0) ? 0 : Math.max(1, maxSize * tenantMaxPercent / 100);
+  }
+
+  /**
+   * Remove all the entries for the given tenant.
+   */
+  public void clearTenant(Object tenantId) {
+    clearCount.increment();
+    tenants.remove(tenantId == null ? NO_TENANT : tenantId);
+  }
+
+  /**
+   * Return the number of entries held for the given tenant.
+   */
+  public int size(Object tenantId) {
+    Map<Object, CacheEntry> entries = tenants.get(tenantId == null ? NO_TENANT : tenantId);
+    return entries == null ? 0 : entries.size();
+  }
+
+  /**
+   * Clear the entries of all the tenants.
+   */
+  @Override
+  public void clear() {
+    clearCount.increment();
+    tenants.clear();
+  }
+
+  @Override
+  public Object get(Object key) {
+
+    Map<Object, CacheEntry> entries = tenantMap(key);
+    CacheEntry entry = (entries == null) ? null : entries.get(key);
+    if (entry == null) {
+      missCount.increment();
+      return null;
+    } else {
+      hitCount.increment();
+      return entry.getValue();
+    }
+  }
+
+  /**
+   * Put a value into the cache.
+   * <p>
+   * A put that races with clearing the tenant (or the eviction of its empty map) can be lost
+   * which just results in a later cache miss.
+   * </p>
+   */
+  @Override
+  public Object put(Object key, Object value) {
+
+    Map<Object, CacheEntry> entries = tenants.computeIfAbsent(tenantId(key), k -> new ConcurrentHashMap<>());
+    CacheEntry entry = entries.put(key, new CacheEntry(key, value));
+    if (entry == null) {
+      insertCount.increment();
+      return null;
+    } else {
+      updateCount.increment();
+      return entry.getValue();
+    }
+  }
+
+  @Override
+  public Object remove(Object key) {
+
+    Map<Object, CacheEntry> entries = tenantMap(key);
+    CacheEntry entry = (entries == null) ? null : entries.remove(key);
+    if (entry == null) {
+      return null;
+    } else {
+      removeCount.increment();
+      return entry.getValue();
+    }
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (Map<Object, CacheEntry> entries : tenants.values()) {
+      size += entries.size();
+    }
+    return size;
+  }
+
+  @Override
+  public void runEviction() {
+
+    int tenantMaxSize = getTenantMaxSize();
+    if (maxIdleSecs == 0 && maxSecsToLive == 0 && (maxSize == 0 || size() <= maxSize) && tenantMaxSize == 0) {
+      // nothing to trim on this cache
+      return;
+    }
+
+    long startNanos = System.nanoTime();
+
+    long trimmedByIdle = 0;
+    long trimmedByTTL = 0;
+
+    long idleExpire = System.currentTimeMillis() - (maxIdleSecs * 1000);
+    long ttlExpire = System.currentTimeMillis() - (maxSecsToLive * 1000);
+
+    Map<Object, List<CacheEntry>> byTenant = new HashMap<>();
+
+    for (Map.Entry<Object, Map<Object, CacheEntry>> tenant : tenants.entrySet()) {
+      List<CacheEntry> active = new ArrayList<>();
+      Iterator<CacheEntry> it = tenant.getValue().values().iterator();
+      while (it.hasNext()) {
+        CacheEntry cacheEntry = it.next();
+        if (maxIdleSecs > 0 && idleExpire > cacheEntry.getLastAccessTime()) {
+          it.remove();
+          trimmedByIdle++;
+
+        } else if (maxSecsToLive > 0 && ttlExpire > cacheEntry.getCreateTime()) {
+          it.remove();
+          trimmedByTTL++;
+
+        } else {
+          active.add(cacheEntry);
+        }
+      }
+      if (active.isEmpty()) {
+        // remove the empty tenant map
+        tenants.remove(tenant.getKey(), tenant.getValue());
+      } else {
+        byTenant.put(tenant.getKey(), active);
+      }
+    }
+
+    long trimmedByLRU = trimTenants(byTenant, tenantMaxSize);
+
+    long exeNanos = System.nanoTime() - startNanos;
+    long exeMicros = TimeUnit.MICROSECONDS.convert(exeNanos, TimeUnit.NANOSECONDS);
+
+    evictMicros.add(exeMicros);
+    evictCount.increment();
+    evictByIdle.add(trimmedByIdle);
+    evictByTTL.add(trimmedByTTL);
+    evictByLRU.add(trimmedByLRU);
+
+    if (logger.isTraceEnabled()) {
+      logger.trace("Executed trim of cache {} in [{}]millis idle[{}] timeToLive[{}] accessTime[{}] tenants[{}]"
+        , name, exeMicros, trimmedByIdle, trimmedByTTL, trimmedByLRU, byTenant.size());
+    }
+  }
+
+  /**
+   * Trim the tenants that exceed the tenant maximum and then trim fairly if the cache exceeds its max size.
+   */
+  private long trimTenants(Map<Object, List<CacheEntry>> byTenant, int tenantMaxSize) {
+
+    List<Object> tenantIds = new ArrayList<>(byTenant.keySet());
+    int[] targets = new int[tenantIds.size()];
+    int total = 0;
+    for (int i = 0; i < targets.length; i++) {
+      int count = byTenant.get(tenantIds.get(i)).size();
+      if (tenantMaxSize > 0 && count > tenantMaxSize) {
+        // trim to 90% of the tenant maximum
+        count = Math.max(1, tenantMaxSize * 90 / 100);
+      }
+      targets[i] = count;
+      total += count;
+    }
+
+    if (maxSize > 0 && total > maxSize) {
+      int cap = fairShareCap(targets, getTrimSize());
+      for (int i = 0; i < targets.length; i++) {
+        targets[i] = Math.min(targets[i], cap);
+      }
+    }
+
+    long trimmed = 0;
+    for (int i = 0; i < targets.length; i++) {
+      List<CacheEntry> entries = byTenant.get(tenantIds.get(i));
+      Map<Object, CacheEntry> tenantEntries = tenants.get(tenantIds.get(i));
+      if (targets[i] < entries.size() && tenantEntries != null) {
+        // sort into last access time ascending and remove the least recently accessed
+        entries.sort(BY_LAST_ACCESS);
+        int removeCount = entries.size() - targets[i];
+        for (int j = 0; j < removeCount; j++) {
+          // remove if still in the cache
+          tenantEntries.remove(entries.get(j).getKey());
+        }
+        trimmed += removeCount;
+      }
+    }
+    return trimmed;
+  }
+
+  /**
+   * Return the maximum entries per tenant such that the total fits within the budget with the
+   * smaller tenants keeping all their entries (max-min fairness).
+   */
+  static int fairShareCap(int[] counts, int budget) {
+    int[] sorted = counts.clone();
+    Arrays.sort(sorted);
+    int remaining = budget;
+    for (int i = 0; i < sorted.length; i++) {
+      int share = remaining / (sorted.length - i);
+      if (sorted[i] > share) {
+        return share;
+      }
+      remaining -= sorted[i];
+    }
+    return Integer.MAX_VALUE;
+  }
+}
@@ -0,0 +1,111 @@
+package io.ebeaninternal.server.cache;
+
+import io.ebean.cache.ServerCacheRemoteTier;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process remote tier used to test two tier caching locally.
+ * <p>
+ * Sharing one instance between several EbeanServers in the same JVM behaves like a shared
+ * remote cache with change events delivered synchronously to the registered listeners.
+ * </p>
+ */
+public class LoopbackServerCacheRemoteTier implements ServerCacheRemoteTier {
+
+  private final ConcurrentHashMap<String, ConcurrentHashMap<Object, Entry>> caches = new ConcurrentHashMap<>();
+
+  private final ConcurrentHashMap<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+
+  private ConcurrentHashMap<Object, Entry> cache(String cacheName) {
+    return caches.computeIfAbsent(cacheName, s -> new ConcurrentHashMap<>());
+  }
+
+  @Override
+  public Object get(String cacheName, Object key) {
+    Entry entry = cache(cacheName).get(key);
+    return entry == null ? null : entry.value;
+  }
+
+  @Override
+  public Map<Object, Object> getAll(String cacheName, Set<Object> keys) {
+    ConcurrentHashMap<Object, Entry> cache = cache(cacheName);
+    Map<Object, Object> map = new LinkedHashMap<>();
+    for (Object key : keys) {
+      Entry entry = cache.get(key);
+      if (entry != null) {
+        map.put(key, entry.value);
+      }
+    }
+    return map;
+  }
+
+  @Override
+  public Object put(String cacheName, Object key, Object value, long version, String sourceId) {
+    Entry newEntry = new Entry(value, version);
+    Entry result = cache(cacheName).merge(key, newEntry, (existing, entry) ->
+      (entry.version > 0 && existing.version > entry.version) ? existing : entry);
+    if (result != newEntry) {
+      // rejected as the remote tier holds a later version
+      return result.value;
+    }
+    changed(cacheName, key, sourceId);
+    return null;
+  }
+
+  @Override
+  public void putAll(String cacheName, Map<Object, Object> keyValues, String sourceId) {
+    ConcurrentHashMap<Object, Entry> cache = cache(cacheName);
+    for (Map.Entry<Object, Object> keyValue : keyValues.entrySet()) {
+      cache.put(keyValue.getKey(), new Entry(keyValue.getValue(), 0));
+      changed(cacheName, keyValue.getKey(), sourceId);
+    }
+  }
+
+  @Override
+  public void remove(String cacheName, Object key, String sourceId) {
+    if (cache(cacheName).remove(key) != null) {
+      changed(cacheName, key, sourceId);
+    }
+  }
+
+  @Override
+  public void clear(String cacheName, String sourceId) {
+    cache(cacheName).clear();
+    for (Listener listener : listeners(cacheName)) {
+      listener.cleared(sourceId);
+    }
+  }
+
+  @Override
+  public void register(String cacheName, Listener listener) {
+    listeners(cacheName).add(listener);
+  }
+
+  private List<Listener> listeners(String cacheName) {
+    return listeners.computeIfAbsent(cacheName, s -> new CopyOnWriteArrayList<>());
+  }
+
+  private void changed(String cacheName, Object key, String sourceId) {
+    for (Listener listener : listeners(cacheName)) {
+      listener.changed(key, sourceId);
+    }
+  }
+
+  private static class Entry {
+
+    private final Object value;
+
+    private final long version;
+
+    Entry(Object value, long version) {
+      this.value = value;
+      this.version = version;
+    }
+  }
+}
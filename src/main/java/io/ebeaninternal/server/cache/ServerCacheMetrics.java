@@ -0,0 +1,29 @@
+package io.ebeaninternal.server.cache;
+
+import io.ebean.cache.ServerCache;
+import io.ebean.cache.ServerCacheStatistics;
+
+/**
+ * Cache that keeps the statistics used for metrics separately from getStatistics().
+ * <p>
+ * Collecting metrics with reset then does not reset the statistics used by the application.
+ * </p>
+ */
+interface ServerCacheMetrics {
+
+  /**
+   * Return the statistics since the last metrics reset.
+   */
+  ServerCacheStatistics getMetricStatistics(boolean reset);
+
+  /**
+   * Return the statistics for metrics collection from the given cache.
+   */
+  static ServerCacheStatistics metricStatistics(ServerCache cache, boolean reset) {
+    if (cache instanceof ServerCacheMetrics) {
+      return ((ServerCacheMetrics) cache).getMetricStatistics(reset);
+    }
+    // other cache implementations only have the application statistics so are not reset
+    return cache.getStatistics(false);
+  }
+}
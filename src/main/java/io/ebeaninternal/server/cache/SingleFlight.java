@@ -0,0 +1,108 @@
+package io.ebeaninternal.server.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Single flight loading for cache misses to prevent cache stampedes.
+ * <p>
+ * The first caller that misses on a key performs the load (which puts the result into
+ * the cache). Concurrent callers for the same key wait for that load to complete and
+ * then read the result from the cache. If the wait times out or the result is still
+ * not in the cache the waiting caller performs the load itself.
+ * </p>
+ * <p>
+ * Empty results (not found or an empty collection) are not put into the cache so the
+ * waiting callers instead return an empty result without loading.
+ * </p>
+ * <p>
+ * Keys include the tenant id such that loads for different tenants do not wait on each other.
+ * </p>
+ */
+public final class SingleFlight {
+
+  private final ConcurrentHashMap<Object, Flight> inFlight = new ConcurrentHashMap<>();
+
+  private final long timeoutMillis;
+
+  public SingleFlight(long timeoutMillis) {
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  /**
+   * Load the value for the key with concurrent loads for the same key waiting on the first.
+   *
+   * @param tenantId    the current tenant id (or null)
+   * @param key         the cache key
+   * @param cacheGet    reads the value from the cache after waiting on the in-flight load
+   * @param loader      loads the value (and puts it into the cache)
+   * @param emptyResult returns the empty result when the in-flight load found nothing
+   */
+  public <V> V load(Object tenantId, Object key, Supplier<V> cacheGet, Supplier<V> loader, Supplier<V> emptyResult) {
+
+    Object flightKey = (tenantId == null) ? key : new TenantAwareKey(tenantId, key);
+    Flight flight = new Flight();
+    Flight existing = inFlight.putIfAbsent(flightKey, flight);
+    if (existing == null) {
+      try {
+        V value = loader.get();
+        flight.empty = isEmpty(value);
+        return value;
+      } finally {
+        inFlight.remove(flightKey, flight);
+        flight.latch.countDown();
+      }
+    }
+
+    try {
+      if (existing.latch.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        if (existing.empty) {
+          // not found by the in-flight load (and not cached)
+          return emptyResult.get();
+        }
+        V value = cacheGet.get();
+        if (value != null) {
+          return value;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // timed out, the in-flight load failed or did not populate the cache
+    return loader.get();
+  }
+
+  private static boolean isEmpty(Object value) {
+    if (value == null) {
+      return true;
+    }
+    if (value instanceof Collection) {
+      return ((Collection<?>) value).isEmpty();
+    }
+    return value instanceof Map && ((Map<?, ?>) value).isEmpty();
+  }
+
+  /**
+   * Return the number of loads currently in flight.
+   */
+  int inFlightCount() {
+    return inFlight.size();
+  }
+
+  /**
+   * A load in flight.
+   */
+  private static final class Flight {
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    /**
+     * Set when the load completed with an empty result.
+     */
+    private volatile boolean empty;
+  }
+}
@@ -1,7 +1,10 @@
 package io.ebeaninternal.server.cache;
 
 import io.ebean.cache.ServerCache;
+import io.ebean.cache.ServerCacheOptions;
+import io.ebean.meta.MetaMetric;
 
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
@@ -28,6 +31,11 @@ public interface SpiCacheManager {
    */
   Supplier<ServerCache> getBeanCache(Class<?> beanType);
 
+  /**
+   * Return the options (max size, idle and time to live) for the bean cache of a bean type.
+   */
+  ServerCacheOptions getBeanCacheOptions(Class<?> beanType);
+
   /**
    * Return the cache for associated many properties of a bean type.
    */
@@ -43,4 +51,9 @@ public interface SpiCacheManager {
    */
   void clearAll();
 
+  /**
+   * Collect the cache hit, miss, put and eviction counts as metrics.
+   */
+  void collectMetrics(boolean reset, List<MetaMetric> list);
+
 }
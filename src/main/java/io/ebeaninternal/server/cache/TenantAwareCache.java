@@ -0,0 +1,81 @@
+package io.ebeaninternal.server.cache;
+
+import io.ebean.cache.ServerCache;
+import io.ebean.cache.ServerCacheStatistics;
+import io.ebean.config.CurrentTenantProvider;
+
+/**
+ * ServerCache shared by all tenants that keys the entries by tenant id and id.
+ */
+public class TenantAwareCache implements ServerCache {
+
+  private final ServerCache delegate;
+
+  private final CurrentTenantProvider tenantProvider;
+
+  TenantAwareCache(ServerCache delegate, CurrentTenantProvider tenantProvider) {
+    this.delegate = delegate;
+    this.tenantProvider = tenantProvider;
+  }
+
+  /**
+   * Return the underlying cache shared by all tenants.
+   */
+  ServerCache getDelegate() {
+    return delegate;
+  }
+
+  private TenantAwareKey key(Object id) {
+    return new TenantAwareKey(tenantProvider.currentId(), id);
+  }
+
+  @Override
+  public Object get(Object id) {
+    return delegate.get(key(id));
+  }
+
+  @Override
+  public Object put(Object id, Object value) {
+    return delegate.put(key(id), value);
+  }
+
+  @Override
+  public Object remove(Object id) {
+    return delegate.remove(key(id));
+  }
+
+  /**
+   * Clear the entries of all the tenants.
+   */
+  @Override
+  public void clear() {
+    delegate.clear();
+  }
+
+  /**
+   * Clear the entries of the current tenant if supported by the underlying cache otherwise clear all.
+   */
+  public void clearTenant() {
+    Object tenantId = tenantProvider.currentId();
+    if (tenantId != null && delegate instanceof DefaultTenantServerCache) {
+      ((DefaultTenantServerCache) delegate).clearTenant(tenantId);
+    } else {
+      delegate.clear();
+    }
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public int getHitRatio() {
+    return delegate.getHitRatio();
+  }
+
+  @Override
+  public ServerCacheStatistics getStatistics(boolean reset) {
+    return delegate.getStatistics(reset);
+  }
+}
@@ -0,0 +1,60 @@
+package io.ebeaninternal.server.cache;
+
+import java.io.Serializable;
+
+/**
+ * Cache key made of the tenant id and the underlying key (id).
+ * <p>
+ * Used with caches shared by all tenants rather than building a string key per access.
+ * </p>
+ */
+public final class TenantAwareKey implements Serializable {
+
+  private static final long serialVersionUID = 4862291470285049543L;
+
+  private final Object tenantId;
+
+  private final Object key;
+
+  private final int hash;
+
+  public TenantAwareKey(Object tenantId, Object key) {
+    this.tenantId = tenantId;
+    this.key = key;
+    this.hash = 31 * (tenantId == null ? 0 : tenantId.hashCode()) + key.hashCode();
+  }
+
+  /**
+   * Return the tenant id.
+   */
+  public Object getTenantId() {
+    return tenantId;
+  }
+
+  /**
+   * Return the underlying key.
+   */
+  public Object getKey() {
+    return key;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof TenantAwareKey)) return false;
+    TenantAwareKey that = (TenantAwareKey) o;
+    return hash == that.hash
+      && key.equals(that.key)
+      && (tenantId == null ? that.tenantId == null : tenantId.equals(that.tenantId));
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return tenantId + ":" + key;
+  }
+}
@@ -0,0 +1,252 @@
+package io.ebeaninternal.server.cache;
+
+import io.ebean.cache.ServerCache;
+import io.ebean.cache.ServerCacheRemoteTier;
+import io.ebean.cache.ServerCacheStatistics;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two tier cache with a local near cache in front of a remote tier.
+ * <p>
+ * Gets are served from the near cache and on a near miss from the remote tier (loading
+ * the near cache). Puts and removes go to both tiers. Change events from other nodes via
+ * the remote tier invalidate the near cache entries.
+ * </p>
+ * <p>
+ * Values read from the remote tier are only kept in the near cache when no change event
+ * was received while loading them (such that a concurrent invalidation is not undone by
+ * loading a value that has since changed).
+ * </p>
+ */
+public class TwoTierServerCache implements ServerCache, ServerCacheMetrics, ServerCacheRemoteTier.Listener {
+
+  private static final int REMOTE_HIT = 0;
+  private static final int REMOTE_MISS = 1;
+
+  private final ServerCache near;
+
+  private final ServerCacheRemoteTier remote;
+
+  private final String name;
+
+  private final String sourceId;
+
+  private final LongAdder remoteHitCount = new LongAdder();
+
+  private final LongAdder remoteMissCount = new LongAdder();
+
+  /**
+   * Remote counts at the last reset of the statistics.
+   */
+  private volatile long[] statisticsBase = new long[2];
+
+  /**
+   * Remote counts at the last reset of the metrics (kept separately from the statistics).
+   */
+  private volatile long[] metricsBase = new long[2];
+
+  /**
+   * Incremented on each change event from another node.
+   */
+  private final AtomicLong invalidationEpoch = new AtomicLong();
+
+  public TwoTierServerCache(ServerCache near, ServerCacheRemoteTier remote, String name, String sourceId) {
+    this.near = near;
+    this.remote = remote;
+    this.name = name;
+    this.sourceId = sourceId;
+  }
+
+  /**
+   * Return the cache name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object get(Object id) {
+
+    Object value = near.get(id);
+    if (value != null) {
+      return value;
+    }
+    long epoch = invalidationEpoch.get();
+    value = remote.get(name, id);
+    if (value == null) {
+      remoteMissCount.increment();
+    } else {
+      remoteHitCount.increment();
+      nearPut(id, value, epoch);
+    }
+    return value;
+  }
+
+  @Override
+  public Map<Object, Object> getAll(Set<Object> ids) {
+
+    Map<Object, Object> map = new LinkedHashMap<>();
+    Set<Object> nearMisses = new HashSet<>();
+    for (Object id : ids) {
+      Object value = near.get(id);
+      if (value != null) {
+        map.put(id, value);
+      } else {
+        nearMisses.add(id);
+      }
+    }
+    if (!nearMisses.isEmpty()) {
+      // bulk load the near misses from the remote tier
+      long epoch = invalidationEpoch.get();
+      Map<Object, Object> remoteValues = remote.getAll(name, nearMisses);
+      remoteHitCount.add(remoteValues.size());
+      remoteMissCount.add(nearMisses.size() - remoteValues.size());
+      near.putAll(remoteValues);
+      if (invalidationEpoch.get() != epoch) {
+        // changed by another node while loading
+        for (Object id : remoteValues.keySet()) {
+          near.remove(id);
+        }
+      }
+      map.putAll(remoteValues);
+    }
+    return map;
+  }
+
+  @Override
+  public Object put(Object id, Object value) {
+    long epoch = invalidationEpoch.get();
+    Object winner = remote.put(name, id, value, version(value), sourceId);
+    // when rejected the near cache holds the later version from the remote tier
+    return nearPut(id, winner != null ? winner : value, epoch);
+  }
+
+  /**
+   * Put the value into the near cache unless another node changed it since the epoch.
+   * <p>
+   * The epoch is checked after the put as the invalidation can race with it (and then the
+   * invalidation removes the entry or we do).
+   * </p>
+   */
+  private Object nearPut(Object id, Object value, long epoch) {
+    Object existing = near.put(id, value);
+    if (invalidationEpoch.get() != epoch) {
+      near.remove(id);
+    }
+    return existing;
+  }
+
+  @Override
+  public void putAll(Map<Object, Object> keyValues) {
+    near.putAll(keyValues);
+    remote.putAll(name, keyValues, sourceId);
+  }
+
+  /**
+   * Return the version for bean cache entries (0 for other entries).
+   */
+  private long version(Object value) {
+    return (value instanceof CachedBeanData) ? ((CachedBeanData) value).getVersion() : 0;
+  }
+
+  @Override
+  public Object remove(Object id) {
+    Object existing = near.remove(id);
+    remote.remove(name, id, sourceId);
+    return existing;
+  }
+
+  @Override
+  public void clear() {
+    near.clear();
+    remote.clear(name, sourceId);
+  }
+
+  @Override
+  public void changed(Object key, String changeSourceId) {
+    if (!sourceId.equals(changeSourceId)) {
+      // changed by another node so invalidate the near cache entry
+      invalidationEpoch.incrementAndGet();
+      near.remove(key);
+    }
+  }
+
+  @Override
+  public void cleared(String changeSourceId) {
+    if (!sourceId.equals(changeSourceId)) {
+      invalidationEpoch.incrementAndGet();
+      near.clear();
+    }
+  }
+
+  /**
+   * Return the number of entries in the near cache.
+   */
+  @Override
+  public int size() {
+    return near.size();
+  }
+
+  @Override
+  public int getHitRatio() {
+
+    ServerCacheStatistics stats = near.getStatistics(false);
+    long hits = stats.getHitCount() + remoteHitCount.sum() - statisticsBase[REMOTE_HIT];
+    long total = stats.getHitCount() + stats.getMissCount();
+    if (total == 0) {
+      return 0;
+    } else {
+      return (int) (hits * 100 / total);
+    }
+  }
+
+  /**
+   * Return the statistics with hits including the remote tier hits.
+   */
+  @Override
+  public ServerCacheStatistics getStatistics(boolean reset) {
+
+    long[] counts = remoteCounts();
+    long[] base = statisticsBase;
+    if (reset) {
+      statisticsBase = counts;
+    }
+    return withRemote(near.getStatistics(reset), counts, base);
+  }
+
+  @Override
+  public ServerCacheStatistics getMetricStatistics(boolean reset) {
+
+    long[] counts = remoteCounts();
+    long[] base = metricsBase;
+    if (reset) {
+      metricsBase = counts;
+    }
+    return withRemote(ServerCacheMetrics.metricStatistics(near, reset), counts, base);
+  }
+
+  /**
+   * Return the current remote tier counts (which are never reset).
+   */
+  private long[] remoteCounts() {
+    return new long[]{remoteHitCount.sum(), remoteMissCount.sum()};
+  }
+
+  private ServerCacheStatistics withRemote(ServerCacheStatistics stats, long[] counts, long[] base) {
+
+    long remoteHit = counts[REMOTE_HIT] - base[REMOTE_HIT];
+    long remoteMiss = counts[REMOTE_MISS] - base[REMOTE_MISS];
+
+    stats.setHitCount(stats.getHitCount() + remoteHit);
+    stats.setMissCount(remoteMiss);
+    stats.setRemoteHitCount(remoteHit);
+    stats.setRemoteMissCount(remoteMiss);
+    return stats;
+  }
+}
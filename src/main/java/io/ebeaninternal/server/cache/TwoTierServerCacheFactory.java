@@ -0,0 +1,53 @@
+package io.ebeaninternal.server.cache;
+
+import io.ebean.BackgroundExecutor;
+import io.ebean.cache.ServerCache;
+import io.ebean.cache.ServerCacheFactory;
+import io.ebean.cache.ServerCacheOptions;
+import io.ebean.cache.ServerCacheRemoteTier;
+import io.ebean.cache.ServerCacheType;
+
+import java.util.UUID;
+
+/**
+ * ServerCacheFactory creating two tier caches for bean, natural key and collection ids caches.
+ * <p>
+ * Query caches hold bean collections and remain local only.
+ * </p>
+ */
+class TwoTierServerCacheFactory implements ServerCacheFactory {
+
+  private final DefaultServerCacheFactory localFactory;
+
+  private final ServerCacheRemoteTier remoteTier;
+
+  private final int nearMaxSize;
+
+  /**
+   * Identifies the near caches of this factory in remote change events.
+   */
+  private final String sourceId = UUID.randomUUID().toString();
+
+  TwoTierServerCacheFactory(BackgroundExecutor executor, ServerCacheRemoteTier remoteTier, int nearMaxSize) {
+    this.localFactory = new DefaultServerCacheFactory(executor);
+    this.remoteTier = remoteTier;
+    this.nearMaxSize = nearMaxSize;
+  }
+
+  @Override
+  public ServerCache createCache(ServerCacheType type, String cacheKey, ServerCacheOptions cacheOptions) {
+
+    if (type == ServerCacheType.QUERY) {
+      return localFactory.createCache(type, cacheKey, cacheOptions);
+    }
+
+    ServerCacheOptions nearOptions = cacheOptions.copy();
+    if (nearMaxSize > 0 && (nearOptions.getMaxSize() == 0 || nearOptions.getMaxSize() > nearMaxSize)) {
+      nearOptions.setMaxSize(nearMaxSize);
+    }
+    ServerCache near = localFactory.createCache(type, cacheKey, nearOptions);
+    TwoTierServerCache cache = new TwoTierServerCache(near, remoteTier, cacheKey, sourceId);
+    remoteTier.register(cacheKey, cache);
+    return cache;
+  }
+}
@@ -0,0 +1,42 @@
+package io.ebeaninternal.server.cache;
+
+import io.ebean.BackgroundExecutor;
+import io.ebean.cache.ServerCacheFactory;
+import io.ebean.cache.ServerCachePlugin;
+import io.ebean.cache.ServerCacheRemoteTier;
+import io.ebean.config.ServerConfig;
+
+/**
+ * ServerCachePlugin for two tier caching with a small local near cache in front of a remote tier.
+ * <pre>{@code
+ *
+ *   serverConfig.setServerCachePlugin(new TwoTierServerCachePlugin(remoteTier, 1000));
+ *
+ * }</pre>
+ */
+public class TwoTierServerCachePlugin implements ServerCachePlugin {
+
+  private final ServerCacheRemoteTier remoteTier;
+
+  private final int nearMaxSize;
+
+  /**
+   * Create with the remote tier and the max size of the near caches.
+   */
+  public TwoTierServerCachePlugin(ServerCacheRemoteTier remoteTier, int nearMaxSize) {
+    this.remoteTier = remoteTier;
+    this.nearMaxSize = nearMaxSize;
+  }
+
+  /**
+   * Create with an in-process loopback remote tier (for local testing).
+   */
+  public TwoTierServerCachePlugin() {
+    this(new LoopbackServerCacheRemoteTier(), 1000);
+  }
+
+  @Override
+  public ServerCacheFactory create(ServerConfig config, BackgroundExecutor executor) {
+    return new TwoTierServerCacheFactory(executor, remoteTier, nearMaxSize);
+  }
+}
@@ -0,0 +1,219 @@
+package io.ebeaninternal.server.changelog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the change log segment files written by {@link FileChangeLogListener}.
+ * <p>
+ * This is intended for shipping the change log downstream. The reader is positional
+ * such that the caller can persist the returned position and continue reading from
+ * that position later (including after a restart).
+ * </p>
+ * <pre>{@code
+ *
+ *   ChangeLogFileReader reader = new ChangeLogFileReader(directory, "changelog");
+ *
+ *   ChangeLogFileReader.Position pos = reader.start();
+ *   pos = reader.read(pos, 1000, json -> ship(json));
+ *
+ *   // store pos.getSegmentId() and pos.getOffset() to resume later
+ *
+ * }</pre>
+ */
+public class ChangeLogFileReader {
+
+  /**
+   * Handler of the records read from the change log.
+   */
+  @FunctionalInterface
+  public interface RecordHandler {
+
+    /**
+     * Handle the JSON content of a single bean change.
+     */
+    void handle(String json);
+  }
+
+  /**
+   * A position in the change log.
+   */
+  public static class Position {
+
+    private final long segmentId;
+
+    private final int offset;
+
+    public Position(long segmentId, int offset) {
+      this.segmentId = segmentId;
+      this.offset = offset;
+    }
+
+    /**
+     * Return the segment id.
+     */
+    public long getSegmentId() {
+      return segmentId;
+    }
+
+    /**
+     * Return the offset of the next record in the segment.
+     */
+    public int getOffset() {
+      return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Position)) return false;
+      Position that = (Position) o;
+      return segmentId == that.segmentId && offset == that.offset;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Long.hashCode(segmentId) + offset;
+    }
+
+    @Override
+    public String toString() {
+      return "segment:" + segmentId + " offset:" + offset;
+    }
+  }
+
+  private final File directory;
+
+  private final String prefix;
+
+  /**
+   * Create a reader for the change log in the given directory.
+   */
+  public ChangeLogFileReader(File directory, String prefix) {
+    this.directory = directory;
+    this.prefix = prefix;
+  }
+
+  /**
+   * Return the segment ids present in ascending order.
+   */
+  public List<Long> segmentIds() {
+    List<Long> ids = new ArrayList<>();
+    String[] names = directory.list();
+    if (names != null) {
+      for (String name : names) {
+        long id = ChangeLogSegment.segmentId(prefix, name);
+        if (id > -1) {
+          ids.add(id);
+        }
+      }
+    }
+    Collections.sort(ids);
+    return ids;
+  }
+
+  /**
+   * Return the position of the first record in the oldest segment.
+   */
+  public Position start() {
+    List<Long> ids = segmentIds();
+    long first = ids.isEmpty() ? 0 : ids.get(0);
+    return new Position(first, ChangeLogSegment.HEADER_SIZE);
+  }
+
+  /**
+   * Delete the segments that are entirely before the given position.
+   * <p>
+   * Used once the downstream has durably received the change log up to the given position.
+   * </p>
+   *
+   * @return the number of segment files deleted
+   */
+  public int deleteBefore(Position position) {
+    int count = 0;
+    for (Long id : segmentIds()) {
+      if (id < position.getSegmentId()) {
+        if (new File(directory, ChangeLogSegment.fileName(prefix, id)).delete()) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Read up to maxRecords from the given position passing each record to the handler.
+   * <p>
+   * Reading moves across segments as needed and stops when it reaches the end of the
+   * newest segment or maxRecords have been read.
+   * </p>
+   *
+   * @return the position to continue reading from
+   */
+  public Position read(Position from, int maxRecords, RecordHandler handler) throws IOException {
+
+    Position current = from;
+    int remaining = maxRecords;
+    for (Long id : segmentIds()) {
+      if (id < current.getSegmentId()) {
+        continue;
+      }
+      int offset = (id == current.getSegmentId()) ? current.getOffset() : ChangeLogSegment.HEADER_SIZE;
+      SegmentRead segmentRead = readSegment(id, offset, remaining, handler);
+      remaining -= segmentRead.count;
+      current = new Position(id, segmentRead.offset);
+      if (remaining <= 0) {
+        break;
+      }
+    }
+    return current;
+  }
+
+  private SegmentRead readSegment(long segmentId, int offset, int maxRecords, RecordHandler handler) throws IOException {
+
+    File file = new File(directory, ChangeLogSegment.fileName(prefix, segmentId));
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      FileChannel channel = raf.getChannel();
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt(0) != ChangeLogSegment.MAGIC) {
+        throw new IOException("File " + file.getAbsolutePath() + " is not a change log segment");
+      }
+      int limit = buffer.limit();
+      int count = 0;
+      byte[] payload = new byte[1024];
+      while (count < maxRecords && offset + ChangeLogSegment.RECORD_OVERHEAD <= limit) {
+        int length = buffer.getInt(offset);
+        if (length <= 0 || offset + ChangeLogSegment.RECORD_OVERHEAD + length > limit) {
+          break;
+        }
+        if (payload.length < length) {
+          payload = new byte[length];
+        }
+        buffer.position(offset + ChangeLogSegment.RECORD_OVERHEAD);
+        buffer.get(payload, 0, length);
+        handler.handle(new String(payload, 0, length, StandardCharsets.UTF_8));
+        offset += ChangeLogSegment.RECORD_OVERHEAD + length;
+        count++;
+      }
+      return new SegmentRead(offset, count);
+    }
+  }
+
+  private static class SegmentRead {
+
+    final int offset;
+    final int count;
+
+    SegmentRead(int offset, int count) {
+      this.offset = offset;
+      this.count = count;
+    }
+  }
+}
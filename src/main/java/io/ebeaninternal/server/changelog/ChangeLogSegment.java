@@ -0,0 +1,173 @@
+package io.ebeaninternal.server.changelog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A memory mapped append only segment file of the change log.
+ * <p>
+ * The segment file is pre-allocated to its full size and filled with length prefixed records.
+ * A record length of 0 marks the current end of the segment (the pre-allocated bytes are zero).
+ * </p>
+ * <pre>
+ *
+ *   [magic:int][version:int][created:long] ([length:int][payload:bytes])* [0:int]
+ *
+ * </pre>
+ */
+final class ChangeLogSegment {
+
+  /**
+   * Marker at the start of every segment file.
+   */
+  static final int MAGIC = 0xEBC0106E;
+
+  static final int VERSION = 1;
+
+  static final int HEADER_SIZE = 16;
+
+  /**
+   * Space reserved for the record length prefix.
+   */
+  static final int RECORD_OVERHEAD = 4;
+
+  private static final String SUFFIX = ".log";
+
+  private final long segmentId;
+
+  private final File file;
+
+  private final long createdMillis;
+
+  private final RandomAccessFile raf;
+
+  private final FileChannel channel;
+
+  private final MappedByteBuffer buffer;
+
+  private final int capacity;
+
+  private int position;
+
+  private int recordCount;
+
+  /**
+   * Create a new segment file with the given pre-allocated capacity.
+   */
+  static ChangeLogSegment create(File directory, String prefix, long segmentId, int capacity) throws IOException {
+    File file = new File(directory, fileName(prefix, segmentId));
+    if (file.exists()) {
+      throw new IOException("Change log segment " + file.getAbsolutePath() + " already exists");
+    }
+    return new ChangeLogSegment(file, segmentId, capacity);
+  }
+
+  /**
+   * Return the file name for the given segment id.
+   */
+  static String fileName(String prefix, long segmentId) {
+    return prefix + "-" + String.format("%012d", segmentId) + SUFFIX;
+  }
+
+  /**
+   * Return the segment id given the file name or -1 if the file is not a segment with the given prefix.
+   */
+  static long segmentId(String prefix, String fileName) {
+    if (!fileName.startsWith(prefix + "-") || !fileName.endsWith(SUFFIX)) {
+      return -1;
+    }
+    String id = fileName.substring(prefix.length() + 1, fileName.length() - SUFFIX.length());
+    try {
+      return Long.parseLong(id);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private ChangeLogSegment(File file, long segmentId, int capacity) throws IOException {
+    this.file = file;
+    this.segmentId = segmentId;
+    this.capacity = capacity;
+    this.createdMillis = System.currentTimeMillis();
+    this.raf = new RandomAccessFile(file, "rw");
+    this.channel = raf.getChannel();
+    this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    buffer.putInt(0, MAGIC);
+    buffer.putInt(4, VERSION);
+    buffer.putLong(8, createdMillis);
+    this.position = HEADER_SIZE;
+  }
+
+  long getSegmentId() {
+    return segmentId;
+  }
+
+  File getFile() {
+    return file;
+  }
+
+  long getCreatedMillis() {
+    return createdMillis;
+  }
+
+  int getPosition() {
+    return position;
+  }
+
+  int getRecordCount() {
+    return recordCount;
+  }
+
+  /**
+   * Return true if a record of the given payload length fits in this segment.
+   * <p>
+   * Space for the trailing zero length end marker is always kept.
+   * </p>
+   */
+  boolean hasRoom(int length) {
+    return position + RECORD_OVERHEAD + length + RECORD_OVERHEAD <= capacity;
+  }
+
+  /**
+   * Append a record to the segment.
+   * <p>
+   * The payload is written before the length such that a concurrent reader
+   * never sees a non-zero length before the payload is present.
+   * </p>
+   */
+  void append(byte[] payload, int length) {
+    int start = position;
+    buffer.position(start + RECORD_OVERHEAD);
+    buffer.put(payload, 0, length);
+    buffer.putInt(start, length);
+    position = start + RECORD_OVERHEAD + length;
+    recordCount++;
+  }
+
+  /**
+   * Force the written content to the storage device.
+   */
+  void force() {
+    buffer.force();
+  }
+
+  /**
+   * Force and close the segment.
+   */
+  void close() throws IOException {
+    try {
+      buffer.force();
+    } finally {
+      channel.close();
+      raf.close();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return file.getName() + " position:" + position + " records:" + recordCount;
+  }
+}
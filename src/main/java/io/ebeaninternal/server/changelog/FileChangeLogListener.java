@@ -0,0 +1,516 @@
+package io.ebeaninternal.server.changelog;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.ebean.event.changelog.BeanChange;
+import io.ebean.event.changelog.ChangeLogListener;
+import io.ebean.event.changelog.ChangeSet;
+import io.ebean.plugin.Plugin;
+import io.ebean.plugin.SpiServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Appends the change sets in JSON to a local segmented, memory mapped append only log.
+ * <p>
+ * Change sets are queued to a single writer thread which encodes each bean change (reusing
+ * the same JSON generator and buffer) and appends it as a record to the current segment.
+ * The writer drains the queue in groups and commits (fsync) per group according to the
+ * {@link Fsync} policy. When the queue is full callers block rather than losing change sets.
+ * </p>
+ * <p>
+ * Segments are rotated when they are full or when they are older than the rotate time.
+ * The log is read for shipping downstream via {@link ChangeLogFileReader}.
+ * </p>
+ * <p>
+ * Configuration is via properties (or the setters prior to configure):
+ * </p>
+ * <pre>
+ *
+ *   ebean.changeLog.file.directory=changelog
+ *   ebean.changeLog.file.prefix=changelog
+ *   ebean.changeLog.file.segmentSize=67108864
+ *   ebean.changeLog.file.rotateMillis=3600000
+ *   ebean.changeLog.file.queueCapacity=10000
+ *   ebean.changeLog.file.groupCommitSize=500
+ *   ebean.changeLog.file.groupCommitMillis=10
+ *   ebean.changeLog.file.fsync=GROUP
+ *   ebean.changeLog.file.fsyncMillis=1000
+ *
+ * </pre>
+ */
+public class FileChangeLogListener implements ChangeLogListener, Plugin {
+
+  /**
+   * The policy for forcing the change log content to the storage device.
+   */
+  public enum Fsync {
+
+    /**
+     * Never explicitly fsync, leaving it to the operating system.
+     */
+    NONE,
+
+    /**
+     * Fsync at most every fsyncMillis.
+     */
+    PERIODIC,
+
+    /**
+     * Fsync after each group of change sets is written (group commit).
+     */
+    GROUP
+  }
+
+  private static final Logger logger = LoggerFactory.getLogger(FileChangeLogListener.class);
+
+  /**
+   * Marker placed on the queue to stop the writer.
+   */
+  private static final ChangeSet SHUTDOWN = new ChangeSet("shutdown", -1);
+
+  private File directory;
+
+  private String prefix = "changelog";
+
+  private int segmentSize = 64 * 1024 * 1024;
+
+  private long rotateMillis = 60 * 60 * 1000L;
+
+  private int queueCapacity = 10000;
+
+  private int groupCommitSize = 500;
+
+  private long groupCommitMillis = 10;
+
+  private Fsync fsync = Fsync.GROUP;
+
+  private long fsyncMillis = 1000;
+
+  private ChangeJsonBuilder jsonBuilder;
+
+  private JsonFactory jsonFactory;
+
+  private BlockingQueue<ChangeSet> queue;
+
+  private Thread writerThread;
+
+  private volatile boolean running;
+
+  /**
+   * Read locked by log() and write locked by shutdown() such that a change set can
+   * not be queued after the shutdown marker (and be lost).
+   */
+  private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+
+  /**
+   * Reused buffer the generator writes each bean change into.
+   */
+  private final RecordBuffer recordBuffer = new RecordBuffer();
+
+  /**
+   * Reused generator (only used by the writer thread).
+   */
+  private JsonGenerator generator;
+
+  private ChangeLogSegment segment;
+
+  private long nextSegmentId;
+
+  private long lastFsync;
+
+  /**
+   * True when records have been appended since the last fsync.
+   */
+  private boolean unsynced;
+
+  private volatile long changeCount;
+
+  private volatile long groupCount;
+
+  private volatile long segmentCount;
+
+  private volatile long fsyncCount;
+
+  public FileChangeLogListener() {
+  }
+
+  /**
+   * Create with the directory the change log segments are written to.
+   */
+  public FileChangeLogListener(File directory) {
+    this.directory = directory;
+  }
+
+  @Override
+  public void configure(SpiServer server) {
+    jsonBuilder = new ChangeJsonBuilder(server.json());
+    readProperties(server.getServerConfig().getProperties());
+    start();
+  }
+
+  private void readProperties(Properties properties) {
+    if (properties == null) {
+      return;
+    }
+    String dir = properties.getProperty("ebean.changeLog.file.directory");
+    if (dir != null) {
+      directory = new File(dir);
+    }
+    prefix = properties.getProperty("ebean.changeLog.file.prefix", prefix);
+    segmentSize = intProperty(properties, "segmentSize", segmentSize);
+    rotateMillis = longProperty(properties, "rotateMillis", rotateMillis);
+    queueCapacity = intProperty(properties, "queueCapacity", queueCapacity);
+    groupCommitSize = intProperty(properties, "groupCommitSize", groupCommitSize);
+    groupCommitMillis = longProperty(properties, "groupCommitMillis", groupCommitMillis);
+    fsyncMillis = longProperty(properties, "fsyncMillis", fsyncMillis);
+    String fsyncMode = properties.getProperty("ebean.changeLog.file.fsync");
+    if (fsyncMode != null) {
+      fsync = Fsync.valueOf(fsyncMode.trim().toUpperCase());
+    }
+  }
+
+  private int intProperty(Properties properties, String key, int defaultValue) {
+    String val = properties.getProperty("ebean.changeLog.file." + key);
+    return (val == null) ? defaultValue : Integer.parseInt(val.trim());
+  }
+
+  private long longProperty(Properties properties, String key, long defaultValue) {
+    String val = properties.getProperty("ebean.changeLog.file." + key);
+    return (val == null) ? defaultValue : Long.parseLong(val.trim());
+  }
+
+  /**
+   * Start the writer thread.
+   */
+  private void start() {
+    if (directory == null) {
+      directory = new File("changelog");
+    }
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new IllegalStateException("Unable to create change log directory " + directory.getAbsolutePath());
+    }
+    List<Long> ids = new ChangeLogFileReader(directory, prefix).segmentIds();
+    nextSegmentId = ids.isEmpty() ? 1 : ids.get(ids.size() - 1) + 1;
+
+    jsonFactory = new JsonFactory();
+    jsonFactory.setRootValueSeparator(null);
+    generator = createGenerator();
+
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+    running = true;
+    lastFsync = System.currentTimeMillis();
+    writerThread = new Thread(this::runWriter, "ebean-changeLog-" + prefix);
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  private JsonGenerator createGenerator() {
+    try {
+      return jsonFactory.createGenerator(recordBuffer, JsonEncoding.UTF8);
+    } catch (IOException e) {
+      throw new IllegalStateException("Error creating JsonGenerator", e);
+    }
+  }
+
+  @Override
+  public void online(boolean online) {
+    // nothing to do
+  }
+
+  /**
+   * Write any queued change sets and close the current segment.
+   */
+  @Override
+  public void shutdown() {
+    shutdownLock.writeLock().lock();
+    try {
+      if (!running) {
+        return;
+      }
+      running = false;
+    } finally {
+      shutdownLock.writeLock().unlock();
+    }
+    try {
+      queue.put(SHUTDOWN);
+      writerThread.join(30000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Interrupted waiting for change log writer to shutdown");
+    }
+  }
+
+  /**
+   * Queue the change set for writing, blocking when the queue is full.
+   */
+  @Override
+  public void log(ChangeSet changeSet) {
+    shutdownLock.readLock().lock();
+    try {
+      if (!running) {
+        logger.error("Change log is shutdown, unable to log changeSet {}", changeSet);
+        return;
+      }
+      queue.put(changeSet);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.error("Interrupted queuing changeSet " + changeSet);
+    } finally {
+      shutdownLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * The writer loop draining the queue in groups.
+   */
+  private void runWriter() {
+    List<ChangeSet> group = new ArrayList<>(groupCommitSize);
+    boolean stop = false;
+    while (!stop) {
+      try {
+        ChangeSet first = queue.poll(groupCommitMillis, TimeUnit.MILLISECONDS);
+        if (first != null) {
+          group.add(first);
+          queue.drainTo(group, groupCommitSize - 1);
+          stop = writeGroup(group);
+          group.clear();
+        }
+        long now = System.currentTimeMillis();
+        commit(now);
+        checkRotate(now);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        stop = true;
+      } catch (Throwable e) {
+        logger.error("Error writing change log", e);
+        // keep the shutdown marker such that shutdown does not wait on the join timeout
+        stop = group.contains(SHUTDOWN);
+        group.clear();
+      }
+    }
+    closeSegment();
+  }
+
+  /**
+   * Write the group of change sets returning true if the shutdown marker was found.
+   */
+  private boolean writeGroup(List<ChangeSet> group) throws IOException {
+    boolean stop = false;
+    for (ChangeSet changeSet : group) {
+      if (changeSet == SHUTDOWN) {
+        stop = true;
+      } else {
+        writeChangeSet(changeSet);
+      }
+    }
+    groupCount++;
+    return stop;
+  }
+
+  private void writeChangeSet(ChangeSet changeSet) throws IOException {
+    List<BeanChange> changes = changeSet.getChanges();
+    for (int i = 0; i < changes.size(); i++) {
+      // log each bean change as a separate record
+      BeanChange beanChange = changes.get(i);
+      recordBuffer.reset();
+      try {
+        jsonBuilder.writeBeanChange(generator, beanChange, changeSet, i);
+        generator.flush();
+      } catch (Exception e) {
+        logger.error("Exception logging beanChange " + beanChange.toString(), e);
+        // generator state is unknown so replace it
+        generator = createGenerator();
+        continue;
+      }
+      append(recordBuffer.bytes(), recordBuffer.size());
+      changeCount++;
+    }
+  }
+
+  private void append(byte[] payload, int length) throws IOException {
+    if (segment == null || !segment.hasRoom(length)) {
+      closeSegment();
+      int minimum = ChangeLogSegment.HEADER_SIZE + length + 2 * ChangeLogSegment.RECORD_OVERHEAD;
+      segment = ChangeLogSegment.create(directory, prefix, nextSegmentId++, Math.max(segmentSize, minimum));
+      segmentCount++;
+    }
+    segment.append(payload, length);
+    unsynced = true;
+  }
+
+  /**
+   * Fsync according to the policy (only when records have been appended since the last fsync).
+   */
+  private void commit(long now) {
+    if (segment == null || fsync == Fsync.NONE || !unsynced) {
+      return;
+    }
+    if (fsync == Fsync.GROUP || now - lastFsync >= fsyncMillis) {
+      segment.force();
+      lastFsync = now;
+      unsynced = false;
+      fsyncCount++;
+    }
+  }
+
+  /**
+   * Rotate the current segment if it is older than the rotate time.
+   */
+  private void checkRotate(long now) {
+    if (segment != null && segment.getRecordCount() > 0 && now - segment.getCreatedMillis() >= rotateMillis) {
+      closeSegment();
+    }
+  }
+
+  private void closeSegment() {
+    if (segment != null) {
+      try {
+        segment.close();
+      } catch (IOException e) {
+        logger.error("Error closing change log segment " + segment, e);
+      }
+      segment = null;
+      unsynced = false;
+    }
+  }
+
+  /**
+   * Return the directory the change log is written to.
+   */
+  public File getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Set the directory the change log is written to.
+   */
+  public void setDirectory(File directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Return the prefix of the segment file names.
+   */
+  public String getPrefix() {
+    return prefix;
+  }
+
+  /**
+   * Set the prefix of the segment file names.
+   */
+  public void setPrefix(String prefix) {
+    this.prefix = prefix;
+  }
+
+  /**
+   * Set the size in bytes of each pre-allocated segment file.
+   */
+  public void setSegmentSize(int segmentSize) {
+    this.segmentSize = segmentSize;
+  }
+
+  /**
+   * Set the maximum age in millis of a segment before it is rotated.
+   */
+  public void setRotateMillis(long rotateMillis) {
+    this.rotateMillis = rotateMillis;
+  }
+
+  /**
+   * Set the capacity of the queue. When full the logging threads block.
+   */
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  /**
+   * Set the maximum number of change sets written per group commit.
+   */
+  public void setGroupCommitSize(int groupCommitSize) {
+    this.groupCommitSize = groupCommitSize;
+  }
+
+  /**
+   * Set the time in millis the writer waits for change sets.
+   */
+  public void setGroupCommitMillis(long groupCommitMillis) {
+    this.groupCommitMillis = groupCommitMillis;
+  }
+
+  /**
+   * Set the fsync policy.
+   */
+  public void setFsync(Fsync fsync) {
+    this.fsync = fsync;
+  }
+
+  /**
+   * Set the fsync interval used with the PERIODIC policy.
+   */
+  public void setFsyncMillis(long fsyncMillis) {
+    this.fsyncMillis = fsyncMillis;
+  }
+
+  /**
+   * Return the number of bean changes written.
+   */
+  public long getChangeCount() {
+    return changeCount;
+  }
+
+  /**
+   * Return the number of group commits.
+   */
+  public long getGroupCount() {
+    return groupCount;
+  }
+
+  /**
+   * Return the number of explicit fsyncs (excluding those on closing a segment).
+   */
+  public long getFsyncCount() {
+    return fsyncCount;
+  }
+
+  /**
+   * Return the number of segments created.
+   */
+  public long getSegmentCount() {
+    return segmentCount;
+  }
+
+  /**
+   * Return the number of change sets waiting to be written.
+   */
+  public int getQueueSize() {
+    return queue == null ? 0 : queue.size();
+  }
+
+  /**
+   * Byte buffer exposing the underlying array to avoid copying.
+   */
+  private static final class RecordBuffer extends ByteArrayOutputStream {
+
+    RecordBuffer() {
+      super(1024);
+    }
+
+    byte[] bytes() {
+      return buf;
+    }
+  }
+}
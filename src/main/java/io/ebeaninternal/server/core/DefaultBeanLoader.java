@@ -80,6 +80,9 @@ public class DefaultBeanLoader {
   public void loadMany(LoadManyRequest loadRequest) {
 
     List<BeanCollection<?>> batch = loadRequest.getBatch();
+    if (loadRequest.isLazy()) {
+      server.getServerMetrics().getLazyLoadMany().add(batch.size());
+    }
 
     int batchSize = getBatchSize(batch.size());
 
@@ -196,6 +199,9 @@ public class DefaultBeanLoader {
     if (batch.isEmpty()) {
       throw new RuntimeException("Nothing in batch?");
     }
+    if (loadRequest.isLazy()) {
+      server.getServerMetrics().getLazyLoadBean().add(batch.size());
+    }
 
     int batchSize = getBatchSize(batch.size());
 
@@ -221,7 +227,8 @@ public class DefaultBeanLoader {
   private List<?> executeQuery(LoadRequest loadRequest, SpiQuery<?> query) {
     if (onIterateUseExtraTxn && loadRequest.isParentFindIterate()) {
       // MySql - we need a different transaction to execute the secondary query
-      SpiTransaction extraTxn = server.createQueryTransaction(query.getTenantId());
+      // the tables of the lazy load query are not known until its query plan is built
+      SpiTransaction extraTxn = server.createQueryTransaction(query.getTenantId(), null);
       try {
         return server.findList(query, extraTxn);
       } finally {
@@ -164,12 +164,16 @@ public class DefaultContainer implements SpiContainer {
     beanOptions.setMaxSize(serverConfig.getCacheMaxSize());
     beanOptions.setMaxIdleSecs(serverConfig.getCacheMaxIdleTime());
     beanOptions.setMaxSecsToLive(serverConfig.getCacheMaxTimeToLive());
+    beanOptions.setTenantShared(serverConfig.isCacheTenantShared());
+    beanOptions.setTenantMaxPercent(serverConfig.getCacheTenantMaxPercent());
 
     // reasonable default settings for the query cache per bean type
     ServerCacheOptions queryOptions = new ServerCacheOptions();
     queryOptions.setMaxSize(serverConfig.getQueryCacheMaxSize());
     queryOptions.setMaxIdleSecs(serverConfig.getQueryCacheMaxIdleTime());
     queryOptions.setMaxSecsToLive(serverConfig.getQueryCacheMaxTimeToLive());
+    queryOptions.setTenantShared(serverConfig.isCacheTenantShared());
+    queryOptions.setTenantMaxPercent(serverConfig.getCacheTenantMaxPercent());
 
     boolean localL2Caching = false;
     ServerCachePlugin plugin = serverConfig.getServerCachePlugin();
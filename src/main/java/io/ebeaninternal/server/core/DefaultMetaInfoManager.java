@@ -1,12 +1,21 @@
 package io.ebeaninternal.server.core;
 
+import io.ebean.config.dbplatform.PlatformIdGenerator;
+import io.ebean.config.dbplatform.SequenceIdGenerator;
 import io.ebean.meta.MetaBeanInfo;
 import io.ebean.meta.MetaInfoManager;
+import io.ebean.meta.MetaLazyLoadReport;
+import io.ebean.meta.MetaMetric;
 import io.ebean.meta.MetaObjectGraphNodeStats;
 import io.ebean.meta.MetaQueryPlanStatistic;
+import io.ebeaninternal.server.cache.SpiCacheManager;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 /**
  * DefaultServer based implementation of MetaInfoManager.
@@ -15,8 +24,11 @@ public class DefaultMetaInfoManager implements MetaInfoManager {
 
   private final DefaultServer server;
 
-  public DefaultMetaInfoManager(DefaultServer server) {
+  private final SpiCacheManager cacheManager;
+
+  public DefaultMetaInfoManager(DefaultServer server, SpiCacheManager cacheManager) {
     this.server = server;
+    this.cacheManager = cacheManager;
   }
 
   @Override
@@ -54,4 +66,38 @@ public class DefaultMetaInfoManager implements MetaInfoManager {
     return list;
   }
 
+  @Override
+  public List<MetaLazyLoadReport> collectLazyLoadReports(boolean reset) {
+
+    LazyLoadDetector detector = server.lazyLoadDetector;
+    if (detector == null) {
+      return new ArrayList<>();
+    }
+    return detector.collect(reset);
+  }
+
+  @Override
+  public List<MetaMetric> collectMetrics(boolean reset) {
+
+    List<MetaMetric> list = new ArrayList<>();
+    server.getServerMetrics().collect(reset, list);
+    cacheManager.collectMetrics(reset, list);
+    collectSequenceMetrics(reset, list);
+    return list;
+  }
+
+  /**
+   * Collect the id allocation metrics of the sequence IdGenerators.
+   */
+  private void collectSequenceMetrics(boolean reset, List<MetaMetric> list) {
+
+    Set<PlatformIdGenerator> collected = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (BeanDescriptor<?> desc : server.getBeanDescriptors()) {
+      PlatformIdGenerator idGenerator = desc.getIdGenerator();
+      if (idGenerator instanceof SequenceIdGenerator && collected.add(idGenerator)) {
+        ((SequenceIdGenerator) idGenerator).collectMetrics(reset, list);
+      }
+    }
+  }
+
 }
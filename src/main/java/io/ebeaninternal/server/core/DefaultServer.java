@@ -10,6 +10,7 @@ import io.ebean.Filter;
 import io.ebean.FutureIds;
 import io.ebean.FutureList;
 import io.ebean.FutureRowCount;
+import io.ebean.KeysetPage;
 import io.ebean.PagedList;
 import io.ebean.PersistenceContextScope;
 import io.ebean.Query;
@@ -69,11 +70,13 @@ import io.ebeaninternal.server.deploy.InheritInfo;
 import io.ebeaninternal.server.el.ElFilter;
 import io.ebeaninternal.server.grammer.EqlParser;
 import io.ebeaninternal.server.lib.ShutdownManager;
+import io.ebeaninternal.server.metric.ServerMetrics;
 import io.ebeaninternal.server.query.CQuery;
 import io.ebeaninternal.server.query.CQueryEngine;
 import io.ebeaninternal.server.query.CallableQueryIds;
 import io.ebeaninternal.server.query.CallableQueryList;
 import io.ebeaninternal.server.query.CallableQueryCount;
+import io.ebeaninternal.server.query.KeysetPageQuery;
 import io.ebeaninternal.server.query.LimitOffsetPagedList;
 import io.ebeaninternal.server.query.QueryFutureIds;
 import io.ebeaninternal.server.query.QueryFutureList;
@@ -126,6 +129,8 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
 
   private final DatabasePlatform databasePlatform;
 
+  private final ServerMetrics serverMetrics;
+
   private final TransactionManager transactionManager;
 
   private final TransactionScopeManager transactionScopeManager;
@@ -214,6 +219,19 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
    */
   protected final ConcurrentHashMap<ObjectGraphNode, CObjectGraphNodeStatistics> objectGraphStats;
 
+  /**
+   * Detects N+1 lazy loading (null when detection is disabled).
+   */
+  protected final LazyLoadDetector lazyLoadDetector;
+
+  private static LazyLoadDetector initLazyLoadDetector(ServerConfig serverConfig) {
+    int threshold = serverConfig.getLazyLoadDetectThreshold();
+    if (threshold <= 0) {
+      return null;
+    }
+    return new LazyLoadDetector(threshold, serverConfig.isLazyLoadDetectStrict(), serverConfig.getLazyLoadListener());
+  }
+
   /**
    * Create the DefaultServer.
    */
@@ -221,9 +239,11 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
 
     this.serverConfig = config.getServerConfig();
     this.objectGraphStats = new ConcurrentHashMap<>();
-    this.metaInfoManager = new DefaultMetaInfoManager(this);
+    this.lazyLoadDetector = initLazyLoadDetector(serverConfig);
+    this.metaInfoManager = new DefaultMetaInfoManager(this, config.getCacheManager());
     this.serverCacheManager = cache;
     this.databasePlatform = config.getDatabasePlatform();
+    this.serverMetrics = config.getServerMetrics();
     this.backgroundExecutor = config.getBackgroundExecutor();
 
     this.serverName = serverConfig.getName();
@@ -324,6 +344,11 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     return databasePlatform;
   }
 
+  @Override
+  public ServerMetrics getServerMetrics() {
+    return serverMetrics;
+  }
+
   @Override
   public DataTimeZone getDataTimeZone() {
     return dataTimeZone;
@@ -748,7 +773,11 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
         if (isolation != null) {
           isoLevel = isolation.getLevel();
         }
-        t = transactionManager.createTransaction(true, isoLevel);
+        if (txScope.isReadonly()) {
+          t = transactionManager.createReadOnlyTransaction(isoLevel);
+        } else {
+          t = transactionManager.createTransaction(true, isoLevel);
+        }
       }
     }
 
@@ -1001,8 +1030,29 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
       throw new NullPointerException("The id is null");
     }
 
-    Query<T> query = createQuery(beanType).setId(id);
-    return findId(query, t);
+    BeanDescriptor<T> desc = getBeanDescriptor(beanType);
+    if (desc == null) {
+      throw new PersistenceException(beanType.getName() + " is NOT an Entity Bean registered with this server?");
+    }
+
+    // fast path checking the persistence context and bean cache without building a query
+    id = desc.convertId(id);
+    T bean = findIdCheckPersistenceContextAndCache(t, desc, id, defaultPersistenceContextScope, desc.isBeanCaching(), null);
+    if (bean != null) {
+      return bean;
+    }
+
+    DefaultOrmQuery<T> query = new DefaultOrmQuery<>(desc, this, expressionFactory);
+    query.setId(id);
+    query.setType(Type.BEAN);
+    if (desc.isCacheSingleFlight()) {
+      // concurrent misses on the same id wait for the first load and then read the bean cache
+      Object cacheId = id;
+      return desc.cacheBeanSingleFlight(id,
+        () -> findIdCheckPersistenceContextAndCache(t, desc, cacheId, defaultPersistenceContextScope, desc.isBeanCaching(), null),
+        () -> findIdExecute(query, t));
+    }
+    return findIdExecute(query, t);
   }
 
   <T> SpiOrmQueryRequest<T> createQueryRequest(Type type, Query<T> query, Transaction t) {
@@ -1039,19 +1089,27 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
   /**
    * Try to get the object out of the persistence context.
    */
-  @SuppressWarnings("unchecked")
   private <T> T findIdCheckPersistenceContextAndCache(Transaction transaction, SpiQuery<T> query, Object id) {
 
+    BeanDescriptor<T> desc = query.getBeanDescriptor();
+    return findIdCheckPersistenceContextAndCache(transaction, desc, desc.convertId(id), getPersistenceContextScope(query),
+      query.isUseBeanCache(), query.isReadOnly());
+  }
+
+  /**
+   * Try to get the object out of the persistence context or bean cache given the already converted id.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> T findIdCheckPersistenceContextAndCache(Transaction transaction, BeanDescriptor<T> desc, Object id,
+                                                      PersistenceContextScope scope, boolean useBeanCache, Boolean readOnly) {
+
     SpiTransaction t = (SpiTransaction) transaction;
     if (t == null) {
       t = getCurrentServerTransaction();
     }
 
-    BeanDescriptor<T> desc = query.getBeanDescriptor();
-    id = desc.convertId(id);
-
     PersistenceContext pc = null;
-    if (t != null && useTransactionPersistenceContext(query)) {
+    if (t != null && PersistenceContextScope.TRANSACTION.equals(scope)) {
       // first look in the transaction scoped persistence context
       pc = t.getPersistenceContext();
       if (pc != null) {
@@ -1066,19 +1124,12 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
       }
     }
 
-    if (!query.isUseBeanCache() || (t != null && t.isSkipCache())) {
+    if (!useBeanCache || (t != null && t.isSkipCache())) {
       return null;
     }
 
     // Hit the L2 bean cache
-    return desc.cacheBeanGet(id, query.isReadOnly(), pc);
-  }
-
-  /**
-   * Return true if transactions PersistenceContext should be used.
-   */
-  private <T> boolean useTransactionPersistenceContext(SpiQuery<T> query) {
-    return PersistenceContextScope.TRANSACTION.equals(getPersistenceContextScope(query));
+    return desc.cacheBeanGet(id, readOnly, pc);
   }
 
   /**
@@ -1102,6 +1153,14 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
         return bean;
       }
     }
+    return findIdExecute(spiQuery, t);
+  }
+
+  /**
+   * Execute the find by id query (persistence context and bean cache already checked).
+   */
+  @SuppressWarnings("unchecked")
+  private <T> T findIdExecute(SpiQuery<T> spiQuery, Transaction t) {
 
     SpiOrmQueryRequest<T> request = createQueryRequest(spiQuery, t);
     if (request.isUseDocStore()) {
@@ -1131,13 +1190,21 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
       t = getCurrentServerTransaction();
     }
     if (t == null || !t.isSkipCache()) {
-      id = spiQuery.getBeanDescriptor().cacheNaturalKeyIdLookup(spiQuery);
+      BeanDescriptor<T> desc = spiQuery.getBeanDescriptor();
+      id = desc.cacheNaturalKeyIdLookup(spiQuery);
       if (id != null) {
         T bean = findIdCheckPersistenceContextAndCache(t, spiQuery, id);
         if (bean != null) {
           return bean;
         }
       }
+      if (desc.isCacheSingleFlight()) {
+        // concurrent misses on the same natural key wait for the first load and then read the cache
+        SpiTransaction txn = t;
+        return desc.cacheNaturalKeySingleFlight(spiQuery,
+          () -> findNaturalKeyInCache(txn, spiQuery),
+          () -> extractUnique(findList(query, txn)));
+      }
     }
 
     // a query that is expected to return either 0 or 1 beans
@@ -1145,6 +1212,14 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     return extractUnique(list);
   }
 
+  /**
+   * Return the bean using the natural key and bean caches (or null).
+   */
+  private <T> T findNaturalKeyInCache(SpiTransaction t, SpiQuery<T> query) {
+    Object id = query.getBeanDescriptor().cacheNaturalKeyIdLookup(query);
+    return (id == null) ? null : findIdCheckPersistenceContextAndCache(t, query, id);
+  }
+
   private <T> T extractUnique(List<T> list) {
     if (list.isEmpty()) {
       return null;
@@ -1167,13 +1242,15 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
       return (Set<T>) result;
     }
 
-    try {
-      request.initTransIfRequired();
-      return request.findSet();
+    return (Set<T>) request.queryCacheLoad(() -> {
+      try {
+        request.initTransIfRequired();
+        return request.findSet();
 
-    } finally {
-      request.endTransIfRequired();
-    }
+      } finally {
+        request.endTransIfRequired();
+      }
+    });
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"})
@@ -1186,13 +1263,15 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
       return (Map<K, T>) result;
     }
 
-    try {
-      request.initTransIfRequired();
-      return request.findMap();
+    return (Map<K, T>) request.queryCacheLoad(() -> {
+      try {
+        request.initTransIfRequired();
+        return request.findMap();
 
-    } finally {
-      request.endTransIfRequired();
-    }
+      } finally {
+        request.endTransIfRequired();
+      }
+    });
   }
 
   @Override
@@ -1204,6 +1283,7 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     if (result != null) {
       return (List<A>) result;
     }
+    // single attribute results are not put into the query cache so not single flight
     try {
       request.initTransIfRequired();
       return (List<A>) request.findSingleAttributeList();
@@ -1343,6 +1423,13 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     return new LimitOffsetPagedList<>(this, spiQuery);
   }
 
+  @Override
+  public <T> KeysetPage<T> findKeysetPage(Query<T> query, String afterKey, Transaction transaction) {
+
+    SpiQuery<T> spiQuery = (SpiQuery<T>) query;
+    return new KeysetPageQuery<>(this, spiQuery, databasePlatform.isNullsSortHigh()).findPage(afterKey, transaction);
+  }
+
   public <T> QueryIterator<T> findIterate(Query<T> query, Transaction t) {
 
     SpiOrmQueryRequest<T> request = createQueryRequest(Type.ITERATE, query, t);
@@ -1408,13 +1495,15 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
       return docStore().findList(request);
     }
 
-    try {
-      request.initTransIfRequired();
-      return request.findList();
+    return request.queryCacheLoad(() -> {
+      try {
+        request.initTransIfRequired();
+        return request.findList();
 
-    } finally {
-      request.endTransIfRequired();
-    }
+      } finally {
+        request.endTransIfRequired();
+      }
+    });
   }
 
   public SqlRow findUnique(SqlQuery query, Transaction t) {
@@ -2023,6 +2112,11 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     return transactionManager.createQueryTransaction(tenantId);
   }
 
+  @Override
+  public SpiTransaction createQueryTransaction(Object tenantId, Collection<String> tables) {
+    return transactionManager.createQueryTransaction(tenantId, tables);
+  }
+
   /**
    * Create a CallStack object.
    * <p>
@@ -2088,4 +2182,12 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     }
   }
 
+  @Override
+  public void collectLazyLoad(ObjectGraphNode node, boolean many, int lazyLoadCount) {
+
+    if (lazyLoadDetector != null) {
+      lazyLoadDetector.lazyLoad(node, many, lazyLoadCount);
+    }
+  }
+
 }
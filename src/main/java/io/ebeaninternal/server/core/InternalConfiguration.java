@@ -36,6 +36,7 @@ import io.ebeaninternal.server.deploy.parse.DeployCreateProperties;
 import io.ebeaninternal.server.deploy.parse.DeployInherit;
 import io.ebeaninternal.server.deploy.parse.DeployUtil;
 import io.ebeaninternal.server.expression.DefaultExpressionFactory;
+import io.ebeaninternal.server.metric.ServerMetrics;
 import io.ebeaninternal.server.persist.Binder;
 import io.ebeaninternal.server.persist.DefaultPersister;
 import io.ebeaninternal.server.query.CQueryEngine;
@@ -116,6 +117,11 @@ public class InternalConfiguration {
    */
   private final List<Plugin> plugins = new ArrayList<>();
 
+  /**
+   * The runtime metrics for transactions, persistence and loading.
+   */
+  private final ServerMetrics serverMetrics = new ServerMetrics();
+
   public InternalConfiguration(ClusterManager clusterManager,
                                SpiCacheManager cacheManager, SpiBackgroundExecutor backgroundExecutor,
                                ServerConfig serverConfig, BootupClasses bootupClasses) {
@@ -159,6 +165,13 @@ public class InternalConfiguration {
     return service == null ? new NoneDocStoreFactory() : service;
   }
 
+  /**
+   * Return the runtime metrics.
+   */
+  public ServerMetrics getServerMetrics() {
+    return serverMetrics;
+  }
+
   /**
    * Return the doc store factory.
    */
@@ -277,7 +290,7 @@ public class InternalConfiguration {
   }
 
   public Persister createPersister(SpiEbeanServer server) {
-    return new DefaultPersister(server, binder, beanDescriptorManager);
+    return new DefaultPersister(server, binder, beanDescriptorManager, serverMetrics);
   }
 
   public SpiCacheManager getCacheManager() {
@@ -348,7 +361,7 @@ public class InternalConfiguration {
 
     TransactionManagerOptions options =
       new TransactionManagerOptions(localL2, serverConfig, clusterManager, backgroundExecutor,
-                                    indexUpdateProcessor, beanDescriptorManager, dataSource());
+                                    indexUpdateProcessor, beanDescriptorManager, dataSource(), serverMetrics);
 
     if (serverConfig.isExplicitTransactionBeginMode()) {
       return new ExplicitTransactionManager(options);
@@ -0,0 +1,178 @@
+package io.ebeaninternal.server.core;
+
+import io.ebean.bean.ObjectGraphNode;
+import io.ebean.event.LazyLoadListener;
+import io.ebean.meta.MetaLazyLoadReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects origin queries that result in excessive lazy loading (N+1).
+ * <p>
+ * The load contexts count the lazy loading queries they execute per path for a single
+ * origin query execution. When that count reaches the threshold the origin node is
+ * reported to the listener (or logged) and optionally in strict mode an exception is thrown.
+ * </p>
+ */
+public class LazyLoadDetector {
+
+  private static final Logger logger = LoggerFactory.getLogger(LazyLoadDetector.class);
+
+  private final ConcurrentHashMap<ObjectGraphNode, NodeReport> reports = new ConcurrentHashMap<>();
+
+  private final int threshold;
+
+  private final boolean strict;
+
+  private final LazyLoadListener listener;
+
+  public LazyLoadDetector(int threshold, boolean strict, LazyLoadListener listener) {
+    this.threshold = threshold;
+    this.strict = strict;
+    this.listener = listener;
+  }
+
+  /**
+   * A lazy loading query is about to execute for the node.
+   *
+   * @param node          the origin and path being lazy loaded
+   * @param many          true if the path is a ToMany
+   * @param lazyLoadCount the number of lazy loads for this node and origin query execution
+   */
+  public void lazyLoad(ObjectGraphNode node, boolean many, int lazyLoadCount) {
+
+    if (lazyLoadCount < threshold || node.getOriginQueryPoint() == null) {
+      return;
+    }
+    NodeReport report = reports.computeIfAbsent(node, n -> new NodeReport(n, many));
+    report.max(lazyLoadCount);
+    if (lazyLoadCount == threshold) {
+      // only report once per origin query execution
+      report.increment();
+      MetaLazyLoadReport snapshot = report.get(false);
+      if (listener != null) {
+        listener.excessiveLazyLoading(snapshot);
+      } else {
+        logger.warn("Excessive lazy loading on {} suggest {}", node, snapshot.getSuggestion());
+      }
+      if (strict) {
+        throw new PersistenceException("Lazy loading exceeded threshold " + threshold + " on " + node
+          + " at " + node.getOriginQueryPoint().getCallStack() + " - suggest " + snapshot.getSuggestion());
+      }
+    }
+  }
+
+  /**
+   * Collect the reports for origin queries that exceeded the threshold.
+   */
+  public List<MetaLazyLoadReport> collect(boolean reset) {
+
+    List<MetaLazyLoadReport> list = new ArrayList<>();
+    for (NodeReport report : reports.values()) {
+      MetaLazyLoadReport snapshot = report.get(reset);
+      if (snapshot.getCount() > 0) {
+        list.add(snapshot);
+      }
+    }
+    return list;
+  }
+
+  /**
+   * Return the suggested change to the origin query.
+   */
+  static String suggestion(ObjectGraphNode node, boolean many) {
+    String path = node.getPath();
+    if (path == null) {
+      return "select() including the lazy loaded properties";
+    }
+    return (many ? "fetchQuery(\"" : "fetch(\"") + path + "\")";
+  }
+
+  private static class NodeReport {
+
+    private final ObjectGraphNode node;
+
+    private final boolean many;
+
+    private final String suggestion;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAccumulator maxLazyLoads = new LongAccumulator(Math::max, 0);
+
+    NodeReport(ObjectGraphNode node, boolean many) {
+      this.node = node;
+      this.many = many;
+      this.suggestion = suggestion(node, many);
+    }
+
+    void increment() {
+      count.increment();
+    }
+
+    void max(long lazyLoadCount) {
+      maxLazyLoads.accumulate(lazyLoadCount);
+    }
+
+    MetaLazyLoadReport get(boolean reset) {
+      if (reset) {
+        return new Snapshot(node, many, suggestion, count.sumThenReset(), maxLazyLoads.getThenReset());
+      } else {
+        return new Snapshot(node, many, suggestion, count.sum(), maxLazyLoads.get());
+      }
+    }
+  }
+
+  private static class Snapshot implements MetaLazyLoadReport {
+
+    private final ObjectGraphNode node;
+    private final boolean many;
+    private final String suggestion;
+    private final long count;
+    private final long maxLazyLoads;
+
+    Snapshot(ObjectGraphNode node, boolean many, String suggestion, long count, long maxLazyLoads) {
+      this.node = node;
+      this.many = many;
+      this.suggestion = suggestion;
+      this.count = count;
+      this.maxLazyLoads = maxLazyLoads;
+    }
+
+    public String toString() {
+      return node + " count[" + count + "] maxLazyLoads[" + maxLazyLoads + "] suggest[" + suggestion + "]";
+    }
+
+    @Override
+    public ObjectGraphNode getNode() {
+      return node;
+    }
+
+    @Override
+    public boolean isMany() {
+      return many;
+    }
+
+    @Override
+    public long getCount() {
+      return count;
+    }
+
+    @Override
+    public long getMaxLazyLoads() {
+      return maxLazyLoads;
+    }
+
+    @Override
+    public String getSuggestion() {
+      return suggestion;
+    }
+  }
+}
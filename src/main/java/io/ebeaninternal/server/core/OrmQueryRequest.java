@@ -6,6 +6,9 @@ import io.ebean.Version;
 import io.ebean.bean.BeanCollection;
 import io.ebean.bean.EntityBean;
 import io.ebean.bean.PersistenceContext;
+import io.ebean.common.BeanList;
+import io.ebean.common.BeanMap;
+import io.ebean.common.BeanSet;
 import io.ebean.event.BeanFindController;
 import io.ebean.event.BeanQueryAdapter;
 import io.ebean.event.BeanQueryRequest;
@@ -36,6 +39,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Wraps the objects involved in executing a Query.
@@ -205,7 +209,7 @@ public final class OrmQueryRequest<T> extends BeanRequest implements BeanQueryRe
       transaction = ebeanServer.getCurrentServerTransaction();
       if (transaction == null) {
         // create an implicit transaction to execute this query
-        transaction = ebeanServer.createQueryTransaction(query.getTenantId());
+        transaction = ebeanServer.createQueryTransaction(query.getTenantId(), queryTables());
         createdTransaction = true;
       }
     }
@@ -213,6 +217,18 @@ public final class OrmQueryRequest<T> extends BeanRequest implements BeanQueryRe
     loadContext = new DLoadContext(this, secondaryQueries);
   }
 
+  /**
+   * Return the tables this query joins as per the SqlTree of its query plan.
+   * <p>
+   * Used to determine if the read only DataSource may be stale for this query. Returns null
+   * (any table) when the query plan has not been built yet.
+   * </p>
+   */
+  private Set<String> queryTables() {
+    CQueryPlan queryPlan = getQueryPlan();
+    return queryPlan == null ? null : queryPlan.getQueryTables();
+  }
+
   /**
    * Return the JsonReadOptions taking into account lazy loading and persistence context.
    */
@@ -474,6 +490,29 @@ public final class OrmQueryRequest<T> extends BeanRequest implements BeanQueryRe
     }
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <A> A queryCacheLoad(Supplier<A> loader) {
+    if (cacheKey == null || !beanDescriptor.isCacheSingleFlight()) {
+      return loader.get();
+    }
+    return beanDescriptor.cacheQuerySingleFlight(cacheKey, () -> (A) getFromQueryCache(), loader, () -> (A) emptyResult());
+  }
+
+  /**
+   * Return an empty result for the query type (empty results are not put into the query cache).
+   */
+  private BeanCollection<T> emptyResult() {
+    switch (query.getType()) {
+      case SET:
+        return new BeanSet<>();
+      case MAP:
+        return new BeanMap<>();
+      default:
+        return new BeanList<>();
+    }
+  }
+
   public void putToQueryCache(BeanCollection<T> queryResult) {
     beanDescriptor.queryCachePut(cacheKey, queryResult);
   }
@@ -518,6 +557,16 @@ public final class OrmQueryRequest<T> extends BeanRequest implements BeanQueryRe
     return !query.isDisableReadAudit() && beanDescriptor.isReadAuditing();
   }
 
+  /**
+   * Return true if the bind log should be built for this query request.
+   * <p>
+   * The bind log is used by SQL and summary logging and read auditing and otherwise not built.
+   * </p>
+   */
+  public boolean isLogBind() {
+    return isLogSql() || isLogSummary() || isAuditReads();
+  }
+
   /**
    * Return the base table alias for this query.
    */
@@ -899,6 +899,17 @@ public final class PersistRequestBean<T> extends PersistRequest implements BeanP
     }
   }
 
+  /**
+   * Return true if the JSON property should be updated using a partial update.
+   * <p>
+   * This is the case when the property is included in the update and only the
+   * values of some top level keys of the document have been modified.
+   * </p>
+   */
+  public boolean isJsonPartialUpdate(BeanProperty prop) {
+    return isAddToUpdate(prop) && prop.getJsonPartialUpdateKeys(entityBean) != null;
+  }
+
   /**
    * Register the derived relationships to get executed later (on JDBC batch flush or commit).
    */
@@ -1040,6 +1051,12 @@ public final class PersistRequestBean<T> extends PersistRequest implements BeanP
       key.append('p');
     }
 
+    for (BeanProperty prop : beanDescriptor.propertiesJsonPartial()) {
+      if (isJsonPartialUpdate(prop)) {
+        key.append('j').append(prop.getPropertyIndex());
+      }
+    }
+
     return key.toString();
   }
 
@@ -243,7 +243,9 @@ public final class RelationalQueryRequest {
 
     BindParams bindParams = query.getBindParams();
     if (!bindParams.isEmpty()) {
-      this.bindLog = binder.bind(bindParams, pstmt, conn);
+      // only build the bind log when it is used by summary logging or sql trace logging
+      boolean logBind = isLogSummary() || (isLogSql() && TransactionManager.SQL_LOGGER.isTraceEnabled());
+      this.bindLog = binder.bind(bindParams, pstmt, conn, logBind);
     }
 
     if (isLogSql()) {
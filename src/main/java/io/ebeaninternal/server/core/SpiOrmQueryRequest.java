@@ -12,6 +12,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Defines the ORM query request api.
@@ -118,6 +119,16 @@ public interface SpiOrmQueryRequest<T> extends DocQueryRequest<T> {
    */
   BeanCollection<T> getFromQueryCache();
 
+  /**
+   * Execute the loader for a query cache miss.
+   * <p>
+   * With single flight enabled concurrent misses for the same query wait for the first
+   * load and are then served from the query cache (or return an empty result when the
+   * first load found nothing).
+   * </p>
+   */
+  <A> A queryCacheLoad(Supplier<A> loader);
+
   /**
    * Return the Database platform like clause.
    */
@@ -18,6 +18,13 @@ public class BootupClassPathSearch {
 
   private static final String EBEAN_MF = "META-INF/ebean.mf";
 
+  /**
+   * Index of classes generated at build time by BootupIndexProcessor.
+   */
+  public static final String EBEAN_INDEX = "META-INF/ebean-bootup.idx";
+
+  private final ServerConfig serverConfig;
+
   private final List<String> packages;
 
   private final List<ClassPathScanner> scanners;
@@ -33,6 +40,8 @@ public class BootupClassPathSearch {
 
   private BootupClassPathSearch(ServerConfig serverConfig) {
 
+    this.serverConfig = serverConfig;
+
     // find packages defined in META-INF/ebean.mf resources
     Set<String> mfPackages = ManifestReader.readManifests(serverConfig.getClassLoadConfig().getClassLoader(), EBEAN_MF);
 
@@ -45,6 +54,13 @@ public class BootupClassPathSearch {
    */
   private BootupClasses getBootupClasses() {
 
+    if (serverConfig.isUseBootupIndex()) {
+      BootupClasses bc = readIndex();
+      if (bc != null) {
+        return bc;
+      }
+    }
+
     try {
       BootupClasses bc = new BootupClasses();
 
@@ -69,4 +85,75 @@ public class BootupClassPathSearch {
     }
   }
 
+  /**
+   * Return the BootupClasses from the build time index or null if there is no index.
+   */
+  private BootupClasses readIndex() {
+
+    long st = System.currentTimeMillis();
+    ClassLoader classLoader = serverConfig.getClassLoadConfig().getClassLoader();
+    Set<String> classNames = BootupIndexReader.readIndexes(classLoader, EBEAN_INDEX);
+    if (classNames.isEmpty()) {
+      return null;
+    }
+
+    String missing = missingPackage(classNames);
+    if (missing != null) {
+      logger.warn("Searching the class path as package {} has no classes in {} (partial or missing index)", missing, EBEAN_INDEX);
+      return null;
+    }
+
+    BootupClasses bc = new BootupClasses();
+    for (String className : classNames) {
+      if (includePackage(className)) {
+        try {
+          bc.isMatch(Class.forName(className, false, classLoader));
+        } catch (ClassNotFoundException | LinkageError e) {
+          logger.warn("Ignoring class {} in {} that could not be loaded: {}", className, EBEAN_INDEX, e.toString());
+        }
+      }
+    }
+
+    long searchTime = System.currentTimeMillis() - st;
+    logger.info("Bootup index entities[{}] searchTime[{}] in packages[{}]", bc.getEntities().size(), searchTime, packages);
+    return bc;
+  }
+
+  /**
+   * Return a configured package that has no classes in the index (or null if all packages do).
+   */
+  private String missingPackage(Set<String> classNames) {
+    if (packages == null) {
+      return null;
+    }
+    for (String packageName : packages) {
+      boolean found = false;
+      for (String className : classNames) {
+        if (className.startsWith(packageName + ".")) {
+          found = true;
+          break;
+        }
+      }
+      if (!found) {
+        return packageName;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Return true if the class is in one of the packages (or there are no packages defined).
+   */
+  private boolean includePackage(String className) {
+    if (packages == null || packages.isEmpty()) {
+      return true;
+    }
+    for (String packageName : packages) {
+      if (className.startsWith(packageName + ".")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
 }
@@ -0,0 +1,72 @@
+package io.ebeaninternal.server.core.bootup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Reads all the META-INF/ebean-bootup.idx resources with the class names of entities etc.
+ * <p>
+ * Each resource has one class name per line with lines starting with # being comments.
+ * </p>
+ */
+class BootupIndexReader {
+
+  private static final Logger logger = LoggerFactory.getLogger(BootupIndexReader.class);
+
+  private final Set<String> classNames = new LinkedHashSet<>();
+
+  /**
+   * Read the class names from all the index resources.
+   */
+  static Set<String> readIndexes(ClassLoader classLoader, String resourcePath) {
+    return new BootupIndexReader().read(classLoader, resourcePath);
+  }
+
+  private Set<String> read(ClassLoader classLoader, String resourcePath) {
+
+    try {
+      Enumeration<URL> resources = classLoader.getResources(resourcePath);
+      while (resources.hasMoreElements()) {
+        InputStream is = resources.nextElement().openStream();
+        try {
+          read(is);
+        } finally {
+          close(is);
+        }
+      }
+    } catch (IOException e) {
+      logger.warn("Error reading " + resourcePath + " resources", e);
+    }
+    return classNames;
+  }
+
+  private void close(InputStream is) {
+    try {
+      is.close();
+    } catch (IOException e) {
+      logger.warn("Error closing index InputStream", e);
+    }
+  }
+
+  private void read(InputStream is) throws IOException {
+
+    BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+    String line;
+    while ((line = reader.readLine()) != null) {
+      String className = line.trim();
+      if (!className.isEmpty() && !className.startsWith("#")) {
+        classNames.add(className);
+      }
+    }
+  }
+}
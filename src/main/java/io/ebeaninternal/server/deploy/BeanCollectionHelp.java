@@ -34,6 +34,11 @@ public interface BeanCollectionHelp<T> {
    */
   BeanCollection<T> createEmptyNoParent();
 
+  /**
+   * Create an empty collection of the correct type without a parent bean presized for the expected number of beans.
+   */
+  BeanCollection<T> createEmptyNoParent(int initialCapacity);
+
   /**
    * Create an empty collection of the correct type.
    */
@@ -93,7 +93,9 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Describes Beans including their deployment information.
@@ -298,6 +300,11 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
    */
   private final BeanProperty[] propertiesMutable;
 
+  /**
+   * JSON properties that support partial updates.
+   */
+  private final BeanProperty[] propertiesJsonPartial;
+
 
   private final BeanPropertyAssocOne<?> unidirectional;
 
@@ -341,6 +348,11 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
   private final BeanProperty[] propertiesNonTransient;
   protected final BeanProperty[] propertiesIndex;
 
+  /**
+   * Identifies the property layout (by property index) of the bean cache data.
+   */
+  private final int cacheSchemaId;
+
   /**
    * The bean class name or the table name for MapBeans.
    */
@@ -465,6 +477,7 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     this.propertiesEmbedded = listHelper.getEmbedded();
     this.propertiesLocal = listHelper.getLocal();
     this.propertiesMutable = listHelper.getMutable();
+    this.propertiesJsonPartial = jsonPartialProperties(propertiesMutable);
     this.unidirectional = listHelper.getUnidirectional();
     this.propertiesOne = listHelper.getOnes();
     this.propertiesOneExportedSave = listHelper.getOneExportedSave();
@@ -484,7 +497,7 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     boolean noRelationships = propertiesOne.length + propertiesMany.length == 0;
 
     this.cacheSharableBeans = noRelationships && deploy.getCacheOptions().isReadOnly();
-    this.cacheHelp = new BeanDescriptorCacheHelp<>(this, owner.getCacheManager(), deploy.getCacheOptions(), cacheSharableBeans, propertiesOneImported);
+    this.cacheHelp = new BeanDescriptorCacheHelp<>(this, owner.getCacheManager(), owner.getServerConfig(), deploy.getCacheOptions(), cacheSharableBeans, propertiesOneImported);
     this.jsonHelp = new BeanDescriptorJsonHelp<>(this);
     this.draftHelp = new BeanDescriptorDraftHelp<>(this);
 
@@ -524,6 +537,22 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
         propertiesIndex[i] = propMap.get(ebi.getProperty(i));
       }
     }
+    this.cacheSchemaId = deriveCacheSchemaId();
+  }
+
+  /**
+   * Derive the id of the bean cache data layout from the property names and types in index order.
+   */
+  private int deriveCacheSchemaId() {
+    int hash = beanType.getName().hashCode();
+    for (BeanProperty property : propertiesIndex) {
+      hash = hash * 31;
+      if (property != null) {
+        hash = hash * 31 + property.getName().hashCode();
+        hash = hash * 31 + property.getPropertyType().getName().hashCode();
+      }
+    }
+    return hash;
   }
 
   /**
@@ -1294,6 +1323,34 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     return cacheHelp.naturalKeyIdLookup(query);
   }
 
+  /**
+   * Return true if L2 cache misses use single flight loading.
+   */
+  public boolean isCacheSingleFlight() {
+    return cacheHelp.isSingleFlight();
+  }
+
+  /**
+   * Load a bean on a bean cache miss with single flight (when enabled).
+   */
+  public T cacheBeanSingleFlight(Object id, Supplier<T> cacheGet, Supplier<T> loader) {
+    return cacheHelp.beanCacheLoad(id, cacheGet, loader);
+  }
+
+  /**
+   * Load a query result on a query cache miss with single flight (when enabled).
+   */
+  public <A> A cacheQuerySingleFlight(Object key, Supplier<A> cacheGet, Supplier<A> loader, Supplier<A> emptyResult) {
+    return cacheHelp.queryCacheLoad(key, cacheGet, loader, emptyResult);
+  }
+
+  /**
+   * Load a bean on a natural key cache miss with single flight (when enabled).
+   */
+  public T cacheNaturalKeySingleFlight(SpiQuery<T> query, Supplier<T> cacheGet, Supplier<T> loader) {
+    return cacheHelp.naturalKeyLoad(query, cacheGet, loader);
+  }
+
   public void cacheNaturalKeyPut(Object id, Object newKey) {
     cacheHelp.cacheNaturalKeyPut(id, newKey);
   }
@@ -1336,7 +1393,7 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
   /**
    * Apply the update to the cache.
    */
-  public void cacheBeanUpdate(Object id, Map<String, Object> changes, boolean updateNaturalKey, long version) {
+  public void cacheBeanUpdate(Object id, CachedBeanData changes, boolean updateNaturalKey, long version) {
     cacheHelp.cacheBeanUpdate(id, changes, updateNaturalKey, version);
   }
 
@@ -1801,6 +1858,13 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     return idGenerator != null;
   }
 
+  /**
+   * Return the IdGenerator (can be null).
+   */
+  public PlatformIdGenerator getIdGenerator() {
+    return idGenerator;
+  }
+
   /**
    * Return bean class name.
    */
@@ -2260,6 +2324,13 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     return cacheSharableBeans;
   }
 
+  /**
+   * Return the id of the property layout used for the bean cache data.
+   */
+  public int getCacheSchemaId() {
+    return cacheSchemaId;
+  }
+
   /**
    * Return true if queries for beans of this type are auto tunable.
    */
@@ -2466,6 +2537,21 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     return baseTable;
   }
 
+  /**
+   * Add the base table and view dependent tables a query on this type reads.
+   * <p>
+   * Used to determine if the read only DataSource may be stale for a query.
+   * </p>
+   */
+  public void addQueryTables(Set<String> tables) {
+    if (baseTable != null) {
+      tables.add(baseTable);
+    }
+    if (dependentTables != null) {
+      Collections.addAll(tables, dependentTables);
+    }
+  }
+
   /**
    * Return true if this type is a base table entity type.
    */
@@ -2698,6 +2784,23 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     return propertiesTransient;
   }
 
+  private static BeanProperty[] jsonPartialProperties(BeanProperty[] mutable) {
+    List<BeanProperty> list = new ArrayList<>();
+    for (BeanProperty prop : mutable) {
+      if (prop.isJsonPartialUpdate()) {
+        list.add(prop);
+      }
+    }
+    return list.toArray(new BeanProperty[list.size()]);
+  }
+
+  /**
+   * Return the JSON properties that support partial updates.
+   */
+  public BeanProperty[] propertiesJsonPartial() {
+    return propertiesJsonPartial;
+  }
+
   /**
    * Return the beans that are embedded. These share the base table with the
    * owner bean.
@@ -5,6 +5,9 @@ import io.ebean.bean.EntityBean;
 import io.ebean.bean.EntityBeanIntercept;
 import io.ebean.bean.PersistenceContext;
 import io.ebean.cache.ServerCache;
+import io.ebean.config.CurrentTenantProvider;
+import io.ebean.config.ServerConfig;
+import io.ebeaninternal.api.SpiEbeanServer;
 import io.ebeaninternal.api.SpiQuery;
 import io.ebeaninternal.api.TransactionEventTable.TableIUD;
 import io.ebeaninternal.server.cache.CacheChangeSet;
@@ -12,6 +15,7 @@ import io.ebeaninternal.server.cache.CachedBeanData;
 import io.ebeaninternal.server.cache.CachedBeanDataFromBean;
 import io.ebeaninternal.server.cache.CachedBeanDataToBean;
 import io.ebeaninternal.server.cache.CachedManyIds;
+import io.ebeaninternal.server.cache.SingleFlight;
 import io.ebeaninternal.server.cache.SpiCacheManager;
 import io.ebeaninternal.server.core.CacheOptions;
 import io.ebeaninternal.server.core.PersistRequest;
@@ -23,9 +27,10 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 /**
@@ -60,10 +65,40 @@ final class BeanDescriptorCacheHelp<T> {
   private final BeanPropertyAssocOne<?>[] propertiesOneImported;
   private final String naturalKeyProperty;
 
+  /**
+   * The property index of the natural key property (or -1).
+   */
+  private final int naturalKeyIndex;
+
   private final Supplier<ServerCache> beanCache;
   private final Supplier<ServerCache> naturalKeyCache;
   private final Supplier<ServerCache> queryCache;
 
+  /**
+   * Single flight loading for cache misses (null when not enabled).
+   */
+  private final SingleFlight beanLoads;
+  private final SingleFlight naturalKeyLoads;
+  private final SingleFlight queryLoads;
+
+  /**
+   * Age in millis after which bean cache entries are refreshed ahead (0 when not enabled).
+   */
+  private final long refreshAheadMillis;
+
+  private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Incremented when bean cache entries are removed, updated or cleared such that a refresh
+   * ahead does not put data read before the invalidation.
+   */
+  private final AtomicLong beanInvalidations = new AtomicLong();
+
+  /**
+   * Provides the tenant id for single flight keys (null when not multi-tenant).
+   */
+  private final CurrentTenantProvider tenantProvider;
+
   /**
    * Set to true if all persist changes need to notify the cache.
    */
@@ -74,7 +109,7 @@ final class BeanDescriptorCacheHelp<T> {
    */
   private boolean cacheNotifyOnDelete;
 
-  BeanDescriptorCacheHelp(BeanDescriptor<T> desc, SpiCacheManager cacheManager, CacheOptions cacheOptions,
+  BeanDescriptorCacheHelp(BeanDescriptor<T> desc, SpiCacheManager cacheManager, ServerConfig serverConfig, CacheOptions cacheOptions,
                           boolean cacheSharableBeans, BeanPropertyAssocOne<?>[] propertiesOneImported) {
 
     this.desc = desc;
@@ -85,6 +120,8 @@ final class BeanDescriptorCacheHelp<T> {
     this.cacheSharableBeans = cacheSharableBeans;
     this.propertiesOneImported = propertiesOneImported;
     this.naturalKeyProperty = cacheOptions.getNaturalKey();
+    BeanProperty naturalKey = (naturalKeyProperty == null) ? null : desc.getBeanProperty(naturalKeyProperty);
+    this.naturalKeyIndex = (naturalKey == null) ? -1 : naturalKey.getPropertyIndex();
 
     if (!cacheOptions.isEnableQueryCache()) {
       this.queryCache = null;
@@ -103,6 +140,30 @@ final class BeanDescriptorCacheHelp<T> {
       this.beanCache = null;
       this.naturalKeyCache = null;
     }
+
+    boolean singleFlight = serverConfig != null && serverConfig.isCacheSingleFlight();
+    long timeout = singleFlight ? serverConfig.getCacheSingleFlightTimeout() : 0;
+    this.beanLoads = (singleFlight && beanCache != null) ? new SingleFlight(timeout) : null;
+    this.naturalKeyLoads = (singleFlight && naturalKeyCache != null) ? new SingleFlight(timeout) : null;
+    this.queryLoads = (singleFlight && queryCache != null) ? new SingleFlight(timeout) : null;
+    this.refreshAheadMillis = initRefreshAhead(serverConfig);
+    this.tenantProvider = (serverConfig == null) ? null : serverConfig.getCurrentTenantProvider();
+  }
+
+  private Object tenantId() {
+    return (tenantProvider == null) ? null : tenantProvider.currentId();
+  }
+
+  private long initRefreshAhead(ServerConfig serverConfig) {
+    if (beanCache == null || serverConfig == null || serverConfig.getCacheRefreshAheadPercent() <= 0) {
+      return 0;
+    }
+    if (serverConfig.getCurrentTenantProvider() != null) {
+      // background refresh does not have the tenant context
+      return 0;
+    }
+    int maxSecsToLive = cacheManager.getBeanCacheOptions(beanType).getMaxSecsToLive();
+    return maxSecsToLive * 10L * serverConfig.getCacheRefreshAheadPercent();
   }
 
   /**
@@ -160,6 +221,57 @@ final class BeanDescriptorCacheHelp<T> {
     return cacheOptions;
   }
 
+  /**
+   * Return true if cache misses use single flight loading.
+   */
+  boolean isSingleFlight() {
+    return beanLoads != null || queryLoads != null;
+  }
+
+  /**
+   * Load a bean on a bean cache miss using single flight (when enabled).
+   */
+  T beanCacheLoad(Object id, Supplier<T> cacheGet, Supplier<T> loader) {
+    if (beanLoads == null) {
+      return loader.get();
+    }
+    return beanLoads.load(tenantId(), id, cacheGet, loader, () -> null);
+  }
+
+  /**
+   * Load a query result on a query cache miss using single flight (when enabled).
+   */
+  <A> A queryCacheLoad(Object key, Supplier<A> cacheGet, Supplier<A> loader, Supplier<A> emptyResult) {
+    if (queryLoads == null) {
+      return loader.get();
+    }
+    return queryLoads.load(tenantId(), key, cacheGet, loader, emptyResult);
+  }
+
+  /**
+   * Load a bean on a natural key cache miss using single flight (when enabled).
+   * <p>
+   * The loaded bean is put into the bean cache (which populates the natural key cache) such
+   * that the waiting requests are served from the cache.
+   * </p>
+   */
+  T naturalKeyLoad(SpiQuery<T> query, Supplier<T> cacheGet, Supplier<T> loader) {
+    if (naturalKeyLoads == null || !isNaturalKeyCaching(query.isUseBeanCache())) {
+      return loader.get();
+    }
+    NaturalKeyBindParam keyBindParam = query.getNaturalKeyBindParam();
+    if (keyBindParam == null || !isNaturalKey(keyBindParam.getName())) {
+      return loader.get();
+    }
+    return naturalKeyLoads.load(tenantId(), keyBindParam.getValue(), cacheGet, () -> {
+      T bean = loader.get();
+      if (bean != null) {
+        beanCachePut((EntityBean) bean);
+      }
+      return bean;
+    }, () -> null);
+  }
+
   /**
    * Clear the query cache.
    */
@@ -375,6 +487,7 @@ final class BeanDescriptorCacheHelp<T> {
       if (beanLog.isDebugEnabled()) {
         beanLog.debug("   CLEAR {}", cacheName);
       }
+      beanInvalidations.incrementAndGet();
       beanCache.get().clear();
     }
   }
@@ -408,8 +521,8 @@ final class BeanDescriptorCacheHelp<T> {
     }
     getBeanCache().put(id, beanData);
 
-    if (naturalKeyProperty != null) {
-      Object naturalKey = beanData.getData(naturalKeyProperty);
+    if (naturalKeyIndex > -1) {
+      Object naturalKey = beanData.getData(naturalKeyIndex);
       if (naturalKey != null) {
         if (natLog.isDebugEnabled()) {
           natLog.debug(" PUT {}({}, {})", cacheName, naturalKey, id);
@@ -444,6 +557,9 @@ final class BeanDescriptorCacheHelp<T> {
       }
       return null;
     }
+    if (refreshAheadMillis > 0 && System.currentTimeMillis() - data.getWhenCreated() > refreshAheadMillis) {
+      refreshAhead(id);
+    }
     if (cacheSharableBeans && !Boolean.FALSE.equals(readOnly)) {
       Object bean = data.getSharableBean();
       if (bean != null) {
@@ -460,6 +576,38 @@ final class BeanDescriptorCacheHelp<T> {
     return (T) loadBean(id, readOnly, data, context);
   }
 
+  /**
+   * Reload the bean cache entry in the background as it is close to expiry.
+   */
+  private void refreshAhead(Object id) {
+    if (!refreshing.add(id)) {
+      // already being refreshed
+      return;
+    }
+    SpiEbeanServer server = desc.getEbeanServer();
+    server.getBackgroundExecutor().execute(() -> {
+      try {
+        long invalidations = beanInvalidations.get();
+        Object bean = server.find(beanType).setId(id).setUseCache(false).findUnique();
+        if (bean != null && beanInvalidations.get() == invalidations) {
+          // not invalidated while loading (otherwise the loaded data may be stale)
+          if (beanLog.isDebugEnabled()) {
+            beanLog.debug("   REFRESH {}({})", cacheName, id);
+          }
+          beanCachePut((EntityBean) bean);
+          if (beanInvalidations.get() != invalidations) {
+            // invalidated concurrently with the put
+            getBeanCache().remove(id);
+          }
+        }
+      } catch (Exception e) {
+        logger.error("Error refreshing bean cache entry " + cacheName + "(" + id + ")", e);
+      } finally {
+        refreshing.remove(id);
+      }
+    });
+  }
+
   /**
    * Load the entity bean taking into account inheritance.
    */
@@ -485,6 +633,13 @@ final class BeanDescriptorCacheHelp<T> {
    */
   EntityBean loadBeanDirect(Object id, Boolean readOnly, CachedBeanData data, PersistenceContext context) {
 
+    if (!isCurrentSchema(dataDescriptor(data), data)) {
+      // extracted with a different property layout so treat as a miss
+      if (beanLog.isTraceEnabled()) {
+        beanLog.trace("   GET {}({}) - cache miss on schema", cacheName, id);
+      }
+      return null;
+    }
     if (context == null) {
       context = new DefaultPersistenceContext();
     }
@@ -513,6 +668,26 @@ final class BeanDescriptorCacheHelp<T> {
     return bean;
   }
 
+  /**
+   * Return the descriptor of the type the cache data was extracted from (taking into account
+   * inheritance) or null if the discriminator value is not known.
+   */
+  private BeanDescriptor<?> dataDescriptor(CachedBeanData data) {
+    String discValue = data.getDiscValue();
+    if (discValue == null || desc.inheritInfo == null) {
+      return desc;
+    }
+    InheritInfo typeInfo = desc.inheritInfo.getRoot().getType(discValue);
+    return (typeInfo == null) ? null : typeInfo.desc();
+  }
+
+  /**
+   * Return true if the cache data was extracted with the current property layout of its type.
+   */
+  private boolean isCurrentSchema(BeanDescriptor<?> dataDesc, CachedBeanData data) {
+    return dataDesc != null && data.getSchemaId() == dataDesc.getCacheSchemaId();
+  }
+
   /**
    * Load the embedded bean checking for inheritance.
    */
@@ -543,6 +718,7 @@ final class BeanDescriptorCacheHelp<T> {
       if (beanLog.isDebugEnabled()) {
         beanLog.debug("   REMOVE {}({})", cacheName, id);
       }
+      beanInvalidations.incrementAndGet();
       beanCache.get().remove(id);
     }
     for (BeanPropertyAssocOne<?> aPropertiesOneImported : propertiesOneImported) {
@@ -563,14 +739,22 @@ final class BeanDescriptorCacheHelp<T> {
       return false;
     }
     int lazyLoadProperty = ebi.getLazyLoadPropertyIndex();
-    if (lazyLoadProperty > -1 && !cacheData.isLoaded(ebi.getLazyLoadProperty())) {
+    // with inheritance the data holds the properties of the concrete type
+    BeanDescriptor<?> dataDesc = dataDescriptor(cacheData);
+    if (!isCurrentSchema(dataDesc, cacheData) || dataDesc.getBeanType() != bean.getClass()) {
+      if (beanLog.isTraceEnabled()) {
+        beanLog.trace("   LOAD {}({}) - cache miss on schema", cacheName, id);
+      }
+      return false;
+    }
+    if (lazyLoadProperty > -1 && !cacheData.isLoaded(lazyLoadProperty)) {
       if (beanLog.isTraceEnabled()) {
         beanLog.trace("   LOAD {}({}) - cache miss on property({})", cacheName, id, ebi.getLazyLoadProperty());
       }
       return false;
     }
 
-    CachedBeanDataToBean.load(desc, bean, cacheData, context);
+    CachedBeanDataToBean.load(dataDesc, bean, cacheData, context);
     if (beanLog.isDebugEnabled()) {
       beanLog.debug("   LOAD {}({}) - hit", cacheName, id);
     }
@@ -641,15 +825,17 @@ final class BeanDescriptorCacheHelp<T> {
 
       boolean updateNaturalKey = false;
 
-      Map<String, Object> changes = new LinkedHashMap<>();
       EntityBean bean = updateRequest.getEntityBean();
       boolean[] dirtyProperties = updateRequest.getDirtyProperties();
+      Object[] data = new Object[dirtyProperties.length];
+      long[] loaded = CachedBeanData.newLoaded(dirtyProperties.length);
       for (int i = 0; i < dirtyProperties.length; i++) {
         if (dirtyProperties[i]) {
           BeanProperty property = desc.propertiesIndex[i];
           if (property.isCacheDataInclude()) {
             Object val = property.getCacheDataValue(bean);
-            changes.put(property.getName(), val);
+            data[i] = val;
+            CachedBeanData.setLoaded(loaded, i);
             if (property.isNaturalKey()) {
               updateNaturalKey = true;
               changeSet.addNaturalKeyPut(desc, id, val);
@@ -658,6 +844,7 @@ final class BeanDescriptorCacheHelp<T> {
         }
       }
 
+      CachedBeanData changes = new CachedBeanData(null, null, desc.getCacheSchemaId(), data, loaded, 0);
       changeSet.addBeanUpdate(desc, id, changes, updateNaturalKey, updateRequest.getVersion());
     }
   }
@@ -683,8 +870,9 @@ final class BeanDescriptorCacheHelp<T> {
   /**
    * Apply changes to the bean cache entry.
    */
-  void cacheBeanUpdate(Object id, Map<String, Object> changes, boolean updateNaturalKey, long version) {
+  void cacheBeanUpdate(Object id, CachedBeanData changes, boolean updateNaturalKey, long version) {
 
+    beanInvalidations.incrementAndGet();
     ServerCache cache = getBeanCache();
     CachedBeanData existingData = (CachedBeanData) cache.get(id);
     if (existingData != null) {
@@ -706,7 +894,7 @@ final class BeanDescriptorCacheHelp<T> {
       }
 
       if (updateNaturalKey) {
-        Object oldKey = existingData.getData(naturalKeyProperty);
+        Object oldKey = existingData.getData(naturalKeyIndex);
         if (oldKey != null) {
           if (natLog.isDebugEnabled()) {
             natLog.debug(".. update {} REMOVE({}) - old key for ({})", cacheName, oldKey, id);
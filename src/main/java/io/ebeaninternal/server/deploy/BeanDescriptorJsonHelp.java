@@ -10,7 +10,11 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class BeanDescriptorJsonHelp<T> {
@@ -19,11 +23,74 @@ public class BeanDescriptorJsonHelp<T> {
 
   private final InheritInfo inheritInfo;
 
+  /**
+   * Properties in the order they are written (used to predict the next property when reading).
+   */
+  private volatile ReadOrder readOrder;
+
   public BeanDescriptorJsonHelp(BeanDescriptor<T> desc) {
     this.desc = desc;
     this.inheritInfo = desc.inheritInfo;
   }
 
+  /**
+   * The properties in write order with the position of each property by property index.
+   */
+  private static final class ReadOrder {
+
+    final BeanProperty[] props;
+
+    final int[] position;
+
+    ReadOrder(BeanDescriptor<?> desc) {
+      List<BeanProperty> list = new ArrayList<>();
+      BeanProperty idProperty = desc.getIdProperty();
+      if (idProperty != null) {
+        list.add(idProperty);
+      }
+      Collections.addAll(list, desc.propertiesNonTransient());
+      Collections.addAll(list, desc.propertiesTransient());
+      this.props = list.toArray(new BeanProperty[list.size()]);
+      this.position = new int[desc.propertiesIndex.length];
+      Arrays.fill(position, -1);
+      for (int i = 0; i < props.length; i++) {
+        int propertyIndex = props[i].getPropertyIndex();
+        if (propertyIndex >= 0 && propertyIndex < position.length) {
+          position[propertyIndex] = i;
+        }
+      }
+    }
+
+    /**
+     * Return the position after the given property or -1 if it is not in the read order.
+     */
+    int after(BeanProperty prop) {
+      int propertyIndex = prop.getPropertyIndex();
+      if (propertyIndex < 0 || propertyIndex >= position.length) {
+        return -1;
+      }
+      int pos = position[propertyIndex];
+      return (pos < 0) ? -1 : pos + 1;
+    }
+  }
+
+  private ReadOrder readOrder() {
+    ReadOrder order = readOrder;
+    if (order == null) {
+      // benign race, built after the descriptor is fully initialised
+      order = new ReadOrder(desc);
+      readOrder = order;
+    }
+    return order;
+  }
+
+  /**
+   * Return the properties in the order they are predicted when reading.
+   */
+  BeanProperty[] readOrderProperties() {
+    return readOrder().props;
+  }
+
   public void jsonWrite(WriteJson writeJson, EntityBean bean, String key) throws IOException {
 
     writeJson.writeStartObject(key);
@@ -134,12 +201,25 @@ public class BeanDescriptorJsonHelp<T> {
     // unmapped properties, send to JsonReadBeanVisitor later
     Map<String, Object> unmappedProperties = null;
 
+    // predict the properties are in write order and fall back to lookup by name
+    ReadOrder order = readOrder();
+    BeanProperty[] orderProps = order.props;
+    int next = 0;
+
+    JsonParser parser = readJson.getParser();
     do {
-      JsonParser parser = readJson.getParser();
       JsonToken event = parser.nextToken();
       if (JsonToken.FIELD_NAME == event) {
         String key = parser.getCurrentName();
-        BeanProperty p = desc.getBeanProperty(key);
+        BeanProperty p;
+        if (next >= 0 && next < orderProps.length && key.equals(orderProps[next].getName())) {
+          p = orderProps[next++];
+        } else {
+          p = desc.getBeanProperty(key);
+          if (p != null) {
+            next = order.after(p);
+          }
+        }
         if (p != null) {
           p.jsonRead(readJson, bean);
         } else {
@@ -78,6 +78,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Creates BeanDescriptors.
@@ -173,6 +177,16 @@ public class BeanDescriptorManager implements BeanDescriptorMap {
 
   private final boolean eagerFetchLobs;
 
+  /**
+   * The number of threads used to read the entity deployment (0 or 1 for sequential).
+   */
+  private final int deployParallelism;
+
+  /**
+   * When true the BeanPersisters are created on first use.
+   */
+  private final boolean deployLazyInit;
+
   private final String asOfViewSuffix;
 
   /**
@@ -201,6 +215,8 @@ public class BeanDescriptorManager implements BeanDescriptorMap {
     this.databasePlatform = serverConfig.getDatabasePlatform();
     this.idBinderFactory = new IdBinderFactory(databasePlatform.isIdInExpandedForm());
     this.eagerFetchLobs = serverConfig.isEagerFetchLobs();
+    this.deployParallelism = serverConfig.getDeployParallelism();
+    this.deployLazyInit = serverConfig.isDeployLazyInit();
 
     this.asOfViewSuffix = getAsOfViewSuffix(databasePlatform, serverConfig);
     String versionsBetweenSuffix = getVersionsBetweenSuffix(databasePlatform, serverConfig);
@@ -312,26 +328,33 @@ public class BeanDescriptorManager implements BeanDescriptorMap {
   public Map<String, String> deploy() {
 
     try {
+      DeployTiming timing = new DeployTiming();
       createListeners();
       readEntityDeploymentInitial();
+      timing.mark("initial");
       readXmlMapping();
       readEmbeddedDeployment();
       readEntityBeanTable();
+      timing.mark("beanTable");
       readEntityDeploymentAssociations();
       readInheritedIdGenerators();
+      timing.mark("associations");
       // creates the BeanDescriptors
       readEntityRelationships();
+      timing.mark("relationships");
 
       List<BeanDescriptor<?>> list = new ArrayList<>(descMap.values());
       Collections.sort(list, beanDescComparator);
       immutableDescriptorList = Collections.unmodifiableList(list);
 
       initialiseAll();
+      timing.mark("initialise");
       readForeignKeys();
 
       readTableToDescriptor();
+      timing.mark("foreignKeys");
 
-      logStatus();
+      logStatus(timing);
 
       deployInfoMap.clear();
       deployInfoMap = null;
@@ -558,7 +581,7 @@ public class BeanDescriptorManager implements BeanDescriptorMap {
     for (BeanDescriptor<?> d : descMap.values()) {
       d.initLast();
       if (!d.isEmbedded()) {
-        BeanManager<?> m = beanManagerFactory.create(d);
+        BeanManager<?> m = deployLazyInit ? beanManagerFactory.createLazy(d) : beanManagerFactory.create(d);
         beanManagerMap.put(d.getFullName(), m);
         checkForValidEmbeddedId(d);
       }
@@ -631,8 +654,9 @@ public class BeanDescriptorManager implements BeanDescriptorMap {
     logger.debug("BeanPersistControllers[" + cc + "] BeanFinders[" + fc + "] BeanPersistListeners[" + lc + "] BeanQueryAdapters[" + qa + "] BeanPostLoaders[" + pl + "] BeanPostConstructors[" + pc + "]");
   }
 
-  private void logStatus() {
+  private void logStatus(DeployTiming timing) {
     logger.debug("Entities[{}]", entityBeanCount);
+    logger.info("Deployed entities[{}] parallelism[{}] lazyInit[{}] {}", entityBeanCount, deployParallelism, deployLazyInit, timing);
   }
 
   private <T> BeanDescriptor<T> createEmbedded(Class<T> beanClass) {
@@ -675,9 +699,18 @@ public class BeanDescriptorManager implements BeanDescriptorMap {
    */
   private void readEntityDeploymentInitial() {
 
-    for (Class<?> entityClass : bootupClasses.getEntities()) {
-      DeployBeanInfo<?> info = createDeployBeanInfo(entityClass);
-      deployInfoMap.put(entityClass, info);
+    List<Class<?>> entities = bootupClasses.getEntities();
+    if (deployParallelism > 1) {
+      // annotation reading and property creation per entity is independent
+      List<DeployBeanInfo<?>> infos = deployParallel(entities, this::createDeployBeanInfo);
+      for (DeployBeanInfo<?> info : infos) {
+        deployInfoMap.put(info.getDescriptor().getBeanType(), info);
+      }
+    } else {
+      for (Class<?> entityClass : entities) {
+        DeployBeanInfo<?> info = createDeployBeanInfo(entityClass);
+        deployInfoMap.put(entityClass, info);
+      }
     }
     for (Class<?> entityClass : bootupClasses.getEmbeddables()) {
       DeployBeanInfo<?> info = createDeployBeanInfo(entityClass);
@@ -708,8 +741,44 @@ public class BeanDescriptorManager implements BeanDescriptorMap {
    */
   private void readEntityDeploymentAssociations() {
 
-    for (DeployBeanInfo<?> info : deployInfoMap.values()) {
-      readDeployAssociations(info);
+    if (deployParallelism > 1) {
+      // deployInfoMap and beanTableMap are only read during this phase
+      deployParallel(new ArrayList<>(deployInfoMap.values()), info -> {
+        readDeployAssociations(info);
+        return info;
+      });
+    } else {
+      for (DeployBeanInfo<?> info : deployInfoMap.values()) {
+        readDeployAssociations(info);
+      }
+    }
+  }
+
+  /**
+   * Apply the function to each of the source elements using a ForkJoinPool of deployParallelism threads.
+   * <p>
+   * The results are returned in the same order as the source.
+   * </p>
+   */
+  private <S, R> List<R> deployParallel(List<S> source, Function<S, R> function) {
+
+    ForkJoinPool pool = new ForkJoinPool(deployParallelism);
+    try {
+      return pool.submit(() -> source.parallelStream().map(function).collect(Collectors.toList())).get();
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PersistenceException("Interrupted during parallel deployment", e);
+
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new PersistenceException("Error during parallel deployment", cause);
+
+    } finally {
+      pool.shutdown();
     }
   }
 
@@ -1496,4 +1565,30 @@ public class BeanDescriptorManager implements BeanDescriptorMap {
       return o1.getName().compareTo(o2.getName());
     }
   }
+
+  /**
+   * Collects the elapsed time of each deployment phase for logging.
+   */
+  private static class DeployTiming {
+
+    private final StringBuilder sb = new StringBuilder(100);
+
+    private final long start = System.nanoTime();
+
+    private long last = start;
+
+    /**
+     * Mark the end of the named phase.
+     */
+    void mark(String phase) {
+      long now = System.nanoTime();
+      sb.append(phase).append('[').append((now - last) / 1000000).append("ms] ");
+      last = now;
+    }
+
+    @Override
+    public String toString() {
+      return sb.toString() + "total[" + (last - start) / 1000000 + "ms]";
+    }
+  }
 }
@@ -75,6 +75,11 @@ public final class BeanListHelp<T> implements BeanCollectionHelp<T> {
     return new BeanList<>();
   }
 
+  @Override
+  public BeanCollection<T> createEmptyNoParent(int initialCapacity) {
+    return new BeanList<>(new ArrayList<>(initialCapacity));
+  }
+
   @Override
   public BeanCollection<T> createEmpty(EntityBean parentBean) {
     BeanList<T> beanList = new BeanList<>(loader, parentBean, propertyName);
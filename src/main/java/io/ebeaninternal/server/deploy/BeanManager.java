@@ -1,26 +1,51 @@
 package io.ebeaninternal.server.deploy;
 
 import io.ebeaninternal.server.persist.BeanPersister;
+import io.ebeaninternal.server.persist.BeanPersisterFactory;
 
 /**
  * Holds the BeanDescriptor and its associated BeanPersister.
  */
 public class BeanManager<T> {
 
-  private final BeanPersister persister;
-
   private final BeanDescriptor<T> descriptor;
 
+  /**
+   * Factory used to create the persister on first use (null when created eagerly).
+   */
+  private final BeanPersisterFactory persisterFactory;
+
+  private volatile BeanPersister persister;
+
   public BeanManager(BeanDescriptor<T> descriptor, BeanPersister persister) {
     this.descriptor = descriptor;
     this.persister = persister;
+    this.persisterFactory = null;
+  }
+
+  /**
+   * Create with the BeanPersister (and its DML) created on first use.
+   */
+  public BeanManager(BeanDescriptor<T> descriptor, BeanPersisterFactory persisterFactory) {
+    this.descriptor = descriptor;
+    this.persisterFactory = persisterFactory;
   }
 
   /**
    * Return the associated BeanPersister.
    */
   public BeanPersister getBeanPersister() {
-    return persister;
+    BeanPersister result = persister;
+    if (result == null) {
+      synchronized (this) {
+        result = persister;
+        if (result == null) {
+          result = persisterFactory.create(descriptor);
+          persister = result;
+        }
+      }
+    }
+    return result;
   }
 
   /**
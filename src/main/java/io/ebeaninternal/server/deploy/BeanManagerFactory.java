@@ -20,4 +20,12 @@ public class BeanManagerFactory {
     return new BeanManager<>(desc, persisterFactory.create(desc));
   }
 
+  /**
+   * Create a BeanManager with the BeanPersister created on first use.
+   */
+  public <T> BeanManager<T> createLazy(BeanDescriptor<T> desc) {
+
+    return new BeanManager<>(desc, persisterFactory);
+  }
+
 }
@@ -96,6 +96,11 @@ public final class BeanMapHelp<T> implements BeanCollectionHelp<T> {
     return new BeanMap<>();
   }
 
+  @Override
+  public BeanCollection<T> createEmptyNoParent(int initialCapacity) {
+    return new BeanMap<>(new LinkedHashMap<>(initialCapacity * 4 / 3 + 1));
+  }
+
   @Override
   public BeanCollection<T> createEmpty(EntityBean ownerBean) {
 
@@ -28,6 +28,7 @@ import io.ebeaninternal.server.type.DataBind;
 import io.ebeaninternal.server.type.ScalarType;
 import io.ebeaninternal.server.type.ScalarTypeBoolean;
 import io.ebeaninternal.server.type.ScalarTypeEnum;
+import io.ebeaninternal.server.type.ScalarTypeJsonMap;
 import io.ebeaninternal.server.type.ScalarTypeLogicalType;
 import io.ebeaninternal.util.ValueUtil;
 import io.ebeanservice.docstore.api.mapping.DocMappingBuilder;
@@ -36,6 +37,8 @@ import io.ebeanservice.docstore.api.mapping.DocPropertyOptions;
 import io.ebeanservice.docstore.api.mapping.DocPropertyType;
 import io.ebeanservice.docstore.api.support.DocStructure;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -140,6 +143,11 @@ public class BeanProperty implements ElPropertyValue, Property {
    */
   final String name;
 
+  /**
+   * The name pre-encoded for writing as a JSON field name.
+   */
+  final SerializableString jsonKey;
+
   final int propertyIndex;
 
   /**
@@ -269,6 +277,7 @@ public class BeanProperty implements ElPropertyValue, Property {
 
     this.descriptor = descriptor;
     this.name = InternString.intern(deploy.getName());
+    this.jsonKey = new SerializedString(name);
     this.propertyIndex = deploy.getPropertyIndex();
     this.unidirectionalShadow = deploy.isUndirectionalShadow();
     this.discriminator = deploy.isDiscriminator();
@@ -373,6 +382,7 @@ public class BeanProperty implements ElPropertyValue, Property {
 
     this.descriptor = source.descriptor;
     this.name = InternString.intern(source.getName());
+    this.jsonKey = new SerializedString(name);
     this.propertyIndex = source.propertyIndex;
     this.dbColumn = InternString.intern(override.getDbColumn());
     // override with sqlFormula not currently supported
@@ -938,6 +948,20 @@ public class BeanProperty implements ElPropertyValue, Property {
     return scalarType.isDirty(value);
   }
 
+  /**
+   * Return true if this is a JSON Map property that supports partial updates.
+   */
+  public boolean isJsonPartialUpdate() {
+    return scalarType instanceof ScalarTypeJsonMap && ((ScalarTypeJsonMap) scalarType).isPartialUpdate();
+  }
+
+  /**
+   * Return the top level JSON keys to partially update or null if the whole value should be written.
+   */
+  public Set<Object> getJsonPartialUpdateKeys(EntityBean bean) {
+    return ((ScalarTypeJsonMap) scalarType).getPartialUpdateKeys(getValue(bean));
+  }
+
   /**
    * Return the scalarType.
    */
@@ -1333,10 +1357,10 @@ public class BeanProperty implements ElPropertyValue, Property {
     }
     Object value = getValueIntercept(bean);
     if (value == null) {
-      writeJson.writeNullField(name);
+      writeJson.writeNullField(jsonKey);
     } else {
       if (scalarType != null) {
-        writeJson.writeFieldName(name);
+        writeJson.writeFieldName(jsonKey);
         scalarType.jsonWrite(writeJson.gen(), value);
       } else {
         writeJson.writeValueUsingObjectMapper(name, value);
@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import javax.persistence.PersistenceException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Abstract base for properties mapped to an associated bean, list, set or map.
@@ -173,6 +174,13 @@ public abstract class BeanPropertyAssoc<T> extends BeanProperty {
     return targetDescriptor;
   }
 
+  /**
+   * Add the tables read when joining to the target.
+   */
+  public void addQueryTables(Set<String> tables) {
+    targetDescriptor.addQueryTables(tables);
+  }
+
   /**
    * Return true if REFRESH should cascade.
    */
@@ -32,6 +32,7 @@ import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Property mapped to a List Set or Map.
@@ -592,6 +593,14 @@ public class BeanPropertyAssocMany<T> extends BeanPropertyAssoc<T> {
     return intersectionJoin;
   }
 
+  @Override
+  public void addQueryTables(Set<String> tables) {
+    super.addQueryTables(tables);
+    if (manyToMany && intersectionJoin.getTable() != null) {
+      tables.add(intersectionJoin.getTable());
+    }
+  }
+
   /**
    * Set the join properties from the parent bean to the child bean.
    * This is only valid for OneToMany and NOT valid for ManyToMany.
@@ -74,6 +74,11 @@ public final class BeanSetHelp<T> implements BeanCollectionHelp<T> {
     return new BeanSet<>();
   }
 
+  @Override
+  public BeanCollection<T> createEmptyNoParent(int initialCapacity) {
+    return new BeanSet<>(new LinkedHashSet<>(initialCapacity * 4 / 3 + 1));
+  }
+
   @Override
   public BeanCollection<T> createEmpty(EntityBean ownerBean) {
     BeanSet<T> beanSet = new BeanSet<>(loader, ownerBean, propertyName);
@@ -7,6 +7,8 @@ import io.ebean.config.IdGenerator;
 import io.ebean.config.ServerConfig;
 import io.ebean.config.dbplatform.PlatformIdGenerator;
 import io.ebeaninternal.server.deploy.meta.DeployBeanProperty;
+import io.ebeaninternal.server.idgen.UuidIdGenerator;
+import io.ebeaninternal.server.idgen.UuidTimeOrderedIdGenerator;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
@@ -35,6 +37,8 @@ public class GeneratedPropertyFactory {
 
   private final Map<String,PlatformIdGenerator> idGeneratorMap = new HashMap<>();
 
+  private final PlatformIdGenerator uuidIdGenerator;
+
   public GeneratedPropertyFactory(ServerConfig serverConfig, List<IdGenerator> idGenerators) {
 
     this.classLoadConfig = serverConfig.getClassLoadConfig();
@@ -60,6 +64,8 @@ public class GeneratedPropertyFactory {
     numberTypes.add(double.class.getName());
     numberTypes.add(BigDecimal.class.getName());
 
+    this.uuidIdGenerator = serverConfig.isUuidTimeOrdered() ? UuidTimeOrderedIdGenerator.INSTANCE : UuidIdGenerator.INSTANCE;
+    idGeneratorMap.put(UuidTimeOrderedIdGenerator.NAME, UuidTimeOrderedIdGenerator.INSTANCE);
     if (idGenerators != null) {
       for (IdGenerator idGenerator : idGenerators) {
         idGeneratorMap.put(idGenerator.getName(), new CustomIdGenerator(idGenerator));
@@ -112,6 +118,13 @@ public class GeneratedPropertyFactory {
     property.setGeneratedProperty(generatedWhoModified);
   }
 
+  /**
+   * Return the default IdGenerator for UUID id properties.
+   */
+  public PlatformIdGenerator getUuidIdGenerator() {
+    return uuidIdGenerator;
+  }
+
   /**
    * Return the named custom IdGenerator (wrapped as a PlatformIdGenerator).
    */
@@ -29,7 +29,6 @@ import io.ebeaninternal.server.deploy.ChainedBeanQueryAdapter;
 import io.ebeaninternal.server.deploy.IndexDefinition;
 import io.ebeaninternal.server.deploy.InheritInfo;
 import io.ebeaninternal.server.deploy.parse.DeployBeanInfo;
-import io.ebeaninternal.server.idgen.UuidIdGenerator;
 
 import javax.persistence.Entity;
 import javax.persistence.MappedSuperclass;
@@ -803,12 +802,12 @@ public class DeployBeanDescriptor<T> {
   }
 
   /**
-   * Assign the standard UUID generator.
+   * Assign the default UUID generator.
    */
-  public void setUuidGenerator() {
+  public void setUuidGenerator(PlatformIdGenerator uuidIdGenerator) {
     this.idType = IdType.EXTERNAL;
-    this.idGeneratorName = UuidIdGenerator.AUTO_UUID;
-    this.idGenerator = UuidIdGenerator.INSTANCE;
+    this.idGeneratorName = PlatformIdGenerator.AUTO_UUID;
+    this.idGenerator = uuidIdGenerator;
   }
 
   /**
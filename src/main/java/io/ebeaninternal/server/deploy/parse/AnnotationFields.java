@@ -472,7 +472,7 @@ public class AnnotationFields extends AnnotationParser {
 
     if (prop.getPropertyType().equals(UUID.class)) {
       if (descriptor.getIdGeneratorName() == null) {
-        descriptor.setUuidGenerator();
+        descriptor.setUuidGenerator(generatedPropFactory.getUuidIdGenerator());
       }
     }
   }
@@ -510,7 +510,7 @@ public class AnnotationFields extends AnnotationParser {
         }
         descriptor.setCustomIdGenerator(idGenerator);
       } else if (prop.getPropertyType().equals(UUID.class)) {
-        descriptor.setUuidGenerator();
+        descriptor.setUuidGenerator(generatedPropFactory.getUuidIdGenerator());
       }
     }
   }
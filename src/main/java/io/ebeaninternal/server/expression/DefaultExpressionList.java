@@ -8,6 +8,7 @@ import io.ebean.FutureIds;
 import io.ebean.FutureList;
 import io.ebean.FutureRowCount;
 import io.ebean.Junction;
+import io.ebean.KeysetPage;
 import io.ebean.OrderBy;
 import io.ebean.PagedList;
 import io.ebean.Query;
@@ -364,6 +365,11 @@ public class DefaultExpressionList<T> implements SpiExpressionList<T> {
     return query.findPagedList();
   }
 
+  @Override
+  public KeysetPage<T> findKeysetPage(String afterKey) {
+    return query.findKeysetPage(afterKey);
+  }
+
   @Override
   public int findCount() {
     return query.findCount();
@@ -11,6 +11,7 @@ import io.ebeaninternal.server.type.DataBind;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 public class DefaultExpressionRequest implements SpiExpressionRequest {
@@ -31,7 +32,10 @@ public class DefaultExpressionRequest implements SpiExpressionRequest {
 
   private int paramIndex;
 
-  private StringBuilder bindLog;
+  /**
+   * Positions of bind values that are encryption keys (and not included in the bind log).
+   */
+  private BitSet encryptKeys;
 
   public DefaultExpressionRequest(SpiOrmQueryRequest<?> queryRequest, DeployParser deployParser, Binder binder, SpiExpressionList<?> expressionList) {
     this.queryRequest = queryRequest;
@@ -66,8 +70,8 @@ public class DefaultExpressionRequest implements SpiExpressionRequest {
     for (Object bindValue : bindValues) {
       binder.bindObject(dataBind, bindValue);
     }
-    if (bindLog != null) {
-      dataBind.append(bindLog.toString());
+    if (dataBind.isLogBind() && !bindValues.isEmpty()) {
+      dataBind.append(getBindLog());
     }
   }
 
@@ -122,27 +126,37 @@ public class DefaultExpressionRequest implements SpiExpressionRequest {
 
   @Override
   public void addBindEncryptKey(Object bindValue) {
+    if (encryptKeys == null) {
+      encryptKeys = new BitSet();
+    }
+    encryptKeys.set(bindValues.size());
     bindValues.add(bindValue);
-    bindLog("****");
   }
 
   @Override
   public void addBindValue(Object bindValue) {
     bindValues.add(bindValue);
-    bindLog(bindValue);
-  }
-
-  private void bindLog(Object val) {
-    if (bindLog == null) {
-      bindLog = new StringBuilder();
-    } else {
-      bindLog.append(",");
-    }
-    bindLog.append(val);
   }
 
+  /**
+   * Return the bind log (built on demand as it is only used when logging).
+   */
   public String getBindLog() {
-    return bindLog == null ? "" : bindLog.toString();
+    if (bindValues.isEmpty()) {
+      return "";
+    }
+    StringBuilder bindLog = new StringBuilder();
+    for (int i = 0; i < bindValues.size(); i++) {
+      if (i > 0) {
+        bindLog.append(",");
+      }
+      if (encryptKeys != null && encryptKeys.get(i)) {
+        bindLog.append("****");
+      } else {
+        bindLog.append(bindValues.get(i));
+      }
+    }
+    return bindLog.toString();
   }
 
   @Override
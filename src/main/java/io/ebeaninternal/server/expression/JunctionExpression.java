@@ -7,6 +7,7 @@ import io.ebean.FutureIds;
 import io.ebean.FutureList;
 import io.ebean.FutureRowCount;
 import io.ebean.Junction;
+import io.ebean.KeysetPage;
 import io.ebean.OrderBy;
 import io.ebean.PagedList;
 import io.ebean.Query;
@@ -404,6 +405,11 @@ class JunctionExpression<T> implements SpiJunction<T>, SpiExpression, Expression
     return exprList.findPagedList();
   }
 
+  @Override
+  public KeysetPage<T> findKeysetPage(String afterKey) {
+    return exprList.findKeysetPage(afterKey);
+  }
+
   @Override
   public int findCount() {
     return exprList.findCount();
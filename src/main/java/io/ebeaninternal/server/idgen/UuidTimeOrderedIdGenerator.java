@@ -0,0 +1,113 @@
+package io.ebeaninternal.server.idgen;
+
+import io.ebean.Transaction;
+import io.ebean.config.dbplatform.PlatformIdGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * IdGenerator for time ordered UUID values.
+ * <p>
+ * The UUID has the layout of a version 7 UUID with a 48 bit millisecond timestamp
+ * prefix followed by a 12 bit per thread counter and 62 random bits. Values are
+ * generally increasing such that inserts append to primary key indexes rather than
+ * being spread randomly across the index.
+ * </p>
+ * <p>
+ * When the counter is exhausted within a millisecond the thread borrows the following
+ * millisecond for the timestamp (rather than reseeding the counter) such that the values
+ * of a thread remain ordered.
+ * </p>
+ * <p>
+ * The random bits come from ThreadLocalRandom such that there is no contention
+ * on a shared SecureRandom or global lock.
+ * </p>
+ */
+public class UuidTimeOrderedIdGenerator implements PlatformIdGenerator {
+
+  /**
+   * The generator name to use with <code>@GeneratedValue(generator = "uuidTimeOrdered")</code>.
+   */
+  public static final String NAME = "uuidTimeOrdered";
+
+  public static final UuidTimeOrderedIdGenerator INSTANCE = new UuidTimeOrderedIdGenerator();
+
+  private static final ThreadLocal<Sequence> SEQUENCE = ThreadLocal.withInitial(Sequence::new);
+
+  /**
+   * Return a time ordered UUID.
+   */
+  public Object nextId(Transaction t) {
+    return next(System.currentTimeMillis());
+  }
+
+  /**
+   * Return a time ordered UUID for the given epoch millis.
+   */
+  static UUID next(long millis) {
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long msb = SEQUENCE.get().next(millis, random);
+    long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(msb, lsb);
+  }
+
+  /**
+   * Returns "uuidTimeOrdered".
+   */
+  public String getName() {
+    return NAME;
+  }
+
+  /**
+   * Returns false.
+   */
+  public boolean isDbSequence() {
+    return false;
+  }
+
+  /**
+   * Ignored for UUID as not required as a performance optimisation.
+   */
+  public void preAllocateIds(int allocateSize) {
+    // ignored
+  }
+
+  /**
+   * Per thread timestamp and counter that orders UUIDs generated in the same millisecond.
+   */
+  private static class Sequence {
+
+    /**
+     * The timestamp used which can be ahead of the clock when millis have been borrowed.
+     */
+    private long lastMillis;
+
+    /**
+     * The last clock millis.
+     */
+    private long clockMillis;
+
+    private long counter;
+
+    /**
+     * Return the most significant bits (timestamp, version and counter).
+     */
+    long next(long millis, ThreadLocalRandom random) {
+      if (millis > lastMillis || millis < clockMillis) {
+        // new millisecond (or the clock moved back) so start at a random point leaving room to increment
+        lastMillis = millis;
+        counter = random.nextInt(0x800);
+      } else if (counter >= 0xFFF) {
+        // counter exhausted so borrow the next millisecond
+        lastMillis++;
+        counter = random.nextInt(0x800);
+      } else {
+        counter++;
+      }
+      clockMillis = millis;
+      return (lastMillis << 16) | 0x7000L | counter;
+    }
+  }
+}
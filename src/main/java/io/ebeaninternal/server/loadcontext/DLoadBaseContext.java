@@ -6,6 +6,8 @@ import io.ebean.bean.PersistenceContext;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
 import io.ebeaninternal.server.querydefn.OrmQueryProperties;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Base class for Bean and BeanCollection loading (lazy loading and query join loading).
  */
@@ -31,6 +33,10 @@ public abstract class DLoadBaseContext {
 
   protected final boolean queryFetch;
 
+  /**
+   * The number of lazy loading queries executed (beans can be lazy loaded by multiple threads).
+   */
+  private final AtomicInteger lazyLoadCount = new AtomicInteger();
 
   public DLoadBaseContext(DLoadContext parent, BeanDescriptor<?> desc, String path, int defaultBatchSize, OrmQueryProperties queryProps) {
 
@@ -79,6 +85,13 @@ public abstract class DLoadBaseContext {
     return (lazyBatchSize > 1) ? lazyBatchSize : defaultBatchSize;
   }
 
+  /**
+   * A lazy loading query is about to execute on this path.
+   */
+  protected void lazyLoad(boolean many) {
+    parent.getEbeanServer().collectLazyLoad(objectGraphNode, many, lazyLoadCount.incrementAndGet());
+  }
+
   protected PersistenceContext getPersistenceContext() {
     return parent.getPersistenceContext();
   }
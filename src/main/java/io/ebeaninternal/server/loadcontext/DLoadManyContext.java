@@ -216,6 +216,7 @@ public class DLoadManyContext extends DLoadBaseContext implements LoadManyContex
 
         // Should reduce the list by checking each beanCollection in the L2 first before executing the query
 
+        context.lazyLoad(true);
         LoadManyRequest req = new LoadManyRequest(this, onlyIds, useCache);
         context.parent.getEbeanServer().loadMany(req);
       }
@@ -0,0 +1,54 @@
+package io.ebeaninternal.server.metric;
+
+import io.ebean.meta.MetaMetric;
+
+/**
+ * Snapshot of a metric.
+ */
+public class DMetaMetric implements MetaMetric {
+
+  private final String name;
+
+  private final long count;
+
+  private final long total;
+
+  private final long max;
+
+  public DMetaMetric(String name, long count, long total, long max) {
+    this.name = name;
+    this.count = count;
+    this.total = total;
+    this.max = max;
+  }
+
+  @Override
+  public String toString() {
+    return name + " count:" + count + " total:" + total + " max:" + max + " mean:" + getMean();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public long getCount() {
+    return count;
+  }
+
+  @Override
+  public long getTotal() {
+    return total;
+  }
+
+  @Override
+  public long getMax() {
+    return max;
+  }
+
+  @Override
+  public long getMean() {
+    return count == 0 ? 0 : total / count;
+  }
+}
@@ -0,0 +1,87 @@
+package io.ebeaninternal.server.metric;
+
+import io.ebean.meta.MetaMetric;
+
+import java.util.List;
+
+/**
+ * The runtime metrics for an EbeanServer recorded at the transaction, persistence and loading hot points.
+ */
+public final class ServerMetrics {
+
+  /**
+   * Micros from transaction begin to commit.
+   */
+  private final ValueMetric txnCommit = new ValueMetric("txn.commit");
+
+  /**
+   * Micros from transaction begin to rollback.
+   */
+  private final ValueMetric txnRollback = new ValueMetric("txn.rollback");
+
+  /**
+   * Micros from transaction begin to end for query only transactions.
+   */
+  private final ValueMetric txnQueryOnly = new ValueMetric("txn.queryOnly");
+
+  /**
+   * Micros to obtain a connection from the DataSource.
+   */
+  private final ValueMetric connectionAcquire = new ValueMetric("connection.acquire");
+
+  /**
+   * Number of statements per executed JDBC batch.
+   */
+  private final ValueMetric batchFlush = new ValueMetric("batch.flush");
+
+  /**
+   * Number of beans per lazy load of beans.
+   */
+  private final ValueMetric lazyLoadBean = new ValueMetric("lazyLoad.bean");
+
+  /**
+   * Number of collections per lazy load of collections.
+   */
+  private final ValueMetric lazyLoadMany = new ValueMetric("lazyLoad.many");
+
+  public ValueMetric getTxnCommit() {
+    return txnCommit;
+  }
+
+  public ValueMetric getTxnRollback() {
+    return txnRollback;
+  }
+
+  public ValueMetric getTxnQueryOnly() {
+    return txnQueryOnly;
+  }
+
+  public ValueMetric getConnectionAcquire() {
+    return connectionAcquire;
+  }
+
+  public ValueMetric getBatchFlush() {
+    return batchFlush;
+  }
+
+  public ValueMetric getLazyLoadBean() {
+    return lazyLoadBean;
+  }
+
+  public ValueMetric getLazyLoadMany() {
+    return lazyLoadMany;
+  }
+
+  /**
+   * Collect the metrics that have had events into the list.
+   */
+  public void collect(boolean reset, List<MetaMetric> list) {
+    txnCommit.collect(reset, list);
+    txnRollback.collect(reset, list);
+    txnQueryOnly.collect(reset, list);
+    connectionAcquire.collect(reset, list);
+    batchFlush.collect(reset, list);
+    lazyLoadBean.collect(reset, list);
+    lazyLoadMany.collect(reset, list);
+  }
+}
@@ -0,0 +1,61 @@
+package io.ebeaninternal.server.metric;
+
+import io.ebean.meta.MetaMetric;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free metric collecting the count, total and max of recorded values.
+ */
+public final class ValueMetric {
+
+  private final String name;
+
+  private final LongAdder count = new LongAdder();
+
+  private final LongAdder total = new LongAdder();
+
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  public ValueMetric(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Return the metric name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Add a value (for example a time in micros or a batch size).
+   */
+  public void add(long value) {
+    count.increment();
+    total.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * Add the time in micros since the given start nanos.
+   */
+  public void addSinceNanos(long startNanos) {
+    add((System.nanoTime() - startNanos) / 1000L);
+  }
+
+  /**
+   * Collect the metric into the list if there have been events.
+   */
+  public void collect(boolean reset, List<MetaMetric> list) {
+    // Racey but near enough for our purposes as we don't want locks
+    long countValue = reset ? count.sumThenReset() : count.sum();
+    long totalValue = reset ? total.sumThenReset() : total.sum();
+    long maxValue = reset ? max.getThenReset() : max.get();
+    if (countValue > 0) {
+      list.add(new DMetaMetric(name, countValue, totalValue, maxValue));
+    }
+  }
+}
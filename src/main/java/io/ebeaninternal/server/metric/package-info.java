@@ -0,0 +1,4 @@
+/**
+ * Lock free runtime metrics for transactions, persistence and loading.
+ */
+package io.ebeaninternal.server.metric;
@@ -4,6 +4,7 @@ import io.ebeaninternal.api.SpiTransaction;
 import io.ebeaninternal.server.core.PersistRequest;
 import io.ebeaninternal.server.core.PersistRequestBean;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.metric.ValueMetric;
 
 import javax.persistence.PersistenceException;
 import java.util.ArrayList;
@@ -35,7 +36,7 @@ public final class BatchControl {
    * Controls batching of the PreparedStatements. This should be flushed after
    * each 'depth'.
    */
-  private final BatchedPstmtHolder pstmtHolder = new BatchedPstmtHolder();
+  private final BatchedPstmtHolder pstmtHolder;
 
   /**
    * Map of the BatchedBeanHolder objects. They each have a depth and are later
@@ -63,7 +64,8 @@ public final class BatchControl {
   /**
    * Create for a given transaction, PersistExecute, default size and getGeneratedKeys.
    */
-  public BatchControl(SpiTransaction t, int batchSize, boolean getGenKeys) {
+  public BatchControl(SpiTransaction t, int batchSize, boolean getGenKeys, ValueMetric batchFlushMetric) {
+    this.pstmtHolder = new BatchedPstmtHolder(batchFlushMetric);
     this.transaction = t;
     this.batchSize = batchSize;
     this.getGeneratedKeys = getGenKeys;
@@ -1,5 +1,6 @@
 package io.ebeaninternal.server.persist;
 
+import io.ebeaninternal.server.metric.ValueMetric;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,7 +32,13 @@ public class BatchedPstmtHolder {
    */
   private int maxSize;
 
-  public BatchedPstmtHolder() {
+  /**
+   * Metric for the number of statements per executed batch.
+   */
+  private final ValueMetric batchFlushMetric;
+
+  public BatchedPstmtHolder(ValueMetric batchFlushMetric) {
+    this.batchFlushMetric = batchFlushMetric;
   }
 
   /**
@@ -91,6 +98,7 @@ public class BatchedPstmtHolder {
     for (BatchedPstmt bs : stmtMap.values()) {
       try {
         if (!isError) {
+          batchFlushMetric.add(bs.size());
           bs.executeBatch(getGeneratedKeys);
         }
       } catch (SQLException ex) {
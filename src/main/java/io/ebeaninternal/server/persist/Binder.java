@@ -96,19 +96,23 @@ public class Binder {
 
   /**
    * Bind the parameters to the preparedStatement returning the bind log.
+   * <p>
+   * The bind log is only built when logBind is true and otherwise null is returned.
+   * </p>
    */
-  public String bind(BindParams bindParams, PreparedStatement statement, Connection connection) throws SQLException {
-    return bind(bindParams, new DataBind(dataTimeZone, statement, connection));
+  public String bind(BindParams bindParams, PreparedStatement statement, Connection connection, boolean logBind) throws SQLException {
+    return bind(bindParams, new DataBind(dataTimeZone, statement, connection), logBind);
   }
 
   /**
-   * Bind the list of positionedParameters in BindParams.
+   * Bind the list of positionedParameters in BindParams returning the bind log
+   * (or null when logBind is false).
    */
-  public String bind(BindParams bindParams, DataBind dataBind) throws SQLException {
+  public String bind(BindParams bindParams, DataBind dataBind, boolean logBind) throws SQLException {
 
-    StringBuilder bindLog = new StringBuilder();
+    StringBuilder bindLog = logBind ? new StringBuilder() : null;
     bind(bindParams, dataBind, bindLog);
-    return bindLog.toString();
+    return logBind ? bindLog.toString() : null;
   }
 
   /**
@@ -155,6 +159,7 @@ public class Binder {
           }
           if (value == null) {
             // this doesn't work for query predicates
+            dataBind.skipType();
             bindObject(dataBind, null, param.getType());
           } else {
             bindObject(dataBind, value);
@@ -174,19 +179,24 @@ public class Binder {
   public Object bindObject(DataBind dataBind, Object value) throws SQLException {
 
     if (value == null) {
-      // null of unknown type
+      // null of unknown type, keep the prior types aligned with the later bind positions
+      dataBind.skipType();
       bindObject(dataBind, null, Types.OTHER);
       return null;
 
     } else {
 
-      ScalarType<?> type = typeManager.getScalarType(value.getClass());
+      ScalarType<?> type = dataBind.priorType(value.getClass());
       if (type == null) {
-        // the type is not registered with the TypeManager.
-        String msg = "No ScalarType registered for " + value.getClass();
-        throw new PersistenceException(msg);
-
-      } else if (!type.isJdbcNative()) {
+        type = typeManager.getScalarType(value.getClass());
+        if (type == null) {
+          // the type is not registered with the TypeManager.
+          String msg = "No ScalarType registered for " + value.getClass();
+          throw new PersistenceException(msg);
+        }
+        dataBind.registerType(type);
+      }
+      if (!type.isJdbcNative()) {
         // convert to a JDBC native type
         value = type.toJdbcType(value);
       }
@@ -409,4 +419,11 @@ public class Binder {
   public DataBind dataBind(PreparedStatement stmt, Connection connection) {
     return new DataBind(dataTimeZone, stmt, connection);
   }
+
+  /**
+   * Create and return a DataBind for the statement with a bind log when logBind is true.
+   */
+  public DataBind dataBind(PreparedStatement stmt, Connection connection, boolean logBind) {
+    return new DataBind(dataTimeZone, stmt, connection, logBind);
+  }
 }
@@ -4,6 +4,7 @@ import io.ebeaninternal.api.SpiTransaction;
 import io.ebeaninternal.server.core.PersistRequestCallableSql;
 import io.ebeaninternal.server.core.PersistRequestOrmUpdate;
 import io.ebeaninternal.server.core.PersistRequestUpdateSql;
+import io.ebeaninternal.server.metric.ValueMetric;
 
 /**
  * Default PersistExecute implementation using DML statements.
@@ -24,21 +25,27 @@ final class DefaultPersistExecute implements PersistExecute {
    */
   private final int defaultBatchSize;
 
+  /**
+   * Metric for the number of statements per executed batch.
+   */
+  private final ValueMetric batchFlushMetric;
+
   /**
    * Construct this DmlPersistExecute.
    */
-  DefaultPersistExecute(Binder binder, int defaultBatchSize) {
+  DefaultPersistExecute(Binder binder, int defaultBatchSize, ValueMetric batchFlushMetric) {
 
     this.exeOrmUpdate = new ExeOrmUpdate(binder);
     this.exeUpdateSql = new ExeUpdateSql(binder);
     this.exeCallableSql = new ExeCallableSql(binder);
     this.defaultBatchSize = defaultBatchSize;
+    this.batchFlushMetric = batchFlushMetric;
   }
 
   public BatchControl createBatchControl(SpiTransaction t) {
 
     // create a BatchControl and set its defaults
-    return new BatchControl(t, defaultBatchSize, true);
+    return new BatchControl(t, defaultBatchSize, true, batchFlushMetric);
   }
 
   /**
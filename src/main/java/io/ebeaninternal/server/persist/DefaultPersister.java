@@ -30,6 +30,7 @@ import io.ebeaninternal.server.deploy.BeanPropertyAssocMany;
 import io.ebeaninternal.server.deploy.BeanPropertyAssocOne;
 import io.ebeaninternal.server.deploy.IntersectionRow;
 import io.ebeaninternal.server.deploy.ManyType;
+import io.ebeaninternal.server.metric.ServerMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,11 +75,11 @@ public final class DefaultPersister implements Persister {
 
   private final boolean updatesDeleteMissingChildren;
 
-  public DefaultPersister(SpiEbeanServer server, Binder binder, BeanDescriptorManager descMgr) {
+  public DefaultPersister(SpiEbeanServer server, Binder binder, BeanDescriptorManager descMgr, ServerMetrics serverMetrics) {
     this.server = server;
     this.updatesDeleteMissingChildren = server.getServerConfig().isUpdatesDeleteMissingChildren();
     this.beanDescriptorManager = descMgr;
-    this.persistExecute = new DefaultPersistExecute(binder, server.getServerConfig().getPersistBatchSize());
+    this.persistExecute = new DefaultPersistExecute(binder, server.getServerConfig().getPersistBatchSize(), serverMetrics.getBatchFlush());
   }
 
   /**
@@ -95,7 +95,7 @@ public class ExeCallableSql {
 
     String bindLog = null;
     if (!bindParams.isEmpty()) {
-      bindLog = binder.bind(bindParams, cstmt, t.getInternalConnection());
+      bindLog = binder.bind(bindParams, cstmt, t.getInternalConnection(), t.isLogSummary());
     }
 
     request.setBindLog(bindLog);
@@ -112,7 +112,7 @@ public class ExeOrmUpdate {
 
     String bindLog = null;
     if (!bindParams.isEmpty()) {
-      bindLog = binder.bind(bindParams, pstmt, t.getInternalConnection());
+      bindLog = binder.bind(bindParams, pstmt, t.getInternalConnection(), t.isLogSummary());
     }
 
     request.setBindLog(bindLog);
@@ -99,7 +99,7 @@ public class ExeUpdateSql {
 
     String bindLog = null;
     if (!bindParams.isEmpty()) {
-      bindLog = binder.bind(bindParams, pstmt, t.getInternalConnection());
+      bindLog = binder.bind(bindParams, pstmt, t.getInternalConnection(), t.isLogSummary());
     }
 
     request.setBindLog(bindLog);
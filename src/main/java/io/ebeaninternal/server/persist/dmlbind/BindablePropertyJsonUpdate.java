@@ -0,0 +1,78 @@
+package io.ebeaninternal.server.persist.dmlbind;
+
+import io.ebean.bean.EntityBean;
+import io.ebeaninternal.server.core.PersistRequestBean;
+import io.ebeaninternal.server.deploy.BeanProperty;
+import io.ebeaninternal.server.persist.dml.GenerateDmlRequest;
+import io.ebeaninternal.server.type.ScalarTypeJsonMapPostgres;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bindable for update on a JSON Map property that supports partial updates.
+ * <p>
+ * When only some top level keys of the document have been modified the partial
+ * bindable is added to the update such that only those keys are removed or set.
+ * Otherwise this binds the whole document like a normal property.
+ * </p>
+ */
+public class BindablePropertyJsonUpdate extends BindableProperty {
+
+  private final Partial partial = new Partial();
+
+  public BindablePropertyJsonUpdate(BeanProperty prop) {
+    super(prop);
+  }
+
+  /**
+   * Add the partial bindable when only some top level keys have been modified.
+   */
+  @Override
+  public void addToUpdate(PersistRequestBean<?> request, List<Bindable> list) {
+    if (request.isAddToUpdate(prop)) {
+      list.add(request.isJsonPartialUpdate(prop) ? partial : this);
+    }
+  }
+
+  /**
+   * Partial update of the modified top level keys.
+   */
+  private class Partial implements Bindable {
+
+    private final ScalarTypeJsonMapPostgres.JSONB type = (ScalarTypeJsonMapPostgres.JSONB) prop.getScalarType();
+
+    @Override
+    public String toString() {
+      return prop.toString();
+    }
+
+    @Override
+    public boolean isDraftOnly() {
+      return prop.isDraftOnly();
+    }
+
+    @Override
+    public void addToUpdate(PersistRequestBean<?> request, List<Bindable> list) {
+      throw new IllegalStateException("Never called");
+    }
+
+    @Override
+    public void dmlAppend(GenerateDmlRequest request) {
+      request.appendColumn(prop.getDbColumn(), type.getPartialUpdateSql(prop.getDbColumn()));
+    }
+
+    @Override
+    public void dmlBind(BindableRequest request, EntityBean bean) throws SQLException {
+
+      Set<Object> keys = prop.getJsonPartialUpdateKeys(bean);
+      Map<?, ?> value = (Map<?, ?>) prop.getValue(bean);
+      request.bind(type.formatRemovedKeys(value, keys), Types.VARCHAR);
+      request.bind(type.formatModifiedKeys(value, keys), Types.VARCHAR);
+      type.clearPendingKeys(value);
+    }
+  }
+}
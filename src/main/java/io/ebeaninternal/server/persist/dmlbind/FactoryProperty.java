@@ -7,8 +7,8 @@ import io.ebeaninternal.server.persist.dml.DmlMode;
 /**
  * Creates the appropriate Bindable for a BeanProperty.
  * <p>
- * Lob properties can be excluded and it creates BindablePropertyInsertGenerated
- * and BindablePropertyUpdateGenerated as required.
+ * Lob properties can be excluded and it creates BindablePropertyInsertGenerated,
+ * BindablePropertyUpdateGenerated and BindablePropertyJsonUpdate as required.
  * </p>
  */
 public class FactoryProperty {
@@ -60,6 +60,10 @@ public class FactoryProperty {
       }
     }
 
+    if (DmlMode.UPDATE.equals(mode) && prop.isJsonPartialUpdate() && !prop.isDbEncrypted()) {
+      return new BindablePropertyJsonUpdate(prop);
+    }
+
     return prop.isDbEncrypted() ? new BindableEncryptedProperty(prop, bindEncryptDataFirst) : new BindableProperty(prop);
   }
 }
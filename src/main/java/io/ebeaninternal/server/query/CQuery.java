@@ -56,6 +56,11 @@ public class CQuery<T> implements DbReadContext, CancelableQuery {
 
   private static final Logger logger = LoggerFactory.getLogger(CQuery.class);
 
+  /**
+   * Max rows up to which the result collection is presized.
+   */
+  private static final int PRESIZE_LIMIT = 1000;
+
   private static final int GLOBAL_ROW_LIMIT = Integer.valueOf(System.getProperty("ebean.query.globallimit", "1000000"));
 
   /**
@@ -226,7 +231,17 @@ public class CQuery<T> implements DbReadContext, CancelableQuery {
     this.predicates = predicates;
     this.maxRowsLimit = query.getMaxRows() > 0 ? query.getMaxRows() : GLOBAL_ROW_LIMIT;
     this.help = createHelp(request);
-    this.collection = (help != null ? help.createEmptyNoParent() : null);
+    this.collection = (help != null ? createCollection(query.getMaxRows()) : null);
+  }
+
+  /**
+   * Create the collection presized when the query has a modest max rows.
+   */
+  private BeanCollection<T> createCollection(int maxRows) {
+    if (maxRows > 0 && maxRows <= PRESIZE_LIMIT) {
+      return help.createEmptyNoParent(maxRows);
+    }
+    return help.createEmptyNoParent();
   }
 
   private BeanCollectionHelp<T> createHelp(OrmQueryRequest<T> request) {
@@ -348,7 +363,7 @@ public class CQuery<T> implements DbReadContext, CancelableQuery {
         pstmt.setFetchSize(query.getBufferFetchSizeHint());
       }
 
-      DataBind dataBind = queryPlan.bindEncryptedProperties(pstmt, conn);
+      DataBind dataBind = queryPlan.bindEncryptedProperties(pstmt, conn, request.isLogBind());
       bindLog = predicates.bind(dataBind);
 
       // executeQuery
@@ -657,7 +672,7 @@ public class CQuery<T> implements DbReadContext, CancelableQuery {
    */
   PersistenceException createPersistenceException(SQLException e) {
 
-    return createPersistenceException(e, getTransaction(), bindLog, sql);
+    return createPersistenceException(e, getTransaction(), predicates.errorBindLog(bindLog), sql);
   }
 
   /**
@@ -83,7 +83,7 @@ public class CQueryEngine {
       return rows;
 
     } catch (SQLException e) {
-      throw CQuery.createPersistenceException(e, request.getTransaction(), query.getBindLog(), query.getGeneratedSql());
+      throw CQuery.createPersistenceException(e, request.getTransaction(), query.getErrorBindLog(), query.getGeneratedSql());
     }
   }
 
@@ -109,7 +109,7 @@ public class CQueryEngine {
       return list;
 
     } catch (SQLException e) {
-      throw CQuery.createPersistenceException(e, request.getTransaction(), rcQuery.getBindLog(), rcQuery.getGeneratedSql());
+      throw CQuery.createPersistenceException(e, request.getTransaction(), rcQuery.getErrorBindLog(), rcQuery.getGeneratedSql());
     }
   }
 
@@ -155,7 +155,7 @@ public class CQueryEngine {
       return count;
 
     } catch (SQLException e) {
-      throw CQuery.createPersistenceException(e, request.getTransaction(), rcQuery.getBindLog(), rcQuery.getGeneratedSql());
+      throw CQuery.createPersistenceException(e, request.getTransaction(), rcQuery.getErrorBindLog(), rcQuery.getGeneratedSql());
     }
   }
 
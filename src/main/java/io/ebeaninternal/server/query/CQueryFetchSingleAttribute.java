@@ -119,6 +119,13 @@ class CQueryFetchSingleAttribute {
     return bindLog;
   }
 
+  /**
+   * Return the bind log for an error message (built on demand when bind logging is off).
+   */
+  String getErrorBindLog() {
+    return predicates.errorBindLog(bindLog);
+  }
+
   /**
    * Return the generated sql.
    */
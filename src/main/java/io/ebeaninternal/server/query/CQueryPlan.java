@@ -11,6 +11,7 @@ import io.ebeaninternal.server.query.CQueryPlanStats.Snapshot;
 import io.ebeaninternal.server.type.DataBind;
 import io.ebeaninternal.server.type.DataReader;
 import io.ebeaninternal.server.type.RsetDataReader;
+import io.ebeaninternal.server.type.ScalarType;
 import io.ebeaninternal.server.util.Md5;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +20,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Set;
 
 /**
  * Represents a query for a given SQL statement.
@@ -64,6 +66,11 @@ public class CQueryPlan {
    */
   private final BeanProperty[] encryptedProps;
 
+  /**
+   * ScalarTypes of the bind values by position (populated on first execution).
+   */
+  private final ScalarType<?>[] bindTypes;
+
   private final CQueryPlanStats stats;
 
   private final Class<?> beanType;
@@ -72,6 +79,11 @@ public class CQueryPlan {
 
   private final int asOfTableCount;
 
+  /**
+   * The tables joined by the query (null for raw sql and native sql).
+   */
+  private final Set<String> queryTables;
+
   /**
    * Key used to identify the query plan in audit logging.
    */
@@ -94,6 +106,8 @@ public class CQueryPlan {
     this.rawSql = rawSql;
     this.logWhereSql = logWhereSql;
     this.encryptedProps = sqlTree.getEncryptedProps();
+    this.queryTables = queryTables(request, sqlTree);
+    this.bindTypes = new ScalarType<?>[bindCount(sql)];
     this.stats = new CQueryPlanStats(this, server.isCollectQueryOrigins());
   }
 
@@ -115,9 +129,31 @@ public class CQueryPlan {
     this.rowNumberIncluded = rowNumberIncluded;
     this.logWhereSql = logWhereSql;
     this.encryptedProps = sqlTree.getEncryptedProps();
+    this.queryTables = queryTables(request, sqlTree);
+    this.bindTypes = new ScalarType<?>[bindCount(sql)];
     this.stats = new CQueryPlanStats(this, server.isCollectQueryOrigins());
   }
 
+  /**
+   * Return the tables joined by the SqlTree or null when the sql is not generated.
+   */
+  private static Set<String> queryTables(OrmQueryRequest<?> request, SqlTree sqlTree) {
+    return (request.isRawSql() || request.isNativeSql()) ? null : sqlTree.getQueryTables();
+  }
+
+
+  /**
+   * Return the number of bind placeholders in the sql (an upper bound on the bind values).
+   */
+  private static int bindCount(String sql) {
+    int count = 0;
+    for (int i = 0; i < sql.length(); i++) {
+      if (sql.charAt(i) == '?') {
+        count++;
+      }
+    }
+    return count;
+  }
 
   private CQueryPlanKey buildPlanKey(String sql, boolean rawSql, boolean rowNumberIncluded, String logWhereSql) {
 
@@ -132,6 +168,16 @@ public class CQueryPlan {
     return beanType;
   }
 
+  /**
+   * Return the tables joined by the query or null if they are not known (raw sql).
+   * <p>
+   * Used to determine if the read only DataSource may be stale for the query.
+   * </p>
+   */
+  public Set<String> getQueryTables() {
+    return queryTables;
+  }
+
   public DataReader createDataReader(ResultSet rset) {
     return new RsetDataReader(dataTimeZone, rset);
   }
@@ -139,8 +185,9 @@ public class CQueryPlan {
   /**
    * Bind keys for encrypted properties if necessary returning the DataBind.
    */
-  DataBind bindEncryptedProperties(PreparedStatement stmt, Connection conn) throws SQLException {
-    DataBind dataBind = new DataBind(dataTimeZone, stmt, conn);
+  DataBind bindEncryptedProperties(PreparedStatement stmt, Connection conn, boolean logBind) throws SQLException {
+    DataBind dataBind = new DataBind(dataTimeZone, stmt, conn, logBind);
+    dataBind.setBindTypes(bindTypes);
     if (encryptedProps != null) {
       for (BeanProperty encryptedProp : encryptedProps) {
         String key = encryptedProp.getEncryptKey().getStringValue();
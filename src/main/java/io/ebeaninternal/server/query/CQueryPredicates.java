@@ -17,6 +17,7 @@ import io.ebeaninternal.server.util.BindParamsParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -40,6 +41,12 @@ public class CQueryPredicates {
 
   private static final Logger logger = LoggerFactory.getLogger(CQueryPredicates.class);
 
+  /**
+   * Statement that ignores the bind values (used to build the bind log for error messages).
+   */
+  private static final PreparedStatement LOG_ONLY_STATEMENT = (PreparedStatement) Proxy.newProxyInstance(
+    PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> null);
+
   private final Binder binder;
 
   private final OrmQueryRequest<?> request;
@@ -115,7 +122,26 @@ public class CQueryPredicates {
   }
 
   public String bind(PreparedStatement stmt, Connection connection) throws SQLException {
-    return bind(binder.dataBind(stmt, connection));
+    return bind(binder.dataBind(stmt, connection, request.isLogBind()));
+  }
+
+  /**
+   * Return the bind log to include in an error message.
+   * <p>
+   * When bind logging is off the bind log is only built here on the error path by binding
+   * the values again to a statement that ignores them.
+   * </p>
+   */
+  String errorBindLog(String bindLog) {
+    if (request.isLogBind()) {
+      return bindLog;
+    }
+    try {
+      return bind(binder.dataBind(LOG_ONLY_STATEMENT, null, true));
+    } catch (SQLException | RuntimeException e) {
+      logger.debug("Unable to build bind log for error message", e);
+      return bindLog;
+    }
   }
 
   public String bind(DataBind dataBind) throws SQLException {
@@ -175,7 +201,7 @@ public class CQueryPredicates {
       having.bind(dataBind);
     }
 
-    return dataBind.log().toString();
+    return dataBind.getBindLog();
   }
 
   private void buildUpdateClause(boolean buildSql, DeployParser deployParser) {
@@ -76,6 +76,13 @@ class CQueryUpdate {
     return bindLog;
   }
 
+  /**
+   * Return the bind log for an error message (built on demand when bind logging is off).
+   */
+  String getErrorBindLog() {
+    return predicates.errorBindLog(bindLog);
+  }
+
   /**
    * Return the generated sql.
    */
@@ -0,0 +1,311 @@
+package io.ebeaninternal.server.query;
+
+import io.ebean.EbeanServer;
+import io.ebean.ExpressionList;
+import io.ebean.Junction;
+import io.ebean.KeysetPage;
+import io.ebean.OrderBy;
+import io.ebean.Transaction;
+import io.ebeaninternal.api.SpiQuery;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.deploy.BeanProperty;
+import io.ebeaninternal.server.deploy.BeanPropertyAssocOne;
+import io.ebeaninternal.server.el.ElPropertyValue;
+import io.ebeaninternal.server.type.ScalarType;
+
+import javax.persistence.PersistenceException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Finds a page of beans using keyset (seek) pagination.
+ * <p>
+ * The keys are the order by properties with the id property appended (if not already
+ * included). The next key holds the values of the keys of the last bean of the page and
+ * the predicate for the next page is built from these values as:
+ * </p>
+ * <pre>
+ *   (k1 after v1) or (k1 = v1 and k2 after v2) or (k1 = v1 and k2 = v2 and id after v3)
+ * </pre>
+ * <p>
+ * where "after" is greater than or less than depending on the order direction and
+ * takes into account where nulls sort.
+ * </p>
+ *
+ * @param <T> the entity bean type
+ */
+public class KeysetPageQuery<T> {
+
+  private final EbeanServer server;
+
+  private final SpiQuery<T> query;
+
+  private final List<Key> keys = new ArrayList<>();
+
+  private final int pageSize;
+
+  /**
+   * Create given the query and whether by default nulls sort high on the database platform.
+   */
+  public KeysetPageQuery(EbeanServer server, SpiQuery<T> query, boolean nullsSortHigh) {
+    this.server = server;
+    this.pageSize = query.getMaxRows();
+    if (pageSize == 0) {
+      throw new PersistenceException("maxRows must be specified for findKeysetPage() query");
+    }
+    if (query.getFirstRow() > 0) {
+      throw new PersistenceException("firstRow is not used with findKeysetPage() query");
+    }
+    BeanDescriptor<T> descriptor = query.getBeanDescriptor();
+    BeanProperty idProperty = descriptor.getIdProperty();
+    if (idProperty == null || idProperty.isEmbedded()) {
+      throw new PersistenceException("findKeysetPage() requires a scalar id property on " + descriptor.getFullName());
+    }
+
+    // copy so that the order by and predicates added do not change the original query
+    this.query = query.copy();
+    OrderBy<T> orderBy = this.query.order();
+    boolean containsId = false;
+    for (OrderBy.Property property : orderBy.getProperties()) {
+      String name = property.getProperty();
+      if (name.equals(idProperty.getName())) {
+        containsId = true;
+      }
+      keys.add(new Key(descriptor, property, nullsSortHigh));
+    }
+    if (!containsId) {
+      OrderBy.Property idOrder = new OrderBy.Property(idProperty.getName(), true);
+      orderBy.add(idOrder);
+      keys.add(new Key(descriptor, idOrder, nullsSortHigh));
+    }
+  }
+
+  /**
+   * Find the page of beans after the given key.
+   */
+  public KeysetPage<T> findPage(String afterKey, Transaction transaction) {
+
+    if (afterKey != null) {
+      addPredicate(decode(afterKey));
+    }
+    // fetch one extra row to determine if there is a next page
+    query.setMaxRows(pageSize + 1);
+    List<T> list = server.findList(query, transaction);
+    if (list.size() <= pageSize) {
+      return new Page<>(list, null);
+    }
+    List<T> page = new ArrayList<>(list.subList(0, pageSize));
+    return new Page<>(page, encode(page.get(pageSize - 1)));
+  }
+
+  /**
+   * Add the seek predicate for the values of the last bean of the prior page.
+   */
+  private void addPredicate(Object[] values) {
+
+    Junction<T> or = query.where().or();
+    for (int i = 0; i < keys.size(); i++) {
+      Key key = keys.get(i);
+      if (!key.hasAfter(values[i])) {
+        // no rows sort after this value at this level
+        continue;
+      }
+      ExpressionList<T> and = or.and();
+      for (int j = 0; j < i; j++) {
+        keys.get(j).addEqual(and, values[j]);
+      }
+      key.addAfter(and, values[i]);
+      and.endAnd();
+    }
+    or.endOr();
+  }
+
+  /**
+   * Encode the key values of the given bean.
+   */
+  String encode(T bean) {
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      DataOutputStream dataOut = new DataOutputStream(out);
+      dataOut.writeInt(keys.size());
+      for (Key key : keys) {
+        String value = key.format(bean);
+        dataOut.writeBoolean(value != null);
+        if (value != null) {
+          dataOut.writeUTF(value);
+        }
+      }
+      dataOut.flush();
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(out.toByteArray());
+
+    } catch (IOException e) {
+      throw new PersistenceException("Error encoding keyset key", e);
+    }
+  }
+
+  /**
+   * Decode the key values.
+   */
+  Object[] decode(String afterKey) {
+    try {
+      byte[] bytes = Base64.getUrlDecoder().decode(afterKey);
+      DataInputStream dataIn = new DataInputStream(new ByteArrayInputStream(bytes));
+      int count = dataIn.readInt();
+      if (count != keys.size()) {
+        throw new PersistenceException("Invalid keyset key [" + afterKey + "] for the query order by");
+      }
+      Object[] values = new Object[count];
+      for (int i = 0; i < count; i++) {
+        if (dataIn.readBoolean()) {
+          values[i] = keys.get(i).parse(dataIn.readUTF());
+        }
+      }
+      return values;
+
+    } catch (IOException | IllegalArgumentException e) {
+      throw new PersistenceException("Invalid keyset key [" + afterKey + "]", e);
+    }
+  }
+
+  /**
+   * An order by property used as part of the key.
+   */
+  private static class Key {
+
+    private final String name;
+
+    private final ElPropertyValue elValue;
+
+    private final ScalarType<Object> scalarType;
+
+    private final boolean ascending;
+
+    private final boolean nullsFirst;
+
+    private final boolean nullable;
+
+    Key(BeanDescriptor<?> descriptor, OrderBy.Property property, boolean nullsSortHigh) {
+      this.name = property.getProperty();
+      this.elValue = descriptor.getElGetValue(name);
+      if (elValue == null || elValue.containsMany() || elValue.isAssocId() || elValue.getBeanProperty() == null) {
+        throw new PersistenceException("findKeysetPage() requires scalar order by properties but has [" + name + "]");
+      }
+      BeanProperty beanProperty = elValue.getBeanProperty();
+      this.scalarType = beanProperty.getScalarType();
+      this.ascending = property.isAscending();
+      this.nullable = optionalPath(descriptor, name) || (!beanProperty.isId() && beanProperty.isNullable());
+      String highLow = property.getHighLow();
+      if (highLow != null) {
+        // explicit nulls first or nulls last
+        this.nullsFirst = "first".equalsIgnoreCase(highLow);
+      } else {
+        this.nullsFirst = (nullsSortHigh != ascending);
+      }
+    }
+
+    /**
+     * Return true if an association on the path is optional (so the value can be null via the outer join).
+     */
+    private static boolean optionalPath(BeanDescriptor<?> descriptor, String name) {
+      String[] path = name.split("\\.");
+      BeanDescriptor<?> desc = descriptor;
+      for (int i = 0; i < path.length - 1; i++) {
+        BeanProperty property = desc.getBeanProperty(path[i]);
+        if (!(property instanceof BeanPropertyAssocOne<?>)) {
+          return false;
+        }
+        BeanPropertyAssocOne<?> one = (BeanPropertyAssocOne<?>) property;
+        if (!one.isEmbedded() && one.isNullable()) {
+          return true;
+        }
+        desc = one.getTargetDescriptor();
+      }
+      return false;
+    }
+
+    String format(Object bean) {
+      Object value = elValue.pathGet(bean);
+      return value == null ? null : scalarType.format(value);
+    }
+
+    Object parse(String value) {
+      return scalarType.parse(value);
+    }
+
+    /**
+     * Return true if rows can sort after the given value.
+     */
+    boolean hasAfter(Object value) {
+      return value != null || (nullsFirst && nullable);
+    }
+
+    void addEqual(ExpressionList<?> expr, Object value) {
+      if (value == null) {
+        expr.isNull(name);
+      } else {
+        expr.eq(name, value);
+      }
+    }
+
+    void addAfter(ExpressionList<?> expr, Object value) {
+      if (value == null) {
+        // nulls sort first so all non null values are after
+        expr.isNotNull(name);
+
+      } else if (nullable && !nullsFirst) {
+        // nulls sort last so are after any value
+        Junction<?> or = expr.or();
+        addCompare(or, value);
+        or.isNull(name);
+        or.endOr();
+
+      } else {
+        addCompare(expr, value);
+      }
+    }
+
+    private void addCompare(ExpressionList<?> expr, Object value) {
+      if (ascending) {
+        expr.gt(name, value);
+      } else {
+        expr.lt(name, value);
+      }
+    }
+  }
+
+  /**
+   * The page of beans.
+   */
+  private static class Page<T> implements KeysetPage<T> {
+
+    private final List<T> list;
+
+    private final String nextKey;
+
+    Page(List<T> list, String nextKey) {
+      this.list = list;
+      this.nextKey = nextKey;
+    }
+
+    @Override
+    public List<T> getList() {
+      return list;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextKey != null;
+    }
+
+    @Override
+    public String getNextKey() {
+      return nextKey;
+    }
+  }
+}
@@ -5,6 +5,8 @@ import io.ebeaninternal.server.deploy.BeanProperty;
 import io.ebeaninternal.server.deploy.BeanPropertyAssocMany;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -87,6 +89,15 @@ class SqlTree {
     rootNode.addSoftDeletePredicate(query);
   }
 
+  /**
+   * Return the tables joined by the tree (including extra joins for the where and order by clauses).
+   */
+  Set<String> getQueryTables() {
+    Set<String> tables = new HashSet<>();
+    rootNode.addQueryTables(tables);
+    return Collections.unmodifiableSet(tables);
+  }
+
   /**
    * Build a select expression chain for RawSql.
    */
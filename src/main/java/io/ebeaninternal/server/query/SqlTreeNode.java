@@ -9,6 +9,7 @@ import io.ebeaninternal.server.deploy.DbSqlContext;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
 
 interface SqlTreeNode {
 
@@ -59,6 +60,11 @@ interface SqlTreeNode {
    */
   void addSoftDeletePredicate(SpiQuery<?> query);
 
+  /**
+   * Recurse through the tree adding the tables this node joins to.
+   */
+  void addQueryTables(Set<String> tables);
+
   /**
    * Load the appropriate information from the SqlSelectReader.
    * <p>
@@ -23,6 +23,7 @@ import java.sql.Timestamp;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Normal bean included in the query.
@@ -528,6 +529,20 @@ class SqlTreeNodeBean implements SqlTreeNode {
     }
   }
 
+  @Override
+  public void addQueryTables(Set<String> tables) {
+    desc.addQueryTables(tables);
+    if (nodeBeanProp != null) {
+      nodeBeanProp.addQueryTables(tables);
+    }
+    if (lazyLoadParent != null) {
+      lazyLoadParent.addQueryTables(tables);
+    }
+    for (SqlTreeNode child : children) {
+      child.addQueryTables(tables);
+    }
+  }
+
   public void addAsOfTableAlias(SpiQuery<?> query) {
     // if history on this bean type add it's alias
     // for each alias we add an effect date predicate
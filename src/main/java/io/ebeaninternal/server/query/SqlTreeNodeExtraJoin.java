@@ -13,6 +13,7 @@ import io.ebeaninternal.server.deploy.TableJoin;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * The purpose is to add an extra join to the query.
@@ -56,6 +57,16 @@ class SqlTreeNodeExtraJoin implements SqlTreeNode {
     // nothing to do here
   }
 
+  @Override
+  public void addQueryTables(Set<String> tables) {
+    assocBeanProperty.addQueryTables(tables);
+    if (children != null) {
+      for (SqlTreeNodeExtraJoin child : children) {
+        child.addQueryTables(tables);
+      }
+    }
+  }
+
   @Override
   public void appendDistinctOn(DbSqlContext ctx, boolean subQuery) {
     // do nothing here ...
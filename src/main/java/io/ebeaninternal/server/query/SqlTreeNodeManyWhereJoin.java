@@ -13,6 +13,7 @@ import io.ebeaninternal.server.deploy.TableJoin;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Join to Many (or child of a many) to support where clause predicates on many properties.
@@ -55,6 +56,11 @@ class SqlTreeNodeManyWhereJoin implements SqlTreeNode {
     // do nothing here ...
   }
 
+  @Override
+  public void addQueryTables(Set<String> tables) {
+    nodeBeanProp.addQueryTables(tables);
+  }
+
   @Override
   public boolean isAggregation() {
     return false;
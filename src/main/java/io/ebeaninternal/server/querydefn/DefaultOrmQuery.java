@@ -11,6 +11,7 @@ import io.ebean.FetchPath;
 import io.ebean.FutureIds;
 import io.ebean.FutureList;
 import io.ebean.FutureRowCount;
+import io.ebean.KeysetPage;
 import io.ebean.PagedList;
 import io.ebean.PersistenceContextScope;
 import io.ebean.Query;
@@ -1243,6 +1244,11 @@ public class DefaultOrmQuery<T> implements SpiQuery<T> {
     return server.findPagedList(this, null);
   }
 
+  @Override
+  public KeysetPage<T> findKeysetPage(String afterKey) {
+    return server.findKeysetPage(this, afterKey, null);
+  }
+
   /**
    * Set an ordered bind parameter according to its position. Note that the position starts at 1 to
    * be consistent with JDBC PreparedStatement. You need to set a parameter value for each ? you
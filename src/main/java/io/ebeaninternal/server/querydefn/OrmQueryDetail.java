@@ -1,6 +1,7 @@
 package io.ebeaninternal.server.querydefn;
 
 import io.ebean.FetchConfig;
+import io.ebean.text.PathProperties;
 import io.ebeaninternal.api.HashQueryPlanBuilder;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
 import io.ebeaninternal.server.deploy.BeanPropertyAssoc;
@@ -56,6 +57,33 @@ public class OrmQueryDetail implements Serializable {
     return copy;
   }
 
+  /**
+   * Return the select and fetch paths as PathProperties (such that JSON rendering matches the query).
+   */
+  public PathProperties asPathProperties() {
+    PathProperties pathProps = new PathProperties();
+    addPathProperties(pathProps, null, baseProps);
+    for (Map.Entry<String, OrmQueryProperties> entry : fetchPaths.entrySet()) {
+      String path = entry.getKey();
+      String[] split = SplitName.split(path);
+      // include the association on the parent path
+      pathProps.addToPath(split[0], split[1]);
+      addPathProperties(pathProps, path, entry.getValue());
+    }
+    return pathProps;
+  }
+
+  private void addPathProperties(PathProperties pathProps, String path, OrmQueryProperties props) {
+    Set<String> included = props.getIncluded();
+    if (included == null) {
+      pathProps.addToPath(path, "*");
+    } else {
+      for (String property : included) {
+        pathProps.addToPath(path, property);
+      }
+    }
+  }
+
   public int queryPlanHash() {
     HashQueryPlanBuilder builder = new HashQueryPlanBuilder();
     queryPlanHash(builder);
@@ -0,0 +1,331 @@
+package io.ebeaninternal.server.readaudit;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.ebean.BackgroundExecutor;
+import io.ebean.event.readaudit.ReadAuditQueryPlan;
+import io.ebean.event.readaudit.ReadEvent;
+import io.ebean.plugin.Plugin;
+import io.ebean.plugin.SpiServer;
+import io.ebean.text.json.EJson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ReadAuditLogger that aggregates the read events per user and query plan over a time window.
+ * <p>
+ * Rather than logging each read event this logs a batch per (user, query plan, time window) with
+ * the distinct ids read (compacted to id ranges for integer ids) and distinct bind logs. Each query
+ * plan is logged once only.
+ * </p>
+ * <p>
+ * The query threads only add the event to the in memory batch (no IO). The batches are flushed to
+ * the loggers periodically by the BackgroundExecutor or earlier when the number of pending ids
+ * exceeds the maximum.
+ * </p>
+ * <pre>
+ *
+ *   ebean.readAudit.windowMillis=10000
+ *   ebean.readAudit.maxPendingIds=100000
+ *   ebean.readAudit.maxBindLogs=100
+ *   ebean.readAudit.maxQueryPlans=10000
+ *
+ * </pre>
+ */
+public class AggregatingReadAuditLogger extends DefaultReadAuditLogger implements Plugin {
+
+  private static final Logger appLogger = LoggerFactory.getLogger(AggregatingReadAuditLogger.class);
+
+  private static final Logger auditLogger = LoggerFactory.getLogger("io.ebean.ReadAudit");
+
+  private final ConcurrentHashMap<BatchKey, ReadAuditBatch> batches = new ConcurrentHashMap<>();
+
+  private final Set<ReadAuditQueryPlan> loggedPlans = ConcurrentHashMap.newKeySet();
+
+  private final Queue<ReadAuditQueryPlan> pendingPlans = new ConcurrentLinkedQueue<>();
+
+  private final AtomicLong pendingIds = new AtomicLong();
+
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+  private final Object flushMonitor = new Object();
+
+  private BackgroundExecutor backgroundExecutor;
+
+  private long windowMillis = 10000;
+
+  private long maxPendingIds = 100000;
+
+  private int maxBindLogs = 100;
+
+  private int maxQueryPlans = 10000;
+
+  @Override
+  public void configure(SpiServer server) {
+    Properties properties = server.getServerConfig().getProperties();
+    if (properties != null) {
+      windowMillis = Long.parseLong(properties.getProperty("ebean.readAudit.windowMillis", String.valueOf(windowMillis)));
+      maxPendingIds = Long.parseLong(properties.getProperty("ebean.readAudit.maxPendingIds", String.valueOf(maxPendingIds)));
+      maxBindLogs = Integer.parseInt(properties.getProperty("ebean.readAudit.maxBindLogs", String.valueOf(maxBindLogs)));
+      maxQueryPlans = Integer.parseInt(properties.getProperty("ebean.readAudit.maxQueryPlans", String.valueOf(maxQueryPlans)));
+    }
+    backgroundExecutor = server.getBackgroundExecutor();
+    backgroundExecutor.executePeriodically(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void online(boolean online) {
+    // nothing to do
+  }
+
+  /**
+   * Flush all the pending batches.
+   */
+  @Override
+  public void shutdown() {
+    flush();
+  }
+
+  /**
+   * Queue the query plan to be logged if it has not already been logged.
+   */
+  @Override
+  public void queryPlan(ReadAuditQueryPlan queryPlan) {
+    if (loggedPlans.size() >= maxQueryPlans) {
+      // bound the memory used, the plans will be logged again
+      loggedPlans.clear();
+    }
+    if (loggedPlans.add(queryPlan)) {
+      pendingPlans.add(queryPlan);
+    }
+  }
+
+  @Override
+  public void auditBean(ReadEvent readBean) {
+    aggregate(readBean);
+  }
+
+  @Override
+  public void auditMany(ReadEvent readMany) {
+    aggregate(readMany);
+  }
+
+  /**
+   * Add the event to the batch for its user and query plan.
+   */
+  protected void aggregate(ReadEvent event) {
+    BatchKey key = new BatchKey(event);
+    while (true) {
+      ReadAuditBatch batch = batches.computeIfAbsent(key, k -> new ReadAuditBatch(event, maxBindLogs));
+      int added = batch.add(event);
+      if (added >= 0) {
+        if (pendingIds.addAndGet(added) > maxPendingIds) {
+          requestFlush();
+        }
+        return;
+      }
+      // the batch was flushed concurrently, remove it if still mapped and retry
+      batches.remove(key, batch);
+    }
+  }
+
+  /**
+   * Request an early flush in the background (without blocking the query thread).
+   */
+  private void requestFlush() {
+    if (backgroundExecutor != null && flushRequested.compareAndSet(false, true)) {
+      backgroundExecutor.execute(this::flush);
+    }
+  }
+
+  /**
+   * Flush the pending query plans and batches to the loggers.
+   */
+  public void flush() {
+    synchronized (flushMonitor) {
+      try {
+        ReadAuditQueryPlan plan;
+        while ((plan = pendingPlans.poll()) != null) {
+          logQueryPlan(plan);
+        }
+        for (Map.Entry<BatchKey, ReadAuditBatch> entry : batches.entrySet()) {
+          ReadAuditBatch batch = entry.getValue();
+          if (batches.remove(entry.getKey(), batch)) {
+            batch.close();
+            pendingIds.addAndGet(-batch.getIds().size());
+            writeBatch(batch);
+          }
+        }
+      } catch (Exception e) {
+        appLogger.error("Error flushing read audit batches", e);
+      } finally {
+        flushRequested.set(false);
+      }
+    }
+  }
+
+  /**
+   * Write the query plan in JSON format to the logger.
+   */
+  protected void logQueryPlan(ReadAuditQueryPlan queryPlan) {
+    super.queryPlan(queryPlan);
+  }
+
+  /**
+   * Write the batch in JSON format to the logger.
+   */
+  protected void writeBatch(ReadAuditBatch batch) {
+    try {
+      StringWriter writer = new StringWriter(defaultReadBuffer);
+      JsonGenerator gen = jsonFactory.createGenerator(writer);
+      writeBatchDetails(gen, batch);
+      auditLogger.info(writer.toString());
+
+    } catch (IOException e) {
+      appLogger.error("Error writing Read audit batch", e);
+    }
+  }
+
+  /**
+   * Write the details of the aggregated read events.
+   */
+  protected void writeBatchDetails(JsonGenerator gen, ReadAuditBatch batch) throws IOException {
+
+    gen.writeStartObject();
+    String source = batch.getSource();
+    if (source != null) {
+      gen.writeStringField("source", source);
+    }
+    String userId = batch.getUserId();
+    if (userId != null) {
+      gen.writeStringField("userId", userId);
+    }
+    String userIpAddress = batch.getUserIpAddress();
+    if (userIpAddress != null) {
+      gen.writeStringField("userIpAddress", userIpAddress);
+    }
+    Map<String, String> userContext = batch.getUserContext();
+    if (!userContext.isEmpty()) {
+      gen.writeObjectFieldStart("userContext");
+      for (Map.Entry<String, String> entry : userContext.entrySet()) {
+        gen.writeStringField(entry.getKey(), entry.getValue());
+      }
+      gen.writeEndObject();
+    }
+    gen.writeNumberField("firstEventTime", batch.getFirstEventTime());
+    gen.writeNumberField("lastEventTime", batch.getLastEventTime());
+    gen.writeNumberField("eventCount", batch.getEventCount());
+    gen.writeStringField("beanType", batch.getBeanType());
+    gen.writeStringField("queryKey", batch.getQueryKey());
+
+    gen.writeArrayFieldStart("bindLogs");
+    for (String bindLog : batch.getBindLogs()) {
+      gen.writeString(bindLog);
+    }
+    gen.writeEndArray();
+    if (batch.getBindLogOverflow() > 0) {
+      gen.writeNumberField("bindLogOverflow", batch.getBindLogOverflow());
+    }
+
+    if (batch.isIntegerIds()) {
+      gen.writeArrayFieldStart("idRanges");
+      for (long[] range : batch.getIdRanges()) {
+        gen.writeStartArray();
+        gen.writeNumber(range[0]);
+        gen.writeNumber(range[1]);
+        gen.writeEndArray();
+      }
+      gen.writeEndArray();
+    } else {
+      gen.writeFieldName("ids");
+      EJson.writeCollection(batch.getIds(), gen);
+    }
+
+    gen.writeEndObject();
+    gen.flush();
+    gen.close();
+  }
+
+  /**
+   * Return the number of ids held in batches pending flush.
+   */
+  public long getPendingIds() {
+    return pendingIds.get();
+  }
+
+  /**
+   * Set the time window over which read events are aggregated.
+   */
+  public void setWindowMillis(long windowMillis) {
+    this.windowMillis = windowMillis;
+  }
+
+  /**
+   * Set the number of pending ids that triggers an early flush.
+   */
+  public void setMaxPendingIds(long maxPendingIds) {
+    this.maxPendingIds = maxPendingIds;
+  }
+
+  /**
+   * Set the maximum number of distinct bind logs included per batch.
+   */
+  public void setMaxBindLogs(int maxBindLogs) {
+    this.maxBindLogs = maxBindLogs;
+  }
+
+  /**
+   * Key for aggregating the read events by user and query plan.
+   */
+  private static final class BatchKey {
+
+    private final String beanType;
+    private final String queryKey;
+    private final String source;
+    private final String userId;
+    private final String userIpAddress;
+    private final Map<String, String> userContext;
+    private final int hash;
+
+    BatchKey(ReadEvent event) {
+      this.beanType = event.getBeanType();
+      this.queryKey = event.getQueryKey();
+      this.source = event.getSource();
+      this.userId = event.getUserId();
+      this.userIpAddress = event.getUserIpAddress();
+      this.userContext = event.getUserContext();
+      this.hash = Objects.hash(beanType, queryKey, source, userId, userIpAddress, userContext);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof BatchKey)) return false;
+      BatchKey that = (BatchKey) o;
+      return hash == that.hash
+        && Objects.equals(beanType, that.beanType)
+        && Objects.equals(queryKey, that.queryKey)
+        && Objects.equals(source, that.source)
+        && Objects.equals(userId, that.userId)
+        && Objects.equals(userIpAddress, that.userIpAddress)
+        && Objects.equals(userContext, that.userContext);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
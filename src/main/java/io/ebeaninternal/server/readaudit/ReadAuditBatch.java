@@ -0,0 +1,233 @@
+package io.ebeaninternal.server.readaudit;
+
+import io.ebean.event.readaudit.ReadEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read events aggregated for a given user and query plan over a time window.
+ * <p>
+ * The ids read are de-duplicated and for integer ids are compacted into ranges.
+ * </p>
+ */
+public class ReadAuditBatch {
+
+  private final String beanType;
+
+  private final String queryKey;
+
+  private final String source;
+
+  private final String userId;
+
+  private final String userIpAddress;
+
+  private final Map<String, String> userContext;
+
+  private final int maxBindLogs;
+
+  private final Set<Object> ids = new LinkedHashSet<>();
+
+  private final Set<String> bindLogs = new LinkedHashSet<>();
+
+  private long firstEventTime;
+
+  private long lastEventTime;
+
+  private int eventCount;
+
+  private int bindLogOverflow;
+
+  private boolean closed;
+
+  ReadAuditBatch(ReadEvent first, int maxBindLogs) {
+    this.beanType = first.getBeanType();
+    this.queryKey = first.getQueryKey();
+    this.source = first.getSource();
+    this.userId = first.getUserId();
+    this.userIpAddress = first.getUserIpAddress();
+    Map<String, String> context = first.getUserContext();
+    this.userContext = context.isEmpty() ? Collections.emptyMap() : context;
+    this.maxBindLogs = maxBindLogs;
+    this.firstEventTime = first.getEventTime();
+  }
+
+  /**
+   * Add the event returning the number of ids added or -1 if the batch has been closed (flushed).
+   */
+  synchronized int add(ReadEvent event) {
+    if (closed) {
+      return -1;
+    }
+    eventCount++;
+    long eventTime = event.getEventTime();
+    if (eventTime < firstEventTime) {
+      firstEventTime = eventTime;
+    }
+    if (eventTime > lastEventTime) {
+      lastEventTime = eventTime;
+    }
+    String bindLog = event.getBindLog();
+    if (bindLog != null && !bindLogs.contains(bindLog)) {
+      if (bindLogs.size() < maxBindLogs) {
+        bindLogs.add(bindLog);
+      } else {
+        bindLogOverflow++;
+      }
+    }
+    int before = ids.size();
+    Object id = event.getId();
+    if (id != null) {
+      ids.add(id);
+    } else if (event.getIds() != null) {
+      ids.addAll(event.getIds());
+    }
+    return ids.size() - before;
+  }
+
+  /**
+   * Close the batch such that no more events are added to it.
+   */
+  synchronized void close() {
+    closed = true;
+  }
+
+  /**
+   * Return the bean type.
+   */
+  public String getBeanType() {
+    return beanType;
+  }
+
+  /**
+   * Return the query key (query plan hash).
+   */
+  public String getQueryKey() {
+    return queryKey;
+  }
+
+  /**
+   * Return the source.
+   */
+  public String getSource() {
+    return source;
+  }
+
+  /**
+   * Return the user id.
+   */
+  public String getUserId() {
+    return userId;
+  }
+
+  /**
+   * Return the user ip address.
+   */
+  public String getUserIpAddress() {
+    return userIpAddress;
+  }
+
+  /**
+   * Return the user context.
+   */
+  public Map<String, String> getUserContext() {
+    return userContext;
+  }
+
+  /**
+   * Return the event time of the first event.
+   */
+  public synchronized long getFirstEventTime() {
+    return firstEventTime;
+  }
+
+  /**
+   * Return the event time of the last event.
+   */
+  public synchronized long getLastEventTime() {
+    return lastEventTime;
+  }
+
+  /**
+   * Return the number of read events aggregated.
+   */
+  public synchronized int getEventCount() {
+    return eventCount;
+  }
+
+  /**
+   * Return the distinct bind logs (up to the maximum configured).
+   */
+  public synchronized Set<String> getBindLogs() {
+    return bindLogs;
+  }
+
+  /**
+   * Return the number of distinct bind logs not included due to the maximum.
+   */
+  public synchronized int getBindLogOverflow() {
+    return bindLogOverflow;
+  }
+
+  /**
+   * Return the distinct ids read.
+   */
+  public synchronized Set<Object> getIds() {
+    return ids;
+  }
+
+  /**
+   * Return true if all the ids are integer values that can be compacted into ranges.
+   */
+  public synchronized boolean isIntegerIds() {
+    for (Object id : ids) {
+      if (!(id instanceof Long || id instanceof Integer || id instanceof Short)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return the ids compacted into ascending inclusive ranges of [from, to].
+   * <p>
+   * Only valid when {@link #isIntegerIds()} is true.
+   * </p>
+   */
+  public synchronized List<long[]> getIdRanges() {
+    long[] values = new long[ids.size()];
+    int i = 0;
+    for (Object id : ids) {
+      values[i++] = ((Number) id).longValue();
+    }
+    Arrays.sort(values);
+
+    List<long[]> ranges = new ArrayList<>();
+    if (values.length == 0) {
+      return ranges;
+    }
+    long from = values[0];
+    long to = from;
+    for (int j = 1; j < values.length; j++) {
+      long value = values[j];
+      if (value != to + 1) {
+        ranges.add(new long[]{from, to});
+        from = value;
+      }
+      to = value;
+    }
+    ranges.add(new long[]{from, to});
+    return ranges;
+  }
+
+  @Override
+  public String toString() {
+    return "beanType:" + beanType + " queryKey:" + queryKey + " userId:" + userId + " events:" + eventCount + " ids:" + ids.size();
+  }
+}
@@ -1,6 +1,7 @@
 package io.ebeaninternal.server.text.json;
 
 import io.ebean.FetchPath;
+import io.ebean.Query;
 import io.ebean.bean.EntityBean;
 import io.ebean.config.JsonConfig;
 import io.ebean.plugin.BeanType;
@@ -11,11 +12,13 @@ import io.ebean.text.json.JsonReadOptions;
 import io.ebean.text.json.JsonWriteBeanVisitor;
 import io.ebean.text.json.JsonWriteOptions;
 import io.ebeaninternal.api.SpiEbeanServer;
+import io.ebeaninternal.api.SpiQuery;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
 import io.ebeaninternal.server.type.TypeManager;
 import io.ebeaninternal.util.ParamTypeHelper;
 import io.ebeaninternal.util.ParamTypeHelper.ManyType;
 import io.ebeaninternal.util.ParamTypeHelper.TypeInfo;
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
@@ -23,6 +26,8 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
@@ -41,6 +46,11 @@ import java.util.Set;
  */
 public class DJsonContext implements JsonContext {
 
+  /**
+   * Number of beans written between flushes when streaming a query.
+   */
+  private static final int STREAM_FLUSH_COUNT = 100;
+
   private final SpiEbeanServer server;
 
   private final JsonFactory jsonFactory;
@@ -62,6 +72,26 @@ public class DJsonContext implements JsonContext {
     this.jsonScalar = new DJsonScalar(typeManager);
   }
 
+  /**
+   * Construct sharing the source context but with a different JsonFactory.
+   */
+  private DJsonContext(DJsonContext source, JsonFactory jsonFactory) {
+    this.server = source.server;
+    this.typeManager = source.typeManager;
+    this.jsonFactory = jsonFactory;
+    this.defaultObjectMapper = source.defaultObjectMapper;
+    this.defaultInclude = source.defaultInclude;
+    this.jsonScalar = source.jsonScalar;
+  }
+
+  @Override
+  public JsonContext withFactory(JsonFactory jsonFactory) {
+    if (jsonFactory == null) {
+      throw new IllegalArgumentException("jsonFactory is required");
+    }
+    return new DJsonContext(this, jsonFactory);
+  }
+
   public void writeScalar(JsonGenerator generator, Object scalarValue) throws IOException {
     jsonScalar.write(generator, scalarValue);
   }
@@ -86,10 +116,38 @@ public class DJsonContext implements JsonContext {
     }
   }
 
+  @Override
+  public JsonGenerator createGenerator(OutputStream outputStream) throws JsonIOException {
+    try {
+      return jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  @Override
+  public JsonParser createParser(InputStream inputStream) throws JsonIOException {
+    try {
+      return jsonFactory.createParser(inputStream);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
   public <T> T toBean(Class<T> cls, String json) throws JsonIOException {
     return toBean(cls, new StringReader(json));
   }
 
+  @Override
+  public <T> T toBean(Class<T> cls, InputStream json) throws JsonIOException {
+    return toBean(cls, createParser(json));
+  }
+
+  @Override
+  public <T> T toBean(Class<T> cls, InputStream json, JsonReadOptions options) throws JsonIOException {
+    return toBean(cls, createParser(json), options);
+  }
+
   @Override
   public <T> T toBean(Class<T> cls, String json, JsonReadOptions options) throws JsonIOException {
     return toBean(cls, new StringReader(json), options);
@@ -151,6 +209,16 @@ public class DJsonContext implements JsonContext {
     return toList(cls, createParser(jsonReader), options);
   }
 
+  @Override
+  public <T> List<T> toList(Class<T> cls, InputStream json) throws JsonIOException {
+    return toList(cls, createParser(json));
+  }
+
+  @Override
+  public <T> List<T> toList(Class<T> cls, InputStream json, JsonReadOptions options) throws JsonIOException {
+    return toList(cls, createParser(json), options);
+  }
+
   public <T> List<T> toList(Class<T> cls, JsonParser src) throws JsonIOException {
     return toList(cls, src, null);
   }
@@ -236,6 +304,31 @@ public class DJsonContext implements JsonContext {
     toJsonWithClose(o, createGenerator(writer), null);
   }
 
+  @Override
+  public void toJson(Object o, OutputStream outputStream) throws JsonIOException {
+    // close generator (which does not close the stream)
+    toJsonWithClose(o, createStreamGenerator(outputStream), null);
+  }
+
+  @Override
+  public void toJson(Object o, OutputStream outputStream, FetchPath fetchPath) throws JsonIOException {
+    toJsonWithClose(o, createStreamGenerator(outputStream), JsonWriteOptions.pathProperties(fetchPath));
+  }
+
+  @Override
+  public void toJson(Object o, OutputStream outputStream, JsonWriteOptions options) throws JsonIOException {
+    toJsonWithClose(o, createStreamGenerator(outputStream), options);
+  }
+
+  /**
+   * Create a generator for the output stream that does not close the stream.
+   */
+  private JsonGenerator createStreamGenerator(OutputStream outputStream) throws JsonIOException {
+    JsonGenerator generator = createGenerator(outputStream);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    return generator;
+  }
+
   @Override
   public String toJson(Object value, FetchPath fetchPath) throws JsonIOException {
     return toJson(value, JsonWriteOptions.pathProperties(fetchPath));
@@ -253,6 +346,54 @@ public class DJsonContext implements JsonContext {
     toJsonWithClose(o, createGenerator(writer), options);
   }
 
+  @Override
+  public <T> void streamJson(Query<T> query, OutputStream outputStream) throws JsonIOException {
+    JsonGenerator generator = createStreamGenerator(outputStream);
+    streamJson(query, generator, null);
+    try {
+      generator.close();
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  @Override
+  public <T> void streamJson(Query<T> query, JsonGenerator generator) throws JsonIOException {
+    streamJson(query, generator, null);
+  }
+
+  @Override
+  public <T> void streamJson(Query<T> query, JsonGenerator generator, JsonWriteOptions options) throws JsonIOException {
+
+    SpiQuery<T> spiQuery = (SpiQuery<T>) query;
+    BeanDescriptor<T> desc = getDescriptor(spiQuery.getBeanType());
+
+    FetchPath pathProps = (options == null) ? null : options.getPathProperties();
+    if (pathProps == null) {
+      pathProps = spiQuery.getDetail().asPathProperties();
+    }
+    Map<String, JsonWriteBeanVisitor<?>> visitors = (options == null) ? null : options.getVisitorMap();
+    WriteJson writeJson = new WriteJson(server, generator, pathProps, visitors, determineObjectMapper(options), determineInclude(options));
+    try {
+      generator.writeStartArray();
+      int[] count = new int[1];
+      query.findEach(bean -> {
+        try {
+          desc.jsonWrite(writeJson, (EntityBean) bean, null);
+          if (++count[0] % STREAM_FLUSH_COUNT == 0) {
+            generator.flush();
+          }
+        } catch (IOException e) {
+          throw new JsonIOException(e);
+        }
+      });
+      generator.writeEndArray();
+      generator.flush();
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
   /**
    * Write to the JsonGenerator and close when complete.
    */
@@ -12,6 +12,7 @@ import io.ebeaninternal.server.deploy.BeanDescriptor;
 import io.ebeaninternal.server.deploy.BeanProperty;
 import io.ebeaninternal.server.util.ArrayStack;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
@@ -175,6 +176,31 @@ public class WriteJson implements JsonWriter {
     }
   }
 
+  /**
+   * Write a pre-encoded field name.
+   */
+  public void writeFieldName(SerializableString name) {
+    try {
+      generator.writeFieldName(name);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  /**
+   * Write a null value with a pre-encoded field name (if null values are included).
+   */
+  public void writeNullField(SerializableString name) {
+    if (isIncludeNull()) {
+      try {
+        generator.writeFieldName(name);
+        generator.writeNull();
+      } catch (IOException e) {
+        throw new JsonIOException(e);
+      }
+    }
+  }
+
   @Override
   public void writeNullField(String name) {
     if (isIncludeNull()) {
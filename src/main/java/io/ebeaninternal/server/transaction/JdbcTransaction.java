@@ -57,6 +57,11 @@ public class JdbcTransaction implements SpiTransaction {
    */
   protected final boolean explicit;
 
+  /**
+   * The System.nanoTime() when the transaction was created.
+   */
+  protected final long startNanos = System.nanoTime();
+
   /**
    * Behaviour for ending query only transactions.
    */
@@ -240,6 +245,11 @@ public class JdbcTransaction implements SpiTransaction {
     return logPrefix;
   }
 
+  @Override
+  public long getStartNanoTime() {
+    return startNanos;
+  }
+
   @Override
   public String toString() {
     return logPrefix;
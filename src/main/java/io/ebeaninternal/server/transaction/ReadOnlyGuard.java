@@ -0,0 +1,112 @@
+package io.ebeaninternal.server.transaction;
+
+import io.ebeaninternal.api.TransactionEvent;
+import io.ebeaninternal.api.TransactionEventTable;
+import io.ebeaninternal.server.core.PersistRequestBean;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Determines if a query can use the read only DataSource given the recent local commits.
+ * <p>
+ * The commit time of each modified table is recorded and queries reading that table use the
+ * main DataSource until staleMillis has passed (allowing for replication lag). When a
+ * commit has no table information all queries use the main DataSource for staleMillis.
+ * Explicit read only transactions do not know the tables they will read so they use the
+ * main DataSource for staleMillis after any local commit.
+ * </p>
+ * <p>
+ * This only takes into account commits made by this server.
+ * </p>
+ */
+class ReadOnlyGuard {
+
+  private final long staleMillis;
+
+  private final Map<String, Long> tableCommits = new ConcurrentHashMap<>();
+
+  private volatile long lastUnknownCommit;
+
+  ReadOnlyGuard(long staleMillis) {
+    this.staleMillis = staleMillis;
+  }
+
+  /**
+   * Record the tables modified by a local commit.
+   */
+  void committed(TransactionEvent event) {
+    if (staleMillis > 0) {
+      committed(event, System.currentTimeMillis());
+    }
+  }
+
+  void committed(TransactionEvent event, long now) {
+
+    boolean known = false;
+    TransactionEventTable eventTables = event.getEventTables();
+    if (eventTables != null) {
+      for (TransactionEventTable.TableIUD tableIUD : eventTables.values()) {
+        known |= register(tableIUD.getTableName(), now);
+      }
+    }
+    List<PersistRequestBean<?>> requests = event.getPersistRequestBeans();
+    if (requests != null) {
+      for (PersistRequestBean<?> request : requests) {
+        known |= register(request.getBeanDescriptor().getBaseTable(), now);
+      }
+    }
+    DeleteByIdMap deleteByIdMap = event.getDeleteByIdMap();
+    if (deleteByIdMap != null) {
+      for (BeanPersistIds persistIds : deleteByIdMap.values()) {
+        known |= register(persistIds.getBeanDescriptor().getBaseTable(), now);
+      }
+    }
+    if (!known) {
+      // modified tables not known so all queries treat the read only DataSource as stale
+      lastUnknownCommit = now;
+    }
+  }
+
+  private boolean register(String tableName, long now) {
+    if (tableName == null) {
+      return false;
+    }
+    tableCommits.put(tableName.toLowerCase(), now);
+    return true;
+  }
+
+  /**
+   * Return true if the read only DataSource may be stale for a query reading the given tables.
+   *
+   * @param tables The tables the query reads or null when not known
+   */
+  boolean isStale(Collection<String> tables) {
+    return staleMillis > 0 && isStale(tables, System.currentTimeMillis());
+  }
+
+  boolean isStale(Collection<String> tables, long now) {
+
+    long since = now - staleMillis;
+    if (lastUnknownCommit > since) {
+      return true;
+    }
+    if (tables == null) {
+      for (Long commitTime : tableCommits.values()) {
+        if (commitTime > since) {
+          return true;
+        }
+      }
+      return false;
+    }
+    for (String table : tables) {
+      Long commitTime = tableCommits.get(table.toLowerCase());
+      if (commitTime != null && commitTime > since) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
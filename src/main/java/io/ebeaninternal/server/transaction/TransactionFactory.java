@@ -1,6 +1,7 @@
 package io.ebeaninternal.server.transaction;
 
 import io.ebeaninternal.api.SpiTransaction;
+import io.ebeaninternal.server.metric.ValueMetric;
 import io.ebeaninternal.util.JdbcClose;
 import org.slf4j.Logger;
 
@@ -20,8 +21,14 @@ abstract class TransactionFactory {
 
   final TransactionManager manager;
 
+  /**
+   * Metric for the time to obtain a connection.
+   */
+  final ValueMetric connectionAcquire;
+
   TransactionFactory(TransactionManager manager) {
     this.manager = manager;
+    this.connectionAcquire = manager.getServerMetrics().getConnectionAcquire();
   }
 
   /**
@@ -36,6 +43,16 @@ abstract class TransactionFactory {
    */
   abstract SpiTransaction createTransaction(boolean explicit, int isolationLevel);
 
+  /**
+   * Return a new transaction using the read only DataSource.
+   * <p>
+   * Uses the main DataSource when there is no read only DataSource.
+   * </p>
+   */
+  SpiTransaction createReadOnlyTransaction(boolean explicit, int isolationLevel) {
+    return createTransaction(explicit, isolationLevel);
+  }
+
   /**
    * Set the Transaction Isolation level if required.
    */
@@ -15,26 +15,43 @@ class TransactionFactoryBasic extends TransactionFactory {
 
   private final DataSource dataSource;
 
-  TransactionFactoryBasic(TransactionManager manager, DataSourceSupplier dataSourceSupplier) {
+  /**
+   * The read only DataSource (null when not used).
+   */
+  private final DataSource readOnlyDataSource;
+
+  TransactionFactoryBasic(TransactionManager manager, DataSourceSupplier dataSourceSupplier, DataSource readOnlyDataSource) {
     super(manager);
     this.dataSource = dataSourceSupplier.getDataSource();
+    this.readOnlyDataSource = readOnlyDataSource;
   }
 
   @Override
   public SpiTransaction createQueryTransaction(Object tenantId) {
-    return create(false);
+    return create(dataSource, false);
   }
 
   @Override
   public SpiTransaction createTransaction(boolean explicit, int isolationLevel) {
-    SpiTransaction t = create(explicit);
+    SpiTransaction t = create(dataSource, explicit);
+    return setIsolationLevel(t, explicit, isolationLevel);
+  }
+
+  @Override
+  SpiTransaction createReadOnlyTransaction(boolean explicit, int isolationLevel) {
+    if (readOnlyDataSource == null) {
+      return createTransaction(explicit, isolationLevel);
+    }
+    SpiTransaction t = create(readOnlyDataSource, explicit);
     return setIsolationLevel(t, explicit, isolationLevel);
   }
 
-  private SpiTransaction create(boolean explicit) {
+  private SpiTransaction create(DataSource dataSource, boolean explicit) {
     Connection c = null;
     try {
+      long startNanos = System.nanoTime();
       c = dataSource.getConnection();
+      connectionAcquire.addSinceNanos(startNanos);
       return manager.createTransaction(explicit, c, counter.incrementAndGet());
 
     } catch (PersistenceException ex) {
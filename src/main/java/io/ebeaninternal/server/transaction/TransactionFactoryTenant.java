@@ -42,7 +42,9 @@ class TransactionFactoryTenant extends TransactionFactory {
         // tenantId not set (by lazy loading) so get current tenantId
         tenantId = tenantProvider.currentId();
       }
+      long startNanos = System.nanoTime();
       c = dataSourceSupplier.getConnection(tenantId);
+      connectionAcquire.addSinceNanos(startNanos);
       SpiTransaction transaction = manager.createTransaction(explicit, c, counter.incrementAndGet());
       transaction.setTenantId(tenantId);
       return transaction;
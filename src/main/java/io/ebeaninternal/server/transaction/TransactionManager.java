@@ -13,6 +13,7 @@ import io.ebeaninternal.api.TransactionEventTable;
 import io.ebeaninternal.api.TransactionEventTable.TableIUD;
 import io.ebeaninternal.server.cluster.ClusterManager;
 import io.ebeaninternal.server.deploy.BeanDescriptorManager;
+import io.ebeaninternal.server.metric.ServerMetrics;
 import io.ebeanservice.docstore.api.DocStoreTransaction;
 import io.ebeanservice.docstore.api.DocStoreUpdateProcessor;
 import io.ebeanservice.docstore.api.DocStoreUpdates;
@@ -21,6 +22,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -100,6 +102,16 @@ public class TransactionManager {
 
   private final TransactionFactory transactionFactory;
 
+  /**
+   * Guard for using the read only DataSource (null when there is no read only DataSource).
+   */
+  private final ReadOnlyGuard readOnlyGuard;
+
+  /**
+   * The runtime metrics.
+   */
+  private final ServerMetrics serverMetrics;
+
   /**
    * Create the TransactionManager
    */
@@ -117,6 +129,7 @@ public class TransactionManager {
     this.serverName = options.config.getName();
     this.backgroundExecutor = options.backgroundExecutor;
     this.dataSourceSupplier = options.dataSourceSupplier;
+    this.serverMetrics = options.serverMetrics;
     this.docStoreActive = options.config.getDocStoreConfig().isActive();
     this.docStoreUpdateProcessor = options.docStoreUpdateProcessor;
     this.bulkEventListenerMap = new BulkEventListenerMap(options.config.getBulkTableEventListeners());
@@ -125,10 +138,16 @@ public class TransactionManager {
     this.onQueryOnly = initOnQueryOnly(options.config.getDatabasePlatform().getOnQueryOnly());
 
     CurrentTenantProvider tenantProvider = options.config.getCurrentTenantProvider();
+    DataSource readOnlyDataSource = options.config.getReadOnlyDataSource();
     if (tenantProvider == null) {
-      transactionFactory = new TransactionFactoryBasic(this, dataSourceSupplier);
+      transactionFactory = new TransactionFactoryBasic(this, dataSourceSupplier, readOnlyDataSource);
+      readOnlyGuard = (readOnlyDataSource == null) ? null : new ReadOnlyGuard(options.config.getReadOnlyStaleMillis());
     } else {
       transactionFactory = new TransactionFactoryTenant(this, dataSourceSupplier, tenantProvider);
+      readOnlyGuard = null;
+      if (readOnlyDataSource != null) {
+        logger.warn("readOnlyDataSource is not used with multi-tenancy");
+      }
     }
   }
 
@@ -146,6 +165,13 @@ public class TransactionManager {
     return docStoreUpdateProcessor.createTransaction(docStoreBatchSize);
   }
 
+  /**
+   * Return the runtime metrics.
+   */
+  public ServerMetrics getServerMetrics() {
+    return serverMetrics;
+  }
+
   public boolean isSkipCacheAfterWrite() {
     return skipCacheAfterWrite;
   }
@@ -237,6 +263,44 @@ public class TransactionManager {
     return transactionFactory.createQueryTransaction(tenantId);
   }
 
+  /**
+   * Create a query only transaction for a query reading the given tables.
+   * <p>
+   * This uses the read only DataSource when there is one and none of the tables have been
+   * modified by a recent local commit.
+   * </p>
+   *
+   * @param tenantId The tenantId for lazy loading queries
+   * @param tables   The tables the query reads (null if not known)
+   */
+  public SpiTransaction createQueryTransaction(Object tenantId, Collection<String> tables) {
+    if (readOnlyGuard == null || readOnlyGuard.isStale(tables)) {
+      return createQueryTransaction(tenantId);
+    }
+    return transactionFactory.createReadOnlyTransaction(false, -1);
+  }
+
+  /**
+   * Create an explicit read only transaction using the read only DataSource if there is one.
+   * <p>
+   * The tables the transaction will read are not known so the main DataSource is used when
+   * any table has been modified by a recent local commit.
+   * </p>
+   */
+  public SpiTransaction createReadOnlyTransaction(int isolationLevel) {
+    if (readOnlyGuard == null) {
+      return createTransaction(true, isolationLevel);
+    }
+    SpiTransaction t;
+    if (readOnlyGuard.isStale(null)) {
+      t = createTransaction(true, isolationLevel);
+    } else {
+      t = transactionFactory.createReadOnlyTransaction(true, isolationLevel);
+    }
+    t.setReadOnly(true);
+    return t;
+  }
+
   /**
    * Create a new transaction.
    */
@@ -250,6 +314,7 @@ public class TransactionManager {
   public void notifyOfRollback(SpiTransaction transaction, Throwable cause) {
 
     try {
+      serverMetrics.getTxnRollback().addSinceNanos(transaction.getStartNanoTime());
       if (TXN_LOGGER.isDebugEnabled()) {
         String msg = transaction.getLogPrefix() + "Rollback";
         if (cause != null) {
@@ -268,6 +333,7 @@ public class TransactionManager {
    */
   public void notifyOfQueryOnly(SpiTransaction transaction) {
 
+    serverMetrics.getTxnQueryOnly().addSinceNanos(transaction.getStartNanoTime());
     // Nothing that interesting here
     if (TXN_LOGGER.isTraceEnabled()) {
       TXN_LOGGER.trace(transaction.getLogPrefix() + "Commit - query only");
@@ -304,10 +370,14 @@ public class TransactionManager {
   public void notifyOfCommit(SpiTransaction transaction) {
 
     try {
+      serverMetrics.getTxnCommit().addSinceNanos(transaction.getStartNanoTime());
       if (TXN_LOGGER.isDebugEnabled()) {
         TXN_LOGGER.debug(transaction.getLogPrefix() + "Commit");
       }
 
+      if (readOnlyGuard != null) {
+        readOnlyGuard.committed(transaction.getEvent());
+      }
       PostCommitProcessing postCommit = new PostCommitProcessing(clusterManager, this, transaction);
       postCommit.notifyLocalCache();
       backgroundExecutor.execute(postCommit.backgroundNotify());
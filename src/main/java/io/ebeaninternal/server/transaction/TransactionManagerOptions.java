@@ -4,6 +4,7 @@ import io.ebean.BackgroundExecutor;
 import io.ebean.config.ServerConfig;
 import io.ebeaninternal.server.cluster.ClusterManager;
 import io.ebeaninternal.server.deploy.BeanDescriptorManager;
+import io.ebeaninternal.server.metric.ServerMetrics;
 import io.ebeanservice.docstore.api.DocStoreUpdateProcessor;
 
 /**
@@ -19,10 +20,12 @@ public class TransactionManagerOptions {
   final DocStoreUpdateProcessor docStoreUpdateProcessor;
   final BeanDescriptorManager descMgr;
   final DataSourceSupplier dataSourceSupplier;
+  final ServerMetrics serverMetrics;
 
 
   public TransactionManagerOptions(boolean localL2Caching, ServerConfig config, ClusterManager clusterManager, BackgroundExecutor backgroundExecutor,
-                            DocStoreUpdateProcessor docStoreUpdateProcessor, BeanDescriptorManager descMgr, DataSourceSupplier dataSourceSupplier) {
+                            DocStoreUpdateProcessor docStoreUpdateProcessor, BeanDescriptorManager descMgr, DataSourceSupplier dataSourceSupplier,
+                            ServerMetrics serverMetrics) {
 
     this.localL2Caching = localL2Caching;
     this.config = config;
@@ -31,6 +34,7 @@ public class TransactionManagerOptions {
     this.docStoreUpdateProcessor = docStoreUpdateProcessor;
     this.descMgr = descMgr;
     this.dataSourceSupplier = dataSourceSupplier;
+    this.serverMetrics = serverMetrics;
   }
 
 }
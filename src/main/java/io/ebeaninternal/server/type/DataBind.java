@@ -23,30 +23,111 @@ public class DataBind {
 
   private final Connection connection;
 
-  private final StringBuilder bindLog = new StringBuilder();
+  /**
+   * The bind log which is null when bind logging is not required.
+   */
+  private final StringBuilder bindLog;
+
+  /**
+   * ScalarTypes used by prior binds of the same query plan (by bind position).
+   */
+  private ScalarType<?>[] bindTypes;
 
   private int pos;
 
+  private int typePos;
+
+  /**
+   * Create without a bind log.
+   */
   public DataBind(DataTimeZone dataTimeZone, PreparedStatement pstmt, Connection connection) {
+    this(dataTimeZone, pstmt, connection, false);
+  }
+
+  /**
+   * Create with a bind log if logBind is true (typically when SQL logging or read auditing is on).
+   */
+  public DataBind(DataTimeZone dataTimeZone, PreparedStatement pstmt, Connection connection, boolean logBind) {
     this.dataTimeZone = dataTimeZone;
     this.pstmt = pstmt;
     this.connection = connection;
+    this.bindLog = logBind ? new StringBuilder(50) : null;
+  }
+
+  /**
+   * Return true if the bind log is being built.
+   */
+  public boolean isLogBind() {
+    return bindLog != null;
   }
 
   /**
-   * Append an entry to the bind log.
+   * Append an entry to the bind log (no-op when bind logging is off).
    */
-  public StringBuilder append(Object entry) {
-    return bindLog.append(entry);
+  public DataBind append(Object entry) {
+    if (bindLog != null) {
+      bindLog.append(entry);
+    }
+    return this;
   }
 
   /**
-   * Return the bind log.
+   * Return the bind log (null when bind logging is off).
    */
   public StringBuilder log() {
     return bindLog;
   }
 
+  /**
+   * Return the bind log as a String (empty when bind logging is off).
+   */
+  public String getBindLog() {
+    return bindLog == null ? "" : bindLog.toString();
+  }
+
+  /**
+   * Set the ScalarTypes (by bind position) held by the query plan.
+   * <p>
+   * These are populated on the first execution of the plan and used by subsequent executions
+   * to bind values without a ScalarType lookup.
+   * </p>
+   */
+  public void setBindTypes(ScalarType<?>[] bindTypes) {
+    this.bindTypes = bindTypes;
+  }
+
+  /**
+   * Return the ScalarType used at the next bind position by a prior execution if it matches the value type.
+   */
+  public ScalarType<?> priorType(Class<?> valueType) {
+    int i = typePos++;
+    if (bindTypes != null && i < bindTypes.length) {
+      ScalarType<?> type = bindTypes[i];
+      if (type != null && type.getType() == valueType) {
+        return type;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Move past the current bind position (for a null value) without looking up a prior type.
+   */
+  public void skipType() {
+    typePos++;
+  }
+
+  /**
+   * Register the ScalarType used at the current bind position for use by later executions.
+   */
+  public void registerType(ScalarType<?> type) {
+    int i = typePos - 1;
+    if (bindTypes != null && i >= 0 && i < bindTypes.length) {
+      // benign race, the type is always checked against the value type prior to use
+      bindTypes[i] = type;
+    }
+  }
+
   /**
    * Close the underlying prepared statement.
    */
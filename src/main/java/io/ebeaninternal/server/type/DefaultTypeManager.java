@@ -128,6 +128,8 @@ public final class DefaultTypeManager implements TypeManager {
 
   private final boolean postgres;
 
+  private final boolean jsonPartialUpdate;
+
   private final boolean offlineMigrationGeneration;
 
   // OPTIONAL ScalarTypes registered if Jackson/JsonNode is in the classpath
@@ -170,6 +172,7 @@ public final class DefaultTypeManager implements TypeManager {
 
     this.extraTypeFactory = new DefaultTypeFactory(config);
     this.postgres = isPostgres(config.getDatabasePlatform());
+    this.jsonPartialUpdate = config.isJsonPartialUpdate();
     this.arrayTypeFactory = arrayTypeFactory(postgres, config.getDatabasePlatform());
 
     this.offlineMigrationGeneration = DbOffline.isGenerateMigration();
@@ -336,7 +339,7 @@ public final class DefaultTypeManager implements TypeManager {
 
     if (type.equals(Map.class)) {
       if (isMapValueTypeObject(genericType)) {
-        return ScalarTypeJsonMap.typeFor(postgres, dbType);
+        return ScalarTypeJsonMap.typeFor(postgres, dbType, jsonPartialUpdate);
       } else {
         return createJsonObjectMapperType(type, genericType, dbType, DocPropertyType.OBJECT);
       }
@@ -1,15 +1,39 @@
 package io.ebeaninternal.server.type;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 /**
  * Detects when content has been modified and as such needs to be persisted (included in an update).
+ * <p>
+ * For JSON documents this additionally tracks the top level keys that have been modified
+ * such that an update can be limited to those keys (rather than writing the whole document).
+ * </p>
  */
 public class ModifyAwareFlag implements ModifyAwareOwner {
 
   boolean dirty;
 
+  /**
+   * True when modified in a way that is not tracked by top level key (since last written).
+   */
+  private boolean modifiedAll;
+
+  /**
+   * The top level keys modified since the value was last written.
+   * <p>
+   * These are kept across dirty checks until the value is written such that keys modified
+   * after the dirty check (e.g. in a BeanPersistController) or by a save that did not
+   * execute (e.g. vetoed) are included when the value is written.
+   * </p>
+   */
+  private Set<Object> modifiedKeys;
+
   @Override
   public boolean isMarkedDirty() {
-    if (!dirty) return false;
+    if (!dirty) {
+      return false;
+    }
     dirty = false;
     return true;
   }
@@ -17,10 +41,40 @@ public class ModifyAwareFlag implements ModifyAwareOwner {
   @Override
   public void markAsModified() {
     dirty = true;
+    modifiedAll = true;
+    modifiedKeys = null;
+  }
+
+  @Override
+  public void markKeyModified(Object key) {
+    dirty = true;
+    if (!modifiedAll) {
+      if (modifiedKeys == null) {
+        modifiedKeys = new LinkedHashSet<>();
+      }
+      modifiedKeys.add(key);
+    }
   }
 
   @Override
   public void resetMarkedDirty() {
     dirty = false;
+    modifiedAll = false;
+    modifiedKeys = null;
+  }
+
+  /**
+   * Return the top level keys modified since the value was last written or null if not known.
+   */
+  Set<Object> getPendingKeys() {
+    return modifiedAll ? null : modifiedKeys;
+  }
+
+  /**
+   * Clear the modified keys as the value is being written.
+   */
+  void clearPendingKeys() {
+    modifiedAll = false;
+    modifiedKeys = null;
   }
 }
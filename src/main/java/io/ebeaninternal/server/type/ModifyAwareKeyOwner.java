@@ -0,0 +1,40 @@
+package io.ebeaninternal.server.type;
+
+/**
+ * Owner for content nested under a top level key of a JSON document.
+ * <p>
+ * Any modification to the nested content is registered as a modification
+ * of the top level key.
+ * </p>
+ */
+public class ModifyAwareKeyOwner implements ModifyAwareOwner {
+
+  private final ModifyAwareFlag flag;
+
+  private final Object key;
+
+  public ModifyAwareKeyOwner(ModifyAwareFlag flag, Object key) {
+    this.flag = flag;
+    this.key = key;
+  }
+
+  @Override
+  public boolean isMarkedDirty() {
+    return flag.isMarkedDirty();
+  }
+
+  @Override
+  public void markAsModified() {
+    flag.markKeyModified(key);
+  }
+
+  @Override
+  public void markKeyModified(Object nestedKey) {
+    flag.markKeyModified(key);
+  }
+
+  @Override
+  public void resetMarkedDirty() {
+    flag.resetMarkedDirty();
+  }
+}
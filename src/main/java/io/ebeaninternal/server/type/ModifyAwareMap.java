@@ -45,6 +45,30 @@ public class ModifyAwareMap<K, V> implements Map<K, V>, ModifyAwareOwner {
     owner.resetMarkedDirty();
   }
 
+  @Override
+  public void markKeyModified(Object key) {
+    owner.markKeyModified(key);
+  }
+
+  /**
+   * Return the top level keys modified since the map was last written.
+   * <p>
+   * Returns null if the modified keys are not known in which case the whole map should be written.
+   * </p>
+   */
+  public Set<Object> getPendingKeys() {
+    return (owner instanceof ModifyAwareFlag) ? ((ModifyAwareFlag) owner).getPendingKeys() : null;
+  }
+
+  /**
+   * Clear the pending keys typically after the map has been bound for persisting.
+   */
+  public void clearPendingKeys() {
+    if (owner instanceof ModifyAwareFlag) {
+      ((ModifyAwareFlag) owner).clearPendingKeys();
+    }
+  }
+
   @Override
   public int size() {
     return map.size();
@@ -72,7 +96,7 @@ public class ModifyAwareMap<K, V> implements Map<K, V>, ModifyAwareOwner {
 
   @Override
   public V put(K key, V value) {
-    markAsModified();
+    markKeyModified(key);
     return map.put(key, value);
   }
 
@@ -80,14 +104,16 @@ public class ModifyAwareMap<K, V> implements Map<K, V>, ModifyAwareOwner {
   public V remove(Object key) {
     V value = map.remove(key);
     if (value != null) {
-      markAsModified();
+      markKeyModified(key);
     }
     return value;
   }
 
   @Override
   public void putAll(Map<? extends K, ? extends V> m) {
-    markAsModified();
+    for (K key : m.keySet()) {
+      markKeyModified(key);
+    }
     map.putAll(m);
   }
 
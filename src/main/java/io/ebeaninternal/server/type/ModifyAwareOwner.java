@@ -21,4 +21,14 @@ public interface ModifyAwareOwner {
    */
   void resetMarkedDirty();
 
+  /**
+   * Marks the value of the given top level key as modified.
+   * <p>
+   * By default this treats the whole value as modified.
+   * </p>
+   */
+  default void markKeyModified(Object key) {
+    markAsModified();
+  }
+
 }
@@ -17,6 +17,7 @@ import java.io.Reader;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Type which maps Map<String,Object> to various DB types (Clob, Varchar, Blob) in JSON format.
@@ -29,10 +30,20 @@ public abstract class ScalarTypeJsonMap extends ScalarTypeBase<Map> {
   private static final ScalarTypeJsonMap JSON = new ScalarTypeJsonMapPostgres.JSON();
   private static final ScalarTypeJsonMap JSONB = new ScalarTypeJsonMapPostgres.JSONB();
 
+  private static final ScalarTypeJsonMap JSONB_PARTIAL = new ScalarTypeJsonMapPostgres.JSONB(true);
+
   /**
    * Return the ScalarType for the requested dbType and postgres.
    */
   public static ScalarTypeJsonMap typeFor(boolean postgres, int dbType) {
+    return typeFor(postgres, dbType, false);
+  }
+
+  /**
+   * Return the ScalarType for the requested dbType and postgres with the option
+   * of using partial updates (Postgres JSONB only).
+   */
+  public static ScalarTypeJsonMap typeFor(boolean postgres, int dbType, boolean partialUpdate) {
 
     switch (dbType) {
       case Types.VARCHAR:
@@ -42,7 +53,10 @@ public abstract class ScalarTypeJsonMap extends ScalarTypeBase<Map> {
       case Types.CLOB:
         return CLOB;
       case DbPlatformType.JSONB:
-        return postgres ? JSONB : CLOB;
+        if (postgres) {
+          return partialUpdate ? JSONB_PARTIAL : JSONB;
+        }
+        return CLOB;
       case DbPlatformType.JSON:
         return postgres ? JSON : CLOB;
       default:
@@ -104,6 +118,7 @@ public abstract class ScalarTypeJsonMap extends ScalarTypeBase<Map> {
       if (value == null) {
         b.setNull(Types.BLOB);
       } else {
+        clearPendingKeys(value);
         String rawJson = formatValue(value);
         b.setBytes(EncodeUtil.utf8ToBytes(rawJson));
       }
@@ -130,6 +145,38 @@ public abstract class ScalarTypeJsonMap extends ScalarTypeBase<Map> {
     return !(value instanceof ModifyAwareOwner) || ((ModifyAwareOwner) value).isMarkedDirty();
   }
 
+  /**
+   * Return true if changes to the top level keys can be persisted using a partial update.
+   */
+  public boolean isPartialUpdate() {
+    return false;
+  }
+
+  /**
+   * Return the top level keys to persist using a partial update.
+   * <p>
+   * Returns null when the whole value should be written. This is the case when the type
+   * does not support partial updates or when the modified keys are not known (e.g. the
+   * map was replaced or cleared).
+   * </p>
+   */
+  public Set<Object> getPartialUpdateKeys(Object value) {
+    if (!isPartialUpdate() || !(value instanceof ModifyAwareMap)) {
+      return null;
+    }
+    Set<Object> keys = ((ModifyAwareMap<?, ?>) value).getPendingKeys();
+    return (keys == null || keys.isEmpty()) ? null : keys;
+  }
+
+  /**
+   * Clear the pending modified keys as the value is being written.
+   */
+  public void clearPendingKeys(Map value) {
+    if (value instanceof ModifyAwareMap) {
+      ((ModifyAwareMap<?, ?>) value).clearPendingKeys();
+    }
+  }
+
   @Override
   public Map read(DataReader dataReader) throws SQLException {
 
@@ -146,6 +193,7 @@ public abstract class ScalarTypeJsonMap extends ScalarTypeBase<Map> {
     if (value == null) {
       b.setNull(Types.VARCHAR);
     } else {
+      clearPendingKeys(value);
       String rawJson = formatValue(value);
       b.setString(rawJson);
     }
@@ -3,7 +3,9 @@ package io.ebeaninternal.server.type;
 import io.ebean.config.dbplatform.DbPlatformType;
 
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Support for the Postgres DB types JSON and JSONB.
@@ -20,7 +22,11 @@ public abstract class ScalarTypeJsonMapPostgres extends ScalarTypeJsonMap {
   @Override
   public void bind(DataBind bind, Map value) throws SQLException {
 
-    String rawJson = (value == null) ? null : formatValue(value);
+    String rawJson = null;
+    if (value != null) {
+      clearPendingKeys(value);
+      rawJson = formatValue(value);
+    }
     bind.setObject(PostgresHelper.asObject(postgresType, rawJson));
   }
 
@@ -36,11 +42,73 @@ public abstract class ScalarTypeJsonMapPostgres extends ScalarTypeJsonMap {
 
   /**
    * ScalarType mapping java Map type to Postgres JSONB database type.
+   * <p>
+   * With partial update the modified top level keys are updated using the JSONB
+   * <code>-</code> and <code>||</code> operators rather than writing the whole document.
+   * </p>
    */
   public static class JSONB extends ScalarTypeJsonMapPostgres {
 
+    private final boolean partialUpdate;
+
     public JSONB() {
+      this(false);
+    }
+
+    public JSONB(boolean partialUpdate) {
       super(DbPlatformType.JSONB, PostgresHelper.JSONB_TYPE);
+      this.partialUpdate = partialUpdate;
+    }
+
+    @Override
+    public boolean isPartialUpdate() {
+      return partialUpdate;
+    }
+
+    /**
+     * Return the update set expression for the column. This binds the removed keys
+     * as a text array followed by the JSON of the modified keys.
+     */
+    public String getPartialUpdateSql(String column) {
+      return "(coalesce(" + column + ",'{}'::jsonb) - ?::text[]) || ?::jsonb";
+    }
+
+    /**
+     * Return the keys no longer in the map as a Postgres text array literal.
+     */
+    public String formatRemovedKeys(Map<?, ?> value, Set<Object> keys) {
+      StringBuilder sb = new StringBuilder().append('{');
+      for (Object key : keys) {
+        if (!value.containsKey(key)) {
+          if (sb.length() > 1) {
+            sb.append(',');
+          }
+          sb.append('"');
+          String text = String.valueOf(key);
+          for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch == '"' || ch == '\\') {
+              sb.append('\\');
+            }
+            sb.append(ch);
+          }
+          sb.append('"');
+        }
+      }
+      return sb.append('}').toString();
+    }
+
+    /**
+     * Return the JSON of the modified keys that are in the map.
+     */
+    public String formatModifiedKeys(Map<?, ?> value, Set<Object> keys) {
+      Map<Object, Object> modified = new LinkedHashMap<>();
+      for (Object key : keys) {
+        if (value.containsKey(key)) {
+          modified.put(key, value.get(key));
+        }
+      }
+      return formatValue(modified);
     }
   }
 }
@@ -7,9 +7,14 @@ import javax.crypto.Cipher;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.UnsupportedEncodingException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Simple AES based encryption and decryption.
+ * <p>
+ * The key and initial vector derived from each key value are cached and each thread
+ * reuses its Cipher instances (only re-initialising them when the key changes).
+ * </p>
  */
 public class SimpleAesEncryptor implements Encryptor {
 
@@ -17,6 +22,17 @@ public class SimpleAesEncryptor implements Encryptor {
 
   private static final String padding = "asldkalsdkadsdfkjsldfjl";
 
+  /**
+   * Max number of derived keys held (cleared when exceeded).
+   */
+  private static final int MAX_KEYS = 1000;
+
+  private final ConcurrentHashMap<String, AesKey> keys = new ConcurrentHashMap<>();
+
+  private final ThreadLocal<CipherHolder> decryptCipher = ThreadLocal.withInitial(() -> new CipherHolder(Cipher.DECRYPT_MODE));
+
+  private final ThreadLocal<CipherHolder> encryptCipher = ThreadLocal.withInitial(() -> new CipherHolder(Cipher.ENCRYPT_MODE));
+
   public SimpleAesEncryptor() {
   }
 
@@ -45,29 +61,30 @@ public class SimpleAesEncryptor implements Encryptor {
     return new IvParameterSpec(initialVector.getBytes());
   }
 
+  /**
+   * Return the derived key and initial vector for the given key.
+   */
+  private AesKey aesKey(EncryptKey encryptKey) {
+
+    String keyValue = encryptKey.getStringValue();
+    AesKey aesKey = keys.get(keyValue);
+    if (aesKey == null) {
+      if (keys.size() >= MAX_KEYS) {
+        keys.clear();
+      }
+      String key = paddKey(encryptKey);
+      aesKey = new AesKey(new SecretKeySpec(getKeyBytes(key), "AES"), getIvParameterSpec(key));
+      keys.put(keyValue, aesKey);
+    }
+    return aesKey;
+  }
+
   public byte[] decrypt(byte[] data, EncryptKey encryptKey) {
 
     if (data == null) {
       return null;
     }
-
-    String key = paddKey(encryptKey);
-
-    try {
-
-      byte[] keyBytes = getKeyBytes(key);
-      IvParameterSpec iv = getIvParameterSpec(key);
-
-      SecretKeySpec sks = new SecretKeySpec(keyBytes, "AES");
-      Cipher c = Cipher.getInstance(AES_CIPHER);
-
-      c.init(Cipher.DECRYPT_MODE, sks, iv);
-
-      return c.doFinal(data);
-
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+    return decryptCipher.get().doFinal(aesKey(encryptKey), data);
   }
 
   public byte[] encrypt(byte[] data, EncryptKey encryptKey) {
@@ -75,23 +92,7 @@ public class SimpleAesEncryptor implements Encryptor {
     if (data == null) {
       return null;
     }
-
-    String key = paddKey(encryptKey);
-
-    try {
-      byte[] keyBytes = getKeyBytes(key);
-      IvParameterSpec iv = getIvParameterSpec(key);
-
-      SecretKeySpec sks = new SecretKeySpec(keyBytes, "AES");
-      Cipher c = Cipher.getInstance(AES_CIPHER);
-
-      c.init(Cipher.ENCRYPT_MODE, sks, iv);
-
-      return c.doFinal(data);
-
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+    return encryptCipher.get().doFinal(aesKey(encryptKey), data);
   }
 
   public String decryptString(byte[] data, EncryptKey key) {
@@ -122,4 +123,52 @@ public class SimpleAesEncryptor implements Encryptor {
     }
   }
 
+  /**
+   * The key and initial vector derived from a key value.
+   */
+  private static class AesKey {
+
+    private final SecretKeySpec keySpec;
+    private final IvParameterSpec iv;
+
+    AesKey(SecretKeySpec keySpec, IvParameterSpec iv) {
+      this.keySpec = keySpec;
+      this.iv = iv;
+    }
+  }
+
+  /**
+   * Per thread Cipher that is re-initialised only when the key changes.
+   */
+  private static class CipherHolder {
+
+    private final int mode;
+
+    private Cipher cipher;
+
+    private AesKey initKey;
+
+    CipherHolder(int mode) {
+      this.mode = mode;
+    }
+
+    byte[] doFinal(AesKey key, byte[] data) {
+      try {
+        if (cipher == null) {
+          cipher = Cipher.getInstance(AES_CIPHER);
+        }
+        if (initKey != key) {
+          cipher.init(mode, key.keySpec, key.iv);
+          initKey = key;
+        }
+        // doFinal resets the cipher to its initialised state
+        return cipher.doFinal(data);
+
+      } catch (Exception e) {
+        // re-initialise on next use
+        initKey = null;
+        throw new RuntimeException(e);
+      }
+    }
+  }
 }
@@ -0,0 +1,141 @@
+package io.ebeanservice.docstore.api.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Records the completed partitions of a partitioned re-index to a file.
+ * <p>
+ * The first line holds the plan (a hash of the bean type and partitioning options) such that a
+ * checkpoint is only used to resume a re-index with the same options. The id range the partitions
+ * were built from is also recorded such that a resumed re-index uses the same partitions even
+ * when rows have been inserted or deleted in the meantime.
+ * </p>
+ */
+class DocStoreIndexCheckpoint {
+
+  private static final Logger logger = LoggerFactory.getLogger(DocStoreIndexCheckpoint.class);
+
+  private static final String PLAN = "plan ";
+
+  private static final String DONE = "done ";
+
+  private static final String RANGE = "range ";
+
+  private final File file;
+
+  private final String plan;
+
+  private Writer writer;
+
+  private String range;
+
+  DocStoreIndexCheckpoint(File file, String plan) {
+    this.file = file;
+    this.plan = plan;
+  }
+
+  /**
+   * Load the completed partitions and open the checkpoint for writing.
+   */
+  Set<Integer> open() throws IOException {
+    Set<Integer> completed = new HashSet<>();
+    if (file == null) {
+      return completed;
+    }
+    boolean append = false;
+    if (file.exists()) {
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+        String line = reader.readLine();
+        if ((PLAN + plan).equals(line)) {
+          append = true;
+          while ((line = reader.readLine()) != null) {
+            if (line.startsWith(RANGE)) {
+              range = line.substring(RANGE.length());
+            } else if (line.startsWith(DONE)) {
+              String[] parts = line.split(" ");
+              completed.add(Integer.parseInt(parts[1]));
+            }
+          }
+        } else {
+          logger.warn("Ignoring checkpoint {} as it is for a different re-index plan", file);
+        }
+      }
+    }
+    writer = new OutputStreamWriter(new FileOutputStream(file, append), StandardCharsets.UTF_8);
+    if (!append) {
+      writer.write(PLAN + plan + "\n");
+      writer.flush();
+    }
+    return completed;
+  }
+
+  /**
+   * Return the id range recorded for the partitions (null if not recorded).
+   */
+  String getRange() {
+    return range;
+  }
+
+  /**
+   * Record the id range the partitions are built from.
+   */
+  synchronized void range(String range) throws IOException {
+    this.range = range;
+    if (writer != null) {
+      writer.write(RANGE + range + "\n");
+      writer.flush();
+    }
+  }
+
+  /**
+   * Record the partition as completed.
+   */
+  synchronized void completed(int partition, long count) throws IOException {
+    if (writer != null) {
+      writer.write(DONE + partition + " " + count + "\n");
+      writer.flush();
+    }
+  }
+
+  /**
+   * Close the checkpoint file.
+   */
+  synchronized void close() {
+    if (writer != null) {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        logger.warn("Error closing checkpoint " + file, e);
+      }
+      writer = null;
+    }
+  }
+
+  /**
+   * Close and delete the checkpoint file (when the re-index completed).
+   */
+  void delete() {
+    close();
+    if (file != null) {
+      try {
+        Files.deleteIfExists(file.toPath());
+      } catch (IOException e) {
+        logger.warn("Error deleting checkpoint " + file, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,363 @@
+package io.ebeanservice.docstore.api.support;
+
+import io.ebean.DocStoreIndexOptions;
+import io.ebean.DocStoreIndexProgress;
+import io.ebean.ExpressionList;
+import io.ebean.OrderBy;
+import io.ebean.Query;
+import io.ebean.plugin.BeanType;
+import io.ebeaninternal.api.HashQueryPlanBuilder;
+import io.ebeaninternal.api.SpiExpressionList;
+import io.ebeaninternal.api.SpiQuery;
+import io.ebeanservice.docstore.api.DocStoreQueryUpdate;
+import io.ebeanservice.docstore.api.DocStoreUpdateProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.PersistenceException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Re-indexes a query by partitions that are queried and sent to the document store in parallel.
+ * <p>
+ * Each partition is read using findEach on a reader thread with the bulk batches handed to a
+ * sender thread such that reading the next batch overlaps sending the prior batch. Completed
+ * partitions are recorded to the checkpoint (if specified) such that a failed run can resume.
+ * </p>
+ */
+public class DocStorePartitionedIndexer {
+
+  private static final Logger logger = LoggerFactory.getLogger(DocStorePartitionedIndexer.class);
+
+  private final DocStoreUpdateProcessor updateProcessor;
+
+  private final int defaultBatchSize;
+
+  public DocStorePartitionedIndexer(DocStoreUpdateProcessor updateProcessor, int defaultBatchSize) {
+    this.updateProcessor = updateProcessor;
+    this.defaultBatchSize = defaultBatchSize;
+  }
+
+  /**
+   * A partition of the query by id range or raw expression.
+   */
+  static final class Partition {
+
+    final int index;
+    final Object from;
+    final Object to;
+    final String raw;
+
+    Partition(int index, Object from, Object to, String raw) {
+      this.index = index;
+      this.from = from;
+      this.to = to;
+      this.raw = raw;
+    }
+
+    void apply(ExpressionList<?> where, String idName) {
+      if (raw != null) {
+        where.raw(raw);
+      } else if (from != null) {
+        where.ge(idName, from);
+        if (to != null) {
+          where.lt(idName, to);
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      return (raw != null) ? raw : (from == null) ? "all" : "[" + from + "," + (to == null ? "" : to) + ")";
+    }
+  }
+
+  /**
+   * Index the query by partitions returning the progress.
+   */
+  public <T> DocStoreIndexProgress index(Query<T> query, DocStoreIndexOptions options) {
+
+    BeanType<T> beanType = ((SpiQuery<T>) query).getBeanDescriptor();
+    String idName = beanType.getIdProperty().getName();
+
+    DocStoreIndexCheckpoint checkpoint = new DocStoreIndexCheckpoint(options.getCheckpoint(), plan((SpiQuery<T>) query, beanType, options));
+    Set<Integer> completed;
+    List<Partition> partitions;
+    try {
+      completed = checkpoint.open();
+      partitions = partitions(query, idName, options, checkpoint);
+    } catch (IOException e) {
+      checkpoint.close();
+      throw new PersistenceException("Error reading re-index checkpoint", e);
+    }
+
+    DocStoreIndexProgress progress = new DocStoreIndexProgress(beanType.getFullName(), partitions.size());
+    int concurrency = Math.max(1, options.getConcurrency());
+    int batchSize = (options.getBulkBatchSize() > 0) ? options.getBulkBatchSize() : defaultBatchSize;
+    ExecutorService readers = Executors.newFixedThreadPool(concurrency, threadFactory("ebean-reindex-read"));
+    ExecutorService senders = Executors.newFixedThreadPool(concurrency, threadFactory("ebean-reindex-send"));
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (Partition partition : partitions) {
+        if (completed.contains(partition.index)) {
+          progress.partitionSkipped();
+        } else {
+          PartitionTask<T> task = new PartitionTask<>(updateProcessor, query, beanType, idName, partition, batchSize, senders, checkpoint, progress, options.getProgressListener());
+          futures.add(readers.submit(task));
+        }
+      }
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          // already logged and counted by the task
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new PersistenceException("Interrupted waiting for re-index of " + beanType.getName(), e);
+        }
+      }
+    } finally {
+      readers.shutdownNow();
+      senders.shutdownNow();
+      progress.finished();
+    }
+
+    if (progress.isComplete()) {
+      checkpoint.delete();
+      logger.info("re-indexed {}", progress);
+    } else {
+      checkpoint.close();
+      logger.error("re-index incomplete {}", progress);
+    }
+    return progress;
+  }
+
+  /**
+   * Return the partitions using the explicit partitions or ranges of the id.
+   * <p>
+   * The id range is taken from the checkpoint when resuming and otherwise recorded to it. The last
+   * partition has no upper bound such that rows inserted after the range was determined are included.
+   * </p>
+   */
+  <T> List<Partition> partitions(Query<T> query, String idName, DocStoreIndexOptions options, DocStoreIndexCheckpoint checkpoint) throws IOException {
+
+    List<Partition> partitions = new ArrayList<>();
+    List<String> raw = options.getPartitions();
+    if (!raw.isEmpty()) {
+      for (int i = 0; i < raw.size(); i++) {
+        partitions.add(new Partition(i, null, null, raw.get(i)));
+      }
+      return partitions;
+    }
+
+    Object min;
+    Object max;
+    String range = checkpoint.getRange();
+    if (range != null) {
+      // resume using the same id range
+      String[] parts = range.split(" ");
+      min = idValue(Long.parseLong(parts[1]), parts[0]);
+      max = idValue(Long.parseLong(parts[2]), parts[0]);
+    } else {
+      min = first(query.copy().select(idName).orderBy(idName + " asc").setMaxRows(1).findSingleAttributeList());
+      if (min == null) {
+        // no rows to index
+        return partitions;
+      }
+      max = first(query.copy().select(idName).orderBy(idName + " desc").setMaxRows(1).findSingleAttributeList());
+      if (!isIntegral(min) || !isIntegral(max)) {
+        // can not partition by id range
+        partitions.add(new Partition(0, null, null, null));
+        return partitions;
+      }
+      checkpoint.range(min.getClass().getSimpleName() + " " + min + " " + max);
+    }
+
+    long from = ((Number) min).longValue();
+    long end = ((Number) max).longValue();
+    long size = Math.max(1, options.getPartitionSize());
+    int index = 0;
+    while (from <= end) {
+      long to = (end - from < size) ? end + 1 : from + size;
+      Object toValue = (to > end) ? null : idValue(to, min);
+      partitions.add(new Partition(index++, idValue(from, min), toValue, null));
+      from = to;
+    }
+    return partitions;
+  }
+
+  private static Object first(List<Object> list) {
+    return list.isEmpty() ? null : list.get(0);
+  }
+
+  private static boolean isIntegral(Object value) {
+    return value instanceof Long || value instanceof Integer || value instanceof Short;
+  }
+
+  /**
+   * Return the id value in the same type as the id property.
+   */
+  private static Object idValue(long value, Object sample) {
+    return idValue(value, sample.getClass().getSimpleName());
+  }
+
+  /**
+   * Return the id value for the given type name (Integer, Short or Long).
+   */
+  private static Object idValue(long value, String type) {
+    switch (type) {
+      case "Integer":
+        return (int) Math.min(value, Integer.MAX_VALUE);
+      case "Short":
+        return (short) Math.min(value, Short.MAX_VALUE);
+      default:
+        return value;
+    }
+  }
+
+  /**
+   * Return the plan key built from the stable inputs (not the current id range).
+   * <p>
+   * This includes the predicates (with bind values) and order by of the query such that a
+   * checkpoint is not resumed by a re-index with a different filter.
+   * </p>
+   */
+  static String plan(SpiQuery<?> query, BeanType<?> beanType, DocStoreIndexOptions options) {
+    String partitioning = options.getPartitions().isEmpty() ? "size:" + options.getPartitionSize() : options.getPartitions().toString();
+    return beanType.getFullName() + "-" + Integer.toHexString(partitioning.hashCode()) + "-" + Integer.toHexString(queryHash(query));
+  }
+
+  /**
+   * Return a hash of the where clause (plan and bind values) and order by of the query.
+   */
+  static int queryHash(SpiQuery<?> query) {
+    HashQueryPlanBuilder builder = new HashQueryPlanBuilder();
+    SpiExpressionList<?> where = query.getWhereExpressions();
+    if (where != null) {
+      where.queryPlanHash(builder);
+      builder.add(where.queryBindHash());
+    }
+    OrderBy<?> orderBy = query.getOrderBy();
+    if (orderBy != null) {
+      builder.add(orderBy.toStringFormat());
+    }
+    return builder.toString().hashCode();
+  }
+
+  private static ThreadFactory threadFactory(String prefix) {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Reads a partition and sends the bulk batches (pipelined).
+   */
+  private static final class PartitionTask<T> implements Runnable {
+
+    private final DocStoreUpdateProcessor updateProcessor;
+    private final Query<T> query;
+    private final BeanType<T> beanType;
+    private final String idName;
+    private final Partition partition;
+    private final int batchSize;
+    private final ExecutorService senders;
+    private final DocStoreIndexCheckpoint checkpoint;
+    private final DocStoreIndexProgress progress;
+    private final Consumer<DocStoreIndexProgress> listener;
+
+    private DocStoreQueryUpdate<T> update;
+    private List<T> batch;
+    private CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+    private long count;
+
+    PartitionTask(DocStoreUpdateProcessor updateProcessor, Query<T> query, BeanType<T> beanType, String idName,
+                  Partition partition, int batchSize, ExecutorService senders, DocStoreIndexCheckpoint checkpoint,
+                  DocStoreIndexProgress progress, Consumer<DocStoreIndexProgress> listener) {
+      this.updateProcessor = updateProcessor;
+      this.query = query;
+      this.beanType = beanType;
+      this.idName = idName;
+      this.partition = partition;
+      this.batchSize = batchSize;
+      this.senders = senders;
+      this.checkpoint = checkpoint;
+      this.progress = progress;
+      this.listener = listener;
+      this.batch = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void run() {
+      try {
+        update = updateProcessor.createQueryUpdate(beanType, batchSize);
+        Query<T> partitionQuery = query.copy();
+        partition.apply(partitionQuery.where(), idName);
+        beanType.docStore().applyPath(partitionQuery);
+        partitionQuery.findEach(this::add);
+        send();
+        inFlight.join();
+        checkpoint.completed(partition.index, count);
+        progress.partitionCompleted();
+
+      } catch (Exception e) {
+        progress.partitionFailed();
+        logger.error("Error re-indexing partition " + partition + " of " + beanType.getName(), e);
+        throw new PersistenceException(e);
+
+      } finally {
+        if (listener != null) {
+          listener.accept(progress);
+        }
+      }
+    }
+
+    private void add(T bean) {
+      batch.add(bean);
+      if (batch.size() >= batchSize) {
+        send();
+      }
+    }
+
+    /**
+     * Wait for the prior batch to be sent and then send this batch in the background.
+     */
+    private void send() {
+      if (batch.isEmpty()) {
+        return;
+      }
+      List<T> beans = batch;
+      batch = new ArrayList<>(batchSize);
+      inFlight.join();
+      inFlight = CompletableFuture.runAsync(() -> store(beans), senders);
+    }
+
+    private void store(List<T> beans) {
+      try {
+        for (T bean : beans) {
+          update.store(beanType.getBeanId(bean), bean);
+        }
+        update.flush();
+        count += beans.size();
+        progress.addIndexed(beans.size());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package io.ebeanservice.docstore.embedded;
+
+import io.ebean.text.json.EJson;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An indexed document (immutable).
+ * <p>
+ * Holds the raw JSON source, the parsed source and the analysed tokens per field.
+ * </p>
+ */
+final class EmbeddedDoc {
+
+  /**
+   * Field name for the tokens of all the fields.
+   */
+  static final String ALL = "_all";
+
+  /**
+   * Marks the boundary between values in a field (such that phrases do not span values).
+   */
+  static final String GAP = "";
+
+  private static final String RAW_SUFFIX = ".raw";
+
+  private final String id;
+
+  private final String json;
+
+  private final Map<String, Object> source;
+
+  private final Map<String, List<String>> tokens = new HashMap<>();
+
+  private EmbeddedDoc(String id, String json, Map<String, Object> source) {
+    this.id = id;
+    this.json = json;
+    this.source = source;
+    addTokens(null, source);
+  }
+
+  /**
+   * Create the document parsing the JSON source.
+   */
+  static EmbeddedDoc of(String id, String json) throws IOException {
+    return new EmbeddedDoc(id, json, EJson.parseObject(json));
+  }
+
+  /**
+   * Create the document from the parsed source.
+   */
+  static EmbeddedDoc of(String id, Map<String, Object> source) throws IOException {
+    return new EmbeddedDoc(id, EJson.write(source), source);
+  }
+
+  /**
+   * Split the text into lower case tokens.
+   */
+  static List<String> tokenize(String text) {
+    List<String> list = new ArrayList<>();
+    if (text == null) {
+      return list;
+    }
+    int start = -1;
+    for (int i = 0; i < text.length(); i++) {
+      if (Character.isLetterOrDigit(text.charAt(i))) {
+        if (start == -1) {
+          start = i;
+        }
+      } else if (start > -1) {
+        list.add(text.substring(start, i).toLowerCase());
+        start = -1;
+      }
+    }
+    if (start > -1) {
+      list.add(text.substring(start).toLowerCase());
+    }
+    return list;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void addTokens(String path, Object value) {
+    if (value instanceof Map) {
+      for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+        addTokens(path == null ? entry.getKey() : path + "." + entry.getKey(), entry.getValue());
+      }
+    } else if (value instanceof List) {
+      for (Object element : (List<Object>) value) {
+        addTokens(path, element);
+      }
+    } else if (value instanceof String && path != null) {
+      List<String> valueTokens = tokenize((String) value);
+      if (!valueTokens.isEmpty()) {
+        add(path, valueTokens);
+        add(ALL, valueTokens);
+      }
+    }
+  }
+
+  private void add(String field, List<String> valueTokens) {
+    List<String> list = tokens.computeIfAbsent(field, k -> new ArrayList<>());
+    if (!list.isEmpty()) {
+      list.add(GAP);
+    }
+    list.addAll(valueTokens);
+  }
+
+  /**
+   * Return the document id.
+   */
+  String getId() {
+    return id;
+  }
+
+  /**
+   * Return the JSON source.
+   */
+  String getJson() {
+    return json;
+  }
+
+  /**
+   * Return the parsed source.
+   */
+  Map<String, Object> getSource() {
+    return source;
+  }
+
+  /**
+   * Return the tokens by field.
+   */
+  Map<String, List<String>> getTokens() {
+    return tokens;
+  }
+
+  /**
+   * Return the tokens for the given field.
+   */
+  List<String> tokens(String field) {
+    List<String> list = tokens.get(field(field));
+    return list == null ? Collections.emptyList() : list;
+  }
+
+  /**
+   * Return the field name trimming the raw (not analysed) suffix.
+   */
+  static String field(String path) {
+    return path.endsWith(RAW_SUFFIX) ? path.substring(0, path.length() - RAW_SUFFIX.length()) : path;
+  }
+
+  /**
+   * Return the (non null) values at the given path flattening collections.
+   */
+  List<Object> values(String path) {
+    List<Object> values = new ArrayList<>(1);
+    collect(source, field(path).split("\\."), 0, values);
+    return values;
+  }
+
+  /**
+   * Return the first value at the given path or null.
+   */
+  Object firstValue(String path) {
+    List<Object> values = values(path);
+    return values.isEmpty() ? null : values.get(0);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void collect(Object value, String[] path, int pos, List<Object> values) {
+    if (value == null) {
+      return;
+    }
+    if (value instanceof List) {
+      for (Object element : (List<Object>) value) {
+        collect(element, path, pos, values);
+      }
+    } else if (pos == path.length) {
+      values.add(value);
+    } else if (value instanceof Map) {
+      collect(((Map<String, Object>) value).get(path[pos]), path, pos + 1, values);
+    }
+  }
+}
@@ -0,0 +1,504 @@
+package io.ebeanservice.docstore.embedded;
+
+import io.ebean.Junction;
+import io.ebean.LikeType;
+import io.ebean.plugin.BeanType;
+import io.ebean.plugin.ExpressionPath;
+import io.ebean.search.Match;
+import io.ebean.search.MultiMatch;
+import io.ebean.search.TextCommonTerms;
+import io.ebean.search.TextQueryString;
+import io.ebean.search.TextSimple;
+import io.ebeaninternal.server.expression.DocQueryContext;
+import io.ebeaninternal.server.expression.Op;
+import io.ebeanservice.docstore.embedded.EmbeddedMatchers.BoolGroup;
+import io.ebeanservice.docstore.embedded.EmbeddedMatchers.Container;
+import io.ebeanservice.docstore.embedded.EmbeddedMatchers.Ids;
+import io.ebeanservice.docstore.embedded.EmbeddedMatchers.JunctionType;
+import io.ebeanservice.docstore.embedded.EmbeddedMatchers.Phrase;
+import io.ebeanservice.docstore.embedded.EmbeddedMatchers.Terms;
+import io.ebeanservice.docstore.embedded.EmbeddedMatchers.ValueMatch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the matcher for a doc store query evaluated against an embedded index.
+ * <p>
+ * Nested paths are treated as matching any element of the nested collection (each expression
+ * can match a different element) and raw expressions are not supported.
+ * </p>
+ */
+class EmbeddedDocQueryContext implements DocQueryContext {
+
+  private static final String[] ALL_FIELDS = {EmbeddedDoc.ALL};
+
+  private final BeanType<?> beanType;
+
+  private final EmbeddedMatchers.Junction root = new EmbeddedMatchers.Junction(JunctionType.ALL);
+
+  private final Deque<Container> stack = new ArrayDeque<>();
+
+  private final Deque<BoolGroup> groups = new ArrayDeque<>();
+
+  EmbeddedDocQueryContext(BeanType<?> beanType) {
+    this.beanType = beanType;
+    this.stack.push(root);
+  }
+
+  /**
+   * Return the matcher for the expressions written.
+   */
+  EmbeddedMatcher matcher() {
+    return root;
+  }
+
+  private void add(EmbeddedMatcher matcher) {
+    stack.peek().add(matcher);
+  }
+
+  private void push(JunctionType type) {
+    EmbeddedMatchers.Junction junction = new EmbeddedMatchers.Junction(type);
+    add(junction);
+    stack.push(junction);
+  }
+
+  private void pop() {
+    stack.pop();
+  }
+
+  private static JunctionType junctionType(Junction.Type type) {
+    switch (type) {
+      case OR:
+      case SHOULD:
+        return JunctionType.ANY;
+      case NOT:
+        return JunctionType.NOT_ALL;
+      case MUST_NOT:
+        return JunctionType.NONE;
+      default:
+        return JunctionType.ALL;
+    }
+  }
+
+  @Override
+  public void startBool(Junction.Type type) {
+    push(junctionType(type));
+  }
+
+  @Override
+  public void startBoolMust() {
+    push(JunctionType.ALL);
+  }
+
+  @Override
+  public void startBoolMustNot() {
+    push(JunctionType.NONE);
+  }
+
+  @Override
+  public void endBool() {
+    pop();
+  }
+
+  @Override
+  public void startBoolGroup() {
+    BoolGroup group = new BoolGroup();
+    add(group);
+    groups.push(group);
+  }
+
+  @Override
+  public void startBoolGroupList(Junction.Type type) {
+    stack.push(groups.peek().clauses(junctionType(type)));
+  }
+
+  @Override
+  public void endBoolGroupList() {
+    pop();
+  }
+
+  @Override
+  public void endBoolGroup() {
+    groups.pop();
+  }
+
+  @Override
+  public void startNested(String nestedPath) {
+    push(JunctionType.ALL);
+  }
+
+  @Override
+  public void endNested() {
+    pop();
+  }
+
+  @Override
+  public void startNot() {
+    push(JunctionType.NONE);
+  }
+
+  @Override
+  public void endNot() {
+    pop();
+  }
+
+  @Override
+  public ExpressionPath getExpressionPath(String propName) {
+    return beanType.getExpressionPath(propName);
+  }
+
+  @Override
+  public void writeEqualTo(String propertyName, Object value) {
+    writeSimple(Op.EQ, propertyName, value);
+  }
+
+  @Override
+  public void writeIEqualTo(String propName, String value) {
+    add(new ValueMatch(propName, docValue -> docValue.toString().equalsIgnoreCase(value)));
+  }
+
+  @Override
+  public void writeRange(String propertyName, String rangeType, Object value) {
+    writeSimple(rangeOp(rangeType), propertyName, value);
+  }
+
+  private static Op rangeOp(String rangeType) {
+    for (Op op : Op.values()) {
+      if (op.docExp().equals(rangeType)) {
+        return op;
+      }
+    }
+    throw new IllegalArgumentException("Unknown range type " + rangeType);
+  }
+
+  @Override
+  public void writeRange(String propertyName, Op lowOp, Object valueLow, Op highOp, Object valueHigh) {
+    Object low = EmbeddedValues.normalise(valueLow);
+    Object high = EmbeddedValues.normalise(valueHigh);
+    add(new ValueMatch(propertyName, docValue -> compare(lowOp, docValue, low) && compare(highOp, docValue, high)));
+  }
+
+  @Override
+  public void writeIn(String propertyName, Object[] values, boolean not) {
+    List<Object> inValues = new ArrayList<>(values.length);
+    for (Object value : values) {
+      inValues.add(EmbeddedValues.normalise(value));
+    }
+    ValueMatch in = new ValueMatch(propertyName, docValue -> {
+      for (Object inValue : inValues) {
+        if (EmbeddedValues.equal(docValue, inValue)) {
+          return true;
+        }
+      }
+      return false;
+    });
+    if (not) {
+      none(in);
+    } else {
+      add(in);
+    }
+  }
+
+  private void none(EmbeddedMatcher matcher) {
+    EmbeddedMatchers.Junction none = new EmbeddedMatchers.Junction(JunctionType.NONE);
+    none.add(matcher);
+    add(none);
+  }
+
+  @Override
+  public void writeIds(List<?> idList) {
+    add(new Ids(idList));
+  }
+
+  @Override
+  public void writeId(Object value) {
+    add(new Ids(Collections.singletonList(value)));
+  }
+
+  @Override
+  public void writeRaw(String raw, Object[] values) {
+    throw new IllegalStateException("Raw expressions are not supported by the embedded document store");
+  }
+
+  @Override
+  public void writeExists(boolean notNull, String propertyName) {
+    ValueMatch exists = new ValueMatch(propertyName, docValue -> true);
+    if (notNull) {
+      add(exists);
+    } else {
+      none(exists);
+    }
+  }
+
+  @Override
+  public void writeSimple(Op type, String propertyName, Object value) {
+    switch (type) {
+      case EXISTS:
+        writeExists(true, propertyName);
+        return;
+      case NOT_EXISTS:
+        writeExists(false, propertyName);
+        return;
+      case BETWEEN:
+        throw new IllegalStateException("BETWEEN Not expected in writeSimple");
+    }
+    if (value == null) {
+      writeExists(type != Op.EQ, propertyName);
+      return;
+    }
+    Object queryValue = EmbeddedValues.normalise(value);
+    if (type == Op.NOT_EQ) {
+      none(new ValueMatch(propertyName, docValue -> EmbeddedValues.equal(docValue, queryValue)));
+    } else {
+      add(new ValueMatch(propertyName, docValue -> compare(type, docValue, queryValue)));
+    }
+  }
+
+  private static boolean compare(Op type, Object docValue, Object queryValue) {
+    int compare = EmbeddedValues.compare(docValue, queryValue);
+    switch (type) {
+      case LT:
+        return compare < 0;
+      case LT_EQ:
+        return compare <= 0;
+      case GT:
+        return compare > 0;
+      case GT_EQ:
+        return compare >= 0;
+      case NOT_EQ:
+        return compare != 0;
+      default:
+        return compare == 0;
+    }
+  }
+
+  @Override
+  public void writeAllEquals(Map<String, Object> propMap) {
+    startBoolMust();
+    for (Map.Entry<String, Object> entry : propMap.entrySet()) {
+      writeSimple(Op.EQ, entry.getKey(), entry.getValue());
+    }
+    endBool();
+  }
+
+  @Override
+  public void writeLike(String propName, String val, LikeType type, boolean caseInsensitive) {
+    Pattern pattern = likePattern(val, type, caseInsensitive);
+    add(new ValueMatch(propName, docValue -> pattern.matcher(docValue.toString()).matches()));
+  }
+
+  /**
+   * Return the regex pattern for the like expression.
+   */
+  static Pattern likePattern(String val, LikeType type, boolean caseInsensitive) {
+    String regex;
+    switch (type) {
+      case RAW:
+        StringBuilder sb = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char ch : val.toCharArray()) {
+          if (ch == '%' || ch == '_') {
+            if (literal.length() > 0) {
+              sb.append(Pattern.quote(literal.toString()));
+              literal.setLength(0);
+            }
+            sb.append(ch == '%' ? ".*" : ".");
+          } else {
+            literal.append(ch);
+          }
+        }
+        if (literal.length() > 0) {
+          sb.append(Pattern.quote(literal.toString()));
+        }
+        regex = sb.toString();
+        break;
+      case STARTS_WITH:
+        regex = Pattern.quote(val) + ".*";
+        break;
+      case ENDS_WITH:
+        regex = ".*" + Pattern.quote(val);
+        break;
+      case CONTAINS:
+        regex = ".*" + Pattern.quote(val) + ".*";
+        break;
+      default:
+        regex = Pattern.quote(val);
+    }
+    return Pattern.compile(regex, caseInsensitive ? Pattern.CASE_INSENSITIVE | Pattern.DOTALL : Pattern.DOTALL);
+  }
+
+  @Override
+  public void writeMatch(String propName, String search, Match options) {
+    String[] fields = {propName};
+    List<String> terms = EmbeddedDoc.tokenize(search);
+    if (options != null && (options.isPhrase() || options.isPhrasePrefix())) {
+      add(new Phrase(fields, terms, options.isPhrasePrefix()));
+    } else {
+      add(new Terms(fields, terms, options != null && options.isOperatorAnd(), false));
+    }
+  }
+
+  @Override
+  public void writeMultiMatch(String search, MultiMatch options) {
+    String[] fields = fields(options.getFields());
+    List<String> terms = EmbeddedDoc.tokenize(search);
+    MultiMatch.Type type = options.getType();
+    if (type == MultiMatch.Type.PHRASE || type == MultiMatch.Type.PHRASE_PREFIX) {
+      add(new Phrase(fields, terms, type == MultiMatch.Type.PHRASE_PREFIX));
+    } else {
+      add(new Terms(fields, terms, options.isOperatorAnd(), false));
+    }
+  }
+
+  @Override
+  public void writeTextSimple(String search, TextSimple options) {
+    boolean operatorAnd = options != null && options.isOperatorAnd();
+    add(textQuery(search, fields(options == null ? null : options.getFields()), operatorAnd));
+  }
+
+  @Override
+  public void writeTextQueryString(String search, TextQueryString options) {
+    boolean operatorAnd = options != null && options.isOperatorAnd();
+    add(textQuery(search, fields(options == null ? null : options.getFields()), operatorAnd));
+  }
+
+  @Override
+  public void writeTextCommonTerms(String search, TextCommonTerms options) {
+    boolean operatorAnd = options != null && options.isLowFreqOperatorAnd();
+    add(new Terms(ALL_FIELDS, EmbeddedDoc.tokenize(search), operatorAnd, false));
+  }
+
+  /**
+   * Return the fields trimming any boost suffix (defaulting to all fields).
+   */
+  private static String[] fields(String[] fields) {
+    if (fields == null || fields.length == 0) {
+      return ALL_FIELDS;
+    }
+    String[] trimmed = new String[fields.length];
+    for (int i = 0; i < fields.length; i++) {
+      int pos = fields[i].indexOf('^');
+      trimmed[i] = pos > -1 ? fields[i].substring(0, pos) : fields[i];
+    }
+    return trimmed;
+  }
+
+  /**
+   * Parse the simple query syntax supporting +term, -term, field:term, "quoted phrases",
+   * trailing * prefix and the AND, OR, NOT and | operators.
+   */
+  static EmbeddedMatcher textQuery(String search, String[] fields, boolean operatorAnd) {
+
+    BoolGroup group = new BoolGroup();
+    Container must = group.clauses(JunctionType.ALL);
+    Container mustNot = group.clauses(JunctionType.NONE);
+    Container should = group.clauses(JunctionType.ANY);
+
+    List<String> clauses = splitClauses(search);
+    boolean nextMust = false;
+    boolean nextNot = false;
+    boolean nextShould = false;
+    EmbeddedMatcher previous = null;
+    for (String clause : clauses) {
+      if ("AND".equals(clause)) {
+        if (previous != null) {
+          must.add(previous);
+          previous = null;
+        }
+        nextMust = true;
+        continue;
+      }
+      if ("OR".equals(clause) || "|".equals(clause)) {
+        if (previous != null) {
+          should.add(previous);
+          previous = null;
+        }
+        nextShould = true;
+        continue;
+      }
+      if ("NOT".equals(clause)) {
+        nextNot = true;
+        continue;
+      }
+      if (previous != null) {
+        (operatorAnd ? must : should).add(previous);
+        previous = null;
+      }
+      char first = clause.charAt(0);
+      if (first == '+' || first == '-') {
+        clause = clause.substring(1);
+      }
+      EmbeddedMatcher matcher = clauseMatcher(clause, fields);
+      if (matcher == null) {
+        continue;
+      }
+      if (first == '-' || nextNot) {
+        mustNot.add(matcher);
+      } else if (first == '+' || nextMust) {
+        must.add(matcher);
+      } else if (nextShould) {
+        should.add(matcher);
+      } else {
+        previous = matcher;
+      }
+      nextMust = false;
+      nextNot = false;
+      nextShould = false;
+    }
+    if (previous != null) {
+      (operatorAnd ? must : should).add(previous);
+    }
+    return group;
+  }
+
+  private static EmbeddedMatcher clauseMatcher(String clause, String[] fields) {
+    int colon = clause.indexOf(':');
+    if (colon > 0 && !clause.startsWith("\"")) {
+      // field:term
+      fields = new String[]{clause.substring(0, colon)};
+      clause = clause.substring(colon + 1);
+    }
+    boolean quoted = clause.startsWith("\"");
+    boolean prefix = !quoted && clause.endsWith("*");
+    List<String> terms = EmbeddedDoc.tokenize(clause);
+    if (terms.isEmpty()) {
+      return null;
+    }
+    if (terms.size() == 1) {
+      return new Terms(fields, terms, true, prefix);
+    }
+    return new Phrase(fields, terms, prefix);
+  }
+
+  /**
+   * Split the search into clauses by whitespace keeping quoted phrases together.
+   */
+  private static List<String> splitClauses(String search) {
+    List<String> clauses = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    boolean inQuotes = false;
+    for (char ch : search.toCharArray()) {
+      if (ch == '"') {
+        inQuotes = !inQuotes;
+        current.append(ch);
+      } else if (Character.isWhitespace(ch) && !inQuotes) {
+        if (current.length() > 0) {
+          clauses.add(current.toString());
+          current.setLength(0);
+        }
+      } else {
+        current.append(ch);
+      }
+    }
+    if (current.length() > 0) {
+      clauses.add(current.toString());
+    }
+    return clauses;
+  }
+}
@@ -0,0 +1,389 @@
+package io.ebeanservice.docstore.embedded;
+
+import io.ebean.DocStoreIndexOptions;
+import io.ebean.DocStoreIndexProgress;
+import io.ebean.DocStoreQueueEntry;
+import io.ebean.DocumentStore;
+import io.ebean.OrderBy;
+import io.ebean.PagedList;
+import io.ebean.Query;
+import io.ebean.plugin.BeanDocType;
+import io.ebean.plugin.BeanType;
+import io.ebean.plugin.Property;
+import io.ebean.plugin.SpiServer;
+import io.ebean.text.json.JsonReadOptions;
+import io.ebeaninternal.api.SpiExpressionList;
+import io.ebeaninternal.api.SpiQuery;
+import io.ebeanservice.docstore.api.DocQueryRequest;
+import io.ebeanservice.docstore.api.support.DocStorePartitionedIndexer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.PersistenceException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * DocumentStore using in-process embedded indexes.
+ * <p>
+ * Queries evaluate the text and where expressions against the index of the bean type with
+ * the order by, first row and max rows applied to the matching documents. There is no
+ * relevance scoring so without an order by the order of the results is not defined.
+ * </p>
+ */
+public class EmbeddedDocStore implements DocumentStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(EmbeddedDocStore.class);
+
+  private static final int FIND_EACH_BATCH = 100;
+
+  private static final int RELOAD_BATCH = 500;
+
+  private final SpiServer server;
+
+  private final EmbeddedIndexes indexes;
+
+  private final int defaultBatchSize;
+
+  EmbeddedDocStore(SpiServer server, EmbeddedIndexes indexes) {
+    this.server = server;
+    this.indexes = indexes;
+    this.defaultBatchSize = server.getServerConfig().getDocStoreConfig().getBulkBatchSize();
+  }
+
+  /**
+   * Return the embedded index by name or alias.
+   */
+  public EmbeddedIndex index(String indexName) {
+    return indexes.get(indexName);
+  }
+
+  /**
+   * Apply the pending operations of the update context to the indexes.
+   */
+  void apply(EmbeddedDocStoreUpdateContext context) throws IOException {
+    while (!context.reload().isEmpty()) {
+      Map<BeanType<?>, Set<Object>> reload = new LinkedHashMap<>(context.reload());
+      context.reload().clear();
+      for (Map.Entry<BeanType<?>, Set<Object>> entry : reload.entrySet()) {
+        reload(entry.getKey(), new ArrayList<>(entry.getValue()), context);
+      }
+    }
+    Map<String, List<EmbeddedDocStoreUpdateContext.Entry>> byIndex = new LinkedHashMap<>();
+    for (EmbeddedDocStoreUpdateContext.Entry entry : context.entries()) {
+      byIndex.computeIfAbsent(entry.indexName, k -> new ArrayList<>()).add(entry);
+    }
+    for (Map.Entry<String, List<EmbeddedDocStoreUpdateContext.Entry>> entry : byIndex.entrySet()) {
+      indexes.get(entry.getKey()).apply(entry.getValue());
+    }
+    context.clear();
+  }
+
+  /**
+   * Load the beans from the database and index them (deleting documents for beans that no longer exist).
+   */
+  private <T> void reload(BeanType<T> beanType, List<Object> ids, EmbeddedDocStoreUpdateContext context) throws IOException {
+    BeanDocType<T> docType = beanType.docStore();
+    for (int start = 0; start < ids.size(); start += RELOAD_BATCH) {
+      List<Object> batch = ids.subList(start, Math.min(ids.size(), start + RELOAD_BATCH));
+      Query<T> query = server.find(beanType.getBeanType());
+      docType.applyPath(query);
+      List<T> beans = query.where().idIn(batch).findList();
+
+      Set<String> found = new HashSet<>();
+      for (T bean : beans) {
+        Object idValue = beanType.getBeanId(bean);
+        docType.index(idValue, bean, context);
+        found.add(EmbeddedDocStoreUpdateContext.key(idValue));
+      }
+      for (Object idValue : batch) {
+        if (!found.contains(EmbeddedDocStoreUpdateContext.key(idValue))) {
+          docType.deleteById(idValue, context);
+        }
+      }
+    }
+  }
+
+  private <T> EmbeddedIndex index(BeanType<T> beanType) {
+    return indexes.get(beanType.docStore().getIndexName());
+  }
+
+  /**
+   * Return the documents matching the query (sorted by the order by if specified).
+   */
+  private <T> List<EmbeddedDoc> search(SpiQuery<T> query) {
+
+    BeanType<T> beanType = query.getBeanDescriptor();
+    EmbeddedDocQueryContext context = new EmbeddedDocQueryContext(beanType);
+    try {
+      SpiExpressionList<T> text = query.getTextExpression();
+      if (text != null && !text.isEmpty()) {
+        text.writeDocQuery(context);
+      }
+      SpiExpressionList<T> where = query.getWhereExpressions();
+      if (where != null && !where.isEmpty()) {
+        where.writeDocQuery(context, null);
+      }
+    } catch (IOException e) {
+      throw new PersistenceException("Error building embedded doc store query", e);
+    }
+    Object id = query.getId();
+    if (id != null) {
+      context.writeId(id);
+    }
+
+    List<EmbeddedDoc> docs = index(beanType).search(context.matcher());
+    OrderBy<T> orderBy = query.getOrderBy();
+    if (orderBy != null && !orderBy.isEmpty()) {
+      docs.sort(comparator(orderBy));
+    }
+    return docs;
+  }
+
+  /**
+   * Return the comparator for the order by (with nulls last).
+   */
+  static Comparator<EmbeddedDoc> comparator(OrderBy<?> orderBy) {
+    List<OrderBy.Property> properties = orderBy.getProperties();
+    return (doc1, doc2) -> {
+      for (OrderBy.Property property : properties) {
+        Object value1 = doc1.firstValue(property.getProperty());
+        Object value2 = doc2.firstValue(property.getProperty());
+        int compare;
+        if (value1 == null || value2 == null) {
+          compare = (value1 == null) ? (value2 == null ? 0 : 1) : -1;
+        } else {
+          compare = EmbeddedValues.compare(value1, value2);
+          if (!property.isAscending()) {
+            compare = -compare;
+          }
+        }
+        if (compare != 0) {
+          return compare;
+        }
+      }
+      return 0;
+    };
+  }
+
+  private static List<EmbeddedDoc> page(List<EmbeddedDoc> docs, int firstRow, int maxRows) {
+    if (firstRow >= docs.size()) {
+      return Collections.emptyList();
+    }
+    int end = (maxRows > 0) ? Math.min(docs.size(), firstRow + maxRows) : docs.size();
+    return docs.subList(firstRow, end);
+  }
+
+  private <T> List<T> beans(DocQueryRequest<T> request, List<EmbeddedDoc> docs, JsonReadOptions options) {
+    Class<T> beanType = request.getQuery().getBeanType();
+    List<T> beans = new ArrayList<>(docs.size());
+    for (EmbeddedDoc doc : docs) {
+      beans.add(server.json().toBean(beanType, doc.getJson(), options));
+    }
+    return beans;
+  }
+
+  @Override
+  public <T> T find(DocQueryRequest<T> request) {
+    List<EmbeddedDoc> docs = search(request.getQuery());
+    if (docs.isEmpty()) {
+      return null;
+    }
+    List<T> beans = beans(request, docs.subList(0, 1), request.createJsonReadOptions());
+    request.executeSecondaryQueries(false);
+    return beans.get(0);
+  }
+
+  @Override
+  public <T> List<T> findList(DocQueryRequest<T> request) {
+    SpiQuery<T> query = request.getQuery();
+    List<EmbeddedDoc> docs = page(search(query), query.getFirstRow(), query.getMaxRows());
+    List<T> beans = beans(request, docs, request.createJsonReadOptions());
+    request.executeSecondaryQueries(false);
+    return beans;
+  }
+
+  @Override
+  public <T> PagedList<T> findPagedList(DocQueryRequest<T> request) {
+    SpiQuery<T> query = request.getQuery();
+    List<EmbeddedDoc> docs = search(query);
+    int firstRow = query.getFirstRow();
+    int maxRows = query.getMaxRows();
+    List<T> beans = beans(request, page(docs, firstRow, maxRows), request.createJsonReadOptions());
+    request.executeSecondaryQueries(false);
+    return new EmbeddedPagedList<>(beans, firstRow, maxRows, docs.size());
+  }
+
+  @Override
+  public <T> void findEach(DocQueryRequest<T> request, Consumer<T> consumer) {
+    findEachWhile(request, bean -> {
+      consumer.accept(bean);
+      return true;
+    });
+  }
+
+  @Override
+  public <T> void findEachWhile(DocQueryRequest<T> request, Predicate<T> consumer) {
+    SpiQuery<T> query = request.getQuery();
+    List<EmbeddedDoc> docs = page(search(query), query.getFirstRow(), query.getMaxRows());
+    JsonReadOptions options = request.createJsonReadOptions();
+    for (int start = 0; start < docs.size(); start += FIND_EACH_BATCH) {
+      List<T> beans = beans(request, docs.subList(start, Math.min(docs.size(), start + FIND_EACH_BATCH)), options);
+      request.executeSecondaryQueries(true);
+      for (T bean : beans) {
+        if (!consumer.test(bean)) {
+          return;
+        }
+      }
+    }
+  }
+
+  @Override
+  public <T> void indexByQuery(Query<T> query) {
+    indexByQuery(query, 0);
+  }
+
+  @Override
+  public <T> void indexByQuery(Query<T> query, int bulkBatchSize) {
+
+    SpiQuery<T> spiQuery = (SpiQuery<T>) query;
+    BeanType<T> beanType = spiQuery.getBeanDescriptor();
+    beanType.docStore().applyPath(query);
+
+    long startMillis = System.currentTimeMillis();
+    int batchSize = (bulkBatchSize > 0) ? bulkBatchSize : defaultBatchSize;
+    EmbeddedDocStoreQueryUpdate<T> update = new EmbeddedDocStoreQueryUpdate<>(this, beanType, batchSize, null);
+    query.findEach(bean -> {
+      try {
+        update.store(beanType.getBeanId(bean), bean);
+      } catch (IOException e) {
+        throw new PersistenceException("Error indexing " + beanType.getName(), e);
+      }
+    });
+    try {
+      update.flush();
+    } catch (IOException e) {
+      throw new PersistenceException("Error indexing " + beanType.getName(), e);
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("indexed {} beans of type {} in {} millis", update.getCount(), beanType.getName(), System.currentTimeMillis() - startMillis);
+    }
+  }
+
+  @Override
+  public void indexAll(Class<?> beanType) {
+    indexByQuery(server.find(beanType));
+  }
+
+  @Override
+  public <T> DocStoreIndexProgress indexPartitioned(Query<T> query, DocStoreIndexOptions options) {
+    return new DocStorePartitionedIndexer(new EmbeddedDocStoreUpdateProcessor(this), defaultBatchSize).index(query, options);
+  }
+
+  /**
+   * Process the queue entries reloading the beans to index from the database.
+   */
+  @Override
+  public long process(List<DocStoreQueueEntry> queueEntries) throws IOException {
+
+    EmbeddedDocStoreUpdateContext context = new EmbeddedDocStoreUpdateContext();
+    long count = 0;
+    for (DocStoreQueueEntry entry : queueEntries) {
+      BeanType<?> beanType = server.getBeanTypeForQueueId(entry.getQueueId());
+      if (beanType == null) {
+        logger.warn("No bean type for doc store queueId {}", entry.getQueueId());
+        continue;
+      }
+      switch (entry.getType()) {
+        case INDEX:
+          context.reload(beanType, entry.getBeanId());
+          break;
+        case DELETE:
+          beanType.docStore().deleteById(entry.getBeanId(), context);
+          break;
+        case NESTED:
+          // re-index the documents that embed the changed bean
+          for (Object id : server.find(beanType.getBeanType()).where().eq(entry.getPath(), entry.getBeanId()).findIds()) {
+            context.reload(beanType, id);
+          }
+          break;
+      }
+      count++;
+    }
+    apply(context);
+    return count;
+  }
+
+  @Override
+  public void dropIndex(String indexName) {
+    indexes.drop(indexName);
+  }
+
+  @Override
+  public void createIndex(String indexName, String alias) {
+    indexes.create(indexName, alias);
+  }
+
+  /**
+   * There are no settings for embedded indexes.
+   */
+  @Override
+  public void indexSettings(String indexName, Map<String, Object> settings) {
+    logger.debug("ignoring settings for embedded index {}", indexName);
+  }
+
+  @Override
+  public long copyIndex(Class<?> beanType, String newIndex) {
+    return copy(index(server.getBeanType(beanType)).all(), newIndex);
+  }
+
+  /**
+   * Copy the documents with a when modified value since the given epoch millis.
+   */
+  @Override
+  public long copyIndex(Class<?> beanType, String newIndex, long sinceEpochMillis) {
+    BeanType<?> type = server.getBeanType(beanType);
+    Property whenModified = type.getWhenModifiedProperty();
+    if (whenModified == null) {
+      throw new IllegalStateException("No when modified property on " + type.getName() + " to copy index since a given time");
+    }
+    List<EmbeddedDoc> docs = new ArrayList<>();
+    for (EmbeddedDoc doc : index(type).all()) {
+      Object value = doc.firstValue(whenModified.getName());
+      if (value != null && EmbeddedValues.compare(value, sinceEpochMillis) >= 0) {
+        docs.add(doc);
+      }
+    }
+    return copy(docs, newIndex);
+  }
+
+  /**
+   * Copy the documents matching the doc store query.
+   */
+  @Override
+  public long copyIndex(Query<?> query, String newIndex, int bulkBatchSize) {
+    return copy(search((SpiQuery<?>) query), newIndex);
+  }
+
+  private long copy(List<EmbeddedDoc> docs, String newIndex) {
+    EmbeddedDocStoreUpdateContext context = new EmbeddedDocStoreUpdateContext(newIndex);
+    for (EmbeddedDoc doc : docs) {
+      context.index(newIndex, doc.getId(), doc.getJson());
+    }
+    try {
+      apply(context);
+    } catch (IOException e) {
+      throw new PersistenceException("Error copying to index " + newIndex, e);
+    }
+    return docs.size();
+  }
+}
@@ -0,0 +1,63 @@
+package io.ebeanservice.docstore.embedded;
+
+import io.ebeaninternal.server.core.PersistRequestBean;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.deploy.meta.DeployBeanDescriptor;
+import io.ebeanservice.docstore.api.DocStoreUpdateContext;
+import io.ebeanservice.docstore.api.support.DocStoreBeanBaseAdapter;
+
+import java.io.IOException;
+
+/**
+ * DocStoreBeanAdapter for the embedded document store.
+ * <p>
+ * Beans are written as JSON using the document structure and added to the update context
+ * which is applied to the embedded indexes.
+ * </p>
+ */
+public class EmbeddedDocStoreBeanAdapter<T> extends DocStoreBeanBaseAdapter<T> {
+
+  public EmbeddedDocStoreBeanAdapter(BeanDescriptor<T> desc, DeployBeanDescriptor<T> deploy) {
+    super(desc, deploy);
+  }
+
+  private EmbeddedDocStoreUpdateContext context(DocStoreUpdateContext txn) {
+    return (EmbeddedDocStoreUpdateContext) txn;
+  }
+
+  /**
+   * Return the bean as a JSON document (only loaded properties are included).
+   */
+  private String json(Object bean) {
+    return server.json().toJson(bean, docStructure.doc());
+  }
+
+  @Override
+  public void deleteById(Object idValue, DocStoreUpdateContext txn) throws IOException {
+    context(txn).delete(indexName, idValue);
+  }
+
+  @Override
+  public void index(Object idValue, T entityBean, DocStoreUpdateContext txn) throws IOException {
+    context(txn).index(indexName, idValue, json(entityBean));
+  }
+
+  @Override
+  public void insert(Object idValue, PersistRequestBean<T> persistRequest, DocStoreUpdateContext txn) throws IOException {
+    index(idValue, persistRequest.getBean(), txn);
+  }
+
+  /**
+   * Merge the loaded properties of the updated bean into the existing document.
+   */
+  @Override
+  public void update(Object idValue, PersistRequestBean<T> persistRequest, DocStoreUpdateContext txn) throws IOException {
+    context(txn).merge(indexName, idValue, json(persistRequest.getBean()));
+  }
+
+  @Override
+  public void updateEmbedded(Object idValue, String embeddedProperty, String embeddedRawContent, DocStoreUpdateContext txn) throws IOException {
+    String json = "{\"" + embeddedProperty + "\":" + embeddedRawContent + "}";
+    context(txn).merge(indexName, idValue, json);
+  }
+}
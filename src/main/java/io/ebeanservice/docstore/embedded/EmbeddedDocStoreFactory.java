@@ -0,0 +1,84 @@
+package io.ebeanservice.docstore.embedded;
+
+import io.ebean.DocumentStore;
+import io.ebean.plugin.Plugin;
+import io.ebean.plugin.SpiServer;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.deploy.meta.DeployBeanDescriptor;
+import io.ebeanservice.docstore.api.DocStoreBeanAdapter;
+import io.ebeanservice.docstore.api.DocStoreFactory;
+import io.ebeanservice.docstore.api.DocStoreIntegration;
+import io.ebeanservice.docstore.api.DocStoreUpdateProcessor;
+
+import java.io.File;
+import java.util.Properties;
+
+/**
+ * DocStoreFactory for the embedded (in-process) document store.
+ * <p>
+ * Register via <code>META-INF/services/io.ebeanservice.docstore.api.DocStoreFactory</code>. The
+ * indexes are persisted when a directory is configured, otherwise they are in memory only.
+ * </p>
+ * <pre>
+ *
+ *   ebean.docstore.embedded.directory=/var/data/docstore
+ *
+ * </pre>
+ */
+public class EmbeddedDocStoreFactory implements DocStoreFactory {
+
+  @Override
+  public DocStoreIntegration create(SpiServer server) {
+    Properties properties = server.getServerConfig().getProperties();
+    String directory = (properties == null) ? null : properties.getProperty("ebean.docstore.embedded.directory");
+    return new EmbeddedIntegration(server, directory == null ? null : new File(directory));
+  }
+
+  @Override
+  public <T> DocStoreBeanAdapter<T> createAdapter(BeanDescriptor<T> desc, DeployBeanDescriptor<T> deploy) {
+    return new EmbeddedDocStoreBeanAdapter<>(desc, deploy);
+  }
+
+  /**
+   * The integration components sharing the embedded indexes and closing them on shutdown.
+   */
+  static class EmbeddedIntegration implements DocStoreIntegration, Plugin {
+
+    private final EmbeddedIndexes indexes;
+
+    private final EmbeddedDocStore documentStore;
+
+    private final EmbeddedDocStoreUpdateProcessor updateProcessor;
+
+    EmbeddedIntegration(SpiServer server, File directory) {
+      this.indexes = new EmbeddedIndexes(directory);
+      this.documentStore = new EmbeddedDocStore(server, indexes);
+      this.updateProcessor = new EmbeddedDocStoreUpdateProcessor(documentStore);
+    }
+
+    @Override
+    public DocStoreUpdateProcessor updateProcessor() {
+      return updateProcessor;
+    }
+
+    @Override
+    public DocumentStore documentStore() {
+      return documentStore;
+    }
+
+    @Override
+    public void configure(SpiServer server) {
+      // nothing to do
+    }
+
+    @Override
+    public void online(boolean online) {
+      // nothing to do
+    }
+
+    @Override
+    public void shutdown() {
+      indexes.close();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package io.ebeanservice.docstore.embedded;
+
+import io.ebean.plugin.BeanDocType;
+import io.ebean.plugin.BeanType;
+import io.ebeanservice.docstore.api.DocStoreQueryUpdate;
+
+import java.io.IOException;
+
+/**
+ * Indexes the beans of a query into the embedded index in batches.
+ */
+class EmbeddedDocStoreQueryUpdate<T> implements DocStoreQueryUpdate<T> {
+
+  private final EmbeddedDocStore documentStore;
+
+  private final BeanDocType<T> docType;
+
+  private final int batchSize;
+
+  private final EmbeddedDocStoreUpdateContext context;
+
+  private long count;
+
+  EmbeddedDocStoreQueryUpdate(EmbeddedDocStore documentStore, BeanType<T> beanType, int batchSize, String targetIndex) {
+    this.documentStore = documentStore;
+    this.docType = beanType.docStore();
+    this.batchSize = batchSize;
+    this.context = new EmbeddedDocStoreUpdateContext(targetIndex);
+  }
+
+  @Override
+  public void store(Object idValue, T bean) throws IOException {
+    docType.index(idValue, bean, context);
+    count++;
+    if (context.size() >= batchSize) {
+      documentStore.apply(context);
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    documentStore.apply(context);
+  }
+
+  /**
+   * Return the number of beans stored.
+   */
+  long getCount() {
+    return count;
+  }
+}
@@ -0,0 +1,40 @@
+package io.ebeanservice.docstore.embedded;
+
+import io.ebeanservice.docstore.api.DocStoreTransaction;
+import io.ebeanservice.docstore.api.DocStoreUpdateContext;
+import io.ebeanservice.docstore.api.DocStoreUpdates;
+
+/**
+ * DocStoreTransaction for the embedded document store.
+ */
+class EmbeddedDocStoreTransaction implements DocStoreTransaction {
+
+  private final EmbeddedDocStoreUpdateProcessor processor;
+
+  private final EmbeddedDocStoreUpdateContext context = new EmbeddedDocStoreUpdateContext();
+
+  private DocStoreUpdates queue;
+
+  EmbeddedDocStoreTransaction(EmbeddedDocStoreUpdateProcessor processor) {
+    this.processor = processor;
+  }
+
+  @Override
+  public DocStoreUpdateContext obtain() {
+    return context;
+  }
+
+  @Override
+  public DocStoreUpdates queue() {
+    if (queue == null) {
+      queue = new DocStoreUpdates();
+    }
+    return queue;
+  }
+
+  @Override
+  public void flush() {
+    processor.flush(context, queue);
+    queue = null;
+  }
+}
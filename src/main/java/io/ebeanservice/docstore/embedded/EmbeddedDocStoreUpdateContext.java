@@ -0,0 +1,155 @@
+package io.ebeanservice.docstore.embedded;
+
+import io.ebean.plugin.BeanType;
+import io.ebeanservice.docstore.api.DocStoreUpdateContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the index, merge and delete operations to apply to the embedded indexes.
+ */
+public class EmbeddedDocStoreUpdateContext implements DocStoreUpdateContext {
+
+  /**
+   * The type of operation on a document.
+   */
+  enum Type {
+
+    /**
+     * Index (replace) the whole document.
+     */
+    INDEX,
+
+    /**
+     * Merge the partial document into the existing document.
+     */
+    MERGE,
+
+    /**
+     * Delete the document.
+     */
+    DELETE
+  }
+
+  /**
+   * An operation on a document.
+   */
+  static final class Entry {
+
+    final Type type;
+    final String indexName;
+    final String id;
+    final String json;
+
+    Entry(Type type, String indexName, String id, String json) {
+      this.type = type;
+      this.indexName = indexName;
+      this.id = id;
+      this.json = json;
+    }
+  }
+
+  private final String targetIndex;
+
+  private final List<Entry> entries = new ArrayList<>();
+
+  private final Map<BeanType<?>, Set<Object>> reload = new LinkedHashMap<>();
+
+  /**
+   * Create with the operations applied to the index of each bean type.
+   */
+  public EmbeddedDocStoreUpdateContext() {
+    this(null);
+  }
+
+  /**
+   * Create with all the operations applied to the given target index (e.g. copy index).
+   */
+  public EmbeddedDocStoreUpdateContext(String targetIndex) {
+    this.targetIndex = targetIndex;
+  }
+
+  private String indexName(String indexName) {
+    return targetIndex != null ? targetIndex : indexName;
+  }
+
+  /**
+   * Index the document replacing any existing document.
+   */
+  public void index(String indexName, Object idValue, String json) {
+    entries.add(new Entry(Type.INDEX, indexName(indexName), key(idValue), json));
+  }
+
+  /**
+   * Merge the partial document into the existing document.
+   */
+  public void merge(String indexName, Object idValue, String json) {
+    entries.add(new Entry(Type.MERGE, indexName(indexName), key(idValue), json));
+  }
+
+  /**
+   * Delete the document.
+   */
+  public void delete(String indexName, Object idValue) {
+    entries.add(new Entry(Type.DELETE, indexName(indexName), key(idValue), null));
+  }
+
+  /**
+   * Reload the bean from the database and index it (deleting the document if the bean no longer exists).
+   */
+  public void reload(BeanType<?> beanType, Object idValue) {
+    reload.computeIfAbsent(beanType, k -> new LinkedHashSet<>()).add(idValue);
+  }
+
+  /**
+   * Return the number of pending operations.
+   */
+  public int size() {
+    int count = entries.size();
+    for (Set<Object> ids : reload.values()) {
+      count += ids.size();
+    }
+    return count;
+  }
+
+  /**
+   * Return true if there are no pending operations.
+   */
+  public boolean isEmpty() {
+    return entries.isEmpty() && reload.isEmpty();
+  }
+
+  /**
+   * Return the pending operations.
+   */
+  List<Entry> entries() {
+    return entries;
+  }
+
+  /**
+   * Return the beans to reload by bean type.
+   */
+  Map<BeanType<?>, Set<Object>> reload() {
+    return reload;
+  }
+
+  /**
+   * Clear the pending operations.
+   */
+  void clear() {
+    entries.clear();
+    reload.clear();
+  }
+
+  /**
+   * Return the document key for the given id value.
+   */
+  static String key(Object idValue) {
+    return String.valueOf(idValue);
+  }
+}
@@ -0,0 +1,83 @@
+package io.ebeanservice.docstore.embedded;
+
+import io.ebean.DocStoreQueueEntry;
+import io.ebean.plugin.BeanType;
+import io.ebeanservice.docstore.api.DocStoreQueryUpdate;
+import io.ebeanservice.docstore.api.DocStoreTransaction;
+import io.ebeanservice.docstore.api.DocStoreUpdate;
+import io.ebeanservice.docstore.api.DocStoreUpdateProcessor;
+import io.ebeanservice.docstore.api.DocStoreUpdates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the persist, delete and nested updates to the embedded indexes.
+ * <p>
+ * Queued entries are processed immediately as there is no separate queue for an in-process
+ * document store.
+ * </p>
+ */
+class EmbeddedDocStoreUpdateProcessor implements DocStoreUpdateProcessor {
+
+  private static final Logger logger = LoggerFactory.getLogger(EmbeddedDocStoreUpdateProcessor.class);
+
+  private final EmbeddedDocStore documentStore;
+
+  EmbeddedDocStoreUpdateProcessor(EmbeddedDocStore documentStore) {
+    this.documentStore = documentStore;
+  }
+
+  @Override
+  public <T> DocStoreQueryUpdate<T> createQueryUpdate(BeanType<T> beanType, int bulkBatchSize) throws IOException {
+    return new EmbeddedDocStoreQueryUpdate<>(documentStore, beanType, bulkBatchSize, null);
+  }
+
+  @Override
+  public void process(DocStoreUpdates docStoreUpdates, int bulkBatchSize) {
+
+    EmbeddedDocStoreUpdateContext context = new EmbeddedDocStoreUpdateContext();
+    try {
+      for (DocStoreUpdate persistEvent : docStoreUpdates.getPersistEvents()) {
+        persistEvent.docStoreUpdate(context);
+      }
+      for (DocStoreUpdate deleteEvent : docStoreUpdates.getDeleteEvents()) {
+        deleteEvent.docStoreUpdate(context);
+      }
+    } catch (IOException e) {
+      logger.error("Error processing doc store updates", e);
+    }
+    flush(context, docStoreUpdates);
+  }
+
+  /**
+   * Apply the update context and then process the nested and queued entries.
+   */
+  void flush(EmbeddedDocStoreUpdateContext context, DocStoreUpdates docStoreUpdates) {
+    try {
+      documentStore.apply(context);
+      if (docStoreUpdates != null) {
+        List<DocStoreQueueEntry> entries = new ArrayList<>(docStoreUpdates.getNestedEvents());
+        entries.addAll(docStoreUpdates.getQueueEntries());
+        if (!entries.isEmpty()) {
+          documentStore.process(entries);
+        }
+      }
+    } catch (Exception e) {
+      logger.error("Error applying updates to the embedded doc store", e);
+    }
+  }
+
+  @Override
+  public DocStoreTransaction createTransaction(int batchSize) {
+    return new EmbeddedDocStoreTransaction(this);
+  }
+
+  @Override
+  public void commit(DocStoreTransaction docStoreTransaction) {
+    docStoreTransaction.flush();
+  }
+}
@@ -0,0 +1,466 @@
+package io.ebeanservice.docstore.embedded;
+
+import io.ebean.text.json.EJson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory document index with an inverted index of the analysed tokens per field.
+ * <p>
+ * When a directory is supplied the index is persisted to a segment file of index and
+ * delete records that is replayed on startup and compacted when it contains more dead
+ * records than live documents.
+ * </p>
+ */
+public class EmbeddedIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(EmbeddedIndex.class);
+
+  static final String SEGMENT_SUFFIX = ".seg";
+
+  private static final char INDEX = 'I';
+
+  private static final char DELETE = 'D';
+
+  private static final int MIN_COMPACT = 1000;
+
+  private final String name;
+
+  private final File file;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<String, EmbeddedDoc> docs = new LinkedHashMap<>();
+
+  private final Map<String, TreeMap<String, Set<String>>> postings = new HashMap<>();
+
+  private Writer writer;
+
+  private int deadCount;
+
+  /**
+   * Create the index (in memory only when the directory is null).
+   */
+  public EmbeddedIndex(String name, File directory) {
+    this.name = name;
+    this.file = (directory == null) ? null : new File(directory, name + SEGMENT_SUFFIX);
+  }
+
+  /**
+   * Return the index name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Load the documents from the segment file.
+   */
+  void load() throws IOException {
+    if (file == null || !file.exists()) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      int lineCount = 0;
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          lineCount++;
+          replay(line);
+        }
+      }
+      deadCount = lineCount - docs.size();
+      if (deadCount > docs.size() && deadCount > MIN_COMPACT) {
+        compact();
+      }
+      logger.debug("loaded embedded index {} documents:{} records:{}", name, docs.size(), lineCount);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void replay(String line) throws IOException {
+    if (line.isEmpty()) {
+      return;
+    }
+    int tab = line.indexOf('\t', 2);
+    if (line.charAt(0) == INDEX && tab > 0) {
+      String id = unescapeId(line.substring(2, tab));
+      put(EmbeddedDoc.of(id, line.substring(tab + 1)));
+    } else if (line.charAt(0) == DELETE) {
+      remove(unescapeId(line.substring(2)));
+    } else {
+      logger.warn("ignoring invalid record in embedded index {}", name);
+    }
+  }
+
+  /**
+   * Apply the operations to the index (and segment file).
+   */
+  void apply(List<EmbeddedDocStoreUpdateContext.Entry> entries) throws IOException {
+    lock.writeLock().lock();
+    try {
+      for (EmbeddedDocStoreUpdateContext.Entry entry : entries) {
+        switch (entry.type) {
+          case INDEX:
+            write(put(EmbeddedDoc.of(entry.id, entry.json)));
+            break;
+          case MERGE:
+            write(put(merge(entry.id, entry.json)));
+            break;
+          case DELETE:
+            if (remove(entry.id) != null) {
+              write(entry.id);
+            }
+            break;
+        }
+      }
+      if (writer != null) {
+        writer.flush();
+        if (deadCount > docs.size() && deadCount > MIN_COMPACT) {
+          compact();
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Merge the partial document into the existing document.
+   */
+  private EmbeddedDoc merge(String id, String json) throws IOException {
+    EmbeddedDoc existing = docs.get(id);
+    if (existing == null) {
+      return EmbeddedDoc.of(id, json);
+    }
+    Map<String, Object> source = EJson.parseObject(existing.getJson());
+    mergeInto(source, EJson.parseObject(json));
+    return EmbeddedDoc.of(id, source);
+  }
+
+  /**
+   * Deep merge maps (unless the embedded document has a different id) replacing other values.
+   */
+  @SuppressWarnings("unchecked")
+  static void mergeInto(Map<String, Object> target, Map<String, Object> partial) {
+    for (Map.Entry<String, Object> entry : partial.entrySet()) {
+      Object value = entry.getValue();
+      Object current = target.get(entry.getKey());
+      if (value instanceof Map && current instanceof Map) {
+        Map<String, Object> currentMap = (Map<String, Object>) current;
+        Map<String, Object> valueMap = (Map<String, Object>) value;
+        Object id = valueMap.get("id");
+        if (id == null || id.equals(currentMap.get("id"))) {
+          mergeInto(currentMap, valueMap);
+          continue;
+        }
+      }
+      target.put(entry.getKey(), value);
+    }
+  }
+
+  private EmbeddedDoc put(EmbeddedDoc doc) {
+    EmbeddedDoc previous = docs.put(doc.getId(), doc);
+    if (previous != null) {
+      removePostings(previous);
+      deadCount++;
+    }
+    for (Map.Entry<String, List<String>> entry : doc.getTokens().entrySet()) {
+      TreeMap<String, Set<String>> fieldPostings = postings.computeIfAbsent(entry.getKey(), k -> new TreeMap<>());
+      for (String token : entry.getValue()) {
+        if (!token.isEmpty()) {
+          fieldPostings.computeIfAbsent(token, k -> new HashSet<>()).add(doc.getId());
+        }
+      }
+    }
+    return doc;
+  }
+
+  private EmbeddedDoc remove(String id) {
+    EmbeddedDoc previous = docs.remove(id);
+    if (previous != null) {
+      removePostings(previous);
+      // the index record and the delete record are both dead
+      deadCount += 2;
+    }
+    return previous;
+  }
+
+  private void removePostings(EmbeddedDoc doc) {
+    for (Map.Entry<String, List<String>> entry : doc.getTokens().entrySet()) {
+      TreeMap<String, Set<String>> fieldPostings = postings.get(entry.getKey());
+      if (fieldPostings != null) {
+        for (String token : entry.getValue()) {
+          Set<String> ids = fieldPostings.get(token);
+          if (ids != null) {
+            ids.remove(doc.getId());
+            if (ids.isEmpty()) {
+              fieldPostings.remove(token);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private Writer writer() throws IOException {
+    if (writer == null) {
+      writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+    }
+    return writer;
+  }
+
+  private void write(EmbeddedDoc doc) throws IOException {
+    if (file != null) {
+      writeIndex(writer(), doc);
+    }
+  }
+
+  private void write(String deletedId) throws IOException {
+    if (file != null) {
+      writer().append(DELETE).append('\t').append(escapeId(deletedId)).append('\n');
+    }
+  }
+
+  private void writeIndex(Writer out, EmbeddedDoc doc) throws IOException {
+    // the json is written compact by Jackson so has no raw tab or newline characters
+    out.append(INDEX).append('\t').append(escapeId(doc.getId())).append('\t').append(doc.getJson()).append('\n');
+  }
+
+  /**
+   * Escape the backslash, tab and line break characters of the id for the segment record.
+   */
+  static String escapeId(String id) {
+    StringBuilder sb = null;
+    for (int i = 0; i < id.length(); i++) {
+      char ch = id.charAt(i);
+      String escaped;
+      switch (ch) {
+        case '\\':
+          escaped = "\\\\";
+          break;
+        case '\t':
+          escaped = "\\t";
+          break;
+        case '\n':
+          escaped = "\\n";
+          break;
+        case '\r':
+          escaped = "\\r";
+          break;
+        default:
+          escaped = null;
+      }
+      if (escaped != null && sb == null) {
+        sb = new StringBuilder(id.length() + 8).append(id, 0, i);
+      }
+      if (sb != null) {
+        if (escaped != null) {
+          sb.append(escaped);
+        } else {
+          sb.append(ch);
+        }
+      }
+    }
+    return sb == null ? id : sb.toString();
+  }
+
+  /**
+   * Reverse escapeId().
+   */
+  static String unescapeId(String value) {
+    if (value.indexOf('\\') == -1) {
+      return value;
+    }
+    StringBuilder sb = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      if (ch == '\\' && i + 1 < value.length()) {
+        char next = value.charAt(++i);
+        switch (next) {
+          case 't':
+            sb.append('\t');
+            break;
+          case 'n':
+            sb.append('\n');
+            break;
+          case 'r':
+            sb.append('\r');
+            break;
+          default:
+            sb.append(next);
+        }
+      } else {
+        sb.append(ch);
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Rewrite the segment file with just the live documents.
+   */
+  private void compact() throws IOException {
+    close();
+    File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+    try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8))) {
+      for (EmbeddedDoc doc : docs.values()) {
+        writeIndex(out, doc);
+      }
+    }
+    Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    logger.debug("compacted embedded index {} removing {} dead records", name, deadCount);
+    deadCount = 0;
+  }
+
+  /**
+   * Return the documents matching the matcher.
+   */
+  List<EmbeddedDoc> search(EmbeddedMatcher matcher) {
+    lock.readLock().lock();
+    try {
+      Set<String> candidates = matcher.candidates(this);
+      List<EmbeddedDoc> result = new ArrayList<>();
+      if (candidates == null) {
+        for (EmbeddedDoc doc : docs.values()) {
+          if (matcher.matches(doc)) {
+            result.add(doc);
+          }
+        }
+      } else {
+        for (String id : candidates) {
+          EmbeddedDoc doc = docs.get(id);
+          if (doc != null && matcher.matches(doc)) {
+            result.add(doc);
+          }
+        }
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Return all the documents (in index order).
+   */
+  List<EmbeddedDoc> all() {
+    lock.readLock().lock();
+    try {
+      return new ArrayList<>(docs.values());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Return the document for the given id (or null).
+   */
+  EmbeddedDoc get(String id) {
+    lock.readLock().lock();
+    try {
+      return docs.get(id);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Return the number of documents in the index.
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return docs.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Return the ids of the documents containing the token in the field (called holding the read lock).
+   */
+  Set<String> termIds(String field, String token) {
+    TreeMap<String, Set<String>> fieldPostings = postings.get(EmbeddedDoc.field(field));
+    if (fieldPostings == null) {
+      return Collections.emptySet();
+    }
+    Set<String> ids = fieldPostings.get(token);
+    return ids == null ? Collections.emptySet() : ids;
+  }
+
+  /**
+   * Return the ids of the documents containing a token starting with the prefix (called holding the read lock).
+   */
+  Set<String> prefixIds(String field, String prefix) {
+    TreeMap<String, Set<String>> fieldPostings = postings.get(EmbeddedDoc.field(field));
+    if (fieldPostings == null) {
+      return Collections.emptySet();
+    }
+    SortedMap<String, Set<String>> range = fieldPostings.subMap(prefix, prefix + Character.MAX_VALUE);
+    Set<String> ids = new HashSet<>();
+    for (Set<String> tokenIds : range.values()) {
+      ids.addAll(tokenIds);
+    }
+    return ids;
+  }
+
+  /**
+   * Remove all the documents and delete the segment file.
+   */
+  void drop() throws IOException {
+    lock.writeLock().lock();
+    try {
+      close();
+      docs.clear();
+      postings.clear();
+      deadCount = 0;
+      if (file != null) {
+        Files.deleteIfExists(file.toPath());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Close the segment file.
+   */
+  void close() throws IOException {
+    lock.writeLock().lock();
+    try {
+      if (writer != null) {
+        writer.close();
+        writer = null;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package io.ebeanservice.docstore.embedded;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.PersistenceException;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The embedded indexes by index name (with optional aliases).
+ */
+class EmbeddedIndexes {
+
+  private static final Logger logger = LoggerFactory.getLogger(EmbeddedIndexes.class);
+
+  private final File directory;
+
+  private final ConcurrentHashMap<String, EmbeddedIndex> indexes = new ConcurrentHashMap<>();
+
+  private final ConcurrentHashMap<String, String> aliases = new ConcurrentHashMap<>();
+
+  /**
+   * Create with the directory segment files are persisted to (null for in memory only).
+   */
+  EmbeddedIndexes(File directory) {
+    this.directory = directory;
+    if (directory != null && !directory.exists() && !directory.mkdirs()) {
+      throw new PersistenceException("Unable to create embedded doc store directory " + directory);
+    }
+  }
+
+  /**
+   * Return the index for the given name or alias (creating it if needed).
+   */
+  EmbeddedIndex get(String name) {
+    String indexName = aliases.getOrDefault(name, name);
+    return indexes.computeIfAbsent(indexName, this::open);
+  }
+
+  private EmbeddedIndex open(String name) {
+    EmbeddedIndex index = new EmbeddedIndex(name, directory);
+    try {
+      index.load();
+    } catch (IOException e) {
+      throw new PersistenceException("Error loading embedded index " + name, e);
+    }
+    return index;
+  }
+
+  /**
+   * Create the index registering the alias if supplied.
+   */
+  void create(String name, String alias) {
+    get(name);
+    if (alias != null) {
+      aliases.put(alias, name);
+    }
+  }
+
+  /**
+   * Drop the index removing its segment file.
+   */
+  void drop(String name) {
+    EmbeddedIndex index = indexes.remove(aliases.getOrDefault(name, name));
+    if (index == null && directory != null) {
+      // not loaded but may exist on disk
+      index = new EmbeddedIndex(name, directory);
+    }
+    if (index != null) {
+      try {
+        index.drop();
+      } catch (IOException e) {
+        throw new PersistenceException("Error dropping embedded index " + name, e);
+      }
+    }
+    aliases.values().remove(name);
+  }
+
+  /**
+   * Close the segment files.
+   */
+  void close() {
+    for (EmbeddedIndex index : indexes.values()) {
+      try {
+        index.close();
+      } catch (IOException e) {
+        logger.error("Error closing embedded index " + index.getName(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package io.ebeanservice.docstore.embedded;
+
+import java.util.Set;
+
+/**
+ * Matches documents of an embedded index.
+ */
+interface EmbeddedMatcher {
+
+  /**
+   * Return true if the document matches.
+   */
+  boolean matches(EmbeddedDoc doc);
+
+  /**
+   * Return the ids of the candidate documents using the inverted index or null if all documents
+   * need to be checked.
+   * <p>
+   * This is called holding the index read lock.
+   * </p>
+   */
+  default Set<String> candidates(EmbeddedIndex index) {
+    return null;
+  }
+}
@@ -0,0 +1,388 @@
+package io.ebeanservice.docstore.embedded;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The matchers used to evaluate doc store queries against an embedded index.
+ */
+final class EmbeddedMatchers {
+
+  private EmbeddedMatchers() {
+  }
+
+  /**
+   * The way the children of a junction are combined.
+   */
+  enum JunctionType {
+
+    /**
+     * All the children must match.
+     */
+    ALL,
+
+    /**
+     * At least one child must match (or there are no children).
+     */
+    ANY,
+
+    /**
+     * None of the children can match (bool must not).
+     */
+    NONE,
+
+    /**
+     * Not all the children match (SQL not of a conjunction).
+     */
+    NOT_ALL
+  }
+
+  /**
+   * A matcher that contains other matchers.
+   */
+  interface Container {
+
+    /**
+     * Add a child matcher.
+     */
+    void add(EmbeddedMatcher matcher);
+  }
+
+  /**
+   * Combine child matchers with and, or or not.
+   */
+  static final class Junction implements EmbeddedMatcher, Container {
+
+    private final JunctionType type;
+
+    private final List<EmbeddedMatcher> children = new ArrayList<>();
+
+    Junction(JunctionType type) {
+      this.type = type;
+    }
+
+    @Override
+    public void add(EmbeddedMatcher matcher) {
+      children.add(matcher);
+    }
+
+    @Override
+    public boolean matches(EmbeddedDoc doc) {
+      switch (type) {
+        case ALL:
+          return all(doc);
+        case ANY:
+          return children.isEmpty() || any(doc);
+        case NONE:
+          return !any(doc);
+        default:
+          return !all(doc);
+      }
+    }
+
+    private boolean all(EmbeddedDoc doc) {
+      for (EmbeddedMatcher child : children) {
+        if (!child.matches(doc)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean any(EmbeddedDoc doc) {
+      for (EmbeddedMatcher child : children) {
+        if (child.matches(doc)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public Set<String> candidates(EmbeddedIndex index) {
+      switch (type) {
+        case ALL:
+          return intersect(children, index);
+        case ANY:
+          return children.isEmpty() ? null : union(children, index);
+        default:
+          return null;
+      }
+    }
+  }
+
+  /**
+   * Bool query with must, should and must not clauses.
+   * <p>
+   * The should clauses are optional when there are must clauses and otherwise at least
+   * one should clause must match.
+   * </p>
+   */
+  static final class BoolGroup implements EmbeddedMatcher {
+
+    private final List<EmbeddedMatcher> must = new ArrayList<>();
+
+    private final List<EmbeddedMatcher> mustNot = new ArrayList<>();
+
+    private final List<EmbeddedMatcher> should = new ArrayList<>();
+
+    /**
+     * Return the container used to add clauses of the given type.
+     */
+    Container clauses(JunctionType type) {
+      switch (type) {
+        case ALL:
+          return must::add;
+        case NONE:
+          return mustNot::add;
+        default:
+          return should::add;
+      }
+    }
+
+    @Override
+    public boolean matches(EmbeddedDoc doc) {
+      for (EmbeddedMatcher matcher : must) {
+        if (!matcher.matches(doc)) {
+          return false;
+        }
+      }
+      for (EmbeddedMatcher matcher : mustNot) {
+        if (matcher.matches(doc)) {
+          return false;
+        }
+      }
+      if (must.isEmpty() && !should.isEmpty()) {
+        for (EmbeddedMatcher matcher : should) {
+          if (matcher.matches(doc)) {
+            return true;
+          }
+        }
+        return false;
+      }
+      return true;
+    }
+
+    @Override
+    public Set<String> candidates(EmbeddedIndex index) {
+      if (!must.isEmpty()) {
+        return intersect(must, index);
+      }
+      return should.isEmpty() ? null : union(should, index);
+    }
+  }
+
+  /**
+   * Matches when any value at the path satisfies the predicate.
+   */
+  static final class ValueMatch implements EmbeddedMatcher {
+
+    private final String path;
+
+    private final Predicate<Object> predicate;
+
+    ValueMatch(String path, Predicate<Object> predicate) {
+      this.path = path;
+      this.predicate = predicate;
+    }
+
+    @Override
+    public boolean matches(EmbeddedDoc doc) {
+      for (Object value : doc.values(path)) {
+        if (predicate.test(value)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Matches documents by id.
+   */
+  static final class Ids implements EmbeddedMatcher {
+
+    private final Set<String> ids = new HashSet<>();
+
+    Ids(List<?> idValues) {
+      for (Object idValue : idValues) {
+        ids.add(EmbeddedDocStoreUpdateContext.key(idValue));
+      }
+    }
+
+    @Override
+    public boolean matches(EmbeddedDoc doc) {
+      return ids.contains(doc.getId());
+    }
+
+    @Override
+    public Set<String> candidates(EmbeddedIndex index) {
+      return ids;
+    }
+  }
+
+  /**
+   * Matches analysed terms in any of the fields with and/or operator.
+   */
+  static final class Terms implements EmbeddedMatcher {
+
+    private final String[] fields;
+
+    private final List<String> terms;
+
+    private final boolean operatorAnd;
+
+    private final boolean prefixLast;
+
+    Terms(String[] fields, List<String> terms, boolean operatorAnd, boolean prefixLast) {
+      this.fields = fields;
+      this.terms = terms;
+      this.operatorAnd = operatorAnd;
+      this.prefixLast = prefixLast;
+    }
+
+    private boolean prefix(int pos) {
+      return prefixLast && pos == terms.size() - 1;
+    }
+
+    @Override
+    public boolean matches(EmbeddedDoc doc) {
+      if (terms.isEmpty()) {
+        return false;
+      }
+      for (int i = 0; i < terms.size(); i++) {
+        boolean found = contains(doc, terms.get(i), prefix(i));
+        if (found && !operatorAnd) {
+          return true;
+        }
+        if (!found && operatorAnd) {
+          return false;
+        }
+      }
+      return operatorAnd;
+    }
+
+    private boolean contains(EmbeddedDoc doc, String term, boolean prefix) {
+      for (String field : fields) {
+        for (String token : doc.tokens(field)) {
+          if (prefix ? token.startsWith(term) : token.equals(term)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public Set<String> candidates(EmbeddedIndex index) {
+      Set<String> result = null;
+      for (int i = 0; i < terms.size(); i++) {
+        Set<String> ids = new HashSet<>();
+        for (String field : fields) {
+          ids.addAll(prefix(i) ? index.prefixIds(field, terms.get(i)) : index.termIds(field, terms.get(i)));
+        }
+        if (result == null) {
+          result = ids;
+        } else if (operatorAnd) {
+          result.retainAll(ids);
+        } else {
+          result.addAll(ids);
+        }
+      }
+      return result == null ? new HashSet<>() : result;
+    }
+  }
+
+  /**
+   * Matches the terms in sequence in any of the fields.
+   */
+  static final class Phrase implements EmbeddedMatcher {
+
+    private final String[] fields;
+
+    private final List<String> terms;
+
+    private final boolean prefixLast;
+
+    private final Terms allTerms;
+
+    Phrase(String[] fields, List<String> terms, boolean prefixLast) {
+      this.fields = fields;
+      this.terms = terms;
+      this.prefixLast = prefixLast;
+      this.allTerms = new Terms(fields, terms, true, prefixLast);
+    }
+
+    @Override
+    public boolean matches(EmbeddedDoc doc) {
+      if (terms.isEmpty()) {
+        return false;
+      }
+      for (String field : fields) {
+        if (containsPhrase(doc.tokens(field))) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean containsPhrase(List<String> tokens) {
+      int last = terms.size() - 1;
+      for (int start = 0; start + last < tokens.size(); start++) {
+        int i = 0;
+        for (; i <= last; i++) {
+          String token = tokens.get(start + i);
+          boolean match = (prefixLast && i == last) ? token.startsWith(terms.get(i)) : token.equals(terms.get(i));
+          if (!match) {
+            break;
+          }
+        }
+        if (i > last) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public Set<String> candidates(EmbeddedIndex index) {
+      return allTerms.candidates(index);
+    }
+  }
+
+  /**
+   * Return the intersection of the candidates (null when none of the matchers have candidates).
+   */
+  static Set<String> intersect(List<EmbeddedMatcher> matchers, EmbeddedIndex index) {
+    Set<String> result = null;
+    for (EmbeddedMatcher matcher : matchers) {
+      Set<String> ids = matcher.candidates(index);
+      if (ids != null) {
+        if (result == null) {
+          result = new HashSet<>(ids);
+        } else {
+          result.retainAll(ids);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Return the union of the candidates (null when any of the matchers do not have candidates).
+   */
+  static Set<String> union(List<EmbeddedMatcher> matchers, EmbeddedIndex index) {
+    Set<String> result = new HashSet<>();
+    for (EmbeddedMatcher matcher : matchers) {
+      Set<String> ids = matcher.candidates(index);
+      if (ids == null) {
+        return null;
+      }
+      result.addAll(ids);
+    }
+    return result;
+  }
+}
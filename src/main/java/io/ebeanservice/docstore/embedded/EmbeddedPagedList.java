@@ -0,0 +1,83 @@
+package io.ebeanservice.docstore.embedded;
+
+import io.ebean.PagedList;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * PagedList for the embedded document store where the total count is known with the page.
+ */
+class EmbeddedPagedList<T> implements PagedList<T> {
+
+  private final List<T> list;
+
+  private final int firstRow;
+
+  private final int maxRows;
+
+  private final int totalCount;
+
+  EmbeddedPagedList(List<T> list, int firstRow, int maxRows, int totalCount) {
+    this.list = list;
+    this.firstRow = firstRow;
+    this.maxRows = maxRows;
+    this.totalCount = totalCount;
+  }
+
+  @Override
+  public void loadCount() {
+    // total count already known
+  }
+
+  @Override
+  public Future<Integer> getFutureCount() {
+    return CompletableFuture.completedFuture(totalCount);
+  }
+
+  @Override
+  public List<T> getList() {
+    return list;
+  }
+
+  @Override
+  public int getTotalCount() {
+    return totalCount;
+  }
+
+  @Override
+  public int getTotalPageCount() {
+    if (totalCount == 0 || maxRows <= 0) {
+      return totalCount == 0 ? 0 : 1;
+    }
+    return ((totalCount - 1) / maxRows) + 1;
+  }
+
+  @Override
+  public int getPageSize() {
+    return maxRows;
+  }
+
+  @Override
+  public int getPageIndex() {
+    return (maxRows <= 0) ? 0 : firstRow / maxRows;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return maxRows > 0 && (firstRow + maxRows) < totalCount;
+  }
+
+  @Override
+  public boolean hasPrev() {
+    return firstRow > 0;
+  }
+
+  @Override
+  public String getDisplayXtoYofZ(String to, String of) {
+    int first = firstRow + 1;
+    int last = firstRow + list.size();
+    return first + to + last + of + totalCount;
+  }
+}
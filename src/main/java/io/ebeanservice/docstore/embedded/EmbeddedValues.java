@@ -0,0 +1,86 @@
+package io.ebeanservice.docstore.embedded;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Compares the values of documents (as parsed from JSON) with query values.
+ */
+final class EmbeddedValues {
+
+  private EmbeddedValues() {
+  }
+
+  /**
+   * Return the value in the form used by the JSON document.
+   */
+  static Object normalise(Object value) {
+    if (value == null || value instanceof Number || value instanceof Boolean || value instanceof String) {
+      return value;
+    }
+    if (value instanceof Date) {
+      return ((Date) value).getTime();
+    }
+    if (value instanceof Calendar) {
+      return ((Calendar) value).getTimeInMillis();
+    }
+    if (value instanceof Instant) {
+      return ((Instant) value).toEpochMilli();
+    }
+    if (value instanceof Enum) {
+      return ((Enum<?>) value).name();
+    }
+    return value.toString();
+  }
+
+  /**
+   * Return true if the document value equals the query value.
+   */
+  static boolean equal(Object docValue, Object queryValue) {
+    return compare(docValue, queryValue) == 0;
+  }
+
+  /**
+   * Compare the document value with the (normalised) query value.
+   */
+  static int compare(Object docValue, Object queryValue) {
+    if (docValue instanceof Number && queryValue instanceof Number) {
+      return decimal((Number) docValue).compareTo(decimal((Number) queryValue));
+    }
+    if (docValue instanceof String && queryValue instanceof Number) {
+      BigDecimal docNumber = parse((String) docValue);
+      if (docNumber != null) {
+        return docNumber.compareTo(decimal((Number) queryValue));
+      }
+    }
+    if (docValue instanceof Number && queryValue instanceof String) {
+      BigDecimal queryNumber = parse((String) queryValue);
+      if (queryNumber != null) {
+        return decimal((Number) docValue).compareTo(queryNumber);
+      }
+    }
+    return docValue.toString().compareTo(queryValue.toString());
+  }
+
+  private static BigDecimal decimal(Number number) {
+    return (number instanceof BigDecimal) ? (BigDecimal) number : new BigDecimal(number.toString());
+  }
+
+  /**
+   * Parse the value as a number or ISO-8601 timestamp (in epoch millis) returning null if not either.
+   */
+  private static BigDecimal parse(String value) {
+    try {
+      return new BigDecimal(value);
+    } catch (NumberFormatException e) {
+      try {
+        return BigDecimal.valueOf(Instant.parse(value).toEpochMilli());
+      } catch (DateTimeParseException e1) {
+        return null;
+      }
+    }
+  }
+}
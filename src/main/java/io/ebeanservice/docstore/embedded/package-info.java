@@ -0,0 +1,13 @@
+/**
+ * Embedded (in-process) implementation of document store.
+ * <p>
+ * Documents are held in memory with an inverted index per index name supporting the text
+ * expressions (match, multi match, simple text and query string) and the usual where expressions.
+ * Indexes are optionally persisted to a local directory as append only segment files.
+ * </p>
+ * <p>
+ * This is intended for testing the document store features without a network document store
+ * and for offloading modest text search queries from the database.
+ * </p>
+ */
+package io.ebeanservice.docstore.embedded;
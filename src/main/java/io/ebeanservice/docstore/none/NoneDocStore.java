@@ -1,5 +1,7 @@
 package io.ebeanservice.docstore.none;
 
+import io.ebean.DocStoreIndexOptions;
+import io.ebean.DocStoreIndexProgress;
 import io.ebean.DocStoreQueueEntry;
 import io.ebean.DocumentStore;
 import io.ebean.PagedList;
@@ -41,6 +43,11 @@ public class NoneDocStore implements DocumentStore {
     throw implementationNotInClassPath();
   }
 
+  @Override
+  public <T> DocStoreIndexProgress indexPartitioned(Query<T> query, DocStoreIndexOptions options) {
+    throw implementationNotInClassPath();
+  }
+
   @Override
   public long copyIndex(Class<?> beanType, String newIndex) {
     throw implementationNotInClassPath();
@@ -5,6 +5,7 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -277,4 +278,85 @@ public class BeanListTest {
     }
   }
 
+  @Test
+  public void internalAddWithCheck_when_large() {
+
+    List<Object> beans = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      beans.add(new Object());
+    }
+
+    BeanList<Object> list = new BeanList<>();
+    for (Object bean : beans) {
+      list.internalAddWithCheck(bean);
+      // duplicate rows (e.g. from a join to another many) are not added again
+      list.internalAddWithCheck(bean);
+    }
+    assertThat(list.getActualList()).hasSize(20000);
+    assertThat(list.getActualList()).isEqualTo(beans);
+
+    // modified outside of loading, identity set is rebuilt
+    list.getActualList().remove(0);
+    list.internalAddWithCheck(beans.get(0));
+    list.internalAddWithCheck(beans.get(1));
+    assertThat(list.getActualList()).hasSize(20000);
+    assertThat(list.getActualList().get(19999)).isSameAs(beans.get(0));
+
+    list.checkEmptyLazyLoad();
+    list.internalAddWithCheck(beans.get(1));
+    assertThat(list.getActualList()).hasSize(20000);
+  }
+
+  @Test
+  public void internalAddWithCheck_when_setKeepsSize_expect_identitySetInvalidated() {
+
+    List<Object> beans = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      beans.add(new Object());
+    }
+
+    BeanList<Object> list = new BeanList<>();
+    for (Object bean : beans) {
+      list.internalAddWithCheck(bean);
+    }
+    assertThat(list).hasSize(20);
+
+    // replaces the first bean with the list size unchanged
+    list.set(0, new Object());
+    list.internalAddWithCheck(beans.get(0));
+    assertThat(list).hasSize(21);
+    assertThat(list.get(20)).isSameAs(beans.get(0));
+
+    // remove and add keeping the size
+    list.remove(beans.get(1));
+    list.add(new Object());
+    list.internalAddWithCheck(beans.get(1));
+    assertThat(list).hasSize(22);
+
+    list.internalAddWithCheck(beans.get(2));
+    assertThat(list).hasSize(22);
+  }
+
+  @Test
+  public void internalAddWithCheck_when_iteratorRemove_expect_identitySetInvalidated() {
+
+    List<Object> beans = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      beans.add(new Object());
+    }
+
+    BeanList<Object> list = new BeanList<>();
+    for (Object bean : beans) {
+      list.internalAddWithCheck(bean);
+    }
+
+    Iterator<Object> it = list.iterator();
+    it.next();
+    it.remove();
+    list.internalAdd(new Object());
+    assertThat(list).hasSize(20);
+
+    list.internalAddWithCheck(beans.get(0));
+    assertThat(list).hasSize(21);
+  }
 }
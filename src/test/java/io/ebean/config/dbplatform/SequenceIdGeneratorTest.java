@@ -0,0 +1,119 @@
+package io.ebean.config.dbplatform;
+
+import io.ebean.BackgroundExecutor;
+import io.ebean.Transaction;
+import io.ebean.meta.MetaMetric;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SequenceIdGeneratorTest {
+
+  @Test
+  public void nextId_uniqueAndPrefetched() {
+
+    TDSequenceIdGenerator gen = new TDSequenceIdGenerator(new InlineExecutor(), 10);
+
+    Set<Object> ids = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      assertThat(ids.add(gen.nextId(null))).isTrue();
+    }
+
+    // only the first allocation waited, the rest were loaded in the background
+    List<MetaMetric> metrics = new ArrayList<>();
+    gen.collectMetrics(true, metrics);
+    assertThat(metrics).extracting(MetaMetric::getName).containsExactly("seq.tdseq.wait", "seq.tdseq.load");
+    assertThat(metrics.get(0).getCount()).isEqualTo(1);
+
+    // consumed quickly so the allocation size has grown
+    assertThat(gen.getAllocationSize()).isEqualTo(100);
+    assertThat(metrics.get(1).getMax()).isEqualTo(100);
+
+    metrics.clear();
+    gen.collectMetrics(false, metrics);
+    assertThat(metrics).isEmpty();
+  }
+
+  @Test
+  public void nextId_backgroundLoadNotKeepingUp() {
+
+    DeferredExecutor executor = new DeferredExecutor();
+    TDSequenceIdGenerator gen = new TDSequenceIdGenerator(executor, 10);
+
+    Set<Object> ids = new HashSet<>();
+    for (int i = 0; i < 100; i++) {
+      assertThat(ids.add(gen.nextId(null))).isTrue();
+    }
+    // one background load at a time
+    assertThat(executor.tasks).hasSize(1);
+    executor.runAll();
+    for (int i = 0; i < 100; i++) {
+      assertThat(ids.add(gen.nextId(null))).isTrue();
+    }
+
+    List<MetaMetric> metrics = new ArrayList<>();
+    gen.collectMetrics(false, metrics);
+    assertThat(metrics.get(0).getCount()).isGreaterThan(1);
+  }
+
+  static class TDSequenceIdGenerator extends SequenceIdGenerator {
+
+    long sequence;
+
+    TDSequenceIdGenerator(BackgroundExecutor be, int batchSize) {
+      super(be, null, "tdseq", batchSize);
+    }
+
+    @Override
+    public String getSql(int batchSize) {
+      return null;
+    }
+
+    @Override
+    protected synchronized ArrayList<Long> getMoreIds(int loadSize, Transaction t) {
+      ArrayList<Long> ids = new ArrayList<>(loadSize);
+      for (int i = 0; i < loadSize; i++) {
+        ids.add(++sequence);
+      }
+      return ids;
+    }
+  }
+
+  static class InlineExecutor implements BackgroundExecutor {
+
+    @Override
+    public void execute(Runnable r) {
+      r.run();
+    }
+
+    @Override
+    public void executePeriodically(Runnable r, long delay, TimeUnit unit) {
+    }
+  }
+
+  static class DeferredExecutor implements BackgroundExecutor {
+
+    final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public void execute(Runnable r) {
+      tasks.add(r);
+    }
+
+    void runAll() {
+      List<Runnable> run = new ArrayList<>(tasks);
+      tasks.clear();
+      run.forEach(Runnable::run);
+    }
+
+    @Override
+    public void executePeriodically(Runnable r, long delay, TimeUnit unit) {
+    }
+  }
+}
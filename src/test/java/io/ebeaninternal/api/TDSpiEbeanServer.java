@@ -10,6 +10,7 @@ import io.ebean.Filter;
 import io.ebean.FutureIds;
 import io.ebean.FutureList;
 import io.ebean.FutureRowCount;
+import io.ebean.KeysetPage;
 import io.ebean.PagedList;
 import io.ebean.PersistenceContextScope;
 import io.ebean.Query;
@@ -41,6 +42,7 @@ import io.ebean.text.csv.CsvReader;
 import io.ebean.text.json.JsonContext;
 import io.ebeaninternal.server.core.timezone.DataTimeZone;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.metric.ServerMetrics;
 import io.ebeaninternal.server.query.CQuery;
 import io.ebeaninternal.server.transaction.RemoteTransactionEvent;
 import io.ebean.TxIsolation;
@@ -110,6 +112,11 @@ public class TDSpiEbeanServer implements SpiEbeanServer {
     return null;
   }
 
+  @Override
+  public ServerMetrics getServerMetrics() {
+    return null;
+  }
+
   @Override
   public CallStack createCallStack() {
     return null;
@@ -190,6 +197,11 @@ public class TDSpiEbeanServer implements SpiEbeanServer {
     return null;
   }
 
+  @Override
+  public SpiTransaction createQueryTransaction(Object tenantId, Collection<String> tables) {
+    return null;
+  }
+
   @Override
   public void remoteTransactionEvent(RemoteTransactionEvent event) {
 
@@ -255,6 +267,11 @@ public class TDSpiEbeanServer implements SpiEbeanServer {
 
   }
 
+  @Override
+  public void collectLazyLoad(ObjectGraphNode objectGraphNode, boolean many, int lazyLoadCount) {
+
+  }
+
   @Override
   public void loadMany(BeanCollection<?> collection, boolean onlyIds) {
 
@@ -545,6 +562,11 @@ public class TDSpiEbeanServer implements SpiEbeanServer {
     return null;
   }
 
+  @Override
+  public <T> KeysetPage<T> findKeysetPage(Query<T> query, String afterKey, Transaction transaction) {
+    return null;
+  }
+
   @Override
   public <T> Set<T> findSet(Query<T> query, Transaction transaction) {
     return null;
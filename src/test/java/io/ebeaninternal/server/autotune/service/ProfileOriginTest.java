@@ -0,0 +1,90 @@
+package io.ebeaninternal.server.autotune.service;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProfileOriginTest {
+
+  @Test
+  public void isProfile_base() {
+
+    ProfileOrigin origin = new ProfileOrigin(null, false, 10, 0);
+    int profiled = 0;
+    for (int i = 0; i < 1000; i++) {
+      if (origin.isProfile()) {
+        profiled++;
+      }
+    }
+    assertThat(profiled).isEqualTo(9);
+  }
+
+  @Test
+  public void isProfile_rate() {
+
+    ProfileOrigin origin = new ProfileOrigin(null, false, 0, 1);
+    for (int i = 0; i < 100; i++) {
+      assertThat(origin.isProfile()).isTrue();
+    }
+  }
+
+  @Test
+  public void isProfile_baseAcrossThreads() throws Exception {
+
+    ProfileOrigin origin = new ProfileOrigin(null, false, 100, 0);
+    LongAdder profiled = new LongAdder();
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < 10000; j++) {
+            if (origin.isProfile()) {
+              profiled.increment();
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(profiled.sum()).isEqualTo(99);
+  }
+
+  @Test
+  public void isProfile_when_baseReached_expect_noSharedWrites() throws Exception {
+
+    ProfileOrigin origin = new ProfileOrigin(null, false, 100, 0.05);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < 10000; j++) {
+            origin.isProfile();
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    // only threads racing at the base increment past it, later requests only read the count
+    assertThat(origin.getRequestCount()).isBetween(100L, 103L);
+  }
+}
@@ -13,6 +13,8 @@ import org.junit.Test;
 import java.sql.Date;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class CachedBeanDataFromBeanTest extends BaseTestCase {
 
@@ -38,10 +40,18 @@ public class CachedBeanDataFromBeanTest extends BaseTestCase {
 
     CachedBeanData cacheData = CachedBeanDataFromBean.extract(desc, (EntityBean) customer);
 
-    assertEquals(cacheData.getData("id"), "42");
-    assertEquals(cacheData.getData("name"), "Rob");
-    assertEquals(cacheData.getData("billingAddress"), "12");
-    assertEquals(cacheData.getData("anniversary"), "9223372036825200000");
+    assertEquals(cacheData.getSchemaId(), desc.getCacheSchemaId());
+    assertEquals(data(desc, cacheData, "id"), "42");
+    assertEquals(data(desc, cacheData, "name"), "Rob");
+    assertEquals(data(desc, cacheData, "billingAddress"), "12");
+    assertEquals(data(desc, cacheData, "anniversary"), "9223372036825200000");
+    assertFalse(cacheData.isLoaded(desc.getBeanProperty("status").getPropertyIndex()));
+  }
+
+  private Object data(BeanDescriptor<?> desc, CachedBeanData cacheData, String propertyName) {
+    int propertyIndex = desc.getBeanProperty(propertyName).getPropertyIndex();
+    assertTrue(cacheData.isLoaded(propertyIndex));
+    return cacheData.getData(propertyIndex);
   }
 
 
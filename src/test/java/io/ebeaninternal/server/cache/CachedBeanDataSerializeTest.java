@@ -16,11 +16,11 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 
@@ -29,13 +29,17 @@ public class CachedBeanDataSerializeTest extends BaseTestCase {
   @Test
   public void write() throws IOException, ClassNotFoundException {
 
-    Map<String, Object> map = new LinkedHashMap<>();
-    map.put("name", "rob");
-    map.put("some", "thing");
-    map.put("whenCreated", "" + System.currentTimeMillis());
+    Object[] data = new Object[70];
+    long[] loaded = CachedBeanData.newLoaded(data.length);
+    data[0] = "rob";
+    data[3] = null;
+    data[65] = "" + System.currentTimeMillis();
+    CachedBeanData.setLoaded(loaded, 0);
+    CachedBeanData.setLoaded(loaded, 3);
+    CachedBeanData.setLoaded(loaded, 65);
 
     long version = System.currentTimeMillis();
-    CachedBeanData write = new CachedBeanData(null, "C", map, version);
+    CachedBeanData write = new CachedBeanData(null, "C", 42, data, loaded, version);
 
     ByteArrayOutputStream os = new ByteArrayOutputStream();
     ObjectOutputStream oos = new ObjectOutputStream(os);
@@ -55,7 +59,41 @@ public class CachedBeanDataSerializeTest extends BaseTestCase {
     assertEquals(read.getVersion(), write.getVersion());
     assertEquals(read.getWhenCreated(), write.getWhenCreated());
     assertEquals(read.getDiscValue(), write.getDiscValue());
-    assertEquals(read.getData(), write.getData());
+    assertEquals(read.getSchemaId(), 42);
+    assertArrayEquals(read.getData(), write.getData());
+    assertTrue(read.isLoaded(3));
+    assertTrue(read.isLoaded(65));
+    assertFalse(read.isLoaded(1));
+    assertFalse(read.isLoaded(64));
+  }
+
+  @Test
+  public void update() {
+
+    Object[] data = new Object[3];
+    long[] loaded = CachedBeanData.newLoaded(data.length);
+    data[0] = "a";
+    data[1] = "b";
+    CachedBeanData.setLoaded(loaded, 0);
+    CachedBeanData.setLoaded(loaded, 1);
+    CachedBeanData existing = new CachedBeanData(null, null, 42, data, loaded, 1);
+
+    Object[] changeData = new Object[3];
+    long[] changeLoaded = CachedBeanData.newLoaded(changeData.length);
+    changeData[1] = "b2";
+    changeData[2] = "c2";
+    CachedBeanData.setLoaded(changeLoaded, 1);
+    CachedBeanData.setLoaded(changeLoaded, 2);
+
+    CachedBeanData updated = existing.update(new CachedBeanData(null, null, 42, changeData, changeLoaded, 0), 2);
+
+    assertEquals(updated.getVersion(), 2);
+    assertEquals(updated.getSchemaId(), 42);
+    assertArrayEquals(updated.getData(), new Object[]{"a", "b2", "c2"});
+    assertTrue(updated.isLoaded(2));
+    // existing is unchanged
+    assertFalse(existing.isLoaded(2));
+    assertEquals(existing.getData(1), "b");
   }
 
 
@@ -80,7 +118,8 @@ public class CachedBeanDataSerializeTest extends BaseTestCase {
 
     CachedBeanData read = readFromStream(bytes);
 
-    assertEquals(read.getData(), extract.getData());
+    assertEquals(read.getSchemaId(), desc.getCacheSchemaId());
+    assertArrayEquals(read.getData(), extract.getData());
 
     Customer loadCustomer = new Customer();
     CachedBeanDataToBean.load(desc, (EntityBean) loadCustomer, read, new DefaultPersistenceContext());
@@ -108,7 +147,7 @@ public class CachedBeanDataSerializeTest extends BaseTestCase {
     byte[] bytes = os.toByteArray();
 
     CachedBeanData read = readFromStream(bytes);
-    byte[] extraContent = (byte[]) extract.getData("content");
+    byte[] extraContent = (byte[]) extract.getData(desc.getBeanProperty("content").getPropertyIndex());
 
     assertEquals(stringContent, new String(extraContent));
     assertTrue(Arrays.equals(bean.getContent(), extraContent));
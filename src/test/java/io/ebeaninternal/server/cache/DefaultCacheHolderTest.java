@@ -3,15 +3,22 @@ package io.ebeaninternal.server.cache;
 import io.ebean.cache.ServerCache;
 import io.ebean.cache.ServerCacheFactory;
 import io.ebean.cache.ServerCacheOptions;
+import io.ebean.cache.ServerCacheStatistics;
 import io.ebean.cache.ServerCacheType;
 import io.ebean.config.CurrentTenantProvider;
+import io.ebean.meta.MetaMetric;
 import org.tests.model.basic.Contact;
 import org.tests.model.basic.Customer;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 
 public class DefaultCacheHolderTest {
@@ -61,6 +68,44 @@ public class DefaultCacheHolderTest {
     assertThat(cache3).isSameAs(cache);
   }
 
+  @Test
+  public void getCache_multiTenant_shared() throws Exception {
+
+    ServerCacheOptions sharedOptions = new ServerCacheOptions();
+    sharedOptions.setTenantShared(true);
+    DefaultCacheHolder holder = new DefaultCacheHolder(cacheFactory, sharedOptions, sharedOptions, new MyTenantProv());
+
+    Supplier<ServerCache> supplier = holder.getCache(Customer.class, "customer", ServerCacheType.BEAN);
+
+    tenantId = "ten_1";
+    ServerCache cache = supplier.get();
+    cache.put(1, "one");
+
+    tenantId = "ten_2";
+    ServerCache cache2 = supplier.get();
+    assertThat(cache2).isSameAs(cache);
+    assertThat(cache2.get(1)).isNull();
+    cache2.put(1, "uno");
+
+    tenantId = "ten_1";
+    assertThat(cache.get(1)).isEqualTo("one");
+
+    DefaultServerCache shared = (DefaultServerCache) ((TenantAwareCache) cache).getDelegate();
+    assertThat(shared).isInstanceOf(DefaultTenantServerCache.class);
+    assertThat(shared.getName()).isEqualTo("customer_B");
+    assertThat(shared.size()).isEqualTo(2);
+
+    // clearTenant only removes entries of the current tenant
+    ((TenantAwareCache) cache).clearTenant();
+    assertThat(shared.size()).isEqualTo(1);
+    tenantId = "ten_2";
+    assertThat(cache.get(1)).isEqualTo("uno");
+
+    // clear removes the entries of all tenants
+    cache.clear();
+    assertThat(shared.size()).isEqualTo(0);
+  }
+
   @Test
   public void clearAll() throws Exception {
     DefaultCacheHolder holder = new DefaultCacheHolder(cacheFactory, defaultOptions, defaultOptions, null);
@@ -83,6 +128,48 @@ public class DefaultCacheHolderTest {
     assertThat(cache.size()).isEqualTo(0);
   }
 
+  @Test
+  public void collectMetrics_when_reset_expect_statisticsNotReset() {
+
+    DefaultCacheHolder holder = new DefaultCacheHolder(cacheFactory, defaultOptions, defaultOptions, null);
+    DefaultServerCache cache = cache(holder, Customer.class, "customer");
+    cache.get("foo");
+    cache.put("foo", "foo");
+    cache.get("foo");
+
+    Map<String, Long> metrics = metrics(holder, true);
+    assertThat(metrics).containsEntry("l2.customer_B.hit", 1L);
+    assertThat(metrics).containsEntry("l2.customer_B.miss", 1L);
+    assertThat(metrics).containsEntry("l2.customer_B.insert", 1L);
+
+    // the statistics used by the application are unchanged
+    ServerCacheStatistics statistics = cache.getStatistics(false);
+    assertThat(statistics.getHitCount()).isEqualTo(1);
+    assertThat(statistics.getMissCount()).isEqualTo(1);
+
+    // metrics are relative to the last metrics reset
+    cache.get("foo");
+    metrics = metrics(holder, false);
+    assertThat(metrics).containsOnly(entry("l2.customer_B.hit", 1L));
+
+    // the application resetting the statistics does not reset the metrics
+    cache.getStatistics(true);
+    cache.get("bar");
+    metrics = metrics(holder, true);
+    assertThat(metrics).containsOnly(entry("l2.customer_B.hit", 1L), entry("l2.customer_B.miss", 1L));
+    assertThat(cache.getStatistics(false).getMissCount()).isEqualTo(1);
+  }
+
+  private Map<String, Long> metrics(DefaultCacheHolder holder, boolean reset) {
+    List<MetaMetric> list = new ArrayList<>();
+    holder.collectMetrics(reset, list);
+    Map<String, Long> metrics = new HashMap<>();
+    for (MetaMetric metric : list) {
+      metrics.put(metric.getName(), metric.getCount());
+    }
+    return metrics;
+  }
+
   private class MyTenantProv implements CurrentTenantProvider {
 
     @Override
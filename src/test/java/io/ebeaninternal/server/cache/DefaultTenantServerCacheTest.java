@@ -0,0 +1,135 @@
+package io.ebeaninternal.server.cache;
+
+import io.ebean.cache.ServerCacheOptions;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaultTenantServerCacheTest {
+
+  private DefaultTenantServerCache createCache(int maxSize, int tenantMaxPercent) {
+
+    ServerCacheOptions cacheOptions = new ServerCacheOptions();
+    cacheOptions.setMaxSize(maxSize);
+    cacheOptions.setTenantShared(true);
+    cacheOptions.setTenantMaxPercent(tenantMaxPercent);
+    return new DefaultTenantServerCache("foo", cacheOptions);
+  }
+
+  private void put(DefaultTenantServerCache cache, String tenantId, int count) {
+    for (int i = 0; i < count; i++) {
+      cache.put(new TenantAwareKey(tenantId, i), "v" + i);
+    }
+  }
+
+  @Test
+  public void fairShareCap() {
+
+    assertThat(DefaultTenantServerCache.fairShareCap(new int[]{10, 10}, 100)).isEqualTo(Integer.MAX_VALUE);
+    assertThat(DefaultTenantServerCache.fairShareCap(new int[]{10, 80, 50}, 90)).isEqualTo(40);
+    assertThat(DefaultTenantServerCache.fairShareCap(new int[]{60, 60}, 90)).isEqualTo(45);
+  }
+
+  @Test
+  public void runEviction_fairAcrossTenants() {
+
+    DefaultTenantServerCache cache = createCache(100, 0);
+    put(cache, "small", 10);
+    put(cache, "big", 150);
+    assertThat(cache.size()).isEqualTo(160);
+
+    cache.runEviction();
+
+    // trimmed to 90 with the small tenant keeping all its entries
+    assertThat(cache.size()).isEqualTo(90);
+    assertThat(cache.size("small")).isEqualTo(10);
+    assertThat(cache.size("big")).isEqualTo(80);
+  }
+
+  @Test
+  public void runEviction_tenantMaxPercent() {
+
+    DefaultTenantServerCache cache = createCache(1000, 10);
+    put(cache, "a", 50);
+    put(cache, "b", 200);
+
+    cache.runEviction();
+
+    // tenant b trimmed to 90% of its maximum of 100 entries
+    assertThat(cache.size("a")).isEqualTo(50);
+    assertThat(cache.size("b")).isEqualTo(90);
+  }
+
+  @Test
+  public void runEviction_leastRecentlyAccessedRemoved() throws InterruptedException {
+
+    DefaultTenantServerCache cache = createCache(1000, 1);
+    put(cache, "a", 12);
+    Thread.sleep(5);
+    // access the last 2 entries
+    cache.get(new TenantAwareKey("a", 10));
+    cache.get(new TenantAwareKey("a", 11));
+
+    cache.runEviction();
+
+    assertThat(cache.size("a")).isEqualTo(9);
+    assertThat(cache.get(new TenantAwareKey("a", 10))).isEqualTo("v10");
+    assertThat(cache.get(new TenantAwareKey("a", 11))).isEqualTo("v11");
+  }
+
+  @Test
+  public void clearTenant() {
+
+    DefaultTenantServerCache cache = createCache(100, 0);
+    put(cache, "a", 5);
+    put(cache, "b", 5);
+
+    cache.clearTenant("a");
+    assertThat(cache.size("a")).isEqualTo(0);
+    assertThat(cache.size("b")).isEqualTo(5);
+    assertThat(cache.size()).isEqualTo(5);
+    assertThat(cache.get(new TenantAwareKey("b", 1))).isEqualTo("v1");
+  }
+
+  @Test
+  public void putRemove_tenantIndex() {
+
+    DefaultTenantServerCache cache = createCache(100, 0);
+    put(cache, "a", 3);
+    cache.put("plain", "p");
+
+    assertThat(cache.size("a")).isEqualTo(3);
+    assertThat(cache.size(null)).isEqualTo(1);
+    assertThat(cache.get("plain")).isEqualTo("p");
+
+    assertThat(cache.remove(new TenantAwareKey("a", 1))).isEqualTo("v1");
+    assertThat(cache.size("a")).isEqualTo(2);
+    assertThat(cache.size()).isEqualTo(3);
+
+    cache.clear();
+    assertThat(cache.size()).isEqualTo(0);
+    assertThat(cache.size("a")).isEqualTo(0);
+  }
+
+  @Test
+  public void runEviction_manyTenants() {
+
+    DefaultTenantServerCache cache = createCache(10000, 0);
+    for (int i = 0; i < 2000; i++) {
+      put(cache, "t" + i, 4);
+    }
+    assertThat(cache.size()).isEqualTo(8000);
+
+    cache.clearTenant("t7");
+    assertThat(cache.size("t7")).isEqualTo(0);
+    assertThat(cache.size("t8")).isEqualTo(4);
+
+    put(cache, "big", 2100);
+    cache.runEviction();
+
+    // trimmed to 9000 with only the big tenant trimmed
+    assertThat(cache.size()).isEqualTo(9000);
+    assertThat(cache.size("t8")).isEqualTo(4);
+    assertThat(cache.size("big")).isEqualTo(1008);
+  }
+}
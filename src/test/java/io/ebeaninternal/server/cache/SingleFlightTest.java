@@ -0,0 +1,180 @@
+package io.ebeaninternal.server.cache;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTest {
+
+  @Test
+  public void load_when_noConcurrentLoad() {
+
+    SingleFlight singleFlight = new SingleFlight(1000);
+
+    String value = singleFlight.load(null, 1, () -> null, () -> "loaded", () -> null);
+    assertThat(value).isEqualTo("loaded");
+    assertThat(singleFlight.inFlightCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void load_when_concurrent_expect_singleLoad() throws Exception {
+
+    SingleFlight singleFlight = new SingleFlight(5000);
+    ConcurrentHashMap<Object, String> cache = new ConcurrentHashMap<>();
+    AtomicInteger loadCount = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<String> first = executor.submit(() -> singleFlight.load(null, 1, () -> cache.get(1), () -> {
+        loadCount.incrementAndGet();
+        loading.countDown();
+        await(release);
+        cache.put(1, "loaded");
+        return "loaded";
+      }, () -> null));
+
+      // wait until the first load is in flight
+      assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+      List<Future<String>> others = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        others.add(executor.submit(() -> singleFlight.load(null, 1, () -> cache.get(1), () -> {
+          loadCount.incrementAndGet();
+          return "other";
+        }, () -> null)));
+      }
+      release.countDown();
+
+      assertThat(first.get()).isEqualTo("loaded");
+      for (Future<String> other : others) {
+        assertThat(other.get()).isEqualTo("loaded");
+      }
+      assertThat(loadCount.get()).isEqualTo(1);
+      assertThat(singleFlight.inFlightCount()).isEqualTo(0);
+
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void load_when_timeout_expect_ownLoad() throws Exception {
+
+    SingleFlight singleFlight = new SingleFlight(10);
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(() -> singleFlight.load(null, 1, () -> null, () -> {
+        loading.countDown();
+        await(release);
+        return "slow";
+      }, () -> null));
+      assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+      String value = singleFlight.load(null, 1, () -> "cached", () -> "own", () -> null);
+      assertThat(value).isEqualTo("own");
+
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void load_when_notFound_expect_waitersNotLoading() throws Exception {
+
+    SingleFlight singleFlight = new SingleFlight(5000);
+    AtomicInteger loadCount = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<List<String>> first = executor.submit(() -> singleFlight.<List<String>>load(null, 1, () -> null, () -> {
+        loadCount.incrementAndGet();
+        loading.countDown();
+        await(release);
+        // empty results are not put into the cache
+        return new ArrayList<String>();
+      }, ArrayList::new));
+
+      assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+      List<Future<List<String>>> others = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        others.add(executor.submit(() -> singleFlight.<List<String>>load(null, 1, () -> null, () -> {
+          loadCount.incrementAndGet();
+          return new ArrayList<String>();
+        }, ArrayList::new)));
+      }
+      waitForWaiters();
+      release.countDown();
+
+      assertThat(first.get()).isEmpty();
+      for (Future<List<String>> other : others) {
+        assertThat(other.get()).isEmpty();
+      }
+      // the waiters did not load
+      assertThat(loadCount.get()).isEqualTo(1);
+
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void load_when_otherTenant_expect_ownLoad() throws Exception {
+
+    SingleFlight singleFlight = new SingleFlight(5000);
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(() -> singleFlight.load("tenantA", 1, () -> null, () -> {
+        loading.countDown();
+        await(release);
+        return "a";
+      }, () -> null));
+      assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+      // same key for another tenant does not wait on tenantA
+      String value = singleFlight.load("tenantB", 1, () -> "cachedA", () -> "b", () -> null);
+      assertThat(value).isEqualTo("b");
+      assertThat(singleFlight.inFlightCount()).isEqualTo(1);
+
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Give the submitted waiters time to reach the in-flight load.
+   */
+  private static void waitForWaiters() throws InterruptedException {
+    Thread.sleep(100);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
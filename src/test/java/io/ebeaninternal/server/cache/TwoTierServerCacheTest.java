@@ -0,0 +1,138 @@
+package io.ebeaninternal.server.cache;
+
+import io.ebean.cache.ServerCache;
+import io.ebean.cache.ServerCacheOptions;
+import io.ebean.cache.ServerCacheStatistics;
+import io.ebean.cache.ServerCacheType;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TwoTierServerCacheTest {
+
+  /**
+   * Run (once) after the remote tier get has read the value.
+   */
+  private Runnable afterRemoteGet;
+
+  private final LoopbackServerCacheRemoteTier remote = new LoopbackServerCacheRemoteTier() {
+    @Override
+    public Object get(String cacheName, Object key) {
+      Object value = super.get(cacheName, key);
+      Runnable action = afterRemoteGet;
+      if (action != null) {
+        afterRemoteGet = null;
+        action.run();
+      }
+      return value;
+    }
+  };
+
+  private ServerCache createCache() {
+    // each factory acts like a separate node
+    TwoTierServerCacheFactory factory = new TwoTierServerCacheFactory(null, remote, 10);
+    return factory.createCache(ServerCacheType.BEAN, "foo", new ServerCacheOptions());
+  }
+
+  @Test
+  public void get_when_putByOtherNode_expect_remoteHit() {
+
+    ServerCache node1 = createCache();
+    ServerCache node2 = createCache();
+
+    node1.put("A", "a1");
+    assertThat(node2.get("A")).isEqualTo("a1");
+    // now in the near cache
+    assertThat(node2.get("A")).isEqualTo("a1");
+    assertThat(node2.get("B")).isNull();
+
+    ServerCacheStatistics stats = node2.getStatistics(true);
+    assertThat(stats.getHitCount()).isEqualTo(2);
+    assertThat(stats.getRemoteHitCount()).isEqualTo(1);
+    assertThat(stats.getRemoteMissCount()).isEqualTo(1);
+    assertThat(stats.getMissCount()).isEqualTo(1);
+
+    assertThat(node2.getStatistics(false).getRemoteHitCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void put_when_changedByOtherNode_expect_nearInvalidated() {
+
+    ServerCache node1 = createCache();
+    ServerCache node2 = createCache();
+
+    node1.put("A", "a1");
+    assertThat(node2.get("A")).isEqualTo("a1");
+
+    node1.put("A", "a2");
+    assertThat(node2.size()).isEqualTo(0);
+    assertThat(node2.get("A")).isEqualTo("a2");
+
+    node1.remove("A");
+    assertThat(node2.get("A")).isNull();
+
+    node2.put("B", "b");
+    node1.clear();
+    assertThat(node2.size()).isEqualTo(0);
+    assertThat(node2.get("B")).isNull();
+  }
+
+  @Test
+  public void put_when_olderVersion_expect_ignored() {
+
+    ServerCache node1 = createCache();
+    ServerCache node2 = createCache();
+
+    node1.put(1, new CachedBeanData(null, null, 0, new Object[0], new long[0], 2));
+    node2.put(1, new CachedBeanData(null, null, 0, new Object[0], new long[0], 1));
+
+    // the rejected put leaves the winning version in the near cache of node2
+    CachedBeanData nodeData = (CachedBeanData) node2.get(1);
+    assertThat(nodeData.getVersion()).isEqualTo(2);
+    assertThat(node2.getStatistics(false).getRemoteHitCount()).isEqualTo(0);
+
+    ServerCache node3 = createCache();
+    CachedBeanData data = (CachedBeanData) node3.get(1);
+    assertThat(data.getVersion()).isEqualTo(2);
+  }
+
+  @Test
+  public void get_when_changedWhileLoading_expect_notInNear() {
+
+    ServerCache node1 = createCache();
+    ServerCache node2 = createCache();
+
+    node1.put("A", "a1");
+    // node1 changes the entry after node2 read it from the remote tier
+    afterRemoteGet = () -> node1.put("A", "a2");
+
+    assertThat(node2.get("A")).isEqualTo("a1");
+    // the stale value is not kept in the near cache
+    assertThat(node2.size()).isEqualTo(0);
+    assertThat(node2.get("A")).isEqualTo("a2");
+    assertThat(node2.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void getAll() {
+
+    ServerCache node1 = createCache();
+    ServerCache node2 = createCache();
+
+    node1.put("A", "a");
+    node1.put("B", "b");
+    node2.put("C", "c");
+
+    Map<Object, Object> all = node2.getAll(new HashSet<>(Arrays.asList("A", "B", "C", "D")));
+    assertThat(all).hasSize(3);
+    assertThat(all.get("A")).isEqualTo("a");
+
+    ServerCacheStatistics stats = node2.getStatistics(false);
+    assertThat(stats.getRemoteHitCount()).isEqualTo(2);
+    assertThat(stats.getRemoteMissCount()).isEqualTo(1);
+  }
+}
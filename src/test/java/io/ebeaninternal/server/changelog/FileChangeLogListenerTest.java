@@ -0,0 +1,154 @@
+package io.ebeaninternal.server.changelog;
+
+import io.ebean.BaseTestCase;
+import io.ebean.Ebean;
+import io.ebean.event.changelog.ChangeSet;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileChangeLogListenerTest extends BaseTestCase {
+
+  Helper helper = new Helper();
+
+  private FileChangeLogListener createListener(File dir) {
+    FileChangeLogListener listener = new FileChangeLogListener(dir);
+    listener.setPrefix("test");
+    listener.configure(Ebean.getDefaultServer().getPluginApi());
+    return listener;
+  }
+
+  @Test
+  public void log_then_read() throws Exception {
+
+    File dir = Files.createTempDirectory("changelog").toFile();
+    FileChangeLogListener listener = createListener(dir);
+
+    listener.log(helper.createChangeSet("TXN-001", 10));
+    listener.log(helper.createChangeSet("TXN-002", 20));
+    listener.shutdown();
+
+    assertThat(listener.getChangeCount()).isEqualTo(6);
+    assertThat(listener.getSegmentCount()).isEqualTo(1);
+
+    ChangeLogFileReader reader = new ChangeLogFileReader(dir, "test");
+    List<String> records = new ArrayList<>();
+    ChangeLogFileReader.Position position = reader.read(reader.start(), 100, records::add);
+
+    assertThat(records).hasSize(6);
+    assertThat(records.get(0)).contains("\"txnId\":\"TXN-001\"").contains("\"change\":\"I\"");
+    assertThat(records.get(5)).contains("\"txnId\":\"TXN-002\"").contains("\"change\":\"D\"");
+
+    // nothing more to read from the returned position
+    List<String> more = new ArrayList<>();
+    assertThat(reader.read(position, 100, more::add)).isEqualTo(position);
+    assertThat(more).isEmpty();
+  }
+
+  @Test
+  public void read_inBatches() throws Exception {
+
+    File dir = Files.createTempDirectory("changelog").toFile();
+    FileChangeLogListener listener = createListener(dir);
+    for (int i = 0; i < 10; i++) {
+      listener.log(helper.createChangeSet("TXN-" + i, i * 10));
+    }
+    listener.shutdown();
+
+    ChangeLogFileReader reader = new ChangeLogFileReader(dir, "test");
+    List<String> records = new ArrayList<>();
+    ChangeLogFileReader.Position position = reader.start();
+    for (int i = 0; i < 3; i++) {
+      position = reader.read(position, 10, records::add);
+    }
+    assertThat(records).hasSize(30);
+  }
+
+  @Test
+  public void rotate_when_segmentFull() throws Exception {
+
+    File dir = Files.createTempDirectory("changelog").toFile();
+    FileChangeLogListener listener = new FileChangeLogListener(dir);
+    listener.setPrefix("test");
+    listener.setSegmentSize(2048);
+    listener.setFsync(FileChangeLogListener.Fsync.NONE);
+    listener.configure(Ebean.getDefaultServer().getPluginApi());
+
+    for (int i = 0; i < 20; i++) {
+      listener.log(helper.createChangeSet("TXN-" + i, i * 10));
+    }
+    listener.shutdown();
+
+    assertThat(listener.getSegmentCount()).isGreaterThan(1);
+
+    ChangeLogFileReader reader = new ChangeLogFileReader(dir, "test");
+    assertThat(reader.segmentIds()).hasSize((int) listener.getSegmentCount());
+
+    List<String> records = new ArrayList<>();
+    ChangeLogFileReader.Position position = reader.read(reader.start(), 1000, records::add);
+    assertThat(records).hasSize(60);
+
+    // segments prior to the last read position can be removed
+    int deleted = reader.deleteBefore(position);
+    assertThat(deleted).isEqualTo((int) listener.getSegmentCount() - 1);
+    assertThat(reader.segmentIds()).hasSize(1);
+  }
+
+  @Test
+  public void restart_continuesWithNewSegment() throws Exception {
+
+    File dir = Files.createTempDirectory("changelog").toFile();
+    FileChangeLogListener first = createListener(dir);
+    first.log(helper.createChangeSet("TXN-A", 10));
+    first.shutdown();
+
+    FileChangeLogListener second = createListener(dir);
+    ChangeSet changeSet = helper.createChangeSet("TXN-B", 20);
+    second.log(changeSet);
+    second.shutdown();
+
+    ChangeLogFileReader reader = new ChangeLogFileReader(dir, "test");
+    assertThat(reader.segmentIds()).containsExactly(1L, 2L);
+
+    List<String> records = new ArrayList<>();
+    reader.read(reader.start(), 100, records::add);
+    assertThat(records).hasSize(6);
+    assertThat(records.get(3)).contains("TXN-B");
+  }
+
+  @Test
+  public void groupFsync_notWhenIdle() throws Exception {
+
+    File dir = Files.createTempDirectory("changelog").toFile();
+    FileChangeLogListener listener = createListener(dir);
+    listener.log(helper.createChangeSet("TXN-001", 10));
+
+    long timeout = System.currentTimeMillis() + 5000;
+    while (listener.getFsyncCount() == 0 && System.currentTimeMillis() < timeout) {
+      Thread.sleep(5);
+    }
+    assertThat(listener.getFsyncCount()).isEqualTo(1);
+
+    // idle polling does not fsync again
+    Thread.sleep(100);
+    assertThat(listener.getFsyncCount()).isEqualTo(1);
+    listener.shutdown();
+  }
+
+  @Test
+  public void log_afterShutdown_rejected() throws Exception {
+
+    File dir = Files.createTempDirectory("changelog").toFile();
+    FileChangeLogListener listener = createListener(dir);
+    listener.log(helper.createChangeSet("TXN-001", 10));
+    listener.shutdown();
+    listener.log(helper.createChangeSet("TXN-002", 10));
+
+    assertThat(listener.getChangeCount()).isEqualTo(3);
+  }
+}
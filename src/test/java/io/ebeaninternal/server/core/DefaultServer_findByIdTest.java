@@ -0,0 +1,60 @@
+package io.ebeaninternal.server.core;
+
+import io.ebean.BaseTestCase;
+import io.ebean.Ebean;
+import org.avaje.ebeantest.LoggedSqlCollector;
+import org.junit.Test;
+import org.tests.model.basic.Customer;
+import org.tests.model.basic.Product;
+import org.tests.model.basic.ResetBasicData;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaultServer_findByIdTest extends BaseTestCase {
+
+  @Test
+  public void find_when_inPC_expect_noQuery() {
+
+    ResetBasicData.reset();
+
+    Ebean.beginTransaction();
+    try {
+      Customer loaded = Ebean.find(Customer.class, 1);
+
+      LoggedSqlCollector.start();
+      // id conversion from String
+      Customer again = Ebean.find(Customer.class, "1");
+      List<String> sql = LoggedSqlCollector.stop();
+
+      assertThat(again).isSameAs(loaded);
+      assertThat(sql).isEmpty();
+
+    } finally {
+      Ebean.endTransaction();
+    }
+  }
+
+  @Test
+  public void find_when_beanCacheHit_expect_noQuery() {
+
+    ResetBasicData.reset();
+
+    Product product = Ebean.find(Product.class, 1);
+    assertThat(product).isNotNull();
+
+    LoggedSqlCollector.start();
+    Product cached = Ebean.find(Product.class, 1);
+    List<String> sql = LoggedSqlCollector.stop();
+
+    assertThat(cached.getName()).isEqualTo(product.getName());
+    assertThat(sql).isEmpty();
+  }
+
+  @Test
+  public void find_when_notFound() {
+
+    assertThat(Ebean.find(Customer.class, 99999)).isNull();
+  }
+}
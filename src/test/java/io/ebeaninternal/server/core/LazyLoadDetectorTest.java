@@ -0,0 +1,72 @@
+package io.ebeaninternal.server.core;
+
+import io.ebean.bean.CallStack;
+import io.ebean.bean.ObjectGraphNode;
+import io.ebean.bean.ObjectGraphOrigin;
+import io.ebean.meta.MetaLazyLoadReport;
+import org.junit.Test;
+
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazyLoadDetectorTest {
+
+  private final ObjectGraphOrigin origin = new ObjectGraphOrigin(1, new CallStack(new StackTraceElement[0], 1, 1), "Order");
+
+  @Test
+  public void lazyLoad_belowThreshold() {
+
+    LazyLoadDetector detector = new LazyLoadDetector(3, false, null);
+    ObjectGraphNode node = new ObjectGraphNode(origin, "customer");
+    detector.lazyLoad(node, false, 1);
+    detector.lazyLoad(node, false, 2);
+
+    assertThat(detector.collect(false)).isEmpty();
+  }
+
+  @Test
+  public void lazyLoad_reportsOncePerExecution() {
+
+    List<MetaLazyLoadReport> notified = new ArrayList<>();
+    LazyLoadDetector detector = new LazyLoadDetector(2, false, notified::add);
+
+    ObjectGraphNode node = new ObjectGraphNode(origin, "details");
+    for (int i = 1; i <= 5; i++) {
+      detector.lazyLoad(node, true, i);
+    }
+
+    assertThat(notified).hasSize(1);
+    List<MetaLazyLoadReport> reports = detector.collect(true);
+    assertThat(reports).hasSize(1);
+
+    MetaLazyLoadReport report = reports.get(0);
+    assertThat(report.getNode()).isEqualTo(node);
+    assertThat(report.isMany()).isTrue();
+    assertThat(report.getCount()).isEqualTo(1);
+    assertThat(report.getMaxLazyLoads()).isEqualTo(5);
+    assertThat(report.getSuggestion()).isEqualTo("fetchQuery(\"details\")");
+
+    // collected with reset
+    assertThat(detector.collect(false)).isEmpty();
+  }
+
+  @Test(expected = PersistenceException.class)
+  public void lazyLoad_strict() {
+
+    LazyLoadDetector detector = new LazyLoadDetector(2, true, report -> { });
+    ObjectGraphNode node = new ObjectGraphNode(origin, "customer");
+    detector.lazyLoad(node, false, 1);
+    detector.lazyLoad(node, false, 2);
+  }
+
+  @Test
+  public void suggestion() {
+
+    assertThat(LazyLoadDetector.suggestion(new ObjectGraphNode(origin, "customer"), false)).isEqualTo("fetch(\"customer\")");
+    assertThat(LazyLoadDetector.suggestion(new ObjectGraphNode(origin, "customer.contacts"), true)).isEqualTo("fetchQuery(\"customer.contacts\")");
+    assertThat(LazyLoadDetector.suggestion(new ObjectGraphNode(origin, null), false)).startsWith("select()");
+  }
+}
@@ -0,0 +1,102 @@
+package io.ebeaninternal.server.core.bootup;
+
+import io.ebean.config.ClassLoadConfig;
+import io.ebean.config.ServerConfig;
+import org.junit.Test;
+import org.tests.model.basic.Customer;
+import org.tests.model.embedded.EMain;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BootupClassPathSearchTest {
+
+  private static final String PACKAGE = "org.tests.model.embedded";
+
+  /**
+   * Search the package with the given index resource on the class path.
+   */
+  private BootupClasses search(boolean useIndex, List<String> indexClassNames) throws IOException {
+
+    File dir = Files.createTempDirectory("bootup").toFile();
+    File index = new File(dir, BootupClassPathSearch.EBEAN_INDEX);
+    assertThat(index.getParentFile().mkdirs()).isTrue();
+    Files.write(index.toPath(), indexClassNames, StandardCharsets.UTF_8);
+
+    ClassLoader classLoader = new URLClassLoader(new URL[]{dir.toURI().toURL()}, getClass().getClassLoader());
+
+    ServerConfig config = new ServerConfig();
+    config.setClassLoadConfig(new ClassLoadConfig(classLoader));
+    config.setPackages(Collections.singletonList(PACKAGE));
+    config.setUseBootupIndex(useIndex);
+    return BootupClassPathSearch.search(config);
+  }
+
+  private Set<String> names(List<Class<?>> classes) {
+    Set<String> names = new TreeSet<>();
+    for (Class<?> cls : classes) {
+      names.add(cls.getName());
+    }
+    return names;
+  }
+
+  private List<String> indexOf(BootupClasses bc) {
+    List<String> names = new ArrayList<>();
+    names.addAll(names(bc.getEntities()));
+    names.addAll(names(bc.getEmbeddables()));
+    return names;
+  }
+
+  @Test
+  public void search_when_fullIndex_expect_sameClassesAsScan() throws IOException {
+
+    BootupClasses scanned = search(false, Collections.emptyList());
+    assertThat(scanned.getEntities()).isNotEmpty();
+
+    BootupClasses indexed = search(true, indexOf(scanned));
+
+    assertThat(names(indexed.getEntities())).isEqualTo(names(scanned.getEntities()));
+    assertThat(names(indexed.getEmbeddables())).isEqualTo(names(scanned.getEmbeddables()));
+  }
+
+  @Test
+  public void search_when_index_expect_onlyIndexedClasses() throws IOException {
+
+    // classes outside the configured packages are ignored
+    BootupClasses indexed = search(true, Arrays.asList(EMain.class.getName(), Customer.class.getName()));
+
+    assertThat(names(indexed.getEntities())).containsExactly(EMain.class.getName());
+  }
+
+  @Test
+  public void search_when_indexMissingPackage_expect_classPathSearch() throws IOException {
+
+    BootupClasses scanned = search(false, Collections.emptyList());
+
+    // a partial index without the configured package falls back to the class path search
+    BootupClasses fallback = search(true, Collections.singletonList(Customer.class.getName()));
+
+    assertThat(names(fallback.getEntities())).isEqualTo(names(scanned.getEntities()));
+  }
+
+  @Test
+  public void search_when_indexNotEnabled_expect_indexIgnored() throws IOException {
+
+    BootupClasses scanned = search(false, Collections.singletonList(EMain.class.getName()));
+
+    assertThat(names(scanned.getEntities())).contains(EMain.class.getName());
+    assertThat(scanned.getEntities().size()).isGreaterThan(1);
+  }
+}
@@ -0,0 +1,30 @@
+package io.ebeaninternal.server.core.bootup;
+
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BootupIndexReaderTest {
+
+  @Test
+  public void read() {
+
+    Set<String> classNames = readIndex("META-INF/test/test-bootup.idx");
+    assertThat(classNames).containsExactly("org.tests.model.basic.Customer", "org.tests.model.basic.Address");
+  }
+
+  @Test
+  public void read_whenNoResource() {
+
+    Set<String> classNames = readIndex("META-INF/test/does-not-exist.idx");
+    assertThat(classNames).isEmpty();
+  }
+
+  private Set<String> readIndex(String path) {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    return BootupIndexReader.readIndexes(classLoader, path);
+  }
+
+}
@@ -0,0 +1,81 @@
+package io.ebeaninternal.server.deploy;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.ebean.BaseTestCase;
+import io.ebean.Ebean;
+import org.junit.Test;
+import org.tests.model.basic.Customer;
+import org.tests.model.basic.EBasic;
+import org.tests.model.basic.ResetBasicData;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BeanDescriptorJsonHelpTest extends BaseTestCase {
+
+  /**
+   * Return the top level field names of the json object.
+   */
+  private List<String> fieldNames(String json) throws IOException {
+
+    List<String> names = new ArrayList<>();
+    try (JsonParser parser = new JsonFactory().createParser(json)) {
+      parser.nextToken();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        names.add(parser.getCurrentName());
+        parser.nextToken();
+        parser.skipChildren();
+      }
+    }
+    return names;
+  }
+
+  private List<String> readOrder(Class<?> beanType) {
+
+    BeanDescriptorJsonHelp<?> jsonHelp = new BeanDescriptorJsonHelp<>(getBeanDescriptor(beanType));
+    List<String> names = new ArrayList<>();
+    for (BeanProperty property : jsonHelp.readOrderProperties()) {
+      names.add(property.getName());
+    }
+    return names;
+  }
+
+  @Test
+  public void readOrder_when_allPropertiesWritten_expect_everyFieldPredicted() throws IOException {
+
+    EBasic bean = new EBasic("n");
+    bean.setId(1);
+    bean.setStatus(EBasic.Status.ACTIVE);
+    bean.setDescription("d");
+    bean.setSomeDate(new Timestamp(System.currentTimeMillis()));
+
+    List<String> written = fieldNames(Ebean.json().toJson(bean));
+
+    // each field matches the predicted property so no lookup by name is needed
+    assertThat(written).isEqualTo(readOrder(EBasic.class));
+  }
+
+  @Test
+  public void readOrder_when_partiallyLoaded_expect_fieldsInPredictedOrder() throws IOException {
+
+    ResetBasicData.reset();
+
+    Customer customer = Ebean.find(Customer.class).fetch("billingAddress").setMaxRows(1).findList().get(0);
+    List<String> written = fieldNames(Ebean.json().toJson(customer));
+    List<String> order = readOrder(Customer.class);
+
+    // skipped properties cost one lookup after which the prediction continues in order
+    int last = -1;
+    for (String name : written) {
+      int position = order.indexOf(name);
+      assertThat(position).isGreaterThan(last);
+      last = position;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package io.ebeaninternal.server.deploy;
+
+import io.ebean.BaseTestCase;
+import io.ebean.EbeanServerFactory;
+import io.ebean.config.PropertyMap;
+import io.ebean.config.ServerConfig;
+import io.ebeaninternal.api.SpiEbeanServer;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BeanDescriptorManager_deployParallelismTest extends BaseTestCase {
+
+  @Test
+  public void deploy_when_parallel_expect_sameAsSerial() {
+
+    if (!isH2()) {
+      return;
+    }
+
+    Map<String, String> serial = describe(create("deploySerial", 0));
+    Map<String, String> parallel = describe(create("deployParallel", 4));
+
+    assertThat(serial.size()).isGreaterThan(100);
+    assertThat(parallel.keySet()).isEqualTo(serial.keySet());
+    for (Map.Entry<String, String> entry : serial.entrySet()) {
+      assertThat(parallel.get(entry.getKey())).as(entry.getKey()).isEqualTo(entry.getValue());
+    }
+  }
+
+  /**
+   * Create a server with the same configuration and classes as the default server.
+   */
+  private SpiEbeanServer create(String name, int deployParallelism) {
+
+    System.setProperty("ebean.ignoreExtraDdl", "true");
+
+    Properties properties = new Properties();
+    properties.putAll(PropertyMap.defaultProperties());
+    properties.setProperty("datasource." + name + ".username", "sa");
+    properties.setProperty("datasource." + name + ".password", "");
+    properties.setProperty("datasource." + name + ".databaseUrl", "jdbc:h2:mem:" + name);
+    properties.setProperty("datasource." + name + ".databaseDriver", "org.h2.Driver");
+
+    ServerConfig config = new ServerConfig();
+    config.setName(name);
+    config.loadFromProperties(properties);
+    config.setDdlGenerate(false);
+    config.setDdlRun(false);
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.setDeployParallelism(deployParallelism);
+    return (SpiEbeanServer) EbeanServerFactory.create(config);
+  }
+
+  private Map<String, String> describe(SpiEbeanServer server) {
+    Map<String, String> map = new TreeMap<>();
+    for (BeanDescriptor<?> desc : server.getBeanDescriptors()) {
+      map.put(desc.getFullName(), describe(desc));
+    }
+    return map;
+  }
+
+  /**
+   * Describe the table, properties, associations and inheritance of the descriptor.
+   */
+  private String describe(BeanDescriptor<?> desc) {
+
+    StringBuilder sb = new StringBuilder();
+    sb.append("table:").append(desc.getBaseTable());
+    BeanProperty idProperty = desc.getIdProperty();
+    sb.append(" id:").append(idProperty == null ? null : idProperty.getName());
+
+    sb.append(" properties:");
+    for (BeanProperty property : desc.propertiesNonTransient()) {
+      sb.append(property.getName()).append('=').append(property.getDbColumn()).append(',');
+    }
+    for (BeanPropertyAssocOne<?> one : desc.propertiesOne()) {
+      sb.append(" one:").append(one.getName()).append("->").append(one.getTargetType().getName())
+        .append(" mappedBy:").append(one.getMappedBy())
+        .append(" join:").append(one.getTableJoin());
+    }
+    for (BeanPropertyAssocMany<?> many : desc.propertiesMany()) {
+      sb.append(" many:").append(many.getName()).append("->").append(many.getTargetType().getName())
+        .append(" mappedBy:").append(many.getMappedBy())
+        .append(" join:").append(many.getTableJoin());
+      if (many.isManyToMany()) {
+        sb.append(" intersection:").append(many.getIntersectionTableJoin());
+      }
+    }
+
+    InheritInfo inheritInfo = desc.getInheritInfo();
+    if (inheritInfo != null) {
+      InheritInfo parent = inheritInfo.getParent();
+      sb.append(" root:").append(inheritInfo.getRoot().getType().getName())
+        .append(" parent:").append(parent == null ? null : parent.getType().getName())
+        .append(" discriminator:").append(inheritInfo.getDiscriminatorColumn()).append('=').append(inheritInfo.getDiscriminatorStringValue());
+
+      Set<String> children = new TreeSet<>();
+      inheritInfo.visitChildren(child -> children.add(child.getType().getName()));
+      sb.append(" children:").append(children);
+    }
+    return sb.toString();
+  }
+}
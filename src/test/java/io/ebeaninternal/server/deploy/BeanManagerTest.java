@@ -0,0 +1,59 @@
+package io.ebeaninternal.server.deploy;
+
+import io.ebeaninternal.server.core.PersistRequestBean;
+import io.ebeaninternal.server.persist.BeanPersister;
+import io.ebeaninternal.server.persist.BeanPersisterFactory;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BeanManagerTest {
+
+  @Test
+  public void getBeanPersister_when_lazy() {
+
+    CountingFactory factory = new CountingFactory();
+    BeanManager<Object> manager = new BeanManager<>(null, factory);
+    assertThat(factory.count).isEqualTo(0);
+
+    BeanPersister persister = manager.getBeanPersister();
+    assertThat(persister).isNotNull();
+    assertThat(manager.getBeanPersister()).isSameAs(persister);
+    assertThat(factory.count).isEqualTo(1);
+  }
+
+  @Test
+  public void getBeanPersister_when_eager() {
+
+    BeanPersister persister = new NoopPersister();
+    BeanManager<Object> manager = new BeanManager<>(null, persister);
+    assertThat(manager.getBeanPersister()).isSameAs(persister);
+  }
+
+  private static class CountingFactory implements BeanPersisterFactory {
+
+    int count;
+
+    @Override
+    public BeanPersister create(BeanDescriptor<?> desc) {
+      count++;
+      return new NoopPersister();
+    }
+  }
+
+  private static class NoopPersister implements BeanPersister {
+
+    @Override
+    public void insert(PersistRequestBean<?> request) {
+    }
+
+    @Override
+    public void update(PersistRequestBean<?> request) {
+    }
+
+    @Override
+    public int delete(PersistRequestBean<?> request) {
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package io.ebeaninternal.server.idgen;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UuidTimeOrderedIdGeneratorTest {
+
+  @Test
+  public void nextId_versionAndVariant() {
+
+    UUID uuid = (UUID) UuidTimeOrderedIdGenerator.INSTANCE.nextId(null);
+    assertThat(uuid.version()).isEqualTo(7);
+    assertThat(uuid.variant()).isEqualTo(2);
+  }
+
+  @Test
+  public void next_timestampPrefix() {
+
+    long millis = 1500000000000L;
+    UUID uuid = UuidTimeOrderedIdGenerator.next(millis);
+    assertThat(uuid.getMostSignificantBits() >>> 16).isEqualTo(millis);
+  }
+
+  @Test
+  public void next_orderedWithinThread() {
+
+    UUID last = UuidTimeOrderedIdGenerator.next(1500000000000L);
+    for (int i = 0; i < 1000; i++) {
+      UUID next = UuidTimeOrderedIdGenerator.next(1500000000000L + (i / 100));
+      // compare as unsigned as per the byte order of the stored value
+      assertThat(Long.compareUnsigned(next.getMostSignificantBits(), last.getMostSignificantBits())).isGreaterThan(0);
+      last = next;
+    }
+  }
+
+  @Test
+  public void next_when_counterExhausted_expect_borrowNextMillis() {
+
+    long millis = 1600000000000L;
+    UUID last = UuidTimeOrderedIdGenerator.next(millis);
+    for (int i = 0; i < 5000; i++) {
+      // more than the counter allows for one millisecond
+      UUID next = UuidTimeOrderedIdGenerator.next(millis);
+      assertThat(Long.compareUnsigned(next.getMostSignificantBits(), last.getMostSignificantBits())).isGreaterThan(0);
+      last = next;
+    }
+    long borrowed = last.getMostSignificantBits() >>> 16;
+    assertThat(borrowed).isGreaterThan(millis);
+
+    // the clock catching up does not go back behind the borrowed millis
+    UUID next = UuidTimeOrderedIdGenerator.next(millis + 1);
+    assertThat(Long.compareUnsigned(next.getMostSignificantBits(), last.getMostSignificantBits())).isGreaterThan(0);
+  }
+
+  @Test
+  public void nextId_uniqueAcrossThreads() throws Exception {
+
+    Set<Object> ids = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < 10000; j++) {
+            ids.add(UuidTimeOrderedIdGenerator.INSTANCE.nextId(null));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(ids).hasSize(40000);
+  }
+}
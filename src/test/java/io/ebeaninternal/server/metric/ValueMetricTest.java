@@ -0,0 +1,62 @@
+package io.ebeaninternal.server.metric;
+
+import io.ebean.meta.MetaMetric;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValueMetricTest {
+
+  @Test
+  public void collect_when_noEvents() {
+
+    ValueMetric metric = new ValueMetric("test");
+
+    List<MetaMetric> list = new ArrayList<>();
+    metric.collect(false, list);
+    assertThat(list).isEmpty();
+  }
+
+  @Test
+  public void collect() {
+
+    ValueMetric metric = new ValueMetric("test");
+    metric.add(10);
+    metric.add(30);
+    metric.add(20);
+
+    List<MetaMetric> list = new ArrayList<>();
+    metric.collect(false, list);
+
+    assertThat(list).hasSize(1);
+    MetaMetric collected = list.get(0);
+    assertThat(collected.getName()).isEqualTo("test");
+    assertThat(collected.getCount()).isEqualTo(3);
+    assertThat(collected.getTotal()).isEqualTo(60);
+    assertThat(collected.getMax()).isEqualTo(30);
+    assertThat(collected.getMean()).isEqualTo(20);
+  }
+
+  @Test
+  public void collect_withReset() {
+
+    ValueMetric metric = new ValueMetric("test");
+    metric.add(5);
+
+    List<MetaMetric> list = new ArrayList<>();
+    metric.collect(true, list);
+    assertThat(list).hasSize(1);
+
+    list.clear();
+    metric.collect(false, list);
+    assertThat(list).isEmpty();
+
+    metric.add(2);
+    metric.collect(false, list);
+    assertThat(list.get(0).getCount()).isEqualTo(1);
+    assertThat(list.get(0).getMax()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,90 @@
+package io.ebeaninternal.server.persist;
+
+import io.ebean.config.ServerConfig;
+import io.ebean.config.dbplatform.h2.H2Platform;
+import io.ebeaninternal.server.core.bootup.BootupClasses;
+import io.ebeaninternal.server.core.timezone.NoDataTimeZone;
+import io.ebeaninternal.server.type.DataBind;
+import io.ebeaninternal.server.type.DefaultTypeManager;
+import io.ebeaninternal.server.type.ScalarType;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BinderTest {
+
+  private final Binder binder;
+
+  public BinderTest() {
+    ServerConfig serverConfig = new ServerConfig();
+    serverConfig.setDatabasePlatform(new H2Platform());
+    DefaultTypeManager typeManager = new DefaultTypeManager(serverConfig, new BootupClasses());
+    binder = new Binder(typeManager, 0, false, null, new NoDataTimeZone());
+  }
+
+  /**
+   * PreparedStatement that accepts and ignores the binds.
+   */
+  private PreparedStatement statement() {
+    return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> null);
+  }
+
+  private DataBind dataBind(ScalarType<?>[] bindTypes) {
+    DataBind dataBind = new DataBind(new NoDataTimeZone(), statement(), null);
+    dataBind.setBindTypes(bindTypes);
+    return dataBind;
+  }
+
+  @Test
+  public void bindObject_when_nullFollowedByValues_expect_typesByPosition() throws SQLException {
+
+    ScalarType<?>[] bindTypes = new ScalarType<?>[3];
+
+    DataBind first = dataBind(bindTypes);
+    binder.bindObject(first, null);
+    binder.bindObject(first, "a");
+    binder.bindObject(first, 1);
+    assertThat(first.currentPos()).isEqualTo(3);
+
+    assertThat(bindTypes[0]).isNull();
+    assertThat(bindTypes[1].getType()).isEqualTo(String.class);
+    assertThat(bindTypes[2].getType()).isEqualTo(Integer.class);
+
+    ScalarType<?> stringType = bindTypes[1];
+    ScalarType<?> integerType = bindTypes[2];
+
+    // a later execution reuses the types at the same positions
+    DataBind second = dataBind(bindTypes);
+    binder.bindObject(second, null);
+    binder.bindObject(second, "b");
+    binder.bindObject(second, 2);
+
+    assertThat(bindTypes[0]).isNull();
+    assertThat(bindTypes[1]).isSameAs(stringType);
+    assertThat(bindTypes[2]).isSameAs(integerType);
+  }
+
+  @Test
+  public void bindObject_when_valueLaterNull_expect_typesNotShifted() throws SQLException {
+
+    ScalarType<?>[] bindTypes = new ScalarType<?>[3];
+
+    DataBind first = dataBind(bindTypes);
+    binder.bindObject(first, "a");
+    binder.bindObject(first, 1);
+    binder.bindObject(first, 2L);
+
+    DataBind second = dataBind(bindTypes);
+    binder.bindObject(second, null);
+    binder.bindObject(second, 1);
+    binder.bindObject(second, 2L);
+
+    assertThat(bindTypes[0].getType()).isEqualTo(String.class);
+    assertThat(bindTypes[1].getType()).isEqualTo(Integer.class);
+    assertThat(bindTypes[2].getType()).isEqualTo(Long.class);
+  }
+}
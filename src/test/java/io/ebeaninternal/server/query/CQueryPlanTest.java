@@ -0,0 +1,49 @@
+package io.ebeaninternal.server.query;
+
+import io.ebean.BaseTestCase;
+import io.ebean.Ebean;
+import io.ebean.Query;
+import io.ebeaninternal.server.core.OrmQueryRequestTestHelper;
+import org.junit.Test;
+import org.tests.model.basic.Customer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CQueryPlanTest extends BaseTestCase {
+
+  private CQueryPlan queryPlan(Query<Customer> query) {
+    return OrmQueryRequestTestHelper.queryRequest(query).getQueryPlan();
+  }
+
+  @Test
+  public void getQueryTables_when_deepWherePath_expect_joinedTables() {
+
+    Query<Customer> query = Ebean.find(Customer.class).select("name").where().eq("billingAddress.country.name", "NZ").query();
+    query.findList();
+
+    CQueryPlan queryPlan = queryPlan(Ebean.find(Customer.class).select("name").where().eq("billingAddress.country.name", "NZ").query());
+    assertThat(queryPlan).isNotNull();
+    assertThat(queryPlan.getQueryTables()).containsOnly("o_customer", "o_address", "o_country");
+  }
+
+  @Test
+  public void getQueryTables_when_deepOrderByPath_expect_joinedTables() {
+
+    Query<Customer> query = Ebean.find(Customer.class).select("name").orderBy("shippingAddress.country.name");
+    query.findList();
+
+    CQueryPlan queryPlan = queryPlan(Ebean.find(Customer.class).select("name").orderBy("shippingAddress.country.name"));
+    assertThat(queryPlan).isNotNull();
+    assertThat(queryPlan.getQueryTables()).containsOnly("o_customer", "o_address", "o_country");
+  }
+
+  @Test
+  public void getQueryTables_when_noJoins_expect_baseTable() {
+
+    Ebean.find(Customer.class).select("name").setMaxRows(1).findList();
+
+    CQueryPlan queryPlan = queryPlan(Ebean.find(Customer.class).select("name").setMaxRows(1));
+    assertThat(queryPlan).isNotNull();
+    assertThat(queryPlan.getQueryTables()).containsOnly("o_customer");
+  }
+}
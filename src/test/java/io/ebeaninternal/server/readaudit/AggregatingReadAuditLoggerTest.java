@@ -0,0 +1,144 @@
+package io.ebeaninternal.server.readaudit;
+
+import io.ebean.event.readaudit.ReadAuditQueryPlan;
+import io.ebean.event.readaudit.ReadEvent;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AggregatingReadAuditLoggerTest {
+
+  static class TDLogger extends AggregatingReadAuditLogger {
+
+    List<ReadAuditQueryPlan> plans = new ArrayList<>();
+
+    List<ReadAuditBatch> batches = new ArrayList<>();
+
+    @Override
+    protected void logQueryPlan(ReadAuditQueryPlan queryPlan) {
+      plans.add(queryPlan);
+    }
+
+    @Override
+    protected void writeBatch(ReadAuditBatch batch) {
+      batches.add(batch);
+      super.writeBatch(batch);
+    }
+  }
+
+  private ReadEvent event(String userId, String queryKey, Object id) {
+    ReadEvent event = new ReadEvent("org.Customer", queryKey, "[" + id + "]", id);
+    event.setUserId(userId);
+    return event;
+  }
+
+  private ReadEvent eventMany(String userId, String queryKey, Object... ids) {
+    ReadEvent event = new ReadEvent("org.Customer", queryKey, null, new ArrayList<>(Arrays.asList(ids)));
+    event.setUserId(userId);
+    return event;
+  }
+
+  @Test
+  public void queryPlan_loggedOnce() {
+
+    TDLogger logger = new TDLogger();
+    logger.queryPlan(new ReadAuditQueryPlan("org.Customer", "1234", "select 1"));
+    logger.queryPlan(new ReadAuditQueryPlan("org.Customer", "1234", "select 1"));
+    logger.queryPlan(new ReadAuditQueryPlan("org.Customer", "5678", "select 2"));
+    logger.flush();
+
+    assertThat(logger.plans).hasSize(2);
+
+    logger.queryPlan(new ReadAuditQueryPlan("org.Customer", "1234", "select 1"));
+    logger.flush();
+    assertThat(logger.plans).hasSize(2);
+  }
+
+  @Test
+  public void aggregate_perUserAndQuery() {
+
+    TDLogger logger = new TDLogger();
+    logger.auditBean(event("rob", "q1", 1L));
+    logger.auditBean(event("rob", "q1", 2L));
+    logger.auditBean(event("rob", "q1", 2L));
+    logger.auditBean(event("jim", "q1", 3L));
+    logger.auditMany(eventMany("rob", "q2", 4L, 5L));
+
+    assertThat(logger.getPendingIds()).isEqualTo(5);
+    logger.flush();
+    assertThat(logger.getPendingIds()).isEqualTo(0);
+
+    assertThat(logger.batches).hasSize(3);
+    ReadAuditBatch robQ1 = find(logger.batches, "rob", "q1");
+    assertThat(robQ1.getEventCount()).isEqualTo(3);
+    assertThat(robQ1.getIds()).containsExactly(1L, 2L);
+    assertThat(robQ1.getBindLogs()).containsExactly("[1]", "[2]");
+
+    ReadAuditBatch robQ2 = find(logger.batches, "rob", "q2");
+    assertThat(robQ2.getEventCount()).isEqualTo(1);
+    assertThat(robQ2.getIds()).containsExactly(4L, 5L);
+
+    logger.batches.clear();
+    logger.flush();
+    assertThat(logger.batches).isEmpty();
+  }
+
+  @Test
+  public void idRanges() {
+
+    TDLogger logger = new TDLogger();
+    logger.auditMany(eventMany("rob", "q1", 7L, 1L, 2L, 3L, 10L, 8L));
+    logger.auditMany(eventMany("rob", "q1", 4L, 20L));
+    logger.flush();
+
+    ReadAuditBatch batch = logger.batches.get(0);
+    assertThat(batch.isIntegerIds()).isTrue();
+
+    List<long[]> ranges = batch.getIdRanges();
+    assertThat(ranges).hasSize(4);
+    assertThat(ranges.get(0)).containsExactly(1L, 4L);
+    assertThat(ranges.get(1)).containsExactly(7L, 8L);
+    assertThat(ranges.get(2)).containsExactly(10L, 10L);
+    assertThat(ranges.get(3)).containsExactly(20L, 20L);
+  }
+
+  @Test
+  public void nonIntegerIds() {
+
+    TDLogger logger = new TDLogger();
+    logger.auditMany(eventMany("rob", "q1", "a", "b", "a"));
+    logger.flush();
+
+    ReadAuditBatch batch = logger.batches.get(0);
+    assertThat(batch.isIntegerIds()).isFalse();
+    assertThat(batch.getIds()).containsExactly("a", "b");
+  }
+
+  @Test
+  public void maxBindLogs() {
+
+    TDLogger logger = new TDLogger();
+    logger.setMaxBindLogs(2);
+    for (long i = 0; i < 5; i++) {
+      logger.auditBean(event("rob", "q1", i));
+    }
+    logger.flush();
+
+    ReadAuditBatch batch = logger.batches.get(0);
+    assertThat(batch.getBindLogs()).hasSize(2);
+    assertThat(batch.getBindLogOverflow()).isEqualTo(3);
+  }
+
+  private ReadAuditBatch find(List<ReadAuditBatch> batches, String userId, String queryKey) {
+    for (ReadAuditBatch batch : batches) {
+      if (batch.getUserId().equals(userId) && batch.getQueryKey().equals(queryKey)) {
+        return batch;
+      }
+    }
+    throw new IllegalStateException("batch not found");
+  }
+}
@@ -0,0 +1,68 @@
+package io.ebeaninternal.server.transaction;
+
+import io.ebeaninternal.api.TransactionEvent;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadOnlyGuardTest {
+
+  @Test
+  public void isStale_when_tableCommitted() {
+
+    ReadOnlyGuard guard = new ReadOnlyGuard(1000);
+
+    TransactionEvent event = new TransactionEvent();
+    event.add("O_CUSTOMER", false, true, false);
+    guard.committed(event, 5000);
+
+    assertThat(guard.isStale(Collections.singletonList("o_customer"), 5500)).isTrue();
+    assertThat(guard.isStale(Collections.singletonList("o_order"), 5500)).isFalse();
+    // tables not known
+    assertThat(guard.isStale(null, 5500)).isTrue();
+
+    // after the stale period
+    assertThat(guard.isStale(Collections.singletonList("o_customer"), 6001)).isFalse();
+    assertThat(guard.isStale(null, 6001)).isFalse();
+  }
+
+  @Test
+  public void isStale_when_joinedTableCommitted() {
+
+    ReadOnlyGuard guard = new ReadOnlyGuard(1000);
+
+    TransactionEvent event = new TransactionEvent();
+    event.add("o_customer", true, false, false);
+    guard.committed(event, 5000);
+
+    // query on o_order joining to o_customer
+    assertThat(guard.isStale(Arrays.asList("o_order", "o_customer"), 5500)).isTrue();
+    assertThat(guard.isStale(Arrays.asList("o_order", "o_order_detail"), 5500)).isFalse();
+  }
+
+  @Test
+  public void isStale_when_tablesUnknown() {
+
+    ReadOnlyGuard guard = new ReadOnlyGuard(1000);
+    guard.committed(new TransactionEvent(), 5000);
+
+    assertThat(guard.isStale(Collections.singletonList("o_order"), 5500)).isTrue();
+    assertThat(guard.isStale(Collections.singletonList("o_order"), 6001)).isFalse();
+  }
+
+  @Test
+  public void isStale_when_staleMillisZero() {
+
+    ReadOnlyGuard guard = new ReadOnlyGuard(0);
+
+    TransactionEvent event = new TransactionEvent();
+    event.add("o_customer", true, false, false);
+    guard.committed(event);
+
+    assertThat(guard.isStale(Collections.singletonList("o_customer"))).isFalse();
+    assertThat(guard.isStale(null)).isFalse();
+  }
+}
@@ -0,0 +1,53 @@
+package io.ebeaninternal.server.type;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataBindTest {
+
+  @Test
+  public void append_when_logBindOff() {
+
+    DataBind dataBind = new DataBind(null, null, null);
+    dataBind.append("a").append(1);
+
+    assertThat(dataBind.isLogBind()).isFalse();
+    assertThat(dataBind.log()).isNull();
+    assertThat(dataBind.getBindLog()).isEqualTo("");
+  }
+
+  @Test
+  public void append_when_logBindOn() {
+
+    DataBind dataBind = new DataBind(null, null, null, true);
+    dataBind.append("a").append(", ").append(1);
+
+    assertThat(dataBind.isLogBind()).isTrue();
+    assertThat(dataBind.getBindLog()).isEqualTo("a, 1");
+  }
+
+  @Test
+  public void priorType_registeredByFirstExecution() {
+
+    ScalarType<?>[] bindTypes = new ScalarType<?>[2];
+    ScalarTypeString stringType = new ScalarTypeString();
+    ScalarTypeInteger integerType = new ScalarTypeInteger();
+
+    DataBind first = new DataBind(null, null, null);
+    first.setBindTypes(bindTypes);
+    assertThat(first.priorType(String.class)).isNull();
+    first.registerType(stringType);
+    assertThat(first.priorType(Integer.class)).isNull();
+    first.registerType(integerType);
+
+    DataBind second = new DataBind(null, null, null);
+    second.setBindTypes(bindTypes);
+    assertThat(second.priorType(String.class)).isSameAs(stringType);
+    // value type differs from the prior execution
+    assertThat(second.priorType(Long.class)).isNull();
+    // beyond the known bind positions
+    assertThat(second.priorType(String.class)).isNull();
+    second.registerType(stringType);
+  }
+}
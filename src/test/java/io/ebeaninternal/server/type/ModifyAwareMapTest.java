@@ -2,9 +2,11 @@ package io.ebeaninternal.server.type;
 
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -181,4 +183,58 @@ public class ModifyAwareMapTest {
     assertEquals(map.size(), entries.size());
     assertFalse(map.isMarkedDirty());
   }
+
+  @Test
+  public void testPendingKeys() throws Exception {
+
+    ModifyAwareMap<String, String> map = createMap();
+    map.put("A", "change");
+    map.remove("B");
+
+    assertTrue(map.isMarkedDirty());
+    assertEquals(new LinkedHashSet<>(Arrays.asList("A", "B")), map.getPendingKeys());
+
+    // modified after the dirty check (e.g. in a BeanPersistController)
+    map.put("C", "later");
+    assertEquals(new LinkedHashSet<>(Arrays.asList("A", "B", "C")), map.getPendingKeys());
+
+    map.clearPendingKeys();
+    assertNull(map.getPendingKeys());
+  }
+
+  @Test
+  public void testPendingKeys_when_clear() throws Exception {
+
+    ModifyAwareMap<String, String> map = createMap();
+    map.put("A", "change");
+    map.clear();
+
+    assertTrue(map.isMarkedDirty());
+    assertNull(map.getPendingKeys());
+  }
+
+  @Test
+  public void testPendingKeys_when_notWritten_expect_kept() throws Exception {
+
+    ModifyAwareMap<String, String> map = createMap();
+    map.put("A", "change");
+    assertTrue(map.isMarkedDirty());
+
+    // save did not execute (e.g. vetoed) so the keys are kept for the next save
+    map.put("B", "change");
+    assertTrue(map.isMarkedDirty());
+    assertFalse(map.isMarkedDirty());
+    assertEquals(new LinkedHashSet<>(Arrays.asList("A", "B")), map.getPendingKeys());
+  }
+
+  @Test
+  public void testPendingKeys_when_clearAfterDirtyCheck() throws Exception {
+
+    ModifyAwareMap<String, String> map = createMap();
+    map.put("A", "change");
+    assertTrue(map.isMarkedDirty());
+
+    map.clear();
+    assertNull(map.getPendingKeys());
+  }
 }
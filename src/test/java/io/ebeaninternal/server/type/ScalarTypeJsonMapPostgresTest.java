@@ -0,0 +1,68 @@
+package io.ebeaninternal.server.type;
+
+import io.ebean.text.json.EJson;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ScalarTypeJsonMapPostgresTest {
+
+  private final ScalarTypeJsonMapPostgres.JSONB type = new ScalarTypeJsonMapPostgres.JSONB(true);
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void partialUpdateKeys_nestedModification() throws Exception {
+
+    Map<String, Object> map = EJson.parseObject("{\"a\":1,\"b\":{\"c\":[1,2]},\"d\":\"x\"}", true);
+    assertThat(type.getPartialUpdateKeys(map)).isNull();
+
+    Map<String, Object> nested = (Map<String, Object>) map.get("b");
+    ((List<Object>) nested.get("c")).add(3);
+    map.remove("d");
+
+    assertThat(type.isDirty(map)).isTrue();
+    assertThat(type.getPartialUpdateKeys(map)).containsExactly("b", "d");
+    assertThat(type.formatModifiedKeys(map, type.getPartialUpdateKeys(map))).isEqualTo("{\"b\":{\"c\":[1,2,3]}}");
+    assertThat(type.formatRemovedKeys(map, type.getPartialUpdateKeys(map))).isEqualTo("{\"d\"}");
+  }
+
+  @Test
+  public void partialUpdateKeys_whenClearedFullWrite() throws Exception {
+
+    Map<String, Object> map = EJson.parseObject("{\"a\":1,\"b\":2}", true);
+    map.put("a", 2);
+    map.clear();
+
+    assertThat(type.isDirty(map)).isTrue();
+    assertThat(type.getPartialUpdateKeys(map)).isNull();
+  }
+
+  @Test
+  public void partialUpdateKeys_whenNotSupported() throws Exception {
+
+    Map<String, Object> map = EJson.parseObject("{\"a\":1}", true);
+    map.put("a", 2);
+
+    ScalarTypeJsonMapPostgres.JSONB fullType = new ScalarTypeJsonMapPostgres.JSONB();
+    assertThat(fullType.isDirty(map)).isTrue();
+    assertThat(fullType.getPartialUpdateKeys(map)).isNull();
+  }
+
+  @Test
+  public void formatRemovedKeys_escaped() throws Exception {
+
+    Map<String, Object> map = EJson.parseObject("{\"a\":1}", true);
+    String removed = type.formatRemovedKeys(map, new LinkedHashSet<>(Arrays.asList("a", "b\"c", "d\\e")));
+    assertThat(removed).isEqualTo("{\"b\\\"c\",\"d\\\\e\"}");
+  }
+
+  @Test
+  public void partialUpdateSql() {
+    assertThat(type.getPartialUpdateSql("content")).isEqualTo("(coalesce(content,'{}'::jsonb) - ?::text[]) || ?::jsonb");
+  }
+}
@@ -0,0 +1,93 @@
+package io.ebeanservice.docstore.api.support;
+
+import io.ebean.DocStoreIndexProgress;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocStoreIndexCheckpointTest {
+
+  @Test
+  public void resume_samePlan() throws Exception {
+
+    File file = new File(Files.createTempDirectory("reindex").toFile(), "order.checkpoint");
+
+    DocStoreIndexCheckpoint first = new DocStoreIndexCheckpoint(file, "Order-4-abc");
+    assertThat(first.open()).isEmpty();
+    first.completed(0, 100);
+    first.completed(2, 50);
+    first.close();
+
+    DocStoreIndexCheckpoint second = new DocStoreIndexCheckpoint(file, "Order-4-abc");
+    Set<Integer> completed = second.open();
+    assertThat(completed).containsOnly(0, 2);
+    second.completed(1, 10);
+    second.close();
+
+    DocStoreIndexCheckpoint third = new DocStoreIndexCheckpoint(file, "Order-4-abc");
+    assertThat(third.open()).containsOnly(0, 1, 2);
+    third.delete();
+    assertThat(file).doesNotExist();
+  }
+
+  @Test
+  public void resume_sameRange() throws Exception {
+
+    File file = new File(Files.createTempDirectory("reindex").toFile(), "order.checkpoint");
+
+    DocStoreIndexCheckpoint first = new DocStoreIndexCheckpoint(file, "Order-abc");
+    first.open();
+    assertThat(first.getRange()).isNull();
+    first.range("Long 1 1000");
+    first.completed(0, 100);
+    first.close();
+
+    DocStoreIndexCheckpoint second = new DocStoreIndexCheckpoint(file, "Order-abc");
+    assertThat(second.open()).containsOnly(0);
+    assertThat(second.getRange()).isEqualTo("Long 1 1000");
+    second.delete();
+  }
+
+  @Test
+  public void differentPlan_ignored() throws Exception {
+
+    File file = new File(Files.createTempDirectory("reindex").toFile(), "order.checkpoint");
+
+    DocStoreIndexCheckpoint first = new DocStoreIndexCheckpoint(file, "Order-4-abc");
+    first.open();
+    first.completed(0, 100);
+    first.close();
+
+    DocStoreIndexCheckpoint second = new DocStoreIndexCheckpoint(file, "Order-5-def");
+    assertThat(second.open()).isEmpty();
+    second.close();
+  }
+
+  @Test
+  public void progress() {
+
+    DocStoreIndexProgress progress = new DocStoreIndexProgress("Order", 3);
+    progress.partitionSkipped();
+    progress.addIndexed(100);
+    progress.addIndexed(20);
+    progress.partitionCompleted();
+    assertThat(progress.isComplete()).isFalse();
+
+    progress.partitionCompleted();
+    progress.finished();
+    assertThat(progress.isComplete()).isTrue();
+    assertThat(progress.getIndexedCount()).isEqualTo(120);
+    assertThat(progress.getBatchCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void partition_toString() {
+    assertThat(new DocStorePartitionedIndexer.Partition(0, 1L, 11L, null).toString()).isEqualTo("[1,11)");
+    assertThat(new DocStorePartitionedIndexer.Partition(1, 11L, null, null).toString()).isEqualTo("[11,)");
+    assertThat(new DocStorePartitionedIndexer.Partition(1, null, null, "status = 'NEW'").toString()).isEqualTo("status = 'NEW'");
+  }
+}
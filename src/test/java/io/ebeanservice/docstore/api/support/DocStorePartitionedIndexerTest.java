@@ -0,0 +1,51 @@
+package io.ebeanservice.docstore.api.support;
+
+import io.ebean.BaseTestCase;
+import io.ebean.DocStoreIndexOptions;
+import io.ebean.Ebean;
+import io.ebean.plugin.BeanType;
+import io.ebeaninternal.api.SpiQuery;
+import org.junit.Test;
+import org.tests.model.basic.Customer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocStorePartitionedIndexerTest extends BaseTestCase {
+
+  private final BeanType<Customer> beanType = Ebean.getDefaultServer().getPluginApi().getBeanType(Customer.class);
+
+  private final DocStoreIndexOptions options = new DocStoreIndexOptions().partitionSize(1000);
+
+  private String plan(SpiQuery<Customer> query) {
+    return DocStorePartitionedIndexer.plan(query, beanType, options);
+  }
+
+  @Test
+  public void plan_when_sameQuery_expect_samePlan() {
+
+    String first = plan((SpiQuery<Customer>) Ebean.find(Customer.class).where().eq("status", Customer.Status.NEW).query());
+    String second = plan((SpiQuery<Customer>) Ebean.find(Customer.class).where().eq("status", Customer.Status.NEW).query());
+
+    assertThat(first).isEqualTo(second);
+  }
+
+  @Test
+  public void plan_when_differentWhere_expect_differentPlan() {
+
+    String all = plan((SpiQuery<Customer>) Ebean.find(Customer.class));
+    String active = plan((SpiQuery<Customer>) Ebean.find(Customer.class).where().eq("status", Customer.Status.ACTIVE).query());
+    String fresh = plan((SpiQuery<Customer>) Ebean.find(Customer.class).where().eq("status", Customer.Status.NEW).query());
+
+    assertThat(active).isNotEqualTo(all);
+    assertThat(active).isNotEqualTo(fresh);
+  }
+
+  @Test
+  public void plan_when_differentOrderBy_expect_differentPlan() {
+
+    String byName = plan((SpiQuery<Customer>) Ebean.find(Customer.class).orderBy("name"));
+    String byId = plan((SpiQuery<Customer>) Ebean.find(Customer.class).orderBy("id"));
+
+    assertThat(byName).isNotEqualTo(byId);
+  }
+}
@@ -0,0 +1,125 @@
+package io.ebeanservice.docstore.embedded;
+
+import io.ebean.Junction;
+import io.ebean.LikeType;
+import io.ebean.search.Match;
+import io.ebean.search.MultiMatch;
+import io.ebean.search.TextQueryString;
+import io.ebeaninternal.server.expression.Op;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmbeddedDocQueryContextTest {
+
+  private EmbeddedIndex index;
+
+  private EmbeddedDocQueryContext context;
+
+  @Before
+  public void setup() throws Exception {
+    index = new EmbeddedIndex("product", null);
+    EmbeddedDocStoreUpdateContext update = new EmbeddedDocStoreUpdateContext();
+    update.index("product", 1, "{\"id\":1,\"sku\":\"C001\",\"name\":\"Chair red wood\",\"price\":100,\"tags\":[\"garden\",\"outdoor\"]}");
+    update.index("product", 2, "{\"id\":2,\"sku\":\"C002\",\"name\":\"Chair blue metal\",\"price\":150,\"tags\":[\"office\"]}");
+    update.index("product", 3, "{\"id\":3,\"sku\":\"D001\",\"name\":\"Desk wood\",\"price\":400}");
+    update.index("product", 4, "{\"id\":4,\"sku\":\"D002\",\"name\":\"Desk red metal\",\"price\":null}");
+    index.apply(update.entries());
+    context = new EmbeddedDocQueryContext(null);
+  }
+
+  private List<String> ids() {
+    return index.search(context.matcher()).stream().map(EmbeddedDoc::getId).sorted().collect(Collectors.toList());
+  }
+
+  @Test
+  public void match_operator() {
+    context.writeMatch("name", "red wood", new Match());
+    assertThat(ids()).containsExactly("1", "3", "4");
+
+    context = new EmbeddedDocQueryContext(null);
+    context.writeMatch("name", "red wood", new Match().opAnd());
+    assertThat(ids()).containsExactly("1");
+  }
+
+  @Test
+  public void match_phrase() {
+    context.writeMatch("name", "red metal", new Match().phrase());
+    assertThat(ids()).containsExactly("4");
+
+    context = new EmbeddedDocQueryContext(null);
+    context.writeMatch("name", "chair bl", new Match().phrasePrefix());
+    assertThat(ids()).containsExactly("2");
+  }
+
+  @Test
+  public void multiMatch() {
+    context.writeMultiMatch("office desk", new MultiMatch("name^2", "tags").opOr());
+    assertThat(ids()).containsExactly("2", "3", "4");
+  }
+
+  @Test
+  public void queryString() {
+    context.writeTextQueryString("chair -metal", new TextQueryString());
+    assertThat(ids()).containsExactly("1");
+
+    context = new EmbeddedDocQueryContext(null);
+    context.writeTextQueryString("+desk \"red metal\"", new TextQueryString());
+    assertThat(ids()).containsExactly("3", "4");
+
+    context = new EmbeddedDocQueryContext(null);
+    context.writeTextQueryString("gard* OR off*", new TextQueryString("tags"));
+    assertThat(ids()).containsExactly("1", "2");
+  }
+
+  @Test
+  public void simple_and_range() {
+    context.writeSimple(Op.GT_EQ, "price", 150);
+    assertThat(ids()).containsExactly("2", "3");
+
+    context = new EmbeddedDocQueryContext(null);
+    context.writeRange("price", Op.GT, 100, Op.LT_EQ, 400);
+    assertThat(ids()).containsExactly("2", "3");
+
+    context = new EmbeddedDocQueryContext(null);
+    context.writeSimple(Op.NOT_EQ, "sku", "C001");
+    assertThat(ids()).containsExactly("2", "3", "4");
+  }
+
+  @Test
+  public void bool_junctions() {
+    context.startBool(Junction.Type.OR);
+    context.writeEqualTo("sku", "C001");
+    context.startBoolMust();
+    context.writeLike("sku", "D%", LikeType.RAW, false);
+    context.writeExists(false, "price");
+    context.endBool();
+    context.endBool();
+    assertThat(ids()).containsExactly("1", "4");
+  }
+
+  @Test
+  public void boolGroup_withText() {
+    context.startBoolGroup();
+    context.startBoolGroupList(Junction.Type.SHOULD);
+    context.writeMatch("name", "chair", null);
+    context.writeMatch("name", "metal", null);
+    context.endBoolGroupList();
+    context.startBoolGroupList(Junction.Type.MUST_NOT);
+    context.writeIn("sku", new Object[]{"C002"}, false);
+    context.endBoolGroupList();
+    context.endBoolGroup();
+    assertThat(ids()).containsExactly("1", "4");
+  }
+
+  @Test
+  public void ids_and_listValues() {
+    context.writeIds(java.util.Arrays.asList(1, 2, 3));
+    context.writeIEqualTo("tags", "OFFICE");
+    assertThat(ids()).containsExactly("2");
+  }
+}
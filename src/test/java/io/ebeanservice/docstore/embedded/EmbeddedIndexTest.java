@@ -0,0 +1,131 @@
+package io.ebeanservice.docstore.embedded;
+
+import io.ebean.search.Match;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmbeddedIndexTest {
+
+  private List<EmbeddedDocStoreUpdateContext.Entry> entries(EmbeddedDocStoreUpdateContext context) {
+    return new ArrayList<>(context.entries());
+  }
+
+  private EmbeddedMatcher match(String property, String search) {
+    EmbeddedDocQueryContext context = new EmbeddedDocQueryContext(null);
+    context.writeMatch(property, search, new Match());
+    return context.matcher();
+  }
+
+  @Test
+  public void tokenize() {
+    assertThat(EmbeddedDoc.tokenize("Hello, World-wide 42")).containsExactly("hello", "world", "wide", "42");
+    assertThat(EmbeddedDoc.tokenize("  ")).isEmpty();
+  }
+
+  @Test
+  public void index_search_delete() throws Exception {
+
+    EmbeddedIndex index = new EmbeddedIndex("customer", null);
+    EmbeddedDocStoreUpdateContext context = new EmbeddedDocStoreUpdateContext();
+    context.index("customer", 1L, "{\"id\":1,\"name\":\"Rob Bygrave\",\"billingAddress\":{\"city\":\"Auckland\"}}");
+    context.index("customer", 2L, "{\"id\":2,\"name\":\"Jim Bygrave\",\"billingAddress\":{\"city\":\"Wellington\"}}");
+    index.apply(entries(context));
+
+    assertThat(index.size()).isEqualTo(2);
+    assertThat(index.search(match("name", "bygrave"))).hasSize(2);
+    assertThat(index.search(match("billingAddress.city", "auckland"))).extracting(EmbeddedDoc::getId).containsExactly("1");
+
+    context.clear();
+    context.delete("customer", 1L);
+    index.apply(entries(context));
+
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.search(match("name", "bygrave"))).extracting(EmbeddedDoc::getId).containsExactly("2");
+    assertThat(index.search(match("billingAddress.city", "auckland"))).isEmpty();
+  }
+
+  @Test
+  public void merge() throws Exception {
+
+    EmbeddedIndex index = new EmbeddedIndex("customer", null);
+    EmbeddedDocStoreUpdateContext context = new EmbeddedDocStoreUpdateContext();
+    context.index("customer", 1L, "{\"id\":1,\"name\":\"Rob\",\"status\":\"NEW\",\"contact\":{\"id\":7,\"email\":\"a@b\"}}");
+    context.merge("customer", 1L, "{\"status\":\"ACTIVE\",\"contact\":{\"id\":7}}");
+    index.apply(entries(context));
+
+    EmbeddedDoc doc = index.get("1");
+    assertThat(doc.firstValue("name")).isEqualTo("Rob");
+    assertThat(doc.firstValue("status")).isEqualTo("ACTIVE");
+    assertThat(doc.firstValue("contact.email")).isEqualTo("a@b");
+    assertThat(index.search(match("status", "new"))).isEmpty();
+    assertThat(index.search(match("status", "active"))).hasSize(1);
+  }
+
+  @Test
+  public void persist_and_reload() throws Exception {
+
+    File dir = Files.createTempDirectory("docstore").toFile();
+
+    EmbeddedIndex index = new EmbeddedIndex("order", dir);
+    EmbeddedDocStoreUpdateContext context = new EmbeddedDocStoreUpdateContext();
+    for (long i = 0; i < 10; i++) {
+      context.index("order", i, "{\"id\":" + i + ",\"notes\":\"order number " + i + "\"}");
+    }
+    context.delete("order", 3L);
+    context.index("order", 4L, "{\"id\":4,\"notes\":\"updated\"}");
+    index.apply(entries(context));
+    index.close();
+
+    EmbeddedIndex reloaded = new EmbeddedIndex("order", dir);
+    reloaded.load();
+
+    assertThat(reloaded.size()).isEqualTo(9);
+    assertThat(reloaded.get("3")).isNull();
+    assertThat(reloaded.get("4").firstValue("notes")).isEqualTo("updated");
+    assertThat(reloaded.search(match("notes", "number"))).hasSize(8);
+
+    reloaded.drop();
+    assertThat(new File(dir, "order" + EmbeddedIndex.SEGMENT_SUFFIX)).doesNotExist();
+  }
+
+  @Test
+  public void escapeId() {
+
+    assertThat(EmbeddedIndex.escapeId("plain")).isEqualTo("plain");
+    assertThat(EmbeddedIndex.escapeId("a\tb\nc\rd\\e")).isEqualTo("a\\tb\\nc\\rd\\\\e");
+    assertThat(EmbeddedIndex.unescapeId(EmbeddedIndex.escapeId("a\tb\nc\rd\\e\\t"))).isEqualTo("a\tb\nc\rd\\e\\t");
+  }
+
+  @Test
+  public void persist_and_reload_when_idHasTabOrNewline() throws Exception {
+
+    File dir = Files.createTempDirectory("docstore").toFile();
+
+    EmbeddedIndex index = new EmbeddedIndex("doc", dir);
+    EmbeddedDocStoreUpdateContext context = new EmbeddedDocStoreUpdateContext();
+    context.index("doc", "a\tb", "{\"notes\":\"tab\"}");
+    context.index("doc", "c\nd", "{\"notes\":\"newline\"}");
+    context.index("doc", "e\\tf", "{\"notes\":\"backslash\"}");
+    context.index("doc", "g\r\nh", "{\"notes\":\"crlf\"}");
+    context.delete("doc", "c\nd");
+    index.apply(entries(context));
+    index.close();
+
+    EmbeddedIndex reloaded = new EmbeddedIndex("doc", dir);
+    reloaded.load();
+
+    assertThat(reloaded.size()).isEqualTo(3);
+    assertThat(reloaded.get("a\tb").firstValue("notes")).isEqualTo("tab");
+    assertThat(reloaded.get("c\nd")).isNull();
+    assertThat(reloaded.get("e\\tf").firstValue("notes")).isEqualTo("backslash");
+    assertThat(reloaded.get("g\r\nh").firstValue("notes")).isEqualTo("crlf");
+
+    reloaded.drop();
+  }
+}
@@ -0,0 +1,68 @@
+package org.tests.basic;
+
+import io.ebean.BaseTestCase;
+import io.ebean.EbeanServer;
+import io.ebean.EbeanServerFactory;
+import io.ebean.config.ServerConfig;
+import org.junit.Test;
+import org.tests.model.basic.TUuidEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestUuidTimeOrderedInsert extends BaseTestCase {
+
+  @Test
+  public void insert_when_uuidTimeOrdered_expect_idOrderIsInsertOrder() {
+
+    if (!isH2()) {
+      return;
+    }
+
+    EbeanServer server = create();
+
+    List<UUID> inserted = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      TUuidEntity bean = new TUuidEntity();
+      bean.setName("n" + i);
+      server.save(bean);
+      inserted.add(bean.getId());
+    }
+
+    assertThat(inserted.get(0).version()).isEqualTo(7);
+
+    // the database orders the ids as inserted so inserts append to the primary key index
+    List<UUID> byId = new ArrayList<>();
+    for (TUuidEntity bean : server.find(TUuidEntity.class).orderBy("id").findList()) {
+      byId.add(bean.getId());
+    }
+    assertThat(byId).isEqualTo(inserted);
+  }
+
+  private EbeanServer create() {
+
+    System.setProperty("ebean.ignoreExtraDdl", "true");
+
+    Properties properties = new Properties();
+    properties.setProperty("datasource.h2uuidordered.username", "sa");
+    properties.setProperty("datasource.h2uuidordered.password", "");
+    properties.setProperty("datasource.h2uuidordered.databaseUrl", "jdbc:h2:mem:h2uuidordered");
+    properties.setProperty("datasource.h2uuidordered.databaseDriver", "org.h2.Driver");
+
+    ServerConfig config = new ServerConfig();
+    config.setName("h2uuidordered");
+    config.loadFromProperties(properties);
+    config.setDdlGenerate(true);
+    config.setDdlRun(true);
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.setUuidTimeOrdered(true);
+
+    config.addClass(TUuidEntity.class);
+    return EbeanServerFactory.create(config);
+  }
+}
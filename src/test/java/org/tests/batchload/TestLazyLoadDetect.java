@@ -0,0 +1,126 @@
+package org.tests.batchload;
+
+import io.ebean.BaseTestCase;
+import io.ebean.EbeanServer;
+import io.ebean.EbeanServerFactory;
+import io.ebean.config.ServerConfig;
+import io.ebean.meta.MetaLazyLoadReport;
+import org.junit.Test;
+import org.tests.model.basic.UTDetail;
+import org.tests.model.basic.UTMaster;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestLazyLoadDetect extends BaseTestCase {
+
+  private final List<MetaLazyLoadReport> reports = Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  public void lazyLoad_when_manyLoadedPerBean_expect_reported() {
+
+    if (!isH2()) {
+      return;
+    }
+
+    EbeanServer server = create("h2lazydetectmany");
+
+    // batch size 1 so each collection is lazy loaded by its own query (N+1)
+    List<UTMaster> masters = server.find(UTMaster.class).setLazyLoadBatchSize(1).findList();
+    assertThat(masters).hasSize(5);
+    for (UTMaster master : masters) {
+      assertThat(master.getDetails()).hasSize(2);
+    }
+
+    assertThat(reports).hasSize(1);
+    MetaLazyLoadReport report = reports.get(0);
+    assertThat(report.isMany()).isTrue();
+    assertThat(report.getNode().getPath()).isEqualTo("details");
+    assertThat(report.getSuggestion()).isEqualTo("fetchQuery(\"details\")");
+
+    // the report is also collected with the count of origin query executions
+    List<MetaLazyLoadReport> collected = server.getMetaInfoManager().collectLazyLoadReports(true);
+    assertThat(collected).hasSize(1);
+    assertThat(collected.get(0).getCount()).isEqualTo(1);
+    assertThat(collected.get(0).getMaxLazyLoads()).isEqualTo(5);
+  }
+
+  @Test
+  public void lazyLoad_when_beanLoadedPerBean_expect_reported() {
+
+    if (!isH2()) {
+      return;
+    }
+
+    EbeanServer server = create("h2lazydetectbean");
+
+    // description is not selected so is lazy loaded for each bean
+    List<UTMaster> masters = server.find(UTMaster.class).select("name").setLazyLoadBatchSize(1).findList();
+    for (UTMaster master : masters) {
+      assertThat(master.getDescription()).startsWith("desc");
+    }
+
+    assertThat(reports).hasSize(1);
+    MetaLazyLoadReport report = reports.get(0);
+    assertThat(report.isMany()).isFalse();
+    assertThat(report.getNode().getPath()).isNull();
+  }
+
+  @Test
+  public void lazyLoad_when_belowThreshold_expect_notReported() {
+
+    if (!isH2()) {
+      return;
+    }
+
+    EbeanServer server = create("h2lazydetectbatch");
+
+    // loaded in batches of 100 so a single lazy loading query
+    List<UTMaster> masters = server.find(UTMaster.class).findList();
+    for (UTMaster master : masters) {
+      assertThat(master.getDetails()).hasSize(2);
+    }
+
+    assertThat(reports).isEmpty();
+  }
+
+  private EbeanServer create(String name) {
+
+    System.setProperty("ebean.ignoreExtraDdl", "true");
+
+    Properties properties = new Properties();
+    properties.setProperty("datasource." + name + ".username", "sa");
+    properties.setProperty("datasource." + name + ".password", "");
+    properties.setProperty("datasource." + name + ".databaseUrl", "jdbc:h2:mem:" + name);
+    properties.setProperty("datasource." + name + ".databaseDriver", "org.h2.Driver");
+
+    ServerConfig config = new ServerConfig();
+    config.setName(name);
+    config.loadFromProperties(properties);
+    config.setDdlGenerate(true);
+    config.setDdlRun(true);
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.setLazyLoadDetectThreshold(3);
+    config.setLazyLoadListener(reports::add);
+
+    config.addClass(UTMaster.class);
+    config.addClass(UTDetail.class);
+    EbeanServer server = EbeanServerFactory.create(config);
+
+    for (int i = 0; i < 5; i++) {
+      UTMaster master = new UTMaster("m" + i);
+      master.setDescription("desc" + i);
+      List<UTDetail> details = new ArrayList<>();
+      details.add(new UTDetail("d" + i, 1, 1.0));
+      details.add(new UTDetail("e" + i, 2, 2.0));
+      master.setDetails(details);
+      server.save(master);
+    }
+    return server;
+  }
+}
@@ -3,11 +3,14 @@ package org.tests.inheritance.cache;
 
 import io.ebean.BaseTestCase;
 import io.ebean.Ebean;
+import org.avaje.ebeantest.LoggedSqlCollector;
 import org.tests.model.basic.cache.CInhOne;
 import org.tests.model.basic.cache.CInhRoot;
 import org.junit.Test;
 
-import static org.assertj.core.api.StrictAssertions.assertThat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class TestInheritanceCache extends BaseTestCase {
 
@@ -39,4 +42,34 @@ public class TestInheritanceCache extends BaseTestCase {
     CInhRoot refOneSub = Ebean.getReference(CInhOne.class, one.getId());
     assertThat(refOneSub).isNotNull();
   }
+
+  @Test
+  public void lazyLoad_when_subType_expect_beanCacheHit() {
+
+    CInhOne one = new CInhOne();
+    one.setLicenseNumber("O13");
+    one.setDriver("Jack");
+    one.setNotes("Lazy");
+
+    Ebean.save(one);
+
+    // load the bean cache
+    Ebean.find(CInhRoot.class).setId(one.getId()).findUnique();
+
+    CInhRoot partial = Ebean.find(CInhRoot.class)
+      .select("licenseNumber")
+      .where().eq("licenseNumber", "O13")
+      .findUnique();
+
+    assertThat(partial).isInstanceOf(CInhOne.class);
+
+    // lazy loading via the root type hits the cache data of the sub type
+    LoggedSqlCollector.start();
+    String driver = ((CInhOne) partial).getDriver();
+    List<String> sql = LoggedSqlCollector.stop();
+
+    assertThat(driver).isEqualTo("Jack");
+    assertThat(((CInhOne) partial).getNotes()).isEqualTo("Lazy");
+    assertThat(sql).isEmpty();
+  }
 }
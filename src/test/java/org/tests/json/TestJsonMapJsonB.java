@@ -2,13 +2,21 @@ package org.tests.json;
 
 import io.ebean.BaseTestCase;
 import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import io.ebean.EbeanServerFactory;
+import io.ebean.config.ServerConfig;
+import io.ebean.event.BeanPersistAdapter;
+import io.ebean.event.BeanPersistRequest;
 import io.ebean.text.json.EJson;
+import org.avaje.ebeantest.LoggedSqlCollector;
 import org.tests.model.json.EBasicJsonMapJsonB;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 
 public class TestJsonMapJsonB extends BaseTestCase {
@@ -36,4 +44,91 @@ public class TestJsonMapJsonB extends BaseTestCase {
     bean1.setName("just change name");
     Ebean.save(bean1);
   }
+
+  @Test
+  public void testPartialUpdate() throws IOException {
+
+    if (!isPostgres()) {
+      // partial update is only supported for Postgres JSONB
+      return;
+    }
+
+    ContentController controller = new ContentController();
+    EbeanServer server = createPartialUpdateServer(controller);
+
+    EBasicJsonMapJsonB bean = new EBasicJsonMapJsonB();
+    bean.setName("partial");
+    bean.setContent(EJson.parseObject("{\"a\":1,\"b\":2,\"c\":3}"));
+    server.save(bean);
+
+    EBasicJsonMapJsonB found = server.find(EBasicJsonMapJsonB.class, bean.getId());
+    found.getContent().put("a", 10);
+    found.getContent().remove("b");
+
+    // the first save is vetoed and the retry must still include the keys
+    controller.veto = true;
+    server.save(found);
+    assertThat(controller.vetoed).isTrue();
+
+    LoggedSqlCollector.start();
+    server.save(found);
+    List<String> sql = LoggedSqlCollector.stop();
+
+    assertThat(sql).hasSize(1);
+    assertThat(sql.get(0)).contains("content=(coalesce(content,'{}'::jsonb) - ?::text[]) || ?::jsonb");
+
+    EBasicJsonMapJsonB check = server.find(EBasicJsonMapJsonB.class, bean.getId());
+    Map<String, Object> content = check.getContent();
+    assertThat(content.get("a")).isEqualTo(10L);
+    assertThat(content).doesNotContainKey("b");
+    assertThat(content.get("c")).isEqualTo(3L);
+    // set in the controller after the dirty check
+    assertThat(content.get("audit")).isEqualTo("controller");
+
+    server.delete(check);
+    server.shutdown(false, false);
+  }
+
+  private EbeanServer createPartialUpdateServer(ContentController controller) {
+
+    ServerConfig config = new ServerConfig();
+    config.setName("pg");
+    config.loadFromProperties();
+    config.setDdlGenerate(false);
+    config.setDdlRun(false);
+    config.setRegister(false);
+    config.setDefaultServer(false);
+    config.setJsonPartialUpdate(true);
+    config.addClass(EBasicJsonMapJsonB.class);
+    config.add(controller);
+
+    return EbeanServerFactory.create(config);
+  }
+
+  /**
+   * Sets a key on the content in preUpdate optionally vetoing the update.
+   */
+  static class ContentController extends BeanPersistAdapter {
+
+    boolean veto;
+
+    boolean vetoed;
+
+    @Override
+    public boolean isRegisterFor(Class<?> cls) {
+      return EBasicJsonMapJsonB.class.equals(cls);
+    }
+
+    @Override
+    public boolean preUpdate(BeanPersistRequest<?> request) {
+      EBasicJsonMapJsonB bean = (EBasicJsonMapJsonB) request.getBean();
+      bean.getContent().put("audit", "controller");
+      if (veto) {
+        veto = false;
+        vetoed = true;
+        return false;
+      }
+      return true;
+    }
+  }
 }
@@ -0,0 +1,63 @@
+package org.tests.query;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.ebean.BaseTestCase;
+import io.ebean.Ebean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.tests.model.basic.EBasic;
+
+import javax.persistence.PersistenceException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class TestQueryErrorBindLog extends BaseTestCase {
+
+  private final Logger sqlLogger = (Logger) LoggerFactory.getLogger("io.ebean.SQL");
+
+  private final Logger sumLogger = (Logger) LoggerFactory.getLogger("io.ebean.SUM");
+
+  private Level sqlLevel;
+
+  private Level sumLevel;
+
+  @Before
+  public void bindLoggingOff() {
+    sqlLevel = sqlLogger.getLevel();
+    sumLevel = sumLogger.getLevel();
+    sqlLogger.setLevel(Level.INFO);
+    sumLogger.setLevel(Level.INFO);
+  }
+
+  @After
+  public void restoreLogging() {
+    sqlLogger.setLevel(sqlLevel);
+    sumLogger.setLevel(sumLevel);
+  }
+
+  @Test
+  public void findList_when_bindLogOff_expect_bindValuesInError() {
+
+    try {
+      Ebean.find(EBasic.class).where().raw("not_a_column = ?", 4242).findList();
+      fail("expected PersistenceException");
+    } catch (PersistenceException e) {
+      assertThat(e.getMessage()).contains("4242");
+    }
+  }
+
+  @Test
+  public void findCount_when_bindLogOff_expect_bindValuesInError() {
+
+    try {
+      Ebean.find(EBasic.class).where().raw("not_a_column = ?", 4343).findCount();
+      fail("expected PersistenceException");
+    } catch (PersistenceException e) {
+      assertThat(e.getMessage()).contains("4343");
+    }
+  }
+}
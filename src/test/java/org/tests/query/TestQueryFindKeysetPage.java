@@ -0,0 +1,144 @@
+package org.tests.query;
+
+import io.ebean.BaseTestCase;
+import io.ebean.Ebean;
+import io.ebean.KeysetPage;
+import io.ebean.Query;
+import org.avaje.ebeantest.LoggedSqlCollector;
+import org.junit.Test;
+import org.tests.model.basic.Customer;
+import org.tests.model.basic.Order;
+import org.tests.model.basic.ResetBasicData;
+
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestQueryFindKeysetPage extends BaseTestCase {
+
+  @Test(expected = PersistenceException.class)
+  public void test_noMaxRows() {
+
+    Ebean.find(Order.class).findKeysetPage(null);
+  }
+
+  @Test(expected = PersistenceException.class)
+  public void test_invalidKey() {
+
+    Ebean.find(Order.class).setMaxRows(2).findKeysetPage("notAValidKey");
+  }
+
+  @Test
+  public void test_orderById() {
+
+    ResetBasicData.reset();
+
+    List<Integer> expected = ids(Ebean.find(Order.class).order().asc("id").findList());
+    List<Integer> found = allPages(Ebean.find(Order.class), 2);
+
+    assertThat(found).isEqualTo(expected);
+  }
+
+  @Test
+  public void test_nextPage_usesSeekPredicate() {
+
+    ResetBasicData.reset();
+
+    Query<Order> query = Ebean.find(Order.class).setMaxRows(2);
+    KeysetPage<Order> page = query.findKeysetPage(null);
+    assertThat(page.hasNext()).isTrue();
+
+    LoggedSqlCollector.start();
+    query.findKeysetPage(page.getNextKey());
+    List<String> sql = LoggedSqlCollector.stop();
+
+    // the next page seeks past the last id rather than skipping rows
+    assertThat(sql).hasSize(1);
+    assertThat(sql.get(0)).contains("t0.id > ?");
+    assertThat(sql.get(0).toLowerCase()).doesNotContain("offset");
+  }
+
+  @Test
+  public void test_orderByOptionalAssociationPath() {
+
+    ResetBasicData.reset();
+
+    // updtime is not null but billingAddress is optional so nulls sort with the customer without an address
+    List<Integer> expected = customerIds(Ebean.find(Customer.class).order("billingAddress.updtime, id").findList());
+    assertThat(expected).hasSize(Ebean.find(Customer.class).findCount());
+
+    Query<Customer> query = Ebean.find(Customer.class).order().asc("billingAddress.updtime").setMaxRows(1);
+
+    List<Integer> found = new ArrayList<>();
+    KeysetPage<Customer> page = query.findKeysetPage(null);
+    found.addAll(customerIds(page.getList()));
+    while (page.hasNext()) {
+      page = query.findKeysetPage(page.getNextKey());
+      found.addAll(customerIds(page.getList()));
+    }
+
+    assertThat(found).isEqualTo(expected);
+  }
+
+  @Test
+  public void test_orderByDescWithNulls() {
+
+    ResetBasicData.reset();
+
+    // shipDate is nullable and id is appended to the order by
+    List<Integer> expected = ids(Ebean.find(Order.class).order("shipDate desc, id").findList());
+    List<Integer> found = allPages(Ebean.find(Order.class).order().desc("shipDate"), 2);
+
+    assertThat(found).isEqualTo(expected);
+  }
+
+  @Test
+  public void test_withFetch() {
+
+    ResetBasicData.reset();
+
+    Query<Order> query = Ebean.find(Order.class)
+      .fetch("customer", "name")
+      .where().gt("id", 1)
+      .order().asc("status");
+
+    List<Integer> expected = ids(Ebean.find(Order.class).where().gt("id", 1).order("status, id").findList());
+    List<Integer> found = allPages(query, 3);
+
+    assertThat(found).isEqualTo(expected);
+  }
+
+  private List<Integer> allPages(Query<Order> query, int pageSize) {
+
+    query.setMaxRows(pageSize);
+
+    List<Integer> ids = new ArrayList<>();
+    KeysetPage<Order> page = query.findKeysetPage(null);
+    ids.addAll(ids(page.getList()));
+    while (page.hasNext()) {
+      assertThat(page.getList()).hasSize(pageSize);
+      page = query.findKeysetPage(page.getNextKey());
+      ids.addAll(ids(page.getList()));
+    }
+    assertThat(page.getNextKey()).isNull();
+    return ids;
+  }
+
+  private List<Integer> customerIds(List<Customer> customers) {
+    List<Integer> ids = new ArrayList<>();
+    for (Customer customer : customers) {
+      ids.add(customer.getId());
+    }
+    return ids;
+  }
+
+  private List<Integer> ids(List<Order> orders) {
+    List<Integer> ids = new ArrayList<>();
+    for (Order order : orders) {
+      ids.add(order.getId());
+    }
+    return ids;
+  }
+}
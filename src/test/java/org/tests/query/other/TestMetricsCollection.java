@@ -0,0 +1,45 @@
+package org.tests.query.other;
+
+import io.ebean.BaseTestCase;
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import io.ebean.meta.MetaInfoManager;
+import io.ebean.meta.MetaMetric;
+import org.junit.Test;
+import org.tests.model.basic.EBasic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMetricsCollection extends BaseTestCase {
+
+  @Test
+  public void test() {
+
+    EbeanServer server = Ebean.getServer(null);
+    MetaInfoManager infoManager = server.getMetaInfoManager();
+    infoManager.collectMetrics(true);
+
+    EBasic basic = new EBasic();
+    basic.setName("metrics");
+    server.save(basic);
+    server.delete(basic);
+
+    List<MetaMetric> metrics = infoManager.collectMetrics(true);
+    assertThat(names(metrics)).contains("txn.commit", "connection.acquire");
+
+    for (MetaMetric metric : metrics) {
+      assertThat(metric.getCount()).isGreaterThan(0);
+    }
+  }
+
+  private List<String> names(List<MetaMetric> metrics) {
+    List<String> names = new ArrayList<>();
+    for (MetaMetric metric : metrics) {
+      names.add(metric.getName());
+    }
+    return names;
+  }
+}
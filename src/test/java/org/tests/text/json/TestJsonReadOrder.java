@@ -0,0 +1,61 @@
+package org.tests.text.json;
+
+import io.ebean.BaseTestCase;
+import io.ebean.Ebean;
+import org.junit.Test;
+import org.tests.model.basic.EBasic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestJsonReadOrder extends BaseTestCase {
+
+  @Test
+  public void toList_writeOrder() {
+
+    List<EBasic> beans = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      EBasic bean = new EBasic("name" + i);
+      bean.setId(i + 1);
+      bean.setStatus(EBasic.Status.ACTIVE);
+      bean.setDescription("desc" + i);
+      beans.add(bean);
+    }
+
+    String json = Ebean.json().toJson(beans);
+    List<EBasic> read = Ebean.json().toList(EBasic.class, json);
+
+    assertThat(read).hasSize(3);
+    assertThat(read.get(2).getId()).isEqualTo(3);
+    assertThat(read.get(2).getName()).isEqualTo("name2");
+    assertThat(read.get(2).getDescription()).isEqualTo("desc2");
+    assertThat(read.get(2).getStatus()).isEqualTo(EBasic.Status.ACTIVE);
+  }
+
+  @Test
+  public void toBean_outOfOrder_missingAndUnknown() {
+
+    String json = "{\"description\":\"d\",\"unknown\":1,\"id\":42,\"name\":\"n\",\"status\":\"NEW\"}";
+
+    EBasic bean = Ebean.json().toBean(EBasic.class, json);
+
+    assertThat(bean.getId()).isEqualTo(42);
+    assertThat(bean.getName()).isEqualTo("n");
+    assertThat(bean.getDescription()).isEqualTo("d");
+    assertThat(bean.getStatus()).isEqualTo(EBasic.Status.NEW);
+  }
+
+  @Test
+  public void toBean_skippedProperties() {
+
+    String json = "{\"id\":7,\"description\":\"d\"}";
+
+    EBasic bean = Ebean.json().toBean(EBasic.class, json);
+
+    assertThat(bean.getId()).isEqualTo(7);
+    assertThat(bean.getDescription()).isEqualTo("d");
+    assertThat(bean.getName()).isNull();
+  }
+}
@@ -0,0 +1,56 @@
+package org.tests.text.json;
+
+import io.ebean.BaseTestCase;
+import io.ebean.Ebean;
+import io.ebean.Query;
+import org.junit.Test;
+import org.tests.model.basic.Customer;
+import org.tests.model.basic.ResetBasicData;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestJsonStreamQuery extends BaseTestCase {
+
+  @Test
+  public void streamJson_selectAndFetch() {
+
+    ResetBasicData.reset();
+
+    Query<Customer> query = Ebean.find(Customer.class)
+      .select("id, name")
+      .fetch("billingAddress", "city")
+      .order().asc("id");
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Ebean.json().streamJson(query, out);
+
+    String json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+    assertThat(json).startsWith("[{\"id\":");
+    assertThat(json).contains("\"billingAddress\":{");
+    assertThat(json).doesNotContain("status");
+    assertThat(json).doesNotContain("shippingAddress");
+
+    List<Customer> read = Ebean.json().toList(Customer.class, new ByteArrayInputStream(out.toByteArray()));
+    List<Customer> expected = Ebean.find(Customer.class).select("id, name").order().asc("id").findList();
+
+    assertThat(read).hasSize(expected.size());
+    assertThat(read.get(0).getId()).isEqualTo(expected.get(0).getId());
+    assertThat(read.get(0).getName()).isEqualTo(expected.get(0).getName());
+  }
+
+  @Test
+  public void streamJson_empty() {
+
+    Query<Customer> query = Ebean.find(Customer.class).where().eq("name", "DoesNotExist").query();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Ebean.json().streamJson(query, out);
+
+    assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("[]");
+  }
+}
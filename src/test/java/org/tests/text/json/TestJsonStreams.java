@@ -0,0 +1,159 @@
+package org.tests.text.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import io.ebean.BaseTestCase;
+import io.ebean.Ebean;
+import io.ebean.FetchPath;
+import io.ebean.text.PathProperties;
+import io.ebean.text.json.JsonContext;
+import org.junit.Test;
+import org.tests.model.basic.EBasic;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestJsonStreams extends BaseTestCase {
+
+  /**
+   * JsonFactory counting the generators and parsers created over bytes and over characters.
+   */
+  static class CountingFactory extends JsonFactory {
+
+    int byteGenerators;
+    int charGenerators;
+    int byteParsers;
+    int charParsers;
+
+    @Override
+    public JsonGenerator createGenerator(OutputStream out, JsonEncoding enc) throws IOException {
+      byteGenerators++;
+      return super.createGenerator(out, enc);
+    }
+
+    @Override
+    public JsonGenerator createGenerator(Writer w) throws IOException {
+      charGenerators++;
+      return super.createGenerator(w);
+    }
+
+    @Override
+    public JsonParser createParser(InputStream in) throws IOException {
+      byteParsers++;
+      return super.createParser(in);
+    }
+
+    @Override
+    public JsonParser createParser(Reader r) throws IOException {
+      charParsers++;
+      return super.createParser(r);
+    }
+  }
+
+  /**
+   * OutputStream recording whether it was closed.
+   */
+  static class CloseTrackingOutputStream extends ByteArrayOutputStream {
+
+    boolean closed;
+
+    @Override
+    public void close() throws IOException {
+      closed = true;
+      super.close();
+    }
+  }
+
+  private List<EBasic> beans() {
+    List<EBasic> beans = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      EBasic bean = new EBasic("name" + i);
+      bean.setId(i + 1);
+      bean.setDescription("desc" + i);
+      beans.add(bean);
+    }
+    return beans;
+  }
+
+  @Test
+  public void toJson_outputStream_toList_inputStream() {
+
+    JsonContext json = Ebean.json();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    json.toJson(beans(), out);
+
+    byte[] bytes = out.toByteArray();
+    assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo(json.toJson(beans()));
+
+    List<EBasic> read = json.toList(EBasic.class, new ByteArrayInputStream(bytes));
+    assertThat(read).hasSize(3);
+    assertThat(read.get(1).getName()).isEqualTo("name1");
+    assertThat(read.get(1).getDescription()).isEqualTo("desc1");
+  }
+
+  @Test
+  public void toJson_outputStream_fetchPath() {
+
+    FetchPath fetchPath = PathProperties.parse("(id,name)");
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Ebean.json().toJson(beans().get(0), out, fetchPath);
+
+    EBasic read = Ebean.json().toBean(EBasic.class, new ByteArrayInputStream(out.toByteArray()));
+    assertThat(read.getId()).isEqualTo(1);
+    assertThat(read.getName()).isEqualTo("name0");
+    assertThat(read.getDescription()).isNull();
+  }
+
+  @Test
+  public void withFactory() {
+
+    JsonContext json = Ebean.json().withFactory(new JsonFactory());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    json.toJson(beans().get(2), out);
+
+    EBasic read = json.toBean(EBasic.class, new ByteArrayInputStream(out.toByteArray()));
+    assertThat(read.getId()).isEqualTo(3);
+    assertThat(read.getName()).isEqualTo("name2");
+  }
+
+  @Test
+  public void streams_expect_bytesWithoutReaderOrWriter() {
+
+    CountingFactory factory = new CountingFactory();
+    JsonContext json = Ebean.json().withFactory(factory);
+
+    EBasic bean = beans().get(0);
+    bean.setName("n\u00e4me \u20ac");
+
+    CloseTrackingOutputStream out = new CloseTrackingOutputStream();
+    json.toJson(bean, out);
+    EBasic read = json.toBean(EBasic.class, new ByteArrayInputStream(out.toByteArray()));
+
+    // encoded and decoded by Jackson as UTF-8 bytes rather than through a Writer or Reader
+    assertThat(factory.byteGenerators).isEqualTo(1);
+    assertThat(factory.charGenerators).isEqualTo(0);
+    assertThat(factory.byteParsers).isEqualTo(1);
+    assertThat(factory.charParsers).isEqualTo(0);
+
+    assertThat(out.toByteArray()).isEqualTo(Ebean.json().toJson(bean).getBytes(StandardCharsets.UTF_8));
+    assertThat(read.getName()).isEqualTo("n\u00e4me \u20ac");
+
+    // the caller owns the stream
+    assertThat(out.closed).isFalse();
+  }
+}
@@ -0,0 +1,102 @@
+package org.tests.transaction;
+
+import io.ebean.BaseTestCase;
+import io.ebean.EbeanServer;
+import io.ebean.EbeanServerFactory;
+import io.ebean.config.ServerConfig;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Test;
+import org.tests.model.basic.UTDetail;
+import org.tests.model.basic.UTMaster;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestReadOnlyDataSource extends BaseTestCase {
+
+  /**
+   * Read only DataSource on the same H2 database counting the connections used.
+   */
+  static class CountingDataSource extends JdbcDataSource {
+
+    final AtomicInteger connections = new AtomicInteger();
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      connections.incrementAndGet();
+      return super.getConnection();
+    }
+  }
+
+  @Test
+  public void query_when_joinedTableCommitted_expect_mainDataSource() {
+
+    if (!isH2()) {
+      return;
+    }
+
+    CountingDataSource readOnly = new CountingDataSource();
+    readOnly.setURL("jdbc:h2:mem:h2readonly");
+    readOnly.setUser("sa");
+    readOnly.setPassword("");
+
+    EbeanServer server = create(readOnly);
+
+    // commit to ut_detail only
+    server.save(new UTDetail("d0", 1, 1.0));
+
+    // first execution builds the query plan so its tables are not known yet
+    server.find(UTMaster.class).findList();
+    int before = readOnly.connections.get();
+
+    // ut_master not modified by a recent commit so uses the read only DataSource
+    server.find(UTMaster.class).findList();
+    assertThat(readOnly.connections.get()).isEqualTo(before + 1);
+
+    // where clause joins to ut_detail which was modified by a recent commit
+    server.find(UTMaster.class).where().eq("details.name", "d0").findList();
+    server.find(UTMaster.class).where().eq("details.name", "d0").findList();
+    assertThat(readOnly.connections.get()).isEqualTo(before + 1);
+  }
+
+  private EbeanServer create(CountingDataSource readOnly) {
+
+    System.setProperty("ebean.ignoreExtraDdl", "true");
+
+    // create the tables with another server such that the DDL is not a recent commit
+    ServerConfig ddlConfig = config("h2readonlyDdl");
+    ddlConfig.setDdlGenerate(true);
+    ddlConfig.setDdlRun(true);
+    EbeanServerFactory.create(ddlConfig);
+
+    ServerConfig config = config("h2readonly");
+    config.setReadOnlyDataSource(readOnly);
+    config.setReadOnlyStaleMillis(60000);
+    return EbeanServerFactory.create(config);
+  }
+
+  private ServerConfig config(String name) {
+
+    Properties properties = new Properties();
+    properties.setProperty("datasource." + name + ".username", "sa");
+    properties.setProperty("datasource." + name + ".password", "");
+    properties.setProperty("datasource." + name + ".databaseUrl", "jdbc:h2:mem:h2readonly");
+    properties.setProperty("datasource." + name + ".databaseDriver", "org.h2.Driver");
+
+    ServerConfig config = new ServerConfig();
+    config.setName(name);
+    config.loadFromProperties(properties);
+    config.setDdlGenerate(false);
+    config.setDdlRun(false);
+    config.setDefaultServer(false);
+    config.setRegister(false);
+
+    config.addClass(UTMaster.class);
+    config.addClass(UTDetail.class);
+    return config;
+  }
+}
@@ -7,10 +7,21 @@ import org.tests.basic.encrypt.BasicEncryptKey;
 import org.junit.Assert;
 import org.junit.Test;
 
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
+import java.util.Arrays;
 
 public class TestSimpleEncryptor extends BaseTestCase {
 
+  private interface Work {
+    void run() throws Exception;
+  }
+
   @Test
   public void test() {
 
@@ -32,4 +43,91 @@ public class TestSimpleEncryptor extends BaseTestCase {
     Assert.assertEquals(t, t1);
 
   }
+
+  @Test
+  public void test_reuseWithDifferentKeys() throws Exception {
+
+    SimpleAesEncryptor e = new SimpleAesEncryptor();
+
+    EncryptKey key1 = new BasicEncryptKey("hello");
+    EncryptKey key2 = new BasicEncryptKey("someOtherKeyLongerThan16");
+
+    byte[] ec1 = e.encryptString("one", key1);
+    byte[] ec2 = e.encryptString("one", key2);
+    Assert.assertFalse(Arrays.equals(ec1, ec2));
+
+    // a new instance (no cached state) produces the same values
+    SimpleAesEncryptor other = new SimpleAesEncryptor();
+    Assert.assertArrayEquals(ec1, other.encryptString("one", new BasicEncryptKey("hello")));
+
+    for (int i = 0; i < 10; i++) {
+      Assert.assertEquals("one", e.decryptString(ec1, key1));
+      Assert.assertEquals("one", e.decryptString(ec2, key2));
+      Assert.assertArrayEquals(ec1, e.encryptString("one", key1));
+    }
+
+    // the cipher is usable after a failed decrypt
+    try {
+      e.decrypt(new byte[]{1, 2, 3}, key1);
+      Assert.fail();
+    } catch (RuntimeException expected) {
+      Assert.assertEquals("one", e.decryptString(ec1, key1));
+    }
+
+    Thread thread = new Thread(() -> Assert.assertEquals("one", e.decryptString(ec1, key1)));
+    thread.start();
+    thread.join();
+  }
+
+  @Test
+  public void test_allocation_comparedToCipherPerValue() throws Exception {
+
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+      return;
+    }
+    com.sun.management.ThreadMXBean allocBean = (com.sun.management.ThreadMXBean) threadBean;
+    if (!allocBean.isThreadAllocatedMemorySupported() || !allocBean.isThreadAllocatedMemoryEnabled()) {
+      return;
+    }
+
+    SimpleAesEncryptor e = new SimpleAesEncryptor();
+    EncryptKey key = new BasicEncryptKey("0123456789abcdef");
+    byte[] keyBytes = "0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    byte[] data = "test123".getBytes(StandardCharsets.UTF_8);
+
+    Work reused = () -> e.encrypt(data, key);
+    Work perValue = () -> encryptPerValue(keyBytes, data);
+
+    // same output for the same key
+    Assert.assertArrayEquals(e.encrypt(data, key), encryptPerValue(keyBytes, data));
+
+    allocated(allocBean, reused);
+    allocated(allocBean, perValue);
+
+    long reusedBytes = allocated(allocBean, reused);
+    long perValueBytes = allocated(allocBean, perValue);
+    Assert.assertTrue("reused " + reusedBytes + " perValue " + perValueBytes, reusedBytes * 2 < perValueBytes);
+  }
+
+  /**
+   * Encrypt with the key derivation and cipher setup per value that was done before.
+   */
+  private byte[] encryptPerValue(byte[] keyBytes, byte[] data) throws Exception {
+    Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+    cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(keyBytes, "AES"), new IvParameterSpec(keyBytes));
+    return cipher.doFinal(data);
+  }
+
+  /**
+   * Return the bytes allocated by the current thread running the work 1000 times.
+   */
+  private long allocated(com.sun.management.ThreadMXBean allocBean, Work work) throws Exception {
+    long threadId = Thread.currentThread().getId();
+    long start = allocBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < 1000; i++) {
+      work.run();
+    }
+    return allocBean.getThreadAllocatedBytes(threadId) - start;
+  }
 }